@@ -3,6 +3,7 @@ plugins {
     id("org.springframework.boot") version "3.5.7"
     id("io.spring.dependency-management") version "1.1.7"
     id("org.owasp.dependencycheck") version "12.1.9"
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "com.chainsea"
@@ -19,6 +20,11 @@ repositories {
     mavenCentral()
 }
 
+sourceSets {
+    // Standalone load generator, see docs/load-test.md
+    create("loadTest")
+}
+
 dependencies {
     implementation("org.springframework.boot:spring-boot-starter-actuator")
     implementation("org.springframework.boot:spring-boot-starter-amqp")
@@ -30,13 +36,17 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-validation")
     implementation("org.flywaydb:flyway-core")
     implementation("org.flywaydb:flyway-database-postgresql")
-    runtimeOnly("org.postgresql:postgresql")
+    implementation("org.hdrhistogram:HdrHistogram:2.2.2")
+    implementation("org.postgresql:postgresql")
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     testImplementation("org.springframework.amqp:spring-rabbit-test")
     testImplementation("com.h2database:h2")
     testImplementation("org.testcontainers:junit-jupiter")
     testImplementation("org.testcontainers:testcontainers")
+    testImplementation("org.testcontainers:postgresql")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+    "loadTestImplementation"("com.fasterxml.jackson.core:jackson-databind")
+    "loadTestImplementation"("org.hdrhistogram:HdrHistogram:2.2.2")
 }
 
 tasks.withType<Test> {
@@ -69,6 +79,27 @@ tasks.register<Test>("integrationTest") {
     shouldRunAfter(tasks.test)
 }
 
+tasks.register<JavaExec>("loadTest") {
+    description = "Drives open-loop load at a running instance and reports latency percentiles"
+    group = "verification"
+    classpath = sourceSets["loadTest"].runtimeClasspath
+    mainClass = "com.chainsea.healthcheck.loadtest.LoadTestRunner"
+    // Forward -Ploadtest.* options, e.g. ./gradlew loadTest -Ploadtest.rps=200
+    systemProperties(providers.gradlePropertiesPrefixedBy("loadtest.").get())
+    systemProperty("loadtest.report-dir", layout.buildDirectory.dir("reports/load-test").get().asFile.path)
+}
+
+jmh {
+    // Benchmarks live in src/jmh/java; run with ./gradlew jmh
+    jmhVersion = "1.37"
+    fork = 1
+    warmupIterations = 3
+    iterations = 5
+    // JSON results can be compared across releases, e.g. with jmh.morethan.io
+    resultFormat = "JSON"
+    resultsFile = layout.buildDirectory.file("results/jmh/results.json")
+}
+
 dependencyCheck {
     // Fail build if CVSS score is 7.0 or higher
     failBuildOnCVSS = 7.0f
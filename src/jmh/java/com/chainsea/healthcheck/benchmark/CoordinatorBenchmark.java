@@ -0,0 +1,238 @@
+package com.chainsea.healthcheck.benchmark;
+
+import com.chainsea.healthcheck.cluster.ClusterMembership;
+import com.chainsea.healthcheck.health.CircuitBreakerRegistry;
+import com.chainsea.healthcheck.service.saga.SagaContext;
+import com.chainsea.healthcheck.service.saga.SagaDefinition;
+import com.chainsea.healthcheck.service.saga.SagaLog;
+import com.chainsea.healthcheck.service.saga.SagaLogEvent;
+import com.chainsea.healthcheck.service.saga.SagaOrchestrator;
+import com.chainsea.healthcheck.service.saga.SagaStep;
+import com.chainsea.healthcheck.service.tcc.MongoDbTccParticipant;
+import com.chainsea.healthcheck.service.tcc.PostgresTccParticipant;
+import com.chainsea.healthcheck.service.tcc.RabbitMqTccParticipant;
+import com.chainsea.healthcheck.service.tcc.RedisTccParticipant;
+import com.chainsea.healthcheck.service.tcc.TccCoordinator;
+import com.chainsea.healthcheck.service.twophase.MongoDbParticipant;
+import com.chainsea.healthcheck.service.twophase.PostgresParticipant;
+import com.chainsea.healthcheck.service.twophase.RabbitMqParticipant;
+import com.chainsea.healthcheck.service.twophase.RedisParticipant;
+import com.chainsea.healthcheck.service.twophase.TwoPhaseCommitCoordinator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coordination overhead of the 2PC, TCC and Saga coordinators against in-memory participants.
+ * <p>
+ * Participants succeed immediately, so the results measure only the coordinators themselves:
+ * transaction bookkeeping, phase iteration and, for Saga, scheduling of the step graph.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CoordinatorBenchmark {
+
+    private static final List<String> SERVICE_NAMES = List.of("postgres", "redis", "mongodb");
+
+    private TwoPhaseCommitCoordinator twoPhaseCommitCoordinator;
+    private TccCoordinator tccCoordinator;
+    private SagaOrchestrator sagaOrchestrator;
+    private ExecutorService sagaStepExecutor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // No breaker ever opens, so this only adds the per-call circuit checks
+        CircuitBreakerRegistry circuitBreakers = new CircuitBreakerRegistry(3, 30000);
+        twoPhaseCommitCoordinator = new TwoPhaseCommitCoordinator(
+                new PostgresParticipant(null) {
+                    @Override
+                    public boolean prepare(String transactionId, String taskId, List<String> serviceNames) {
+                        return true;
+                    }
+
+                    @Override
+                    public boolean commit(String transactionId) {
+                        return true;
+                    }
+                },
+                new RedisParticipant(null) {
+                    @Override
+                    public boolean prepare(String transactionId, String taskId, List<String> serviceNames) {
+                        return true;
+                    }
+
+                    @Override
+                    public boolean commit(String transactionId) {
+                        return true;
+                    }
+                },
+                new MongoDbParticipant(null) {
+                    @Override
+                    public boolean prepare(String transactionId, String taskId, List<String> serviceNames) {
+                        return true;
+                    }
+
+                    @Override
+                    public boolean commit(String transactionId) {
+                        return true;
+                    }
+                },
+                new RabbitMqParticipant(null) {
+                    @Override
+                    public boolean prepare(String transactionId, String taskId, List<String> serviceNames) {
+                        return true;
+                    }
+
+                    @Override
+                    public boolean commit(String transactionId) {
+                        return true;
+                    }
+                },
+                circuitBreakers);
+
+        tccCoordinator = new TccCoordinator(
+                new PostgresTccParticipant(null) {
+                    @Override
+                    public boolean tryExecute(String transactionId, String taskId, List<String> serviceNames) {
+                        return true;
+                    }
+
+                    @Override
+                    public boolean confirm(String transactionId) {
+                        return true;
+                    }
+                },
+                new RedisTccParticipant(null) {
+                    @Override
+                    public boolean tryExecute(String transactionId, String taskId, List<String> serviceNames) {
+                        return true;
+                    }
+
+                    @Override
+                    public boolean confirm(String transactionId) {
+                        return true;
+                    }
+                },
+                new MongoDbTccParticipant(null) {
+                    @Override
+                    public boolean tryExecute(String transactionId, String taskId, List<String> serviceNames) {
+                        return true;
+                    }
+
+                    @Override
+                    public boolean confirm(String transactionId) {
+                        return true;
+                    }
+                },
+                new RabbitMqTccParticipant(null) {
+                    @Override
+                    public boolean tryExecute(String transactionId, String taskId, List<String> serviceNames) {
+                        return true;
+                    }
+
+                    @Override
+                    public boolean confirm(String transactionId) {
+                        return true;
+                    }
+                },
+                circuitBreakers);
+
+        // Same graph as SagaConfig: postgres -> {redis, mongodb} -> rabbitmq
+        SagaDefinition sagaDefinition = SagaDefinition.builder()
+                .step(new InMemorySagaStep("postgres"))
+                .step(new InMemorySagaStep("redis"), "postgres")
+                .step(new InMemorySagaStep("mongodb"), "postgres")
+                .step(new InMemorySagaStep("rabbitmq"), "redis", "mongodb")
+                .build();
+        sagaStepExecutor = Executors.newFixedThreadPool(4);
+        sagaOrchestrator = new SagaOrchestrator(sagaDefinition, sagaStepExecutor, Runnable::run, new InMemorySagaLog(), circuitBreakers, 300000);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sagaStepExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public boolean twoPhaseCommit() {
+        return twoPhaseCommitCoordinator.executeTransaction("benchmark-task", SERVICE_NAMES);
+    }
+
+    @Benchmark
+    public boolean tcc() {
+        return tccCoordinator.executeTransaction("benchmark-task", SERVICE_NAMES);
+    }
+
+    @Benchmark
+    public boolean saga() {
+        return sagaOrchestrator.executeSaga("benchmark-task", SERVICE_NAMES);
+    }
+
+    private static final class InMemorySagaStep implements SagaStep {
+
+        private final String name;
+
+        private InMemorySagaStep(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public boolean execute(SagaContext sagaContext, String taskId, List<String> serviceNames) {
+            sagaContext.addStepData(name, taskId);
+            return true;
+        }
+
+        @Override
+        public void compensate(SagaContext sagaContext) {
+            // Nothing to undo in memory
+        }
+
+        @Override
+        public String getStepName() {
+            return name;
+        }
+    }
+
+    /**
+     * Saga log that acknowledges every append without writing it anywhere.
+     */
+    private static final class InMemorySagaLog extends SagaLog {
+
+        private InMemorySagaLog() {
+            super(null, null, new ClusterMembership(null, null, false, "benchmark", 0, 0, 1), 1, 1, 0);
+        }
+
+        @Override
+        public boolean append(String sagaId, String stepName, SagaLogEvent event, Object payload) {
+            return true;
+        }
+
+        @Override
+        public CompletableFuture<Void> appendAsync(String sagaId, String stepName, SagaLogEvent event, Object payload) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public Optional<String> acquireLease(String sagaId, long leaseMs) {
+            return Optional.of("benchmark");
+        }
+
+        @Override
+        public void releaseLease(String sagaId, String owner) {
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.chainsea.healthcheck.benchmark;
+
+import com.chainsea.healthcheck.model.HealthCheckRecord;
+import com.chainsea.healthcheck.model.HealthStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON handling of {@link HealthCheckRecord}: the details map written to the jsonb column
+ * and the full record written by the REST API.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HealthCheckRecordSerializationBenchmark {
+
+    private static final TypeReference<Map<String, Object>> DETAILS_TYPE = new TypeReference<>() {
+    };
+
+    @Param({"1", "10", "50"})
+    private int detailCount;
+
+    private ObjectMapper objectMapper;
+    private HealthCheckRecord healthCheckRecord;
+    private String detailsJson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        Map<String, Object> details = new LinkedHashMap<>();
+        for (int i = 0; i < detailCount; i++) {
+            details.put("detail-" + i, i % 2 == 0 ? "value-" + i : i);
+        }
+        healthCheckRecord = new HealthCheckRecord("benchmark-service", HealthStatus.UP, details, 42L);
+        healthCheckRecord.setId(1L);
+        detailsJson = objectMapper.writeValueAsString(details);
+    }
+
+    @Benchmark
+    public String serializeDetails() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(healthCheckRecord.getDetails());
+    }
+
+    @Benchmark
+    public Map<String, Object> deserializeDetails() throws JsonProcessingException {
+        return objectMapper.readValue(detailsJson, DETAILS_TYPE);
+    }
+
+    @Benchmark
+    public String serializeRecord() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(healthCheckRecord);
+    }
+}
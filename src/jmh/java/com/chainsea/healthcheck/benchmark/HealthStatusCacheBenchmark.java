@@ -0,0 +1,61 @@
+package com.chainsea.healthcheck.benchmark;
+
+import com.chainsea.healthcheck.health.HealthStatusCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.actuate.health.Health;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache writes from the scheduler threads and snapshot reads from the readiness probe.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HealthStatusCacheBenchmark {
+
+    @Param({"5", "50", "500"})
+    private int serviceCount;
+
+    private HealthStatusCache cache;
+    private String[] serviceNames;
+    private Health up;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        cache = new HealthStatusCache(event -> { }, 1, 1, 60000, 4);
+        up = Health.up().withDetail("message", "OK").build();
+        serviceNames = new String[serviceCount];
+        for (int i = 0; i < serviceCount; i++) {
+            serviceNames[i] = "service-" + i;
+            cache.updateHealth(serviceNames[i], up);
+        }
+    }
+
+    @Benchmark
+    public void update() {
+        cache.updateHealth(serviceNames[ThreadLocalRandom.current().nextInt(serviceCount)], up);
+    }
+
+    @Benchmark
+    public Map<String, HealthStatusCache.CachedHealth> snapshot() {
+        return cache.getAllCachedHealths();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void updateContended() {
+        cache.updateHealth(serviceNames[ThreadLocalRandom.current().nextInt(serviceCount)], up);
+    }
+}
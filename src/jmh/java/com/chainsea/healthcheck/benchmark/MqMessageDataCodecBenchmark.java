@@ -0,0 +1,81 @@
+package com.chainsea.healthcheck.benchmark;
+
+import com.chainsea.healthcheck.model.MqMessageData;
+import com.chainsea.healthcheck.model.TaskStatus;
+import com.chainsea.healthcheck.service.messaging.MqMessageDataMessageConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Batch task notifications through the RabbitMQ message converters: the JSON converter used so far
+ * against the binary {@link com.chainsea.healthcheck.service.messaging.MqMessageDataCodec} format.
+ * Payload sizes do not vary between iterations, so they are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MqMessageDataCodecBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int serviceCount;
+
+    private Jackson2JsonMessageConverter jsonConverter;
+    private MqMessageDataMessageConverter binaryConverter;
+    private MqMessageData task;
+    private Message jsonMessage;
+    private Message binaryMessage;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        jsonConverter = new Jackson2JsonMessageConverter();
+        binaryConverter = new MqMessageDataMessageConverter(jsonConverter, objectMapper, true);
+        List<String> serviceNames = IntStream.range(0, serviceCount).mapToObj(i -> "service-" + i).toList();
+        task = new MqMessageData("batch-task-00000001", serviceNames, TaskStatus.COMPLETED);
+        jsonMessage = jsonConverter.toMessage(task, new MessageProperties());
+        binaryMessage = binaryConverter.toMessage(task, new MessageProperties());
+        System.out.printf("%n%d services: JSON %d bytes (+%d header bytes), binary %d bytes%n", serviceCount,
+                jsonMessage.getBody().length, headerBytes(jsonMessage), binaryMessage.getBody().length);
+    }
+
+    @Benchmark
+    public Message encodeJson() {
+        return jsonConverter.toMessage(task, new MessageProperties());
+    }
+
+    @Benchmark
+    public Message encodeBinary() {
+        return binaryConverter.toMessage(task, new MessageProperties());
+    }
+
+    @Benchmark
+    public Object decodeJson() {
+        return jsonConverter.fromMessage(jsonMessage);
+    }
+
+    @Benchmark
+    public MqMessageData decodeBinary() {
+        return binaryConverter.readTask(binaryMessage);
+    }
+
+    private static int headerBytes(Message message) {
+        return message.getMessageProperties().getHeaders().entrySet().stream()
+                .mapToInt(header -> header.getKey().length() + String.valueOf(header.getValue()).length())
+                .sum();
+    }
+}
@@ -0,0 +1,55 @@
+package com.chainsea.healthcheck.benchmark;
+
+import com.chainsea.healthcheck.config.HealthCheckProperties;
+import com.chainsea.healthcheck.config.ServiceConfig;
+import com.chainsea.healthcheck.config.ServiceRegistry;
+import com.chainsea.healthcheck.health.HealthStatusCache;
+import com.chainsea.healthcheck.health.ReadinessHealthIndicator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.boot.actuate.health.Health;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Readiness aggregation over a cache holding every configured service, half of them critical.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReadinessHealthIndicatorBenchmark {
+
+    @Param({"5", "50", "500"})
+    private int serviceCount;
+
+    private ReadinessHealthIndicator indicator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<ServiceConfig> critical = new ArrayList<>();
+        List<ServiceConfig> nonCritical = new ArrayList<>();
+        HealthStatusCache cache = new HealthStatusCache(event -> { }, 1, 1, 60000, 4);
+        for (int i = 0; i < serviceCount; i++) {
+            String name = "service-" + i;
+            (i % 2 == 0 ? critical : nonCritical).add(new ServiceConfig(name, 5000L));
+            // One non-critical service down so the DEGRADED branch is measured
+            cache.updateHealth(name, i == 1 ? Health.down().build() : Health.up().build());
+        }
+        ServiceRegistry registry = new ServiceRegistry(new HealthCheckProperties(critical, nonCritical, null, null), null, event -> { });
+        indicator = new ReadinessHealthIndicator(registry, cache);
+    }
+
+    @Benchmark
+    public Health health() {
+        return indicator.health();
+    }
+}
@@ -0,0 +1,65 @@
+package com.chainsea.healthcheck.benchmark;
+
+import com.chainsea.healthcheck.model.BatchHealthCheckTask;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round trips of the service name list through {@link BatchHealthCheckTask}, against the
+ * comma-separated TEXT encoding it replaced as a baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ServiceNamesBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int size;
+
+    private BatchHealthCheckTask task;
+    private List<String> serviceNames;
+    private String csvColumn;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        serviceNames = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            serviceNames.add("service-" + i);
+        }
+        task = new BatchHealthCheckTask("benchmark-task", serviceNames);
+        csvColumn = String.join(",", serviceNames);
+    }
+
+    @Benchmark
+    public List<String> arrayRoundTrip() {
+        task.setServiceNames(serviceNames);
+        return task.getServiceNames();
+    }
+
+    @Benchmark
+    public List<String> arrayLoad() {
+        return task.getServiceNames();
+    }
+
+    @Benchmark
+    public List<String> csvRoundTrip() {
+        return new ArrayList<>(Arrays.asList(String.join(",", serviceNames).split(",")));
+    }
+
+    @Benchmark
+    public List<String> csvLoad() {
+        return new ArrayList<>(Arrays.asList(csvColumn.split(",")));
+    }
+}
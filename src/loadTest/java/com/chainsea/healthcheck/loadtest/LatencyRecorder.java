@@ -0,0 +1,97 @@
+package com.chainsea.healthcheck.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms per request name plus an aggregate over all requests.
+ * <p>
+ * Every request is recorded twice: corrected latency is measured from the time the request was
+ * scheduled to be sent, uncorrected latency from the time it was actually sent. When the server
+ * stalls, the generator falls behind schedule and only the corrected histogram shows the delay
+ * that real clients would have experienced (coordinated omission).
+ */
+public final class LatencyRecorder {
+
+    public static final String ALL = "all";
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final Map<String, RequestStats> stats = new LinkedHashMap<>();
+
+    public LatencyRecorder(List<RequestTemplate> templates) {
+        stats.put(ALL, new RequestStats());
+        templates.forEach(template -> stats.putIfAbsent(template.name(), new RequestStats()));
+    }
+
+    public void record(String name, long correctedNanos, long uncorrectedNanos, boolean success) {
+        record(stats.get(ALL), correctedNanos, uncorrectedNanos, success);
+        record(stats.get(name), correctedNanos, uncorrectedNanos, success);
+    }
+
+    public void recordDropped(String name) {
+        stats.get(ALL).dropped.increment();
+        stats.get(name).dropped.increment();
+    }
+
+    public Map<String, RequestStats> getStats() {
+        return stats;
+    }
+
+    private static void record(RequestStats requestStats, long correctedNanos, long uncorrectedNanos, boolean success) {
+        requestStats.corrected.recordValue(toMicros(correctedNanos));
+        requestStats.uncorrected.recordValue(toMicros(uncorrectedNanos));
+        (success ? requestStats.successes : requestStats.errors).increment();
+    }
+
+    private static long toMicros(long nanos) {
+        return Math.min(Math.max(TimeUnit.NANOSECONDS.toMicros(nanos), 1), HIGHEST_TRACKABLE_MICROS);
+    }
+
+    public static final class RequestStats {
+
+        private final Histogram corrected = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final Histogram uncorrected = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final LongAdder successes = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+
+        public Histogram getCorrected() {
+            return corrected;
+        }
+
+        public Histogram getUncorrected() {
+            return uncorrected;
+        }
+
+        public long getSuccesses() {
+            return successes.sum();
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        public long getDropped() {
+            return dropped.sum();
+        }
+
+        public long getTotal() {
+            return getSuccesses() + getErrors() + getDropped();
+        }
+
+        /**
+         * Share of requests that failed or could not be sent because too many were in flight.
+         */
+        public double getErrorRate() {
+            long total = getTotal();
+            return total == 0 ? 0 : (double) (getErrors() + getDropped()) / total;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.chainsea.healthcheck.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Entry point of the {@code loadTest} Gradle task.
+ * <p>
+ * Options are read from {@code loadtest.*} system properties (passed as {@code -Ploadtest.*} to Gradle):
+ * - base-url: application under test, default http://localhost:8080
+ * - rps: target requests per second, default 50
+ * - duration / warmup: measured and unmeasured seconds, default 60 / 10
+ * - mix-file: JSON lines file with a recorded request mix, default is a synthesized mix
+ * - target-url: URL probed by single health checks in the synthesized mix, default the mock server
+ * - max-in-flight / timeout: request concurrency cap and per-request timeout in seconds
+ * - max-p99-ms / max-error-rate: optional thresholds; the run fails if the aggregate exceeds them
+ */
+public final class LoadTestRunner {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    private static final String[] PERCENTILE_LABELS = {"p50", "p90", "p99", "p99.9"};
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        URI baseUri = URI.create(option("base-url", "http://localhost:8080"));
+        double rps = Double.parseDouble(option("rps", "50"));
+        Duration duration = Duration.ofSeconds(Long.parseLong(option("duration", "60")));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(option("warmup", "10")));
+        Duration timeout = Duration.ofSeconds(Long.parseLong(option("timeout", "10")));
+        int maxInFlight = Integer.parseInt(option("max-in-flight", "1000"));
+        String mixFile = option("mix-file", null);
+        RequestMix mix = mixFile != null
+                ? RequestMix.fromJsonLines(Path.of(mixFile))
+                : RequestMix.defaultMix(option("target-url", "http://localhost:18080/health"));
+
+        System.out.printf("Load test: %.0f rps against %s for %ss after %ss warmup%n",
+                rps, baseUri, duration.toSeconds(), warmup.toSeconds());
+        LatencyRecorder recorder = new OpenLoopLoadGenerator(baseUri, mix, timeout, maxInFlight)
+                .run(rps, duration, warmup);
+
+        printReport(recorder, duration);
+        Path reportFile = writeReport(recorder, duration, rps);
+        System.out.println("Report written to " + reportFile);
+
+        if (!withinThresholds(recorder.getStats().get(LatencyRecorder.ALL))) {
+            System.exit(1);
+        }
+    }
+
+    private static String option(String name, String defaultValue) {
+        String value = System.getProperty("loadtest." + name);
+        return value == null || value.isBlank() ? defaultValue : value;
+    }
+
+    private static void printReport(LatencyRecorder recorder, Duration duration) {
+        System.out.printf("%-14s %8s %7s %8s %9s %9s %9s %9s %9s %14s%n",
+                "request", "count", "errors", "rps", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "p99 uncorr ms");
+        recorder.getStats().forEach((name, stats) -> {
+            Histogram corrected = stats.getCorrected();
+            System.out.printf("%-14s %8d %7d %8.1f %9.2f %9.2f %9.2f %9.2f %9.2f %14.2f%n",
+                    name,
+                    stats.getTotal(),
+                    stats.getErrors() + stats.getDropped(),
+                    (double) stats.getTotal() / duration.toSeconds(),
+                    millis(corrected.getValueAtPercentile(50)),
+                    millis(corrected.getValueAtPercentile(90)),
+                    millis(corrected.getValueAtPercentile(99)),
+                    millis(corrected.getValueAtPercentile(99.9)),
+                    millis(corrected.getMaxValue()),
+                    millis(stats.getUncorrected().getValueAtPercentile(99)));
+        });
+    }
+
+    private static Path writeReport(LatencyRecorder recorder, Duration duration, double targetRps) throws IOException {
+        Map<String, Object> requests = new LinkedHashMap<>();
+        recorder.getStats().forEach((name, stats) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("count", stats.getTotal());
+            entry.put("errors", stats.getErrors());
+            entry.put("dropped", stats.getDropped());
+            entry.put("throughputRps", (double) stats.getTotal() / duration.toSeconds());
+            entry.put("latencyMs", percentiles(stats.getCorrected()));
+            entry.put("uncorrectedLatencyMs", percentiles(stats.getUncorrected()));
+            requests.put(name, entry);
+        });
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("targetRps", targetRps);
+        report.put("durationSeconds", duration.toSeconds());
+        report.put("requests", requests);
+
+        Path reportDir = Path.of(option("report-dir", "build/reports/load-test"));
+        Files.createDirectories(reportDir);
+        Path reportFile = reportDir.resolve("summary.json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(reportFile.toFile(), report);
+        return reportFile;
+    }
+
+    private static Map<String, Double> percentiles(Histogram histogram) {
+        Map<String, Double> values = new LinkedHashMap<>();
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            values.put(PERCENTILE_LABELS[i], millis(histogram.getValueAtPercentile(PERCENTILES[i])));
+        }
+        values.put("max", millis(histogram.getMaxValue()));
+        return values;
+    }
+
+    private static boolean withinThresholds(LatencyRecorder.RequestStats all) {
+        boolean passed = true;
+        String maxP99 = option("max-p99-ms", null);
+        if (maxP99 != null) {
+            double p99 = millis(all.getCorrected().getValueAtPercentile(99));
+            if (p99 > Double.parseDouble(maxP99)) {
+                System.out.printf("FAILED: p99 latency %.2f ms exceeds %s ms%n", p99, maxP99);
+                passed = false;
+            }
+        }
+        String maxErrorRate = option("max-error-rate", null);
+        if (maxErrorRate != null && all.getErrorRate() > Double.parseDouble(maxErrorRate)) {
+            System.out.printf("FAILED: error rate %.4f exceeds %s%n", all.getErrorRate(), maxErrorRate);
+            passed = false;
+        }
+        return passed;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000d;
+    }
+}
@@ -0,0 +1,117 @@
+package com.chainsea.healthcheck.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator: requests are scheduled at a fixed rate regardless of how fast the
+ * server answers, and each one runs on its own virtual thread.
+ * <p>
+ * Latency is measured from the scheduled send time, so a slow server cannot hide its stalls by
+ * slowing the generator down. Requests beyond {@code maxInFlight} are dropped and reported instead
+ * of queueing without bound in the generator.
+ */
+public final class OpenLoopLoadGenerator {
+
+    private final HttpClient httpClient;
+    private final URI baseUri;
+    private final RequestMix mix;
+    private final Duration requestTimeout;
+    private final int maxInFlight;
+
+    public OpenLoopLoadGenerator(URI baseUri, RequestMix mix, Duration requestTimeout, int maxInFlight) {
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(requestTimeout)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        this.baseUri = baseUri;
+        this.mix = mix;
+        this.requestTimeout = requestTimeout;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Send requests at the target rate for warmup plus duration; only requests scheduled after
+     * the warmup are recorded.
+     */
+    public LatencyRecorder run(double requestsPerSecond, Duration duration, Duration warmup) {
+        LatencyRecorder recorder = new LatencyRecorder(mix.getTemplates());
+        SplittableRandom random = new SplittableRandom();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        double intervalNanos = 1_000_000_000d / requestsPerSecond;
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long sequence = 0; ; sequence++) {
+                long scheduledAt = start + (long) (sequence * intervalNanos);
+                if (scheduledAt >= end) {
+                    break;
+                }
+                long delay = scheduledAt - System.nanoTime();
+                if (delay > 0) {
+                    LockSupport.parkNanos(delay);
+                }
+
+                RequestTemplate template = mix.next(random);
+                boolean measured = scheduledAt >= measureFrom;
+                if (!inFlight.tryAcquire()) {
+                    if (measured) {
+                        recorder.recordDropped(template.name());
+                    }
+                    continue;
+                }
+                HttpRequest request = buildRequest(template, sequence);
+                executor.execute(() -> {
+                    try {
+                        send(request, template.name(), scheduledAt, measured, recorder);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        return recorder;
+    }
+
+    private HttpRequest buildRequest(RequestTemplate template, long sequence) {
+        String body = template.renderBody(sequence);
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(template.renderPath(sequence)))
+                .timeout(requestTimeout)
+                .method(template.method(), body != null
+                        ? HttpRequest.BodyPublishers.ofString(body)
+                        : HttpRequest.BodyPublishers.noBody());
+        if (body != null) {
+            builder.header("Content-Type", "application/json");
+        }
+        return builder.build();
+    }
+
+    private void send(HttpRequest request, String name, long scheduledAt, boolean measured, LatencyRecorder recorder) {
+        long sentAt = System.nanoTime();
+        boolean success;
+        try {
+            int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            success = status >= 200 && status < 300;
+        } catch (IOException e) {
+            success = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            success = false;
+        }
+        long completedAt = System.nanoTime();
+        if (measured) {
+            recorder.record(name, completedAt - scheduledAt, completedAt - sentAt, success);
+        }
+    }
+}
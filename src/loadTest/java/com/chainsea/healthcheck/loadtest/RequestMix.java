@@ -0,0 +1,97 @@
+package com.chainsea.healthcheck.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Weighted mix of request templates.
+ */
+public final class RequestMix {
+
+    private final List<RequestTemplate> templates;
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+
+    public RequestMix(List<RequestTemplate> templates) {
+        if (templates.isEmpty()) {
+            throw new IllegalArgumentException("Request mix must contain at least one request");
+        }
+        this.templates = List.copyOf(templates);
+        this.cumulativeWeights = new int[templates.size()];
+        int total = 0;
+        for (int i = 0; i < templates.size(); i++) {
+            total += templates.get(i).weight();
+            cumulativeWeights[i] = total;
+        }
+        this.totalWeight = total;
+    }
+
+    /**
+     * Synthesized mix resembling production: mostly single health checks and readiness probes,
+     * with a share of each distributed transaction pattern.
+     *
+     * @param targetUrl URL the single health checks probe, normally the WireMock mock server
+     */
+    public static RequestMix defaultMix(String targetUrl) {
+        String batchBody = """
+                {"taskId": "load-{{uuid}}", "serviceNames": ["postgres", "redis", "mongodb"]}""";
+        return new RequestMix(List.of(
+                new RequestTemplate("health-check", "POST", "/api/health-checks",
+                        "{\"serviceName\": \"load-service-{{seq}}\", \"url\": \"" + targetUrl + "\"}", 40),
+                new RequestTemplate("readiness", "GET", "/actuator/health/readiness", null, 30),
+                new RequestTemplate("2pc", "POST", "/api/batch-health-checks/2pc", batchBody, 10),
+                new RequestTemplate("tcc", "POST", "/api/batch-health-checks/tcc", batchBody, 10),
+                new RequestTemplate("saga", "POST", "/api/batch-health-checks/saga", batchBody, 10)
+        ));
+    }
+
+    /**
+     * Load a recorded mix, one JSON object per line:
+     * {@code {"name": "...", "method": "POST", "path": "/api/...", "body": {...}, "weight": 1}}.
+     * {@code name} defaults to the path and {@code weight} to 1; blank lines are ignored.
+     */
+    public static RequestMix fromJsonLines(Path file) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<RequestTemplate> templates = new ArrayList<>();
+        for (String line : Files.readAllLines(file)) {
+            if (line.isBlank()) {
+                continue;
+            }
+            JsonNode node = objectMapper.readTree(line);
+            String path = node.path("path").asText(null);
+            if (path == null) {
+                throw new IllegalArgumentException("Request without path in " + file + ": " + line);
+            }
+            JsonNode body = node.get("body");
+            templates.add(new RequestTemplate(
+                    node.path("name").asText(path),
+                    node.path("method").asText("GET"),
+                    path,
+                    body == null || body.isNull() ? null : body.isTextual() ? body.asText() : objectMapper.writeValueAsString(body),
+                    node.path("weight").asInt(1)
+            ));
+        }
+        return new RequestMix(templates);
+    }
+
+    public List<RequestTemplate> getTemplates() {
+        return templates;
+    }
+
+    public RequestTemplate next(RandomGenerator random) {
+        int value = random.nextInt(totalWeight);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return templates.get(i);
+            }
+        }
+        return templates.getLast();
+    }
+}
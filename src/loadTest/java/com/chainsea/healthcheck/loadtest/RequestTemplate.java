@@ -0,0 +1,37 @@
+package com.chainsea.healthcheck.loadtest;
+
+import java.util.UUID;
+
+/**
+ * One kind of request in a load mix.
+ * <p>
+ * {@code {{seq}}} and {@code {{uuid}}} in the path or body are replaced per request, so requests that
+ * must be unique (e.g. batch task IDs) can be generated from a single template.
+ *
+ * @param name   label used in the report
+ * @param method HTTP method
+ * @param path   path relative to the base URL
+ * @param body   JSON body, may be null
+ * @param weight relative share of this request in the mix
+ */
+public record RequestTemplate(String name, String method, String path, String body, int weight) {
+
+    public RequestTemplate {
+        if (weight <= 0) {
+            throw new IllegalArgumentException("Weight of request " + name + " must be positive");
+        }
+    }
+
+    public String renderPath(long sequence) {
+        return render(path, sequence);
+    }
+
+    public String renderBody(long sequence) {
+        return body != null ? render(body, sequence) : null;
+    }
+
+    private static String render(String value, long sequence) {
+        String rendered = value.replace("{{seq}}", Long.toString(sequence));
+        return rendered.contains("{{uuid}}") ? rendered.replace("{{uuid}}", UUID.randomUUID().toString()) : rendered;
+    }
+}
@@ -0,0 +1,139 @@
+package com.chainsea.healthcheck.cluster;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Tracks the live instances of this application and decides which one probes each service.
+ * <p>
+ * With {@code health-check.cluster.enabled}, every instance heartbeats into a Redis sorted set scored by
+ * the time of its last heartbeat. Members that have not heartbeated within {@code member-ttl} are dropped,
+ * and service names are spread over the remaining members with a {@link ConsistentHashRing}, so each
+ * service has exactly one owner and the total probe load stays the same however many instances run.
+ * <p>
+ * If Redis cannot be reached, the instance falls back to owning every service: probes are duplicated
+ * until Redis is back, but no service goes unchecked. Without clustering, this instance owns everything.
+ */
+@Component
+public class ClusterMembership {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterMembership.class);
+
+    static final String MEMBERS_KEY = "health-check:members";
+
+    private final StringRedisTemplate redisTemplate;
+    private final TaskScheduler taskScheduler;
+    private final boolean enabled;
+    private final String instanceId;
+    private final long heartbeatIntervalMs;
+    private final long memberTtlMs;
+    private final int virtualNodes;
+    private volatile ConsistentHashRing ring;
+    private ScheduledFuture<?> heartbeatTask;
+
+    public ClusterMembership(StringRedisTemplate redisTemplate,
+                             TaskScheduler healthCheckTaskScheduler,
+                             @Value("${health-check.cluster.enabled:false}") boolean enabled,
+                             @Value("${health-check.cluster.instance-id:}") String instanceId,
+                             @Value("${health-check.cluster.heartbeat-interval:5000}") long heartbeatIntervalMs,
+                             @Value("${health-check.cluster.member-ttl:15000}") long memberTtlMs,
+                             @Value("${health-check.cluster.virtual-nodes:64}") int virtualNodes) {
+        this.redisTemplate = redisTemplate;
+        this.taskScheduler = healthCheckTaskScheduler;
+        this.enabled = enabled;
+        this.instanceId = instanceId == null || instanceId.isBlank() ? UUID.randomUUID().toString() : instanceId;
+        this.heartbeatIntervalMs = heartbeatIntervalMs;
+        this.memberTtlMs = memberTtlMs;
+        this.virtualNodes = virtualNodes;
+        this.ring = new ConsistentHashRing(Set.of(this.instanceId), virtualNodes);
+    }
+
+    /**
+     * Join the cluster before any scheduler asks for ownership, so the first probes are already sharded.
+     */
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        logger.info("Joining health check cluster as {} with heartbeat interval: {}ms", instanceId, heartbeatIntervalMs);
+        heartbeat();
+        heartbeatTask = taskScheduler.scheduleWithFixedDelay(this::heartbeat, Duration.ofMillis(heartbeatIntervalMs));
+    }
+
+    /**
+     * Leave the cluster at once instead of waiting for the member TTL, so the remaining instances take
+     * over this instance's services on their next heartbeat.
+     */
+    @PreDestroy
+    public void stop() {
+        if (heartbeatTask != null) {
+            heartbeatTask.cancel(false);
+        }
+        if (!enabled) {
+            return;
+        }
+        try {
+            redisTemplate.opsForZSet().remove(MEMBERS_KEY, instanceId);
+        } catch (Exception e) {
+            logger.warn("Failed to leave health check cluster: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Refresh this instance's heartbeat, expire silent members and rebuild the ring if membership changed.
+     */
+    void heartbeat() {
+        long now = System.currentTimeMillis();
+        Set<String> members = new TreeSet<>();
+        try {
+            ZSetOperations<String, String> zSetOps = redisTemplate.opsForZSet();
+            zSetOps.add(MEMBERS_KEY, instanceId, now);
+            zSetOps.removeRangeByScore(MEMBERS_KEY, 0, now - memberTtlMs);
+            Set<String> live = zSetOps.rangeByScore(MEMBERS_KEY, now - memberTtlMs, Double.POSITIVE_INFINITY);
+            if (live != null) {
+                members.addAll(live);
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to refresh cluster membership, checking all services until Redis is back: {}", e.getMessage());
+            members.clear();
+        }
+        members.add(instanceId);
+        if (!members.equals(ring.members())) {
+            ring = new ConsistentHashRing(members, virtualNodes);
+            logger.info("Health check cluster membership changed, {} live instances: {}", members.size(), members);
+        }
+    }
+
+    /**
+     * Whether this instance should probe the service.
+     */
+    public boolean isOwner(String serviceName) {
+        return !enabled || instanceId.equals(ring.ownerOf(serviceName));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public Set<String> getMembers() {
+        return ring.members();
+    }
+}
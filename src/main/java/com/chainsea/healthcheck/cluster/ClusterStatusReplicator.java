@@ -0,0 +1,166 @@
+package com.chainsea.healthcheck.cluster;
+
+import com.chainsea.healthcheck.config.ServiceRegistry;
+import com.chainsea.healthcheck.config.ServiceRegistryEvent;
+import com.chainsea.healthcheck.health.CircuitBreakerRegistry;
+import com.chainsea.healthcheck.health.HealthStatusCache;
+import com.chainsea.healthcheck.health.HealthStatusTransition;
+import com.chainsea.healthcheck.model.HealthStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Replicates the {@link HealthStatusCache} between instances over Redis.
+ * <p>
+ * Only status transitions are replicated, not every probe result. Each transition an instance observes
+ * itself is published on the {@code health-check:status} channel and stored in the
+ * {@code health-check:status-snapshot} hash; a starting instance loads the hash while the context starts,
+ * so readiness does not start from an empty cache. Remote statuses are merged by timestamp, so an older
+ * update never overwrites a newer one, whatever order the messages arrive in.
+ * <p>
+ * Replication is on with {@code health-check.replication.enabled}, and always with clustering, where the
+ * owner of a service is the only one probing it. Services owned elsewhere also feed the local circuit
+ * breaker, so the batch coordinators of every instance fail fast on a dependency its owner found down.
+ * <p>
+ * Transitions are published by the probe threads, so the Redis writes are handed to a single-threaded
+ * executor: a slow or unreachable Redis never holds up a probe, and the writes keep the order of the
+ * transitions, so an older status never overwrites a newer one in the snapshot.
+ */
+@Component
+@ConditionalOnExpression("${health-check.cluster.enabled:false} or ${health-check.replication.enabled:false}")
+public class ClusterStatusReplicator implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterStatusReplicator.class);
+
+    public static final String CHANNEL = "health-check:status";
+    static final String SNAPSHOT_KEY = "health-check:status-snapshot";
+
+    private final ClusterMembership clusterMembership;
+    private final HealthStatusCache healthStatusCache;
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final ServiceRegistry serviceRegistry;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Executor executor;
+
+    public ClusterStatusReplicator(ClusterMembership clusterMembership,
+                                   HealthStatusCache healthStatusCache,
+                                   CircuitBreakerRegistry circuitBreakers,
+                                   ServiceRegistry serviceRegistry,
+                                   StringRedisTemplate redisTemplate,
+                                   ObjectMapper objectMapper,
+                                   Executor statusReplicationExecutor) {
+        this.clusterMembership = clusterMembership;
+        this.healthStatusCache = healthStatusCache;
+        this.circuitBreakers = circuitBreakers;
+        this.serviceRegistry = serviceRegistry;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.executor = statusReplicationExecutor;
+    }
+
+    /**
+     * Warm the cache with the last replicated status of every service. Snapshot entries carry the time of
+     * their transition, so the first local probe, being newer, always replaces them.
+     */
+    @PostConstruct
+    public void loadSnapshot() {
+        try {
+            Map<Object, Object> entries = redisTemplate.opsForHash().entries(SNAPSHOT_KEY);
+            int loaded = 0;
+            for (Object value : entries.values()) {
+                ReplicatedStatus replicated = objectMapper.readValue((String) value, ReplicatedStatus.class);
+                if (healthStatusCache.applyRemote(replicated.serviceName(), replicated.status(), replicated.time())) {
+                    loaded++;
+                }
+            }
+            logger.info("Loaded {} service statuses from the replicated snapshot", loaded);
+        } catch (Exception e) {
+            logger.warn("Failed to load replicated status snapshot, starting with an empty cache: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Replicate transitions this instance observed for services it owns. Transitions caused by applying
+     * a remote status are never sent back.
+     */
+    @EventListener
+    public void onTransition(HealthStatusTransition transition) {
+        if (transition.remote() || !clusterMembership.isOwner(transition.serviceName())) {
+            return;
+        }
+        ReplicatedStatus replicated = new ReplicatedStatus(clusterMembership.getInstanceId(),
+                transition.serviceName(), transition.status(), transition.time());
+        dispatch(transition.serviceName(), () -> {
+            try {
+                String json = objectMapper.writeValueAsString(replicated);
+                redisTemplate.opsForHash().put(SNAPSHOT_KEY, replicated.serviceName(), json);
+                redisTemplate.convertAndSend(CHANNEL, json);
+            } catch (Exception e) {
+                logger.warn("Failed to replicate status of service {}: {}", replicated.serviceName(), e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Drop a deregistered service from the snapshot so new instances do not load its last status.
+     */
+    @EventListener
+    public void onServiceRegistryChange(ServiceRegistryEvent event) {
+        if (event.current() != null) {
+            return;
+        }
+        // Through the same executor, so it runs after any write of the service still queued
+        dispatch(event.serviceName(), () -> {
+            try {
+                redisTemplate.opsForHash().delete(SNAPSHOT_KEY, event.serviceName());
+            } catch (Exception e) {
+                logger.warn("Failed to remove service {} from the replicated snapshot: {}", event.serviceName(), e.getMessage());
+            }
+        });
+    }
+
+    private void dispatch(String serviceName, Runnable task) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Status replication queue is full, not replicating service {}", serviceName);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            ReplicatedStatus replicated = objectMapper.readValue(message.getBody(), ReplicatedStatus.class);
+            if (clusterMembership.getInstanceId().equals(replicated.origin())) {
+                return;
+            }
+            boolean applied = healthStatusCache.applyRemote(replicated.serviceName(), replicated.status(), replicated.time());
+            if (applied && !clusterMembership.isOwner(replicated.serviceName())
+                    && serviceRegistry.getService(replicated.serviceName()).isPresent()) {
+                circuitBreakers.recordProbe(replicated.serviceName(), replicated.status());
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to apply replicated status: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * A replicated status transition; {@code origin} is the instance that observed it.
+     */
+    public record ReplicatedStatus(String origin, String serviceName, HealthStatus status, Instant time) {
+    }
+}
@@ -0,0 +1,63 @@
+package com.chainsea.healthcheck.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Immutable consistent hash ring over cluster members.
+ * <p>
+ * Each member is placed on the ring {@code virtualNodes} times so keys spread evenly, and a key is owned
+ * by the first member clockwise from its hash. When a member joins or leaves, only the keys next to its
+ * points move; every other key keeps its owner.
+ */
+public final class ConsistentHashRing {
+
+    private final TreeMap<Long, String> ring = new TreeMap<>();
+    private final Set<String> members;
+
+    public ConsistentHashRing(Collection<String> members, int virtualNodes) {
+        this.members = Set.copyOf(new TreeSet<>(members));
+        for (String member : this.members) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(member + "#" + i), member);
+            }
+        }
+    }
+
+    /**
+     * The member that owns a key, or null if the ring has no members.
+     */
+    public String ownerOf(String key) {
+        if (ring.isEmpty()) {
+            return null;
+        }
+        Map.Entry<Long, String> entry = ring.ceilingEntry(hash(key));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    public Set<String> members() {
+        return members;
+    }
+
+    /**
+     * 64-bit FNV-1a followed by the MurmurHash3 finalizer, so similar names such as {@code node#1} and
+     * {@code node#2} still land far apart on the ring.
+     */
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,26 @@
+package com.chainsea.healthcheck.config;
+
+import com.chainsea.healthcheck.cluster.ClusterStatusReplicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Redis subscription for status replication, when clustering or replication is enabled.
+ */
+@Configuration
+@ConditionalOnExpression("${health-check.cluster.enabled:false} or ${health-check.replication.enabled:false}")
+public class ClusterConfig {
+
+    @Bean
+    public RedisMessageListenerContainer clusterStatusListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                        ClusterStatusReplicator replicator) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(replicator, new ChannelTopic(ClusterStatusReplicator.CHANNEL));
+        return container;
+    }
+}
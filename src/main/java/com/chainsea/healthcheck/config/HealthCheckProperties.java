@@ -1,18 +1,22 @@
 package com.chainsea.healthcheck.config;
 
+import com.chainsea.healthcheck.probe.ProbeTarget;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
 
+/**
+ * Services checked at startup. The critical and non-critical services only seed the {@link ServiceRegistry},
+ * which holds the health indicators actually checked and can change at runtime. Targets are declarative
+ * HTTP, TCP and DNS endpoints probed by the shared probe engine without a bean each.
+ */
 @ConfigurationProperties(prefix = "health-check")
 public record HealthCheckProperties(
         List<ServiceConfig> criticalServices,
         List<ServiceConfig> nonCriticalServices,
-        SchedulerConfig scheduler
+        SchedulerConfig scheduler,
+        List<ProbeTarget> targets
 ) {
     public HealthCheckProperties {
         if (criticalServices == null) {
@@ -25,38 +29,10 @@ public record HealthCheckProperties(
         } else {
             nonCriticalServices = new ArrayList<>(nonCriticalServices);
         }
-    }
-
-    public Set<String> getCriticalServiceNames() {
-        return criticalServices.stream()
-                .map(ServiceConfig::name)
-                .collect(Collectors.toSet());
-    }
-
-    public Set<String> getNonCriticalServiceNames() {
-        return nonCriticalServices.stream()
-                .map(ServiceConfig::name)
-                .collect(Collectors.toSet());
-    }
-
-    public Map<String, Long> getServiceIntervals() {
-        Map<String, Long> intervals = criticalServices.stream()
-                .collect(Collectors.toMap(ServiceConfig::name, ServiceConfig::interval));
-        nonCriticalServices.forEach(service ->
-                intervals.put(service.name(), service.interval()));
-        return intervals;
-    }
-
-    public Long getServiceInterval(String serviceName) {
-        return criticalServices.stream()
-                .filter(s -> s.name().equals(serviceName))
-                .findFirst()
-                .map(ServiceConfig::interval)
-                .orElseGet(() -> nonCriticalServices.stream()
-                        .filter(s -> s.name().equals(serviceName))
-                        .findFirst()
-                        .map(ServiceConfig::interval)
-                        .orElse(5000L));
+        if (targets == null) {
+            targets = new ArrayList<>();
+        } else {
+            targets = new ArrayList<>(targets);
+        }
     }
 }
-
@@ -1,73 +1,184 @@
 package com.chainsea.healthcheck.config;
 
+import com.chainsea.healthcheck.cluster.ClusterMembership;
+import com.chainsea.healthcheck.health.CircuitBreakerRegistry;
 import com.chainsea.healthcheck.health.HealthStatusCache;
+import com.chainsea.healthcheck.health.LatencyTracker;
+import com.chainsea.healthcheck.health.RecentHealthHistory;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.TaskScheduler;
 
-import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Keeps one {@link ServiceHealthCheckScheduler} per service in the {@link ServiceRegistry}. Registry
+ * changes start, reschedule or stop the scheduler of that service only; the others keep probing.
+ * Every instance keeps a scheduler for every service, so ownership can move with cluster membership
+ * without rescheduling; a scheduler only probes while its instance owns the service.
+ * <p>
+ * First checks run on virtual threads, all at once. At startup they are awaited for at most
+ * {@code health-check.startup.deadline}, so a backend that is down costs one deadline instead of one
+ * connection timeout per service; services still being checked then are reported as UNKNOWN until their
+ * check completes in the background.
+ */
 @Configuration
 @ConditionalOnProperty(name = "health-check.scheduler.enabled", havingValue = "true", matchIfMissing = true)
 public class HealthCheckSchedulerConfig {
 
     private static final Logger logger = LoggerFactory.getLogger(HealthCheckSchedulerConfig.class);
 
-    private final ApplicationContext applicationContext;
-    private final HealthCheckProperties properties;
+    private final ServiceRegistry serviceRegistry;
     private final HealthStatusCache healthStatusCache;
+    private final RecentHealthHistory recentHealthHistory;
+    private final LatencyTracker latencyTracker;
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final ClusterMembership clusterMembership;
     private final TaskScheduler taskScheduler;
-    private final List<ServiceHealthCheckScheduler> schedulers = new ArrayList<>();
+    private final long startupDeadlineMs;
+    private final ExecutorService firstCheckExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, ServiceHealthCheckScheduler> schedulers = new ConcurrentHashMap<>();
 
-    public HealthCheckSchedulerConfig(ApplicationContext applicationContext,
-                                      HealthCheckProperties properties,
+    public HealthCheckSchedulerConfig(ServiceRegistry serviceRegistry,
                                       HealthStatusCache healthStatusCache,
-                                      TaskScheduler healthCheckTaskScheduler) {
-        this.applicationContext = applicationContext;
-        this.properties = properties;
+                                      RecentHealthHistory recentHealthHistory,
+                                      LatencyTracker latencyTracker,
+                                      CircuitBreakerRegistry circuitBreakers,
+                                      ClusterMembership clusterMembership,
+                                      TaskScheduler healthCheckTaskScheduler,
+                                      @Value("${health-check.startup.deadline:3000}") long startupDeadlineMs) {
+        this.serviceRegistry = serviceRegistry;
         this.healthStatusCache = healthStatusCache;
+        this.recentHealthHistory = recentHealthHistory;
+        this.latencyTracker = latencyTracker;
+        this.circuitBreakers = circuitBreakers;
+        this.clusterMembership = clusterMembership;
         this.taskScheduler = healthCheckTaskScheduler;
+        this.startupDeadlineMs = startupDeadlineMs;
     }
 
     @PostConstruct
     public void createSchedulers() {
-        Set<String> allServiceNames = properties.getCriticalServiceNames();
-        allServiceNames.addAll(properties.getNonCriticalServiceNames());
-
-        for (String serviceName : allServiceNames) {
-            try {
-                HealthIndicator healthIndicator = applicationContext.getBean(serviceName, HealthIndicator.class);
-                long interval = properties.getServiceInterval(serviceName);
+        Map<String, CompletableFuture<Void>> firstChecks = new HashMap<>();
+        for (RegisteredService service : serviceRegistry.getServices()) {
+            ServiceHealthCheckScheduler created = refreshScheduler(service.name());
+            if (created != null) {
+                firstChecks.put(service.name(), firstCheck(created));
+            }
+        }
+        awaitFirstChecks(firstChecks);
+    }
 
-                ServiceHealthCheckScheduler scheduler = new ServiceHealthCheckScheduler(
-                        serviceName,
-                        healthIndicator,
-                        healthStatusCache,
-                        interval,
-                        taskScheduler
-                );
+    /**
+     * Bring the scheduler of the changed service in line with its current registration. The registry is
+     * read again instead of trusting the event, so concurrent changes to one service settle on the latest.
+     */
+    @EventListener
+    public void onServiceRegistryChange(ServiceRegistryEvent event) {
+        ServiceHealthCheckScheduler created = refreshScheduler(event.serviceName());
+        if (created != null) {
+            firstCheck(created);
+        }
+    }
 
-                schedulers.add(scheduler);
-                scheduler.afterPropertiesSet();
-                logger.info("Created health check scheduler for service: {} with interval: {}ms", serviceName, interval);
-            } catch (NoSuchBeanDefinitionException e) {
-                logger.warn("HealthIndicator bean '{}' not found, skipping scheduler creation", serviceName);
+    /**
+     * @return the scheduler created for the service, or null if it was kept or removed
+     */
+    private ServiceHealthCheckScheduler refreshScheduler(String serviceName) {
+        Optional<RegisteredService> registration = serviceRegistry.getService(serviceName);
+        AtomicReference<ServiceHealthCheckScheduler> created = new AtomicReference<>();
+        schedulers.compute(serviceName, (name, existing) -> {
+            if (existing != null && registration.isPresent() && existing.getInterval() == registration.get().interval()) {
+                return existing;
+            }
+            if (existing != null) {
+                existing.destroy();
             }
+            if (registration.isEmpty()) {
+                healthStatusCache.remove(name);
+                circuitBreakers.remove(name);
+                latencyTracker.remove(name);
+                recentHealthHistory.remove(name);
+                logger.info("Removed health check scheduler for service: {}", name);
+                return null;
+            }
+            created.set(createScheduler(registration.get()));
+            return created.get();
+        });
+        return created.get();
+    }
+
+    private CompletableFuture<Void> firstCheck(ServiceHealthCheckScheduler scheduler) {
+        return CompletableFuture.runAsync(scheduler::checkNow, firstCheckExecutor);
+    }
+
+    private void awaitFirstChecks(Map<String, CompletableFuture<Void>> firstChecks) {
+        long startTime = System.nanoTime();
+        try {
+            CompletableFuture.allOf(firstChecks.values().toArray(CompletableFuture[]::new))
+                    .get(startupDeadlineMs, TimeUnit.MILLISECONDS);
+            logger.info("First health checks of {} services completed in {}ms",
+                    firstChecks.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+        } catch (TimeoutException e) {
+            List<String> pending = firstChecks.entrySet().stream()
+                    .filter(firstCheck -> !firstCheck.getValue().isDone())
+                    .map(Map.Entry::getKey)
+                    .toList();
+            pending.forEach(healthStatusCache::markUnknown);
+            logger.warn("First health checks of {} not completed within {}ms, reporting UNKNOWN until they finish",
+                    pending, startupDeadlineMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logger.warn("First health checks failed: {}", e.getMessage());
+        }
+    }
+
+    private ServiceHealthCheckScheduler createScheduler(RegisteredService service) {
+        Optional<HealthIndicator> healthIndicator = serviceRegistry.getHealthIndicator(service.name());
+        if (healthIndicator.isEmpty()) {
+            logger.warn("HealthIndicator bean '{}' not found, skipping scheduler creation", service.name());
+            return null;
         }
+        latencyTracker.track(service.name());
+        ServiceHealthCheckScheduler scheduler = new ServiceHealthCheckScheduler(
+                service.name(),
+                healthIndicator.get(),
+                healthStatusCache,
+                recentHealthHistory,
+                latencyTracker,
+                circuitBreakers,
+                clusterMembership,
+                service.interval(),
+                taskScheduler
+        );
+        scheduler.afterPropertiesSet();
+        logger.info("Created health check scheduler for service: {} with interval: {}ms", service.name(), service.interval());
+        return scheduler;
     }
 
     @PreDestroy
     public void destroySchedulers() {
-        for (ServiceHealthCheckScheduler scheduler : schedulers) {
+        firstCheckExecutor.shutdownNow();
+        for (ServiceHealthCheckScheduler scheduler : schedulers.values()) {
             try {
                 scheduler.destroy();
             } catch (Exception e) {
@@ -1,16 +1,26 @@
 package com.chainsea.healthcheck.config;
 
+import com.chainsea.healthcheck.service.messaging.MqMessageDataMessageConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.amqp.core.AcknowledgeMode;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
 import org.springframework.amqp.core.DirectExchange;
 import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
-import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 /**
  * RabbitMQ's configuration for batch health check notifications.
+ * <p>
+ * Tasks rejected by the consumer are dead-lettered to {@code batch.task.dlq}. RabbitMQ refuses to
+ * redeclare a queue with different arguments, so a {@code batch.task.queue} created before the
+ * dead-letter arguments were added has to be deleted once, or given the same arguments by a policy.
  */
 @Configuration
 public class RabbitMqConfig {
@@ -18,6 +28,8 @@ public class RabbitMqConfig {
     public static final String EXCHANGE = "healthcheck.exchange";
     public static final String QUEUE = "batch.task.queue";
     public static final String ROUTING_KEY = "batch.task";
+    public static final String DEAD_LETTER_EXCHANGE = "healthcheck.dlx";
+    public static final String DEAD_LETTER_QUEUE = "batch.task.dlq";
 
     @Bean
     public DirectExchange healthcheckExchange() {
@@ -26,7 +38,10 @@ public class RabbitMqConfig {
 
     @Bean
     public Queue batchTaskQueue() {
-        return new Queue(QUEUE, true);
+        return QueueBuilder.durable(QUEUE)
+                .deadLetterExchange(DEAD_LETTER_EXCHANGE)
+                .deadLetterRoutingKey(ROUTING_KEY)
+                .build();
     }
 
     @Bean
@@ -37,7 +52,56 @@ public class RabbitMqConfig {
     }
 
     @Bean
-    public MessageConverter messageConverter() {
-        return new Jackson2JsonMessageConverter();
+    public DirectExchange deadLetterExchange() {
+        return new DirectExchange(DEAD_LETTER_EXCHANGE, true, false);
+    }
+
+    @Bean
+    public Queue batchTaskDeadLetterQueue() {
+        return QueueBuilder.durable(DEAD_LETTER_QUEUE).build();
+    }
+
+    @Bean
+    public Binding batchTaskDeadLetterBinding() {
+        return BindingBuilder.bind(batchTaskDeadLetterQueue())
+                .to(deadLetterExchange())
+                .with(ROUTING_KEY);
+    }
+
+    /**
+     * Batch tasks are sent in the compact binary format once {@code health-check.messaging.binary} is set,
+     * everything else as JSON. Both formats are always read.
+     */
+    @Bean
+    public MqMessageDataMessageConverter messageConverter(ObjectMapper objectMapper,
+                                                          @Value("${health-check.messaging.binary:false}") boolean binary) {
+        return new MqMessageDataMessageConverter(new Jackson2JsonMessageConverter(), objectMapper, binary);
+    }
+
+    /**
+     * Containers of the batch task consumer. Each consumer receives up to {@code batch-size} tasks at a
+     * time, waiting at most {@code receive-timeout} for a batch to fill, and acknowledges them manually.
+     * The prefetch should be at least the batch size, so a batch never waits on the broker.
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory batchTaskListenerContainerFactory(
+            ConnectionFactory connectionFactory,
+            @Value("${health-check.consumer.concurrency:4}") int concurrency,
+            @Value("${health-check.consumer.max-concurrency:8}") int maxConcurrency,
+            @Value("${health-check.consumer.prefetch:250}") int prefetch,
+            @Value("${health-check.consumer.batch-size:50}") int batchSize,
+            @Value("${health-check.consumer.receive-timeout:100}") long receiveTimeoutMs) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        factory.setConnectionFactory(connectionFactory);
+        factory.setConcurrentConsumers(concurrency);
+        factory.setMaxConcurrentConsumers(Math.max(concurrency, maxConcurrency));
+        factory.setPrefetchCount(prefetch);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setReceiveTimeout(receiveTimeoutMs);
+        factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+        factory.setDefaultRequeueRejected(false);
+        return factory;
     }
 }
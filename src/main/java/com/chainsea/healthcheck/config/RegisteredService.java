@@ -0,0 +1,11 @@
+package com.chainsea.healthcheck.config;
+
+import org.springframework.hateoas.server.core.Relation;
+
+/**
+ * A service checked by the scheduler: the name of its health indicator bean, the delay between
+ * checks in milliseconds and whether readiness is DOWN (critical) or DEGRADED when it fails.
+ */
+@Relation(collectionRelation = "services", itemRelation = "service")
+public record RegisteredService(String name, long interval, boolean critical) {
+}
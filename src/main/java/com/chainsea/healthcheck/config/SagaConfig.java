@@ -0,0 +1,67 @@
+package com.chainsea.healthcheck.config;
+
+import com.chainsea.healthcheck.service.saga.MongoDbSagaStep;
+import com.chainsea.healthcheck.service.saga.PostgresSagaStep;
+import com.chainsea.healthcheck.service.saga.RabbitMqSagaStep;
+import com.chainsea.healthcheck.service.saga.RedisSagaStep;
+import com.chainsea.healthcheck.service.saga.SagaDefinition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Saga step graph, the executor that runs independent steps concurrently and the bounded
+ * executor that runs asynchronously submitted sagas.
+ */
+@Configuration
+public class SagaConfig {
+
+    /**
+     * Batch health check saga: the PostgreSQL task row comes first, the Redis cache and MongoDB log
+     * do not depend on each other, and the RabbitMQ notification is only sent once both are done.
+     */
+    @Bean
+    public SagaDefinition batchTaskSagaDefinition(PostgresSagaStep postgresStep,
+                                                  RedisSagaStep redisStep,
+                                                  MongoDbSagaStep mongodbStep,
+                                                  RabbitMqSagaStep rabbitmqStep) {
+        return SagaDefinition.builder()
+                .step(postgresStep)
+                .step(redisStep, postgresStep.getStepName())
+                .step(mongodbStep, postgresStep.getStepName())
+                .step(rabbitmqStep, redisStep.getStepName(), mongodbStep.getStepName())
+                .build();
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor sagaStepExecutor(@Value("${health-check.saga.step-pool-size:16}") int poolSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setThreadNamePrefix("saga-step-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Runs sagas submitted through the asynchronous API. The queue is bounded so a burst of submissions
+     * is rejected instead of growing memory without limit; the pool size caps concurrent sagas.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor sagaSubmissionExecutor(
+            @Value("${health-check.saga.submission.pool-size:8}") int poolSize,
+            @Value("${health-check.saga.submission.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("saga-submission-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
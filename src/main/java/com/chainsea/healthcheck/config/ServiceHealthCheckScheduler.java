@@ -1,6 +1,11 @@
 package com.chainsea.healthcheck.config;
 
+import com.chainsea.healthcheck.cluster.ClusterMembership;
+import com.chainsea.healthcheck.health.CircuitBreakerRegistry;
 import com.chainsea.healthcheck.health.HealthStatusCache;
+import com.chainsea.healthcheck.health.LatencyTracker;
+import com.chainsea.healthcheck.health.RecentHealthHistory;
+import com.chainsea.healthcheck.model.HealthStatus;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
@@ -12,7 +17,9 @@ import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.scheduling.TaskScheduler;
 
 import java.time.Duration;
+import java.time.Instant;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class ServiceHealthCheckScheduler implements InitializingBean, DisposableBean {
 
@@ -21,19 +28,32 @@ public class ServiceHealthCheckScheduler implements InitializingBean, Disposable
     private final String serviceName;
     private final HealthIndicator healthIndicator;
     private final HealthStatusCache healthStatusCache;
+    private final RecentHealthHistory recentHealthHistory;
+    private final LatencyTracker latencyTracker;
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final ClusterMembership clusterMembership;
     private final long interval;
     private final TaskScheduler taskScheduler;
+    private final AtomicBoolean checking = new AtomicBoolean();
     private ScheduledFuture<?> scheduledTask;
     private volatile boolean initialized = false;
 
     public ServiceHealthCheckScheduler(String serviceName,
                                        HealthIndicator healthIndicator,
                                        HealthStatusCache healthStatusCache,
+                                       RecentHealthHistory recentHealthHistory,
+                                       LatencyTracker latencyTracker,
+                                       CircuitBreakerRegistry circuitBreakers,
+                                       ClusterMembership clusterMembership,
                                        long interval,
                                        TaskScheduler taskScheduler) {
         this.serviceName = serviceName;
         this.healthIndicator = healthIndicator;
         this.healthStatusCache = healthStatusCache;
+        this.recentHealthHistory = recentHealthHistory;
+        this.latencyTracker = latencyTracker;
+        this.circuitBreakers = circuitBreakers;
+        this.clusterMembership = clusterMembership;
         this.interval = interval;
         this.taskScheduler = taskScheduler;
     }
@@ -55,10 +75,10 @@ public class ServiceHealthCheckScheduler implements InitializingBean, Disposable
         initialized = true;
         logger.info("Starting health check scheduler for service: {} with interval: {}ms", serviceName, interval);
 
-        checkService();
-
+        // The first check is run by HealthCheckSchedulerConfig, in parallel with the other services
         scheduledTask = taskScheduler.scheduleWithFixedDelay(
                 this::checkService,
+                Instant.now().plusMillis(interval),
                 Duration.ofMillis(interval)
         );
     }
@@ -76,24 +96,81 @@ public class ServiceHealthCheckScheduler implements InitializingBean, Disposable
         }
     }
 
+    /**
+     * Check the service now, outside the schedule. Used for the first check, which is not scheduled.
+     */
+    public void checkNow() {
+        checkService();
+    }
+
+    /**
+     * Probe the service unless its circuit is open; while open, the cached DOWN status stands and the
+     * first probe after the open duration runs half-open. In a cluster only the owner probes; the others
+     * receive its results, and only probe themselves to close their own breaker of the service. A check
+     * still running when the next one is due, such as a slow first check, makes that one skip.
+     * <p>
+     * A closed breaker follows the cached status rather than the raw probe, so it only opens with the
+     * same hysteresis: a single failed probe of an UP service leaves its circuit closed. A half-open
+     * trial is decided by its own probe, since the cached status may still be UP when the breaker was
+     * opened by failed transaction calls.
+     */
     private void checkService() {
+        if (!checking.compareAndSet(false, true)) {
+            logger.debug("Previous health check for service {} is still running, skipping", serviceName);
+            return;
+        }
+        try {
+            runCheck();
+        } finally {
+            checking.set(false);
+        }
+    }
+
+    private void runCheck() {
+        if (!clusterMembership.isOwner(serviceName) && circuitBreakers.getState(serviceName) == CircuitBreakerRegistry.State.CLOSED) {
+            logger.debug("Service {} is checked by another instance, skipping health check", serviceName);
+            return;
+        }
+        if (!circuitBreakers.tryAcquireProbe(serviceName)) {
+            logger.debug("Circuit for service {} is open, skipping health check", serviceName);
+            return;
+        }
         logger.debug("Starting health check for service: {}", serviceName);
+        long startTime = System.currentTimeMillis();
 
         try {
             Health health = healthIndicator.health();
-            healthStatusCache.updateHealth(serviceName, health);
+            long responseTimeMs = System.currentTimeMillis() - startTime;
+            // As for declarative targets, a failed check's time is not the service's latency
+            if (HealthStatusCache.toHealthStatus(health.getStatus()) != HealthStatus.DOWN) {
+                latencyTracker.record(serviceName, responseTimeMs);
+                health = latencyTracker.applySlo(serviceName, health);
+            }
+            HealthStatus status = HealthStatusCache.toHealthStatus(health.getStatus());
+            recordProbe(status, healthStatusCache.updateHealth(serviceName, health));
+            recentHealthHistory.record(serviceName, status, Instant.now(), responseTimeMs);
             logger.debug("Service {} health check completed: {}", serviceName, health.getStatus());
         } catch (Exception e) {
             logger.warn("Health check failed for service {}: {}", serviceName, e.getMessage());
             Health downHealth = Health.down()
                     .withException(e)
                     .build();
-            healthStatusCache.updateHealth(serviceName, downHealth);
+            recordProbe(HealthStatus.DOWN, healthStatusCache.updateHealth(serviceName, downHealth));
+            recentHealthHistory.record(serviceName, HealthStatus.DOWN, Instant.now(), System.currentTimeMillis() - startTime);
         }
     }
 
+    private void recordProbe(HealthStatus probed, HealthStatus cached) {
+        boolean trial = circuitBreakers.getState(serviceName) == CircuitBreakerRegistry.State.HALF_OPEN;
+        circuitBreakers.recordProbe(serviceName, trial ? probed : cached);
+    }
+
     public String getServiceName() {
         return serviceName;
     }
+
+    public long getInterval() {
+        return interval;
+    }
 }
 
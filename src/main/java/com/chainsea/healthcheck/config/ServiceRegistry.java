@@ -0,0 +1,101 @@
+package com.chainsea.healthcheck.config;
+
+import com.chainsea.healthcheck.health.ReadinessHealthIndicator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Services checked by the scheduler, keyed by name.
+ * <p>
+ * Seeded from {@code health-check.critical-services} and {@code health-check.non-critical-services} at
+ * startup and changed at runtime through the registry API, without a restart. Every change publishes a
+ * {@link ServiceRegistryEvent}, which {@link HealthCheckSchedulerConfig} uses to start, reschedule or
+ * stop the affected scheduler only. A service can only be registered if a {@link HealthIndicator} bean
+ * with its name exists.
+ */
+@Component
+public class ServiceRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(ServiceRegistry.class);
+
+    private final Map<String, RegisteredService> services = new ConcurrentHashMap<>();
+    private final ApplicationContext applicationContext;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ServiceRegistry(HealthCheckProperties properties,
+                           ApplicationContext applicationContext,
+                           ApplicationEventPublisher eventPublisher) {
+        this.applicationContext = applicationContext;
+        this.eventPublisher = eventPublisher;
+        properties.criticalServices().forEach(service ->
+                services.put(service.name(), new RegisteredService(service.name(), service.interval(), true)));
+        properties.nonCriticalServices().forEach(service ->
+                services.put(service.name(), new RegisteredService(service.name(), service.interval(), false)));
+    }
+
+    public Optional<RegisteredService> getService(String serviceName) {
+        return Optional.ofNullable(services.get(serviceName));
+    }
+
+    public Collection<RegisteredService> getServices() {
+        return List.copyOf(services.values());
+    }
+
+    /**
+     * Look up the health indicator that checks a service.
+     *
+     * @return the health indicator, or empty if no health indicator bean has this name
+     */
+    public Optional<HealthIndicator> getHealthIndicator(String serviceName) {
+        try {
+            HealthIndicator healthIndicator = applicationContext.getBean(serviceName, HealthIndicator.class);
+            // Readiness aggregates the registered services, so it cannot be one of them
+            return healthIndicator instanceof ReadinessHealthIndicator ? Optional.empty() : Optional.of(healthIndicator);
+        } catch (BeansException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Add a service or replace its interval and criticality.
+     *
+     * @return the registration, or empty if the interval is not positive or no health indicator has this name
+     */
+    public Optional<RegisteredService> register(RegisteredService service) {
+        if (service.interval() <= 0 || getHealthIndicator(service.name()).isEmpty()) {
+            logger.warn("Rejected registration of service {} with interval {}ms", service.name(), service.interval());
+            return Optional.empty();
+        }
+        RegisteredService previous = services.put(service.name(), service);
+        if (!service.equals(previous)) {
+            logger.info("Registered service {} with interval {}ms, critical: {}", service.name(), service.interval(), service.critical());
+            eventPublisher.publishEvent(new ServiceRegistryEvent(service.name(), previous, service));
+        }
+        return Optional.of(service);
+    }
+
+    /**
+     * Remove a service.
+     *
+     * @return the removed registration, or empty if the service was not registered
+     */
+    public Optional<RegisteredService> deregister(String serviceName) {
+        RegisteredService previous = services.remove(serviceName);
+        if (previous != null) {
+            logger.info("Deregistered service {}", serviceName);
+            eventPublisher.publishEvent(new ServiceRegistryEvent(serviceName, previous, null));
+        }
+        return Optional.ofNullable(previous);
+    }
+}
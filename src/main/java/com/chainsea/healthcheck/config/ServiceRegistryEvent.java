@@ -0,0 +1,11 @@
+package com.chainsea.healthcheck.config;
+
+/**
+ * Published by {@link ServiceRegistry} when a service is added, changed or removed.
+ *
+ * @param serviceName the service name
+ * @param previous    the registration before the change, or null if the service was added
+ * @param current     the registration after the change, or null if the service was removed
+ */
+public record ServiceRegistryEvent(String serviceName, RegisteredService previous, RegisteredService current) {
+}
@@ -1,8 +1,11 @@
 package com.chainsea.healthcheck.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
 @Configuration
@@ -18,5 +21,32 @@ public class TaskSchedulerConfig {
         scheduler.initialize();
         return scheduler;
     }
-}
 
+    /**
+     * Delivers health status transitions to stream subscribers. Every subscriber's queue is drained on
+     * its own virtual thread, so a client blocked in a socket write does not hold back the others; the
+     * order of events is kept by the queue, and its bound by {@code health-check.stream.subscriber-queue-capacity}.
+     */
+    @Bean
+    public SimpleAsyncTaskExecutor healthStatusStreamExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("health-stream-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+
+    /**
+     * Writes replicated status transitions to Redis off the probe threads. A single thread keeps the writes
+     * in transition order; the bounded queue keeps an unreachable Redis from growing memory without limit.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor statusReplicationExecutor(
+            @Value("${health-check.replication.queue-capacity:10000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("status-replication-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -2,16 +2,25 @@ package com.chainsea.healthcheck.controller;
 
 import com.chainsea.healthcheck.controller.dto.BatchHealthCheckRequest;
 import com.chainsea.healthcheck.service.saga.SagaOrchestrator;
+import com.chainsea.healthcheck.service.saga.SagaStatus;
 import com.chainsea.healthcheck.service.tcc.TccCoordinator;
 import com.chainsea.healthcheck.service.twophase.TwoPhaseCommitCoordinator;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.net.URI;
 import java.util.Map;
 
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
 /**
  * Controller for batch health check operations with distributed transaction support.
  */
@@ -80,4 +89,43 @@ public class BatchHealthCheckController {
         return success ? ResponseEntity.ok(response) : ResponseEntity.status(500).body(response);
     }
 
+    /**
+     * Submit a batch health check task using Saga pattern without waiting for it to finish.
+     *
+     * @param request the batch health check request
+     * @return 202 with the saga status location, or 503 if the saga could not be accepted
+     */
+    @PostMapping("/saga/async")
+    public ResponseEntity<Map<String, Object>> submitBatchTaskWithSaga(@RequestBody BatchHealthCheckRequest request) {
+        return sagaOrchestrator.submitSaga(request.taskId(), request.serviceNames())
+                .map(sagaId -> {
+                    URI location = linkTo(methodOn(BatchHealthCheckController.class).getSagaStatus(sagaId)).toUri();
+                    Map<String, Object> response = Map.of(
+                            "taskId", request.taskId(),
+                            "sagaId", sagaId,
+                            "pattern", "Saga",
+                            "message", "Saga transaction accepted",
+                            "status", location.toString()
+                    );
+                    return ResponseEntity.accepted().location(location).body(response);
+                })
+                .orElseGet(() -> ResponseEntity.status(503)
+                        .header(HttpHeaders.RETRY_AFTER, "1")
+                        .body(generateResponse(request.taskId(), "Saga", false, "Saga transaction could not be accepted, retry later")));
+    }
+
+    /**
+     * Get the progress of a Saga transaction.
+     *
+     * @param sagaId the saga ID returned on submission
+     * @return the saga status
+     */
+    @GetMapping("/saga/{sagaId}")
+    public ResponseEntity<EntityModel<SagaStatus>> getSagaStatus(@PathVariable String sagaId) {
+        return sagaOrchestrator.getSagaStatus(sagaId)
+                .map(sagaStatus -> EntityModel.of(sagaStatus,
+                        linkTo(methodOn(BatchHealthCheckController.class).getSagaStatus(sagaId)).withSelfRel()))
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
 }
@@ -2,8 +2,10 @@ package com.chainsea.healthcheck.controller;
 
 import com.chainsea.healthcheck.controller.dto.HealthCheckRequest;
 import com.chainsea.healthcheck.model.HealthCheckRecord;
+import com.chainsea.healthcheck.model.HealthCheckSummary;
 import com.chainsea.healthcheck.service.HealthCheckService;
 import jakarta.validation.Valid;
+import org.springframework.data.domain.Slice;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.http.ResponseEntity;
@@ -17,8 +19,6 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
-import java.util.List;
-import java.util.stream.Collectors;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
@@ -67,26 +67,48 @@ public class HealthCheckController {
      * Query parameters:
      * - serviceName: filter by service name (optional)
      * - hours: filter by time window (default: 24, applies to all queries)
+     * - page / size: zero-based page and page size (default: 0 / 50, size capped server-side)
+     * - details: include to return the details of each record (default: exclude)
      * <p>
      * If serviceName is provided, returns records for that service within the time window.
      * If serviceName is not provided, returns all records within the time window.
      */
     @GetMapping
-    public ResponseEntity<CollectionModel<EntityModel<HealthCheckRecord>>> getHealthChecks(
+    public ResponseEntity<CollectionModel<EntityModel<?>>> getHealthChecks(
             @RequestParam(required = false) String serviceName,
-            @RequestParam(defaultValue = "24") int hours) {
-        List<HealthCheckRecord> records;
-        if (serviceName != null && !serviceName.isBlank()) {
-            records = healthCheckService.getHealthChecks(serviceName, hours);
+            @RequestParam(defaultValue = "24") int hours,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String details) {
+        int pageNumber = HealthCheckListParams.page(page);
+        int pageSize = HealthCheckListParams.size(size);
+        boolean filterByService = serviceName != null && !serviceName.isBlank();
+
+        Slice<EntityModel<?>> entityModels;
+        if (HealthCheckListParams.includeDetails(details)) {
+            Slice<HealthCheckRecord> records = filterByService
+                    ? healthCheckService.getHealthChecks(serviceName, hours, pageNumber, pageSize, HealthCheckRecord.class)
+                    : healthCheckService.getHealthChecks(hours, pageNumber, pageSize, HealthCheckRecord.class);
+            entityModels = records.map(this::toEntityModel);
         } else {
-            records = healthCheckService.getHealthChecks(hours);
+            Slice<HealthCheckSummary> records = filterByService
+                    ? healthCheckService.getHealthChecks(serviceName, hours, pageNumber, pageSize, HealthCheckSummary.class)
+                    : healthCheckService.getHealthChecks(hours, pageNumber, pageSize, HealthCheckSummary.class);
+            entityModels = records.map(this::toSummaryEntityModel);
         }
 
-        List<EntityModel<HealthCheckRecord>> entityModels = records.stream().map(this::toEntityModel).toList();
-        CollectionModel<EntityModel<HealthCheckRecord>> collectionModel = CollectionModel.of(
-                entityModels,
-                linkTo(methodOn(HealthCheckController.class).getHealthChecks(serviceName, hours)).withSelfRel()
+        CollectionModel<EntityModel<?>> collectionModel = CollectionModel.of(
+                entityModels.getContent(),
+                linkTo(methodOn(HealthCheckController.class).getHealthChecks(serviceName, hours, pageNumber, pageSize, details)).withSelfRel()
         );
+        if (entityModels.hasNext()) {
+            collectionModel.add(linkTo(methodOn(HealthCheckController.class)
+                    .getHealthChecks(serviceName, hours, pageNumber + 1, pageSize, details)).withRel("next"));
+        }
+        if (entityModels.hasPrevious()) {
+            collectionModel.add(linkTo(methodOn(HealthCheckController.class)
+                    .getHealthChecks(serviceName, hours, pageNumber - 1, pageSize, details)).withRel("prev"));
+        }
 
         return ResponseEntity.ok(collectionModel);
     }
@@ -98,9 +120,22 @@ public class HealthCheckController {
         EntityModel<HealthCheckRecord> entityModel = EntityModel.of(healthCheckRecord);
         entityModel.add(linkTo(methodOn(HealthCheckController.class).getHealthCheck(healthCheckRecord.getId())).withSelfRel());
         entityModel.add(linkTo(methodOn(ServiceHealthCheckController.class)
-                .getServiceHealthChecks(healthCheckRecord.getServiceName())).withRel("service-health-checks"));
+                .getServiceHealthChecks(healthCheckRecord.getServiceName(), null, null, null)).withRel("service-health-checks"));
         entityModel.add(linkTo(methodOn(ServiceHealthCheckController.class)
                 .getServiceStats(healthCheckRecord.getServiceName())).withRel("service-stats"));
         return entityModel;
     }
+
+    /**
+     * Converts HealthCheckSummary to EntityModel with the same HATEOAS links as a full record.
+     */
+    private EntityModel<HealthCheckSummary> toSummaryEntityModel(HealthCheckSummary summary) {
+        EntityModel<HealthCheckSummary> entityModel = EntityModel.of(summary);
+        entityModel.add(linkTo(methodOn(HealthCheckController.class).getHealthCheck(summary.id())).withSelfRel());
+        entityModel.add(linkTo(methodOn(ServiceHealthCheckController.class)
+                .getServiceHealthChecks(summary.serviceName(), null, null, null)).withRel("service-health-checks"));
+        entityModel.add(linkTo(methodOn(ServiceHealthCheckController.class)
+                .getServiceStats(summary.serviceName())).withRel("service-stats"));
+        return entityModel;
+    }
 }
@@ -0,0 +1,50 @@
+package com.chainsea.healthcheck.controller;
+
+import com.chainsea.healthcheck.service.ingest.HealthCheckIngestionService;
+import com.chainsea.healthcheck.service.ingest.IngestResult;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Bulk ingestion of health check results that agents computed themselves.
+ */
+@RestController
+@RequestMapping("/api/health-checks")
+public class HealthCheckIngestController {
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final HealthCheckIngestionService ingestionService;
+
+    public HealthCheckIngestController(HealthCheckIngestionService ingestionService) {
+        this.ingestionService = ingestionService;
+    }
+
+    /**
+     * POST /api/health-checks/bulk
+     * Queues a batch of results, sent as a JSON array or as newline-delimited JSON, for loading.
+     * Returns 202 once queued, 400 if any result is invalid, 413 if the batch is too large and 429 with
+     * Retry-After when the load queue is full. Nothing is queued unless the whole batch is accepted.
+     */
+    @PostMapping(path = "/bulk", consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Map<String, Object>> ingest(HttpServletRequest request) throws IOException {
+        IngestResult result = ingestionService.ingest(request.getInputStream());
+        return switch (result.outcome()) {
+            case ACCEPTED -> ResponseEntity.accepted().body(Map.of("accepted", result.accepted()));
+            case INVALID -> ResponseEntity.badRequest().body(Map.of("error", result.error()));
+            case TOO_LARGE -> ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(Map.of("error", result.error()));
+            case BUSY -> ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                    .body(Map.of("error", result.error()));
+        };
+    }
+}
@@ -0,0 +1,29 @@
+package com.chainsea.healthcheck.controller;
+
+/**
+ * Defaults for the paging and details parameters shared by the health check list endpoints.
+ * Page size is additionally capped by {@code health-check.query.max-page-size} in the service.
+ */
+final class HealthCheckListParams {
+
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final String INCLUDE_DETAILS = "include";
+
+    private HealthCheckListParams() {
+    }
+
+    static int page(Integer page) {
+        return page != null ? page : 0;
+    }
+
+    static int size(Integer size) {
+        return size != null ? size : DEFAULT_PAGE_SIZE;
+    }
+
+    /**
+     * Details are excluded unless explicitly requested, so list queries skip the jsonb column by default.
+     */
+    static boolean includeDetails(String details) {
+        return INCLUDE_DETAILS.equalsIgnoreCase(details);
+    }
+}
@@ -0,0 +1,35 @@
+package com.chainsea.healthcheck.controller;
+
+import com.chainsea.healthcheck.health.HealthStatusStream;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/health-status")
+public class HealthStatusStreamController {
+
+    private final HealthStatusStream healthStatusStream;
+
+    public HealthStatusStreamController(HealthStatusStream healthStatusStream) {
+        this.healthStatusStream = healthStatusStream;
+    }
+
+    /**
+     * GET /api/health-status/stream?services=postgres,redis
+     * Streams health status transitions as Server-Sent Events, replacing polling of the latest
+     * health check and readiness endpoints. Without a Last-Event-ID header the stream starts with
+     * a snapshot of the current statuses.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamHealthStatus(@RequestParam(required = false) Set<String> services,
+                                         @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return healthStatusStream.subscribe(services, lastEventId);
+    }
+}
@@ -1,14 +1,20 @@
 package com.chainsea.healthcheck.controller;
 
 import com.chainsea.healthcheck.controller.dto.ServiceStatsResponse;
+import com.chainsea.healthcheck.health.HealthHistoryEntry;
+import com.chainsea.healthcheck.health.HealthSparkline;
 import com.chainsea.healthcheck.model.HealthCheckRecord;
+import com.chainsea.healthcheck.model.HealthCheckSummary;
+import com.chainsea.healthcheck.model.HealthStatus;
 import com.chainsea.healthcheck.service.HealthCheckService;
+import org.springframework.data.domain.Slice;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -28,25 +34,43 @@ public class ServiceHealthCheckController {
     }
 
     /**
-     * GET /api/services/{serviceName}/health-checks
-     * Retrieves all health check records for a specific service.
+     * GET /api/services/{serviceName}/health-checks?page=0&size=50&details=exclude
+     * Retrieves one page of health check records for a specific service, newest first.
+     * Details are only loaded with details=include; the page size is capped server-side.
      */
     @GetMapping("/{serviceName}/health-checks")
-    public ResponseEntity<CollectionModel<EntityModel<HealthCheckRecord>>> getServiceHealthChecks(@PathVariable String serviceName) {
-        List<HealthCheckRecord> records = healthCheckService.getHealthChecks(serviceName);
-        List<EntityModel<HealthCheckRecord>> entityModels = records.stream()
-                .map(healthCheckRecord -> {
-                    EntityModel<HealthCheckRecord> entityModel = EntityModel.of(healthCheckRecord);
-                    entityModel.add(linkTo(methodOn(HealthCheckController.class).getHealthCheck(healthCheckRecord.getId())).withSelfRel());
-                    return entityModel;
-                }).toList();
+    public ResponseEntity<CollectionModel<EntityModel<?>>> getServiceHealthChecks(@PathVariable String serviceName,
+                                                                                @RequestParam(required = false) Integer page,
+                                                                                @RequestParam(required = false) Integer size,
+                                                                                @RequestParam(required = false) String details) {
+        int pageNumber = HealthCheckListParams.page(page);
+        int pageSize = HealthCheckListParams.size(size);
+
+        Slice<EntityModel<?>> entityModels;
+        if (HealthCheckListParams.includeDetails(details)) {
+            entityModels = healthCheckService.getHealthChecks(serviceName, pageNumber, pageSize, HealthCheckRecord.class)
+                    .map(healthCheckRecord -> toEntityModel(healthCheckRecord, healthCheckRecord.getId()));
+        } else {
+            entityModels = healthCheckService.getHealthChecks(serviceName, pageNumber, pageSize, HealthCheckSummary.class)
+                    .map(summary -> toEntityModel(summary, summary.id()));
+        }
 
-        CollectionModel<EntityModel<HealthCheckRecord>> collectionModel = CollectionModel.of(
-                entityModels,
-                linkTo(methodOn(ServiceHealthCheckController.class).getServiceHealthChecks(serviceName)).withSelfRel(),
+        CollectionModel<EntityModel<?>> collectionModel = CollectionModel.of(
+                entityModels.getContent(),
+                linkTo(methodOn(ServiceHealthCheckController.class).getServiceHealthChecks(serviceName, pageNumber, pageSize, details)).withSelfRel(),
                 linkTo(methodOn(ServiceHealthCheckController.class).getServiceStats(serviceName)).withRel("stats"),
-                linkTo(methodOn(ServiceHealthCheckController.class).getLatestServiceHealthCheck(serviceName)).withRel("latest")
+                linkTo(methodOn(ServiceHealthCheckController.class).getLatestServiceHealthCheck(serviceName)).withRel("latest"),
+                linkTo(methodOn(ServiceHealthCheckController.class).getRecentServiceHealthChecks(serviceName, 50)).withRel("recent"),
+                linkTo(methodOn(ServiceHealthCheckController.class).getServiceSparkline(serviceName, 60)).withRel("sparkline")
         );
+        if (entityModels.hasNext()) {
+            collectionModel.add(linkTo(methodOn(ServiceHealthCheckController.class)
+                    .getServiceHealthChecks(serviceName, pageNumber + 1, pageSize, details)).withRel("next"));
+        }
+        if (entityModels.hasPrevious()) {
+            collectionModel.add(linkTo(methodOn(ServiceHealthCheckController.class)
+                    .getServiceHealthChecks(serviceName, pageNumber - 1, pageSize, details)).withRel("prev"));
+        }
 
         return ResponseEntity.ok(collectionModel);
     }
@@ -61,7 +85,7 @@ public class ServiceHealthCheckController {
                 .map(healthCheckRecord -> {
                     EntityModel<HealthCheckRecord> entityModel = EntityModel.of(healthCheckRecord);
                     entityModel.add(linkTo(methodOn(HealthCheckController.class).getHealthCheck(healthCheckRecord.getId())).withSelfRel());
-                    entityModel.add(linkTo(methodOn(ServiceHealthCheckController.class).getServiceHealthChecks(serviceName)).withRel("all-health-checks"));
+                    entityModel.add(linkTo(methodOn(ServiceHealthCheckController.class).getServiceHealthChecks(serviceName, null, null, null)).withRel("all-health-checks"));
                     entityModel.add(linkTo(methodOn(ServiceHealthCheckController.class).getServiceStats(serviceName)).withRel("stats"));
                     return entityModel;
                 })
@@ -69,9 +93,45 @@ public class ServiceHealthCheckController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * GET /api/services/{serviceName}/health-checks/recent?limit=50
+     * Retrieves the most recent health check results for a specific service from memory.
+     */
+    @GetMapping("/{serviceName}/health-checks/recent")
+    public ResponseEntity<CollectionModel<HealthHistoryEntry>> getRecentServiceHealthChecks(@PathVariable String serviceName,
+                                                                                          @RequestParam(defaultValue = "50") int limit) {
+        List<HealthHistoryEntry> entries = healthCheckService.getRecentHealthChecks(serviceName, limit);
+
+        CollectionModel<HealthHistoryEntry> collectionModel = CollectionModel.of(
+                entries,
+                linkTo(methodOn(ServiceHealthCheckController.class).getRecentServiceHealthChecks(serviceName, limit)).withSelfRel(),
+                linkTo(methodOn(ServiceHealthCheckController.class).getServiceSparkline(serviceName, 60)).withRel("sparkline"),
+                linkTo(methodOn(ServiceHealthCheckController.class).getServiceHealthChecks(serviceName, null, null, null)).withRel("all-health-checks")
+        );
+
+        return ResponseEntity.ok(collectionModel);
+    }
+
+    /**
+     * GET /api/services/{serviceName}/health-checks/sparkline?points=60
+     * Retrieves recent statuses and response times for a specific service from memory, oldest first.
+     */
+    @GetMapping("/{serviceName}/health-checks/sparkline")
+    public ResponseEntity<EntityModel<HealthSparkline>> getServiceSparkline(@PathVariable String serviceName,
+                                                                           @RequestParam(defaultValue = "60") int points) {
+        HealthSparkline sparkline = healthCheckService.getSparkline(serviceName, points);
+
+        EntityModel<HealthSparkline> entityModel = EntityModel.of(sparkline);
+        entityModel.add(linkTo(methodOn(ServiceHealthCheckController.class).getServiceSparkline(serviceName, points)).withSelfRel());
+        entityModel.add(linkTo(methodOn(ServiceHealthCheckController.class).getRecentServiceHealthChecks(serviceName, 50)).withRel("recent"));
+
+        return ResponseEntity.ok(entityModel);
+    }
+
     /**
      * GET /api/services/{serviceName}/stats
-     * Retrieves statistics for a specific service.
+     * Retrieves statistics for a specific service, including its latency percentiles over the
+     * 1m, 5m and 1h sliding windows.
      */
     @GetMapping("/{serviceName}/stats")
     public ResponseEntity<EntityModel<ServiceStatsResponse>> getServiceStats(@PathVariable String serviceName) {
@@ -81,15 +141,22 @@ public class ServiceHealthCheckController {
         ServiceStatsResponse stats = new ServiceStatsResponse(
                 serviceName,
                 failureCount,
-                latest.map(HealthCheckRecord::getStatus).orElse("UNKNOWN"),
-                latest.isPresent()
+                latest.map(HealthCheckRecord::getStatus).orElse(HealthStatus.UNKNOWN),
+                latest.isPresent(),
+                healthCheckService.getLatency(serviceName).orElse(null)
         );
 
         EntityModel<ServiceStatsResponse> entityModel = EntityModel.of(stats);
         entityModel.add(linkTo(methodOn(ServiceHealthCheckController.class).getServiceStats(serviceName)).withSelfRel());
-        entityModel.add(linkTo(methodOn(ServiceHealthCheckController.class).getServiceHealthChecks(serviceName)).withRel("health-checks"));
+        entityModel.add(linkTo(methodOn(ServiceHealthCheckController.class).getServiceHealthChecks(serviceName, null, null, null)).withRel("health-checks"));
         entityModel.add(linkTo(methodOn(ServiceHealthCheckController.class).getLatestServiceHealthCheck(serviceName)).withRel("latest"));
 
         return ResponseEntity.ok(entityModel);
     }
+
+    private static <T> EntityModel<?> toEntityModel(T content, Long id) {
+        EntityModel<T> entityModel = EntityModel.of(content);
+        entityModel.add(linkTo(methodOn(HealthCheckController.class).getHealthCheck(id)).withSelfRel());
+        return entityModel;
+    }
 }
@@ -0,0 +1,105 @@
+package com.chainsea.healthcheck.controller;
+
+import com.chainsea.healthcheck.config.RegisteredService;
+import com.chainsea.healthcheck.config.ServiceRegistry;
+import com.chainsea.healthcheck.controller.dto.ServiceRegistrationRequest;
+import jakarta.validation.Valid;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+/**
+ * Admin API for the services checked by the scheduler. Changes take effect immediately without a restart.
+ */
+@RestController
+@RequestMapping("/api/registry/services")
+public class ServiceRegistryController {
+
+    private static final long DEFAULT_INTERVAL = 5000L;
+
+    private final ServiceRegistry serviceRegistry;
+
+    public ServiceRegistryController(ServiceRegistry serviceRegistry) {
+        this.serviceRegistry = serviceRegistry;
+    }
+
+    /**
+     * GET /api/registry/services
+     * Lists all registered services.
+     */
+    @GetMapping
+    public ResponseEntity<CollectionModel<EntityModel<RegisteredService>>> getServices() {
+        List<EntityModel<RegisteredService>> services = serviceRegistry.getServices().stream()
+                .map(this::toEntityModel)
+                .toList();
+
+        CollectionModel<EntityModel<RegisteredService>> collectionModel = CollectionModel.of(
+                services,
+                linkTo(methodOn(ServiceRegistryController.class).getServices()).withSelfRel()
+        );
+
+        return ResponseEntity.ok(collectionModel);
+    }
+
+    /**
+     * GET /api/registry/services/{serviceName}
+     * Retrieves the registration of a service.
+     */
+    @GetMapping("/{serviceName}")
+    public ResponseEntity<EntityModel<RegisteredService>> getService(@PathVariable String serviceName) {
+        return serviceRegistry.getService(serviceName)
+                .map(this::toEntityModel)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * PUT /api/registry/services/{serviceName}
+     * Adds a service or changes its interval and criticality; the service is checked right away.
+     * Only services with a health indicator of the same name can be registered.
+     */
+    @PutMapping("/{serviceName}")
+    public ResponseEntity<EntityModel<RegisteredService>> registerService(@PathVariable String serviceName,
+                                                                         @Valid @RequestBody ServiceRegistrationRequest request) {
+        RegisteredService service = new RegisteredService(
+                serviceName,
+                request.interval() != null ? request.interval() : DEFAULT_INTERVAL,
+                Boolean.TRUE.equals(request.critical()));
+
+        return serviceRegistry.register(service)
+                .map(this::toEntityModel)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.badRequest().build());
+    }
+
+    /**
+     * DELETE /api/registry/services/{serviceName}
+     * Stops checking a service and removes it from readiness.
+     */
+    @DeleteMapping("/{serviceName}")
+    public ResponseEntity<Void> deregisterService(@PathVariable String serviceName) {
+        return serviceRegistry.deregister(serviceName)
+                .map(service -> ResponseEntity.noContent().<Void>build())
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    private EntityModel<RegisteredService> toEntityModel(RegisteredService service) {
+        EntityModel<RegisteredService> entityModel = EntityModel.of(service);
+        entityModel.add(linkTo(methodOn(ServiceRegistryController.class).getService(service.name())).withSelfRel());
+        entityModel.add(linkTo(methodOn(ServiceHealthCheckController.class).getRecentServiceHealthChecks(service.name(), 50)).withRel("recent"));
+        entityModel.add(linkTo(methodOn(ServiceRegistryController.class).getServices()).withRel("services"));
+        return entityModel;
+    }
+}
@@ -0,0 +1,11 @@
+package com.chainsea.healthcheck.controller.dto;
+
+import jakarta.validation.constraints.Positive;
+
+public record ServiceRegistrationRequest(
+        @Positive(message = "Interval must be positive")
+        Long interval,
+
+        Boolean critical
+) {
+}
@@ -1,9 +1,16 @@
 package com.chainsea.healthcheck.controller.dto;
 
+import com.chainsea.healthcheck.health.LatencySummary;
+import com.chainsea.healthcheck.model.HealthStatus;
+
+/**
+ * {@code latency} is null when no latency has been recorded for the service yet.
+ */
 public record ServiceStatsResponse(
         String serviceName,
         long failureCount,
-        String latestStatus,
-        boolean hasRecords
+        HealthStatus latestStatus,
+        boolean hasRecords,
+        LatencySummary latency
 ) {
 }
@@ -0,0 +1,182 @@
+package com.chainsea.healthcheck.health;
+
+import com.chainsea.healthcheck.model.HealthStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Circuit breaker per monitored dependency, keyed by the health indicator name (postgres, redis,
+ * mongodb, rabbitmq).
+ * <p>
+ * A breaker opens as soon as the scheduled probe reports the dependency down, or after
+ * {@code health-check.circuit-breaker.failure-threshold} consecutive participant calls that could not
+ * reach it. Calls the dependency answered with a rejection count as successes. While it is open, the
+ * batch coordinators fail fast without touching any backend and the scheduler skips its probes.
+ * <p>
+ * Once {@code health-check.circuit-breaker.open-duration} has passed the breaker turns half-open, and
+ * either the next scheduled probe or a single trial call from a coordinator decides whether it closes
+ * or opens again. Other calls are still rejected while the trial is in flight; a trial whose result is
+ * never recorded, because its transaction was failed fast on another circuit, is given up after another
+ * open duration. The trial call lets a dependency that is not probed on a schedule recover as well.
+ */
+@Component
+public class CircuitBreakerRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreakerRegistry.class);
+
+    private final Map<String, Breaker> breakers = new ConcurrentHashMap<>();
+    private final int failureThreshold;
+    private final long openDurationNanos;
+
+    public CircuitBreakerRegistry(@Value("${health-check.circuit-breaker.failure-threshold:3}") int failureThreshold,
+                                  @Value("${health-check.circuit-breaker.open-duration:30000}") long openDuration) {
+        this.failureThreshold = failureThreshold;
+        this.openDurationNanos = TimeUnit.MILLISECONDS.toNanos(openDuration);
+    }
+
+    /**
+     * Whether a call to the dependency may go ahead. Dependencies without a name are never blocked.
+     * Once the open duration has passed, a single trial call is let through and the breaker turns
+     * half-open until its result is recorded.
+     */
+    public boolean allowRequest(String dependency) {
+        if (dependency == null) {
+            return true;
+        }
+        Breaker breaker = breakers.get(dependency);
+        if (breaker == null || breaker.state == State.CLOSED) {
+            return true;
+        }
+        synchronized (breaker) {
+            long now = System.nanoTime();
+            if (breaker.state == State.OPEN) {
+                if (now - breaker.openedAt < openDurationNanos) {
+                    return false;
+                }
+                breaker.state = State.HALF_OPEN;
+                logger.info("Circuit for {} is half-open, letting a trial call through", dependency);
+            } else if (breaker.state == State.CLOSED) {
+                return true;
+            } else if (now - breaker.trialStartedAt < openDurationNanos) {
+                return false;
+            }
+            breaker.trialStartedAt = now;
+            return true;
+        }
+    }
+
+    /**
+     * Record the outcome of a participant call: whether the dependency answered it, even with a rejection,
+     * or could not be reached. An answered trial call closes a half-open breaker, an unreachable one opens
+     * it again.
+     */
+    public void recordResult(String dependency, boolean success) {
+        if (dependency == null) {
+            return;
+        }
+        Breaker breaker = breakerFor(dependency);
+        synchronized (breaker) {
+            if (success) {
+                breaker.consecutiveFailures = 0;
+                if (breaker.state == State.HALF_OPEN) {
+                    close(dependency, breaker, "trial call succeeded");
+                }
+            } else if (breaker.state == State.HALF_OPEN) {
+                open(dependency, breaker);
+            } else if (++breaker.consecutiveFailures >= failureThreshold && breaker.state == State.CLOSED) {
+                open(dependency, breaker);
+            }
+        }
+    }
+
+    /**
+     * Whether the scheduler should probe the dependency now. An open breaker turns half-open, and lets
+     * the probe through as its trial, once the open duration has passed.
+     */
+    public boolean tryAcquireProbe(String dependency) {
+        Breaker breaker = breakers.get(dependency);
+        if (breaker == null) {
+            return true;
+        }
+        synchronized (breaker) {
+            long now = System.nanoTime();
+            if (breaker.state == State.OPEN && now - breaker.openedAt >= openDurationNanos) {
+                // The probe is the trial, so coordinators keep failing fast until it reports
+                breaker.state = State.HALF_OPEN;
+                breaker.trialStartedAt = now;
+                logger.info("Circuit for {} is half-open, probing", dependency);
+            }
+            return breaker.state != State.OPEN;
+        }
+    }
+
+    /**
+     * Record the result of a scheduled probe: a down dependency opens the breaker, any other result
+     * closes it.
+     */
+    public void recordProbe(String dependency, HealthStatus status) {
+        Breaker breaker = breakerFor(dependency);
+        synchronized (breaker) {
+            if (status == HealthStatus.DOWN) {
+                if (breaker.state != State.OPEN) {
+                    open(dependency, breaker);
+                }
+            } else if (breaker.state != State.CLOSED) {
+                close(dependency, breaker, "dependency is " + status);
+            }
+        }
+    }
+
+    public State getState(String dependency) {
+        Breaker breaker = breakers.get(dependency);
+        return breaker == null ? State.CLOSED : breaker.state;
+    }
+
+    /**
+     * Drop the breaker of a dependency that is no longer checked, since no probe would ever close it.
+     */
+    public void remove(String dependency) {
+        breakers.remove(dependency);
+    }
+
+    private Breaker breakerFor(String dependency) {
+        return breakers.computeIfAbsent(dependency, name -> new Breaker());
+    }
+
+    private void open(String dependency, Breaker breaker) {
+        breaker.state = State.OPEN;
+        breaker.openedAt = System.nanoTime();
+        breaker.trialStartedAt = 0;
+        logger.warn("Circuit for {} opened, failing fast for {}ms", dependency, TimeUnit.NANOSECONDS.toMillis(openDurationNanos));
+    }
+
+    private void close(String dependency, Breaker breaker, String reason) {
+        breaker.state = State.CLOSED;
+        breaker.consecutiveFailures = 0;
+        breaker.trialStartedAt = 0;
+        logger.info("Circuit for {} closed, {}", dependency, reason);
+    }
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    /**
+     * Mutated under its own lock; the state is volatile so {@link #allowRequest} can read it without locking.
+     */
+    private static final class Breaker {
+
+        private volatile State state = State.CLOSED;
+        private int consecutiveFailures;
+        private long openedAt;
+        private long trialStartedAt;
+    }
+}
@@ -0,0 +1,69 @@
+package com.chainsea.healthcheck.health;
+
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.AmqpIOException;
+import org.springframework.amqp.AmqpTimeoutException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+/**
+ * Thrown by a transaction participant or saga step when its dependency could not be reached.
+ * <p>
+ * Only these failures count towards the dependency's circuit breaker. A participant that reached its
+ * dependency and was turned down (a duplicate task, a lock held by another transaction, nothing prepared
+ * for the transaction) returns false instead, since the dependency itself is healthy.
+ */
+public class DependencyUnavailableException extends RuntimeException {
+
+    private final String dependency;
+
+    public DependencyUnavailableException(String dependency, String message) {
+        super(message);
+        this.dependency = dependency;
+    }
+
+    public DependencyUnavailableException(String dependency, Throwable cause) {
+        super(dependency + " is unavailable: " + cause.getMessage(), cause);
+        this.dependency = dependency;
+    }
+
+    public String getDependency() {
+        return dependency;
+    }
+
+    /**
+     * Rethrow a caught exception as a {@link DependencyUnavailableException} if it means the dependency
+     * could not be reached; any other exception is left to the caller.
+     */
+    public static void throwIfUnavailable(String dependency, Exception e) {
+        if (e instanceof DependencyUnavailableException unavailable) {
+            throw unavailable;
+        }
+        if (isConnectivityFailure(e)) {
+            throw new DependencyUnavailableException(dependency, e);
+        }
+    }
+
+    /**
+     * Whether the exception, or one of its causes, is a connection or timeout failure of a backend
+     * rather than an error reported by it.
+     */
+    public static boolean isConnectivityFailure(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DependencyUnavailableException
+                    || cause instanceof DataAccessResourceFailureException
+                    || cause instanceof QueryTimeoutException
+                    || cause instanceof CannotCreateTransactionException
+                    || cause instanceof AmqpConnectException
+                    || cause instanceof AmqpIOException
+                    || cause instanceof AmqpTimeoutException) {
+                return true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,13 @@
+package com.chainsea.healthcheck.health;
+
+import com.chainsea.healthcheck.model.HealthStatus;
+import org.springframework.hateoas.server.core.Relation;
+
+import java.time.Instant;
+
+/**
+ * One probe result held in memory by {@link RecentHealthHistory}.
+ */
+@Relation(collectionRelation = "recentHealthChecks", itemRelation = "recentHealthCheck")
+public record HealthHistoryEntry(HealthStatus status, Instant checkedAt, long responseTimeMs) {
+}
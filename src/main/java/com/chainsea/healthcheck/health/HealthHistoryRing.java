@@ -0,0 +1,81 @@
+package com.chainsea.healthcheck.health;
+
+import com.chainsea.healthcheck.model.HealthStatus;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed-capacity history of one service's probe results.
+ * <p>
+ * Results are stored in parallel primitive arrays, so recording a result allocates nothing and a full
+ * ring of 256 results takes about 4 KB. Once full, each new result overwrites the oldest one.
+ */
+final class HealthHistoryRing {
+
+    private final byte[] statuses;
+    private final long[] checkedAtMillis;
+    private final long[] responseTimesMs;
+    private int next;
+    private int size;
+
+    HealthHistoryRing(int capacity) {
+        this.statuses = new byte[capacity];
+        this.checkedAtMillis = new long[capacity];
+        this.responseTimesMs = new long[capacity];
+    }
+
+    synchronized void add(HealthStatus status, long checkedAt, long responseTimeMs) {
+        statuses[next] = (byte) status.getCode();
+        checkedAtMillis[next] = checkedAt;
+        responseTimesMs[next] = responseTimeMs;
+        next = (next + 1) % statuses.length;
+        if (size < statuses.length) {
+            size++;
+        }
+    }
+
+    /**
+     * Up to {@code limit} results, newest first.
+     */
+    synchronized List<HealthHistoryEntry> latest(int limit) {
+        int count = Math.min(Math.max(limit, 0), size);
+        List<HealthHistoryEntry> entries = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            int index = indexFromNewest(i);
+            entries.add(new HealthHistoryEntry(HealthStatus.fromCode(statuses[index]),
+                    Instant.ofEpochMilli(checkedAtMillis[index]), responseTimesMs[index]));
+        }
+        return entries;
+    }
+
+    /**
+     * Up to {@code points} results, oldest first.
+     */
+    synchronized HealthSparkline sparkline(String serviceName, int points) {
+        int count = Math.min(Math.max(points, 0), size);
+        List<HealthStatus> sparklineStatuses = new ArrayList<>(count);
+        long[] sparklineResponseTimes = new long[count];
+        for (int i = 0; i < count; i++) {
+            int index = indexFromNewest(count - i);
+            sparklineStatuses.add(HealthStatus.fromCode(statuses[index]));
+            sparklineResponseTimes[i] = responseTimesMs[index];
+        }
+        if (count == 0) {
+            return new HealthSparkline(serviceName, null, null, sparklineStatuses, sparklineResponseTimes);
+        }
+        return new HealthSparkline(serviceName,
+                Instant.ofEpochMilli(checkedAtMillis[indexFromNewest(count)]),
+                Instant.ofEpochMilli(checkedAtMillis[indexFromNewest(1)]),
+                sparklineStatuses,
+                sparklineResponseTimes);
+    }
+
+    /**
+     * Array index of the n-th newest result, where 1 is the newest.
+     */
+    private int indexFromNewest(int n) {
+        return Math.floorMod(next - n, statuses.length);
+    }
+}
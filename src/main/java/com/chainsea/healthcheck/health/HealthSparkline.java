@@ -0,0 +1,17 @@
+package com.chainsea.healthcheck.health;
+
+import com.chainsea.healthcheck.model.HealthStatus;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * The most recent probe results of a service, oldest first, in parallel lists for charting.
+ * {@code from} and {@code to} are null when no results are held.
+ */
+public record HealthSparkline(String serviceName,
+                              Instant from,
+                              Instant to,
+                              List<HealthStatus> statuses,
+                              long[] responseTimesMs) {
+}
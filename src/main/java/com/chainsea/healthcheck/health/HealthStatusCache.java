@@ -1,26 +1,145 @@
 package com.chainsea.healthcheck.health;
 
+import com.chainsea.healthcheck.model.HealthStatus;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Component
 public class HealthStatusCache {
 
     private final Map<String, CachedHealth> cache = new ConcurrentHashMap<>();
+    private final ApplicationEventPublisher eventPublisher;
+    private final StatusStreaks streaks;
 
-    public void updateHealth(String serviceName, Health health) {
-        cache.put(serviceName, new CachedHealth(health, Instant.now()));
+    public HealthStatusCache(ApplicationEventPublisher eventPublisher,
+                             @Value("${health-check.hysteresis.failure-threshold:2}") int failureThreshold,
+                             @Value("${health-check.hysteresis.success-threshold:2}") int successThreshold,
+                             @Value("${health-check.hysteresis.flap-window:60000}") long flapWindowMs,
+                             @Value("${health-check.hysteresis.flap-threshold:4}") int flapThreshold) {
+        this.eventPublisher = eventPublisher;
+        this.streaks = new StatusStreaks(failureThreshold, successThreshold, flapWindowMs, flapThreshold);
+    }
+
+    /**
+     * Cache the latest result for a service and publish a {@link HealthStatusTransition} when its
+     * status differs from the previous one. The update is made inside {@code compute}, like
+     * {@link #applyRemote}, so a replicated status or an overlapping probe of the same service cannot
+     * slip in between reading the previous status and caching the new one.
+     * <p>
+     * The cached status follows the probes with hysteresis (see {@link StatusStreaks}): a single failed
+     * probe of an UP service, or a single successful probe of a failing one, does not change it. The
+     * first probe after startup, a restored snapshot or an UNKNOWN status is taken as is.
+     *
+     * @return the status cached for the service after this result
+     */
+    public HealthStatus updateHealth(String serviceName, Health health) {
+        HealthStatus probed = toHealthStatus(health.getStatus());
+        AtomicReference<CachedHealth> previous = new AtomicReference<>();
+        CachedHealth current = cache.compute(serviceName, (name, existing) -> {
+            previous.set(existing);
+            boolean confirmed = existing != null && !existing.stale() && existing.status() != HealthStatus.UNKNOWN;
+            StatusStreaks.Evaluation evaluation = streaks.record(name, probed, confirmed ? existing.status() : null);
+            return new CachedHealth(evaluation.status(), Instant.now(), false, evaluation.flapping());
+        });
+        publishTransition(serviceName, previous.get(), current, false);
+        return current.status();
+    }
+
+    /**
+     * Merge a status observed by another instance. It is cached only if it is newer than the cached
+     * status, so late or replayed updates never overwrite a fresher local probe, and a resulting change
+     * is published as a remote {@link HealthStatusTransition}.
+     *
+     * @return true if the status was newer and has been cached
+     */
+    public boolean applyRemote(String serviceName, HealthStatus status, Instant time) {
+        CachedHealth current = new CachedHealth(status, time);
+        AtomicReference<CachedHealth> previous = new AtomicReference<>();
+        CachedHealth merged = cache.compute(serviceName, (name, existing) -> {
+            if (existing != null && !existing.lastUpdateTime().isBefore(time)) {
+                return existing;
+            }
+            previous.set(existing);
+            return current;
+        });
+        if (merged != current) {
+            return false;
+        }
+        publishTransition(serviceName, previous.get(), current, true);
+        return true;
+    }
+
+    private void publishTransition(String serviceName, CachedHealth previous, CachedHealth current, boolean remote) {
+        if (previous == null || previous.status() != current.status()) {
+            eventPublisher.publishEvent(new HealthStatusTransition(serviceName,
+                    previous == null ? null : previous.status(), current.status(), current.lastUpdateTime(), remote));
+        }
+    }
+
+    /**
+     * Seed the cache with a status saved before the last shutdown. The entry is marked stale and is only
+     * added if the service has no status yet; no transition is published, since nothing was observed.
+     *
+     * @return true if the status was added
+     */
+    public boolean restore(String serviceName, HealthStatus status, Instant time) {
+        return cache.putIfAbsent(serviceName, new CachedHealth(status, time, true)) == null;
+    }
+
+    /**
+     * Report a service whose first check has not finished as UNKNOWN, unless it already has a status. No
+     * transition is published; the first result publishes one as usual.
+     */
+    public void markUnknown(String serviceName) {
+        cache.putIfAbsent(serviceName, new CachedHealth(HealthStatus.UNKNOWN, Instant.now()));
+    }
+
+    /**
+     * Forget a service that is no longer checked, so readiness stops reporting its last status.
+     */
+    public void remove(String serviceName) {
+        cache.remove(serviceName);
+        streaks.remove(serviceName);
     }
 
     public Map<String, CachedHealth> getAllCachedHealths() {
         return new ConcurrentHashMap<>(cache);
     }
 
-    public record CachedHealth(Health health, Instant lastUpdateTime) {
+    /**
+     * Map an actuator status to the compact status model once, when it is cached, so readiness
+     * aggregation compares enum constants instead of status strings.
+     */
+    public static HealthStatus toHealthStatus(Status status) {
+        return switch (status.getCode()) {
+            case "UP" -> HealthStatus.UP;
+            case "DOWN", "OUT_OF_SERVICE" -> HealthStatus.DOWN;
+            case "DEGRADED" -> HealthStatus.DEGRADED;
+            default -> HealthStatus.UNKNOWN;
+        };
+    }
+
+    /**
+     * {@code stale} is true for a status restored at startup that no probe has confirmed yet, and
+     * {@code flapping} for a service whose probed status keeps changing.
+     */
+    public record CachedHealth(HealthStatus status, Instant lastUpdateTime, boolean stale, boolean flapping) {
+
+        public CachedHealth(HealthStatus status, Instant lastUpdateTime, boolean stale) {
+            this(status, lastUpdateTime, stale, false);
+        }
+
+        public CachedHealth(HealthStatus status, Instant lastUpdateTime) {
+            this(status, lastUpdateTime, false, false);
+        }
     }
 }
 
@@ -0,0 +1,135 @@
+package com.chainsea.healthcheck.health;
+
+import com.chainsea.healthcheck.model.HealthStatus;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Saves the {@link HealthStatusCache} to a local file and restores it at startup, so readiness reflects
+ * the last known status within milliseconds of boot instead of counting 0/0 services as up.
+ * <p>
+ * The file is a compact binary list of (service, status code, time) entries. It is rewritten every
+ * {@code health-check.snapshot.interval} and on shutdown, to a temporary file that is then atomically
+ * renamed over the old one, so a crash mid-write never leaves a torn snapshot. Restored entries older than
+ * {@code health-check.snapshot.max-age} are ignored; the others are marked stale until the first probe of
+ * their service replaces them. Without scheduled checks nothing would replace them, so the snapshot is
+ * only kept while the scheduler is enabled.
+ */
+@Component
+@ConditionalOnExpression("${health-check.scheduler.enabled:true} and ${health-check.snapshot.enabled:true}")
+public class HealthStatusSnapshot {
+
+    private static final Logger logger = LoggerFactory.getLogger(HealthStatusSnapshot.class);
+
+    private static final int MAGIC = 0x48435331;
+
+    private final HealthStatusCache healthStatusCache;
+    private final TaskScheduler taskScheduler;
+    private final Path path;
+    private final long intervalMs;
+    private final long maxAgeMs;
+    private ScheduledFuture<?> scheduledTask;
+
+    public HealthStatusSnapshot(HealthStatusCache healthStatusCache,
+                                TaskScheduler healthCheckTaskScheduler,
+                                @Value("${health-check.snapshot.path:${java.io.tmpdir}/health-check-status.snapshot}") Path path,
+                                @Value("${health-check.snapshot.interval:5000}") long intervalMs,
+                                @Value("${health-check.snapshot.max-age:600000}") long maxAgeMs) {
+        this.healthStatusCache = healthStatusCache;
+        this.taskScheduler = healthCheckTaskScheduler;
+        this.path = path;
+        this.intervalMs = intervalMs;
+        this.maxAgeMs = maxAgeMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        load();
+        scheduledTask = taskScheduler.scheduleWithFixedDelay(this::save, Duration.ofMillis(intervalMs));
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduledTask != null && !scheduledTask.isCancelled()) {
+            scheduledTask.cancel(false);
+        }
+        save();
+    }
+
+    /**
+     * Restore entries of the snapshot file into the cache, skipping entries older than the max age.
+     *
+     * @return the number of restored services
+     */
+    int load() {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC) {
+                logger.warn("Ignoring health status snapshot {} with unknown format", path);
+                return 0;
+            }
+            Instant oldest = Instant.now().minusMillis(maxAgeMs);
+            int count = in.readInt();
+            int restored = 0;
+            for (int i = 0; i < count; i++) {
+                String serviceName = in.readUTF();
+                HealthStatus status = HealthStatus.fromCode(in.readShort());
+                Instant time = Instant.ofEpochMilli(in.readLong());
+                if (time.isAfter(oldest) && healthStatusCache.restore(serviceName, status, time)) {
+                    restored++;
+                }
+            }
+            logger.info("Restored {} of {} service statuses from snapshot {}", restored, count, path);
+            return restored;
+        } catch (NoSuchFileException e) {
+            logger.info("No health status snapshot at {}, starting with an empty cache", path);
+            return 0;
+        } catch (Exception e) {
+            logger.warn("Failed to restore health status snapshot {}: {}", path, e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Write the current cache to a temporary file and atomically replace the snapshot with it.
+     */
+    void save() {
+        try {
+            Map<String, HealthStatusCache.CachedHealth> cachedHealths = healthStatusCache.getAllCachedHealths();
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 + cachedHealths.size() * 32);
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                out.writeInt(MAGIC);
+                out.writeInt(cachedHealths.size());
+                for (Map.Entry<String, HealthStatusCache.CachedHealth> entry : cachedHealths.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    out.writeShort(entry.getValue().status().getCode());
+                    out.writeLong(entry.getValue().lastUpdateTime().toEpochMilli());
+                }
+            }
+            Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+            Files.write(temp, bytes.toByteArray());
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            logger.warn("Failed to write health status snapshot {}: {}", path, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.chainsea.healthcheck.health;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Pushes health status transitions to Server-Sent Events subscribers.
+ * <p>
+ * Transitions are numbered and kept in a fixed-size ring buffer, so a client that reconnects with
+ * Last-Event-ID receives the transitions it missed while they are still buffered. A new client, or
+ * one whose last event has already been overwritten, first receives a snapshot of the current status
+ * of every service instead.
+ * <p>
+ * Transitions are numbered, buffered and queued to the subscribers under one lock on the publishing
+ * thread, and replay on subscribe takes the same lock, so every subscriber sees transitions in order
+ * without gaps or duplicates between replay and live delivery. Each subscriber has its own bounded
+ * queue, drained by its own task on the delivery executor: a slow client only holds back itself, and
+ * the health check threads never block on it. A client whose queue overflows has missed transitions,
+ * so its queue is replaced with a fresh snapshot.
+ */
+@Component
+public class HealthStatusStream {
+
+    private static final Logger logger = LoggerFactory.getLogger(HealthStatusStream.class);
+
+    static final String TRANSITION_EVENT = "transition";
+    static final String SNAPSHOT_EVENT = "snapshot";
+
+    private final HealthStatusCache healthStatusCache;
+    private final Executor executor;
+    private final TaskScheduler taskScheduler;
+    private final int subscriberQueueCapacity;
+    private final long emitterTimeout;
+    private final long heartbeatInterval;
+    private final BufferedTransition[] buffer;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    // Guarded by this
+    private long lastEventId;
+
+    private ScheduledFuture<?> heartbeat;
+
+    public HealthStatusStream(HealthStatusCache healthStatusCache,
+                              Executor healthStatusStreamExecutor,
+                              TaskScheduler healthCheckTaskScheduler,
+                              @Value("${health-check.stream.buffer-size:1024}") int bufferSize,
+                              @Value("${health-check.stream.subscriber-queue-capacity:1000}") int subscriberQueueCapacity,
+                              @Value("${health-check.stream.timeout:1800000}") long emitterTimeout,
+                              @Value("${health-check.stream.heartbeat-interval:15000}") long heartbeatInterval) {
+        this.healthStatusCache = healthStatusCache;
+        this.executor = healthStatusStreamExecutor;
+        this.taskScheduler = healthCheckTaskScheduler;
+        this.subscriberQueueCapacity = subscriberQueueCapacity;
+        this.emitterTimeout = emitterTimeout;
+        this.heartbeatInterval = heartbeatInterval;
+        this.buffer = new BufferedTransition[bufferSize];
+    }
+
+    @PostConstruct
+    public void start() {
+        heartbeat = taskScheduler.scheduleAtFixedRate(this::sendHeartbeat, Duration.ofMillis(heartbeatInterval));
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (heartbeat != null) {
+            heartbeat.cancel(false);
+        }
+        subscribers.forEach(subscriber -> subscriber.emitter().complete());
+        subscribers.clear();
+    }
+
+    @EventListener
+    public synchronized void onTransition(HealthStatusTransition transition) {
+        // Numbered here rather than on the delivery executor, so a rejected delivery cannot leave a gap
+        BufferedTransition event = append(transition);
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.accepts(transition.serviceName())) {
+                enqueue(subscriber, transitionEvent(event));
+            }
+        }
+    }
+
+    /**
+     * Open a stream of transitions for the given services, or all services when none are given.
+     *
+     * @param serviceNames services to receive transitions for; null or empty for all
+     * @param lastEventId  id of the last event the client received, from the Last-Event-ID header
+     */
+    public SseEmitter subscribe(Set<String> serviceNames, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeout);
+        Subscriber subscriber = new Subscriber(emitter, serviceNames == null ? Set.of() : Set.copyOf(serviceNames),
+                new ArrayBlockingQueue<>(subscriberQueueCapacity), new AtomicBoolean());
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        synchronized (this) {
+            if (lastEventId != null && isBuffered(lastEventId)) {
+                for (BufferedTransition event : transitionsAfter(lastEventId)) {
+                    if (subscriber.accepts(event.transition().serviceName())) {
+                        enqueue(subscriber, transitionEvent(event));
+                    }
+                }
+            } else {
+                enqueue(subscriber, snapshotEvent(subscriber));
+            }
+            subscribers.add(subscriber);
+        }
+        return emitter;
+    }
+
+    int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Events queued for the subscriber of the given emitter and not yet sent, oldest first.
+     */
+    List<SseEmitter.SseEventBuilder> getPendingEvents(SseEmitter emitter) {
+        return subscribers.stream()
+                .filter(subscriber -> subscriber.emitter() == emitter)
+                .findFirst()
+                .map(subscriber -> List.copyOf(subscriber.queue()))
+                .orElse(List.of());
+    }
+
+    synchronized BufferedTransition append(HealthStatusTransition transition) {
+        lastEventId++;
+        BufferedTransition event = new BufferedTransition(lastEventId, transition);
+        buffer[(int) (lastEventId % buffer.length)] = event;
+        return event;
+    }
+
+    /**
+     * Whether every transition after the given id is still in the buffer. Ids ahead of the stream,
+     * for example from before a restart, are treated as unknown.
+     */
+    synchronized boolean isBuffered(long eventId) {
+        return eventId <= lastEventId && eventId >= lastEventId - buffer.length;
+    }
+
+    synchronized List<BufferedTransition> transitionsAfter(long eventId) {
+        List<BufferedTransition> events = new ArrayList<>();
+        for (long id = Math.max(eventId + 1, lastEventId - buffer.length + 1); id <= lastEventId; id++) {
+            events.add(buffer[(int) (id % buffer.length)]);
+        }
+        return events;
+    }
+
+    private SseEmitter.SseEventBuilder transitionEvent(BufferedTransition event) {
+        return SseEmitter.event()
+                .id(String.valueOf(event.id()))
+                .name(TRANSITION_EVENT)
+                .data(event.transition(), MediaType.APPLICATION_JSON);
+    }
+
+    // Called with this held, so the snapshot id matches the transitions queued after it
+    private SseEmitter.SseEventBuilder snapshotEvent(Subscriber subscriber) {
+        Map<String, HealthStatusCache.CachedHealth> snapshot = healthStatusCache.getAllCachedHealths()
+                .entrySet()
+                .stream()
+                .filter(entry -> subscriber.accepts(entry.getKey()))
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        return SseEmitter.event()
+                .id(String.valueOf(lastEventId))
+                .name(SNAPSHOT_EVENT)
+                .data(snapshot, MediaType.APPLICATION_JSON);
+    }
+
+    private void sendHeartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            // A full queue already has something to send, so the heartbeat can be skipped
+            if (subscriber.queue().offer(SseEmitter.event().comment("heartbeat"))) {
+                deliver(subscriber);
+            }
+        }
+    }
+
+    private void enqueue(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (!subscriber.queue().offer(event)) {
+            logger.debug("Health status stream: subscriber fell {} events behind, replacing them with a snapshot",
+                    subscriberQueueCapacity);
+            subscriber.queue().clear();
+            subscriber.queue().offer(snapshotEvent(subscriber));
+        }
+        deliver(subscriber);
+    }
+
+    /**
+     * Start draining the subscriber's queue unless a drain is already running.
+     */
+    private void deliver(Subscriber subscriber) {
+        if (!subscriber.draining().compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> drain(subscriber));
+        } catch (RejectedExecutionException e) {
+            logger.warn("Health status stream: delivery executor rejected a subscriber, dropping it");
+            drop(subscriber);
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        do {
+            SseEmitter.SseEventBuilder event;
+            while ((event = subscriber.queue().poll()) != null) {
+                if (!send(subscriber, event)) {
+                    return;
+                }
+            }
+            subscriber.draining().set(false);
+            // An event queued after the last poll but before the flag was cleared would otherwise wait
+        } while (!subscriber.queue().isEmpty() && subscriber.draining().compareAndSet(false, true));
+    }
+
+    /**
+     * @return false if the subscriber was dropped
+     */
+    private boolean send(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        try {
+            subscriber.emitter().send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Health status stream: dropping subscriber: {}", e.getMessage());
+            drop(subscriber);
+            return false;
+        }
+    }
+
+    private void drop(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+        subscriber.queue().clear();
+        subscriber.emitter().complete();
+    }
+
+    record BufferedTransition(long id, HealthStatusTransition transition) {
+    }
+
+    private record Subscriber(SseEmitter emitter, Set<String> serviceNames,
+                              BlockingQueue<SseEmitter.SseEventBuilder> queue, AtomicBoolean draining) {
+
+        boolean accepts(String serviceName) {
+            return serviceNames.isEmpty() || serviceNames.contains(serviceName);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.chainsea.healthcheck.health;
+
+import com.chainsea.healthcheck.model.HealthStatus;
+
+import java.time.Instant;
+
+/**
+ * A service's cached status changed. {@code previousStatus} is null for the first result after startup,
+ * and {@code remote} is true when the new status was observed by another instance.
+ */
+public record HealthStatusTransition(String serviceName, HealthStatus previousStatus, HealthStatus status, Instant time,
+                                     boolean remote) {
+
+    public HealthStatusTransition(String serviceName, HealthStatus previousStatus, HealthStatus status, Instant time) {
+        this(serviceName, previousStatus, status, time, false);
+    }
+}
@@ -0,0 +1,9 @@
+package com.chainsea.healthcheck.health;
+
+/**
+ * Latency distribution of one service over one {@link LatencyWindow}, in milliseconds.
+ */
+public record LatencyPercentiles(long count, long p50, long p90, long p99, long max) {
+
+    static final LatencyPercentiles EMPTY = new LatencyPercentiles(0, 0, 0, 0, 0);
+}
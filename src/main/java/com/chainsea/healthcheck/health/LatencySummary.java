@@ -0,0 +1,10 @@
+package com.chainsea.healthcheck.health;
+
+import java.util.Map;
+
+/**
+ * Latency percentiles of a service per window label (1m, 5m, 1h), and whether its p99 over the last
+ * five minutes breaches the SLO of {@code sloP99Ms}.
+ */
+public record LatencySummary(Map<String, LatencyPercentiles> windows, long sloP99Ms, boolean sloBreached) {
+}
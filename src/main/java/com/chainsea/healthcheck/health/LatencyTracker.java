@@ -0,0 +1,265 @@
+package com.chainsea.healthcheck.health;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.PackedHistogram;
+import org.HdrHistogram.Recorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.ToLongFunction;
+
+/**
+ * Sliding-window latency percentiles per service, fed by every answered scheduled and declarative
+ * probe.
+ * <p>
+ * Probes record into an HdrHistogram {@link Recorder}, which is wait-free for writers, so the probe path
+ * never takes a lock. Every 10 seconds the interval histogram of each service is moved into the buckets
+ * of its 1m, 5m and 1h windows, and p50/p90/p99/max are computed once per window. Reads, through the
+ * stats endpoint or the {@code health.check.latency} gauges, only see those precomputed values.
+ * <p>
+ * A service whose p99 over the last five minutes exceeds {@code health-check.latency.slo.p99} is
+ * reported DEGRADED while it still answers, once at least {@code min-samples} probes were recorded in
+ * that window. Histograms are packed, so a rarely probed service costs little memory. Only registered
+ * services and declarative targets are tracked, and a service is dropped with its gauges when it is
+ * deregistered; {@code max-services} is a safety bound above the expected number of targets. A removed
+ * service is not tracked again until {@link #track} is called for it, so a probe still in flight when its
+ * service is deregistered cannot bring its gauges back.
+ */
+@Component
+public class LatencyTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(LatencyTracker.class);
+
+    static final long TICK_MS = 10000;
+    private static final int BUCKETS = 6;
+    private static final int SIGNIFICANT_DIGITS = 2;
+    private static final Status DEGRADED = new Status("DEGRADED", "Degraded");
+
+    private final Map<String, ServiceLatency> services = new ConcurrentHashMap<>();
+    private final Set<String> removed = ConcurrentHashMap.newKeySet();
+    private final TaskScheduler taskScheduler;
+    private final MeterRegistry meterRegistry;
+    private final int maxServices;
+    private final long sloP99Ms;
+    private final long sloMinSamples;
+    private final AtomicBoolean capacityWarned = new AtomicBoolean();
+    private ScheduledFuture<?> scheduledTask;
+
+    public LatencyTracker(TaskScheduler healthCheckTaskScheduler,
+                          MeterRegistry meterRegistry,
+                          @Value("${health-check.latency.max-services:5000}") int maxServices,
+                          @Value("${health-check.latency.slo.p99:1000}") long sloP99Ms,
+                          @Value("${health-check.latency.slo.min-samples:10}") long sloMinSamples) {
+        this.taskScheduler = healthCheckTaskScheduler;
+        this.meterRegistry = meterRegistry;
+        this.maxServices = maxServices;
+        this.sloP99Ms = sloP99Ms;
+        this.sloMinSamples = sloMinSamples;
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduledTask = taskScheduler.scheduleWithFixedDelay(this::tick, Duration.ofMillis(TICK_MS));
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduledTask != null && !scheduledTask.isCancelled()) {
+            scheduledTask.cancel(false);
+        }
+    }
+
+    public void record(String serviceName, long responseTimeMs) {
+        ServiceLatency latency = services.get(serviceName);
+        if (latency == null) {
+            if (services.size() >= maxServices) {
+                if (capacityWarned.compareAndSet(false, true)) {
+                    logger.warn("Latency tracker is tracking {} services, not recording {} or any further service; " +
+                            "raise health-check.latency.max-services", maxServices, serviceName);
+                }
+                return;
+            }
+            // Checked under the map's lock, so a remove that marked the service first always wins
+            latency = services.computeIfAbsent(serviceName, name -> removed.contains(name) ? null : register(name));
+            if (latency == null) {
+                return;
+            }
+        }
+        latency.recorder.recordValue(Math.max(0, responseTimeMs));
+    }
+
+    /**
+     * Track a service again after it was {@link #remove removed}, when it is registered anew.
+     */
+    public void track(String serviceName) {
+        removed.remove(serviceName);
+    }
+
+    /**
+     * Stop tracking a service that is no longer checked and remove its gauges. Results recorded for it
+     * afterwards are ignored until {@link #track} is called.
+     */
+    public void remove(String serviceName) {
+        removed.add(serviceName);
+        ServiceLatency latency = services.remove(serviceName);
+        if (latency != null) {
+            latency.meters.forEach(meterRegistry::remove);
+        }
+    }
+
+    /**
+     * Report an UP result as DEGRADED while the service breaches its latency SLO; any other result is
+     * returned unchanged.
+     */
+    public Health applySlo(String serviceName, Health health) {
+        ServiceLatency latency = services.get(serviceName);
+        if (latency == null || !latency.sloBreached || !Status.UP.equals(health.getStatus())) {
+            return health;
+        }
+        return Health.status(DEGRADED)
+                .withDetails(health.getDetails())
+                .withDetail("reason", "Latency SLO breached: p99 over 5m is " + latency.summary.get(LatencyWindow.FIVE_MINUTES).p99()
+                        + "ms, SLO is " + sloP99Ms + "ms")
+                .build();
+    }
+
+    public Optional<LatencySummary> getSummary(String serviceName) {
+        ServiceLatency latency = services.get(serviceName);
+        if (latency == null) {
+            return Optional.empty();
+        }
+        Map<String, LatencyPercentiles> windows = new LinkedHashMap<>();
+        latency.summary.forEach((window, percentiles) -> windows.put(window.getLabel(), percentiles));
+        return Optional.of(new LatencySummary(windows, sloP99Ms, latency.sloBreached));
+    }
+
+    /**
+     * Move the latencies recorded since the last tick into the windows and refresh percentiles and SLO
+     * state.
+     */
+    void tick() {
+        for (Map.Entry<String, ServiceLatency> entry : services.entrySet()) {
+            try {
+                entry.getValue().rotate(sloP99Ms, sloMinSamples);
+            } catch (Exception e) {
+                logger.warn("Failed to update latency windows of service {}: {}", entry.getKey(), e.getMessage());
+            }
+        }
+    }
+
+    private ServiceLatency register(String serviceName) {
+        ServiceLatency latency = new ServiceLatency();
+        for (LatencyWindow window : LatencyWindow.values()) {
+            latency.meters.add(gauge(serviceName, window, "p50", latency, LatencyPercentiles::p50));
+            latency.meters.add(gauge(serviceName, window, "p90", latency, LatencyPercentiles::p90));
+            latency.meters.add(gauge(serviceName, window, "p99", latency, LatencyPercentiles::p99));
+            latency.meters.add(gauge(serviceName, window, "max", latency, LatencyPercentiles::max));
+        }
+        return latency;
+    }
+
+    private Gauge gauge(String serviceName, LatencyWindow window, String statistic, ServiceLatency latency,
+                       ToLongFunction<LatencyPercentiles> value) {
+        return Gauge.builder("health.check.latency", latency, l -> value.applyAsLong(l.summary.get(window)))
+                .description("Health check latency percentile over a sliding window")
+                .baseUnit("milliseconds")
+                .tag("service", serviceName)
+                .tag("window", window.getLabel())
+                .tag("statistic", statistic)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Recorder written by probes; windows and summary are only touched by the tick, under the instance
+     * lock, and the summary is replaced as a whole so readers need no lock.
+     */
+    private static final class ServiceLatency {
+
+        private final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS, true);
+        private final List<Meter> meters = new ArrayList<>();
+        private final Map<LatencyWindow, SlidingHistogram> windows = new EnumMap<>(LatencyWindow.class);
+        private volatile Map<LatencyWindow, LatencyPercentiles> summary;
+        private volatile boolean sloBreached;
+        private Histogram interval;
+
+        private ServiceLatency() {
+            Map<LatencyWindow, LatencyPercentiles> empty = new EnumMap<>(LatencyWindow.class);
+            for (LatencyWindow window : LatencyWindow.values()) {
+                windows.put(window, new SlidingHistogram(window.getTicksPerBucket()));
+                empty.put(window, LatencyPercentiles.EMPTY);
+            }
+            summary = empty;
+        }
+
+        private synchronized void rotate(long sloP99Ms, long sloMinSamples) {
+            interval = recorder.getIntervalHistogram(interval);
+            Map<LatencyWindow, LatencyPercentiles> updated = new EnumMap<>(LatencyWindow.class);
+            for (Map.Entry<LatencyWindow, SlidingHistogram> entry : windows.entrySet()) {
+                updated.put(entry.getKey(), entry.getValue().add(interval));
+            }
+            summary = updated;
+            LatencyPercentiles fiveMinutes = updated.get(LatencyWindow.FIVE_MINUTES);
+            sloBreached = fiveMinutes.count() >= sloMinSamples && fiveMinutes.p99() > sloP99Ms;
+        }
+    }
+
+    /**
+     * Six buckets of {@code ticksPerBucket} ticks each; the oldest is cleared and reused when the current
+     * one is full, so the window always holds five full buckets and the current, partial one.
+     */
+    private static final class SlidingHistogram {
+
+        private final Histogram[] buckets = new Histogram[BUCKETS];
+        private final Histogram merged = new PackedHistogram(SIGNIFICANT_DIGITS);
+        private final int ticksPerBucket;
+        private int current;
+        private int ticks;
+
+        private SlidingHistogram(int ticksPerBucket) {
+            this.ticksPerBucket = ticksPerBucket;
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets[i] = new PackedHistogram(SIGNIFICANT_DIGITS);
+            }
+        }
+
+        private LatencyPercentiles add(Histogram interval) {
+            buckets[current].add(interval);
+            merged.reset();
+            for (Histogram bucket : buckets) {
+                merged.add(bucket);
+            }
+            if (++ticks == ticksPerBucket) {
+                ticks = 0;
+                current = (current + 1) % BUCKETS;
+                buckets[current].reset();
+            }
+            return merged.getTotalCount() == 0 ? LatencyPercentiles.EMPTY : new LatencyPercentiles(
+                    merged.getTotalCount(),
+                    merged.getValueAtPercentile(50),
+                    merged.getValueAtPercentile(90),
+                    merged.getValueAtPercentile(99),
+                    merged.getMaxValue());
+        }
+    }
+}
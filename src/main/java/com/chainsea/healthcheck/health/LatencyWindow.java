@@ -0,0 +1,27 @@
+package com.chainsea.healthcheck.health;
+
+/**
+ * Sliding windows of {@link LatencyTracker}. Each window is kept as six buckets that rotate every sixth
+ * of its length, so it slides in steps of 10 seconds, 50 seconds and 10 minutes respectively.
+ */
+public enum LatencyWindow {
+    ONE_MINUTE("1m", 1),
+    FIVE_MINUTES("5m", 5),
+    ONE_HOUR("1h", 60);
+
+    private final String label;
+    private final int ticksPerBucket;
+
+    LatencyWindow(String label, int ticksPerBucket) {
+        this.label = label;
+        this.ticksPerBucket = ticksPerBucket;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    int getTicksPerBucket() {
+        return ticksPerBucket;
+    }
+}
@@ -1,6 +1,5 @@
 package com.chainsea.healthcheck.health;
 
-import com.chainsea.healthcheck.config.ConditionalOnServiceConfigured;
 import org.bson.Document;
 import org.springframework.boot.actuate.health.AbstractHealthIndicator;
 import org.springframework.boot.actuate.health.Health;
@@ -8,7 +7,6 @@ import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.stereotype.Component;
 
 @Component("mongodb")
-@ConditionalOnServiceConfigured("mongodb")
 public class MongoDbHealthIndicator extends AbstractHealthIndicator {
 
     private final MongoTemplate mongoTemplate;
@@ -1,14 +1,17 @@
 package com.chainsea.healthcheck.health;
 
-import com.chainsea.healthcheck.config.HealthCheckProperties;
+import com.chainsea.healthcheck.config.RegisteredService;
+import com.chainsea.healthcheck.config.ServiceRegistry;
+import com.chainsea.healthcheck.model.HealthStatus;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.boot.actuate.health.Status;
 import org.springframework.stereotype.Component;
 
 import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 @Component("degradedReadiness")
@@ -17,12 +20,12 @@ public class ReadinessHealthIndicator implements HealthIndicator {
     private static final Status DEGRADED = new Status("DEGRADED", "Degraded");
     private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ISO_INSTANT;
 
-    private final HealthCheckProperties properties;
+    private final ServiceRegistry serviceRegistry;
     private final HealthStatusCache healthStatusCache;
 
-    public ReadinessHealthIndicator(HealthCheckProperties properties,
+    public ReadinessHealthIndicator(ServiceRegistry serviceRegistry,
                                     HealthStatusCache healthStatusCache) {
-        this.properties = properties;
+        this.serviceRegistry = serviceRegistry;
         this.healthStatusCache = healthStatusCache;
     }
 
@@ -36,20 +39,34 @@ public class ReadinessHealthIndicator implements HealthIndicator {
     }
 
     private Map<String, Map<String, String>> buildServicesInfo(Map<String, HealthStatusCache.CachedHealth> cachedHealths) {
+        // Probe targets are cached too but are not readiness dependencies, so only registered services are listed
         return cachedHealths.entrySet()
                 .stream()
-                .map(health -> Map.entry(
-                        health.getKey(),
-                        Map.of("status", health.getValue().health().getStatus().getCode(),
-                                "time", TIME_FORMATTER.format(health.getValue().lastUpdateTime()))))
+                .filter(health -> serviceRegistry.getService(health.getKey()).isPresent())
+                .map(health -> Map.entry(health.getKey(), serviceInfo(health.getValue())))
                 .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
     }
 
-    private ServiceStatusSummary analyzeServiceStatus(Map<String, HealthStatusCache.CachedHealth> cachedHealths) {
-        Set<String> criticalServices = properties.getCriticalServiceNames();
-        Set<String> nonCriticalServices = properties.getNonCriticalServiceNames();
+    /**
+     * A status restored from the last snapshot counts like any other, but is flagged until the first probe.
+     * Flapping services are flagged as well; their status already changes only with hysteresis.
+     */
+    private static Map<String, String> serviceInfo(HealthStatusCache.CachedHealth health) {
+        Map<String, String> info = new LinkedHashMap<>();
+        info.put("status", health.status().name());
+        info.put("time", TIME_FORMATTER.format(health.lastUpdateTime()));
+        if (health.stale()) {
+            info.put("stale", "true");
+        }
+        if (health.flapping()) {
+            info.put("flapping", "true");
+        }
+        return info;
+    }
 
+    private ServiceStatusSummary analyzeServiceStatus(Map<String, HealthStatusCache.CachedHealth> cachedHealths) {
         boolean hasCriticalFailure = false;
+        boolean hasCriticalDegradation = false;
         boolean hasNonCriticalFailure = false;
         int criticalUpCount = 0;
         int criticalTotalCount = 0;
@@ -57,17 +74,23 @@ public class ReadinessHealthIndicator implements HealthIndicator {
         int nonCriticalTotalCount = 0;
 
         for (Map.Entry<String, HealthStatusCache.CachedHealth> entry : cachedHealths.entrySet()) {
-            String serviceName = entry.getKey();
-            boolean isUp = Status.UP.equals(entry.getValue().health().getStatus());
+            RegisteredService service = serviceRegistry.getService(entry.getKey()).orElse(null);
+            if (service == null) {
+                continue;
+            }
+            boolean isUp = entry.getValue().status() == HealthStatus.UP;
 
-            if (criticalServices.contains(serviceName)) {
+            if (service.critical()) {
                 criticalTotalCount++;
                 if (isUp) {
                     criticalUpCount++;
+                } else if (entry.getValue().status() == HealthStatus.DEGRADED) {
+                    // Still answering, e.g. slower than its latency SLO: serve, but report degraded
+                    hasCriticalDegradation = true;
                 } else {
                     hasCriticalFailure = true;
                 }
-            } else if (nonCriticalServices.contains(serviceName)) {
+            } else {
                 nonCriticalTotalCount++;
                 if (isUp) {
                     nonCriticalUpCount++;
@@ -79,6 +102,7 @@ public class ReadinessHealthIndicator implements HealthIndicator {
 
         return new ServiceStatusSummary(
                 hasCriticalFailure,
+                hasCriticalDegradation,
                 hasNonCriticalFailure,
                 criticalUpCount,
                 criticalTotalCount,
@@ -98,6 +122,11 @@ public class ReadinessHealthIndicator implements HealthIndicator {
                     .withDetail("reason", "Critical services are down")
                     .withDetail("criticalServicesUp", criticalServicesUp)
                     .withDetail("nonCriticalServicesUp", nonCriticalServicesUp);
+        } else if (summary.hasCriticalDegradation()) {
+            builder.status(DEGRADED)
+                    .withDetail("reason", "Critical services are degraded, but system is available")
+                    .withDetail("criticalServicesUp", criticalServicesUp)
+                    .withDetail("nonCriticalServicesUp", nonCriticalServicesUp);
         } else if (summary.hasNonCriticalFailure()) {
             builder.status(DEGRADED)
                     .withDetail("reason", "Non-critical services are down, but system is partially available")
@@ -110,12 +139,21 @@ public class ReadinessHealthIndicator implements HealthIndicator {
                     .withDetail("nonCriticalServicesUp", nonCriticalServicesUp);
         }
 
+        List<String> flappingServices = servicesInfo.entrySet().stream()
+                .filter(service -> service.getValue().containsKey("flapping"))
+                .map(Map.Entry::getKey)
+                .sorted()
+                .toList();
+        if (!flappingServices.isEmpty()) {
+            builder.withDetail("flappingServices", flappingServices);
+        }
         builder.withDetail("services", servicesInfo);
         return builder.build();
     }
 
     private record ServiceStatusSummary(
             boolean hasCriticalFailure,
+            boolean hasCriticalDegradation,
             boolean hasNonCriticalFailure,
             int criticalUpCount,
             int criticalTotalCount,
@@ -0,0 +1,83 @@
+package com.chainsea.healthcheck.health;
+
+import com.chainsea.healthcheck.model.HealthStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-memory recent history of probe results per service, fed by the scheduled dependency checks and
+ * declarative probe targets.
+ * <p>
+ * Recent-history and sparkline reads are served from here without touching PostgreSQL; the database
+ * is only needed for ranges older than the last {@code health-check.history.capacity} results. On-demand
+ * checks accept arbitrary service names and are not recorded, and a deregistered service is removed,
+ * so {@code max-services} is only a safety bound.
+ */
+@Component
+public class RecentHealthHistory {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecentHealthHistory.class);
+
+    private final Map<String, HealthHistoryRing> rings = new ConcurrentHashMap<>();
+    private final AtomicBoolean capacityWarned = new AtomicBoolean();
+    private final int capacity;
+    private final int maxServices;
+
+    public RecentHealthHistory(@Value("${health-check.history.capacity:256}") int capacity,
+                               @Value("${health-check.history.max-services:5000}") int maxServices) {
+        this.capacity = capacity;
+        this.maxServices = maxServices;
+    }
+
+    public void record(String serviceName, HealthStatus status, Instant checkedAt, long responseTimeMs) {
+        HealthHistoryRing ring = rings.get(serviceName);
+        if (ring == null) {
+            if (rings.size() >= maxServices) {
+                if (capacityWarned.compareAndSet(false, true)) {
+                    logger.warn("Recent health history is tracking {} services, not recording {} or any further service; " +
+                            "raise health-check.history.max-services", maxServices, serviceName);
+                }
+                return;
+            }
+            ring = rings.computeIfAbsent(serviceName, name -> new HealthHistoryRing(capacity));
+        }
+        ring.add(status, checkedAt.toEpochMilli(), responseTimeMs);
+    }
+
+    /**
+     * Forget a service that is no longer checked.
+     */
+    public void remove(String serviceName) {
+        rings.remove(serviceName);
+    }
+
+    /**
+     * Up to {@code limit} recent results of a service, newest first.
+     */
+    public List<HealthHistoryEntry> getRecent(String serviceName, int limit) {
+        HealthHistoryRing ring = rings.get(serviceName);
+        return ring == null ? List.of() : ring.latest(limit);
+    }
+
+    /**
+     * Up to {@code points} recent results of a service, oldest first.
+     */
+    public HealthSparkline getSparkline(String serviceName, int points) {
+        HealthHistoryRing ring = rings.get(serviceName);
+        return ring == null
+                ? new HealthSparkline(serviceName, null, null, List.of(), new long[0])
+                : ring.sparkline(serviceName, points);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+}
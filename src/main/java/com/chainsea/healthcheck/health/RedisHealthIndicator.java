@@ -1,6 +1,5 @@
 package com.chainsea.healthcheck.health;
 
-import com.chainsea.healthcheck.config.ConditionalOnServiceConfigured;
 import org.springframework.boot.actuate.health.AbstractHealthIndicator;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.data.redis.connection.RedisConnectionCommands;
@@ -8,7 +7,6 @@ import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Component;
 
 @Component("redis")
-@ConditionalOnServiceConfigured("redis")
 public class RedisHealthIndicator extends AbstractHealthIndicator {
 
     private final StringRedisTemplate redisTemplate;
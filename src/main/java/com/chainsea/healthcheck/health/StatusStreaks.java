@@ -0,0 +1,90 @@
+package com.chainsea.healthcheck.health;
+
+import com.chainsea.healthcheck.model.HealthStatus;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-service streak and flap counters behind the hysteresis of {@link HealthStatusCache}.
+ * <p>
+ * A service that is UP only turns to a failing status after {@code failureThreshold} consecutive failed
+ * probes, and a failing service only recovers after {@code successThreshold} consecutive successful
+ * ones, so a single dropped probe does not flip readiness. Independently, every change of the probed
+ * status is timestamped in a small ring buffer; a service whose last {@code flapThreshold} changes all
+ * happened within the flap window is flapping.
+ */
+final class StatusStreaks {
+
+    private final int failureThreshold;
+    private final int successThreshold;
+    private final long flapWindowNanos;
+    private final int flapThreshold;
+    private final Map<String, Streak> streaks = new ConcurrentHashMap<>();
+
+    StatusStreaks(int failureThreshold, int successThreshold, long flapWindowMs, int flapThreshold) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.successThreshold = Math.max(1, successThreshold);
+        this.flapWindowNanos = TimeUnit.MILLISECONDS.toNanos(flapWindowMs);
+        this.flapThreshold = Math.max(1, flapThreshold);
+    }
+
+    /**
+     * Count a probe result and decide the status to report.
+     *
+     * @param current the reported status, or null if the service has no confirmed status yet
+     */
+    Evaluation record(String serviceName, HealthStatus observed, HealthStatus current) {
+        Streak streak = streaks.computeIfAbsent(serviceName, name -> new Streak(flapThreshold));
+        synchronized (streak) {
+            long now = System.nanoTime();
+            if (streak.lastObserved != null && streak.lastObserved != observed) {
+                streak.changeTimes[streak.nextChange] = now;
+                streak.nextChange = (streak.nextChange + 1) % flapThreshold;
+                streak.changes = Math.min(streak.changes + 1, flapThreshold);
+            }
+            streak.lastObserved = observed;
+
+            HealthStatus status;
+            if (observed == HealthStatus.UP) {
+                streak.successes++;
+                streak.failures = 0;
+                status = current == null || current == HealthStatus.UP || streak.successes >= successThreshold
+                        ? HealthStatus.UP : current;
+            } else {
+                streak.failures++;
+                streak.successes = 0;
+                status = current == null || current != HealthStatus.UP || streak.failures >= failureThreshold
+                        ? observed : HealthStatus.UP;
+            }
+            // Once the buffer is full, nextChange points at the oldest of the last flapThreshold changes
+            boolean flapping = streak.changes == flapThreshold && now - streak.changeTimes[streak.nextChange] <= flapWindowNanos;
+            return new Evaluation(status, flapping);
+        }
+    }
+
+    void remove(String serviceName) {
+        streaks.remove(serviceName);
+    }
+
+    record Evaluation(HealthStatus status, boolean flapping) {
+    }
+
+    /**
+     * Mutated under its own lock.
+     */
+    private static final class Streak {
+
+        private final long[] changeTimes;
+        private HealthStatus lastObserved;
+        private int failures;
+        private int successes;
+        private int nextChange;
+        private int changes;
+
+        private Streak(int flapThreshold) {
+            this.changeTimes = new long[flapThreshold];
+        }
+    }
+}
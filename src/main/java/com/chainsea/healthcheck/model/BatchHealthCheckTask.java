@@ -3,18 +3,18 @@ package com.chainsea.healthcheck.model;
 import jakarta.persistence.Column;
 import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
-import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
-import static jakarta.persistence.EnumType.STRING;
-
 /**
  * Entity representing a batch health check task.
  * This task involves multiple resources that need to be updated atomically.
@@ -30,11 +30,15 @@ public class BatchHealthCheckTask {
     @Column(nullable = false)
     private String taskId;
 
+    /**
+     * Stored as a PostgreSQL text[] with the GIN index idx_batch_task_service_names; kept as an
+     * array so loading a task binds the JDBC array directly instead of splitting and copying a string.
+     */
+    @JdbcTypeCode(SqlTypes.ARRAY)
     @Column(nullable = false)
-    @Convert(converter = StringListConverter.class)
-    private List<String> serviceNames = new ArrayList<>();
+    private String[] serviceNames = new String[0];
 
-    @Enumerated(STRING)
+    @Convert(converter = TaskStatusConverter.class)
     @Column(nullable = false)
     private TaskStatus status;
 
@@ -49,7 +53,7 @@ public class BatchHealthCheckTask {
 
     public BatchHealthCheckTask(String taskId, List<String> serviceNames) {
         this.taskId = taskId;
-        this.serviceNames = serviceNames;
+        setServiceNames(serviceNames);
         this.status = TaskStatus.PENDING;
         this.createdAt = LocalDateTime.now();
     }
@@ -71,12 +75,17 @@ public class BatchHealthCheckTask {
         this.taskId = taskId;
     }
 
+    /**
+     * Read-only view of the stored names, without copying them; a null element read from the database is
+     * passed through. Changes go through {@link #setServiceNames}, which replaces the array, so Hibernate
+     * sees them; writing into the array in place would not be detected.
+     */
     public List<String> getServiceNames() {
-        return serviceNames;
+        return Collections.unmodifiableList(Arrays.asList(serviceNames));
     }
 
     public void setServiceNames(List<String> serviceNames) {
-        this.serviceNames = serviceNames;
+        this.serviceNames = serviceNames != null ? serviceNames.toArray(String[]::new) : new String[0];
     }
 
     public TaskStatus getStatus() {
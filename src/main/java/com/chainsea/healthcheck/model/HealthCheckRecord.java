@@ -1,6 +1,7 @@
 package com.chainsea.healthcheck.model;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -25,8 +26,9 @@ public class HealthCheckRecord {
     @Column(nullable = false)
     private String serviceName;
 
+    @Convert(converter = HealthStatusConverter.class)
     @Column(nullable = false)
-    private String status;
+    private HealthStatus status;
 
     @JdbcTypeCode(SqlTypes.JSON)
     @Column(columnDefinition = "jsonb")
@@ -41,7 +43,7 @@ public class HealthCheckRecord {
     public HealthCheckRecord() {
     }
 
-    public HealthCheckRecord(String serviceName, String status, Map<String, Object> details, Long responseTimeMs) {
+    public HealthCheckRecord(String serviceName, HealthStatus status, Map<String, Object> details, Long responseTimeMs) {
         this.serviceName = serviceName;
         this.status = status;
         this.details = details;
@@ -66,11 +68,11 @@ public class HealthCheckRecord {
         this.serviceName = serviceName;
     }
 
-    public String getStatus() {
+    public HealthStatus getStatus() {
         return status;
     }
 
-    public void setStatus(String status) {
+    public void setStatus(HealthStatus status) {
         this.status = status;
     }
 
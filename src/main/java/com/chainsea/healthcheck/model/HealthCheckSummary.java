@@ -0,0 +1,17 @@
+package com.chainsea.healthcheck.model;
+
+import org.springframework.hateoas.server.core.Relation;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of {@link HealthCheckRecord} without the jsonb details column, for list queries that do
+ * not need it. Uses the same HAL relation names as the entity, so clients read both the same way.
+ */
+@Relation(collectionRelation = "healthChecks", itemRelation = "healthCheck")
+public record HealthCheckSummary(Long id,
+                                 String serviceName,
+                                 HealthStatus status,
+                                 LocalDateTime checkedAt,
+                                 Long responseTimeMs) {
+}
@@ -0,0 +1,48 @@
+package com.chainsea.healthcheck.model;
+
+/**
+ * Outcome of a health check.
+ * <p>
+ * Each status has a fixed code that is stored as SMALLINT, so records and per-status counts compare
+ * and index two bytes instead of free-form strings. Codes must never be reused or renumbered.
+ */
+public enum HealthStatus {
+    /**
+     * Service answered and reported itself healthy.
+     */
+    UP(0),
+
+    /**
+     * Service failed to answer or reported itself unhealthy.
+     */
+    DOWN(1),
+
+    /**
+     * Service answered, but with an unexpected status code.
+     */
+    DEGRADED(2),
+
+    /**
+     * Status could not be determined.
+     */
+    UNKNOWN(3);
+
+    private static final HealthStatus[] BY_CODE = values();
+
+    private final short code;
+
+    HealthStatus(int code) {
+        this.code = (short) code;
+    }
+
+    public short getCode() {
+        return code;
+    }
+
+    public static HealthStatus fromCode(short code) {
+        if (code < 0 || code >= BY_CODE.length) {
+            throw new IllegalArgumentException("Unknown health status code: " + code);
+        }
+        return BY_CODE[code];
+    }
+}
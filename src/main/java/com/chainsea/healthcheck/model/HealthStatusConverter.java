@@ -0,0 +1,21 @@
+package com.chainsea.healthcheck.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Converter for HealthStatus to its PostgreSQL SMALLINT code.
+ */
+@Converter
+public class HealthStatusConverter implements AttributeConverter<HealthStatus, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(HealthStatus status) {
+        return status == null ? null : status.getCode();
+    }
+
+    @Override
+    public HealthStatus convertToEntityAttribute(Short code) {
+        return code == null ? null : HealthStatus.fromCode(code);
+    }
+}
@@ -1,16 +1,22 @@
 package com.chainsea.healthcheck.model;
 
 
-import java.io.Serializable;
 import java.util.List;
 
-public class MqMessageData implements Serializable {
-    private static final long serialVersionUID = 1L;
+/**
+ * Batch task notification sent to {@code batch.task.queue}. It is sent as JSON or, with
+ * {@code health-check.messaging.binary}, in the binary format of
+ * {@link com.chainsea.healthcheck.service.messaging.MqMessageDataCodec}; never with Java serialization.
+ */
+public class MqMessageData {
 
     private String taskId;
     private List<String> serviceNames;
     private TaskStatus status;
 
+    public MqMessageData() {
+    }
+
     public MqMessageData(String taskId, List<String> serviceNames, TaskStatus status) {
         this.taskId = taskId;
         this.serviceNames = serviceNames;
@@ -2,41 +2,62 @@ package com.chainsea.healthcheck.model;
 
 /**
  * Status of a batch health check task.
+ * <p>
+ * Stored as its SMALLINT code; codes must never be reused or renumbered.
  */
 public enum TaskStatus {
     /**
      * Task is pending and not yet started.
      */
-    PENDING,
+    PENDING(0),
 
     /**
      * Task is currently being processed.
      */
-    PROCESSING,
+    PROCESSING(1),
 
     /**
      * Task has been prepared (2PC pattern - Prepare phase).
      * Data is persisted but transaction is not yet committed.
      */
-    PREPARED,
+    PREPARED(2),
 
     /**
      * Task has been reserved (TCC pattern - Try phase).
      */
-    RESERVED,
+    RESERVED(3),
 
     /**
      * Task completed successfully.
      */
-    COMPLETED,
+    COMPLETED(4),
 
     /**
      * Task failed during execution.
      */
-    FAILED,
+    FAILED(5),
 
     /**
      * Task was cancelled (TCC pattern - Cancel phase).
      */
-    CANCELLED
+    CANCELLED(6);
+
+    private static final TaskStatus[] BY_CODE = values();
+
+    private final short code;
+
+    TaskStatus(int code) {
+        this.code = (short) code;
+    }
+
+    public short getCode() {
+        return code;
+    }
+
+    public static TaskStatus fromCode(short code) {
+        if (code < 0 || code >= BY_CODE.length) {
+            throw new IllegalArgumentException("Unknown task status code: " + code);
+        }
+        return BY_CODE[code];
+    }
 }
@@ -0,0 +1,21 @@
+package com.chainsea.healthcheck.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Converter for TaskStatus to its PostgreSQL SMALLINT code.
+ */
+@Converter
+public class TaskStatusConverter implements AttributeConverter<TaskStatus, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(TaskStatus status) {
+        return status == null ? null : status.getCode();
+    }
+
+    @Override
+    public TaskStatus convertToEntityAttribute(Short code) {
+        return code == null ? null : TaskStatus.fromCode(code);
+    }
+}
@@ -0,0 +1,188 @@
+package com.chainsea.healthcheck.probe;
+
+import com.chainsea.healthcheck.health.HealthStatusCache;
+import com.chainsea.healthcheck.model.HealthStatus;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.UnknownHostException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Shared probe engine for declaratively configured targets and on-demand health indicator checks.
+ * <p>
+ * HTTP probes use the asynchronous {@link HttpClient}; TCP connects, DNS lookups and health indicators
+ * only exist as blocking calls and run on virtual threads. No platform thread is held per target, so thousands of
+ * targets share a handful of carrier threads. At most {@code health-check.probe.max-in-flight} probes run
+ * at once; a probe beyond that is skipped and retried on its next interval instead of queueing. A probe
+ * holds its slot until the call behind it has actually returned, not just until its timeout is reported,
+ * so calls that hang past their timeout cannot pile up beyond the limit.
+ */
+@Component
+public class ProbeEngine {
+
+    private static final int MAX_BODY_DETAIL_LENGTH = 1000;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpClient httpClient;
+    private final Semaphore inFlight;
+
+    public ProbeEngine(@Value("${health-check.probe.max-in-flight:500}") int maxInFlight,
+                       @Value("${health-check.probe.connect-timeout:2000}") long connectTimeoutMs) {
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .executor(executor)
+                .build();
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Probe a target without blocking the caller.
+     *
+     * @return the probe result, or empty if too many probes are already in flight
+     */
+    public CompletableFuture<Optional<ProbeResult>> probe(ProbeTarget target) {
+        if (!inFlight.tryAcquire()) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        long startTime = System.nanoTime();
+        CompletableFuture<ProbeResult> result;
+        try {
+            result = switch (target.type()) {
+                case HTTP -> probeHttp(target, startTime);
+                case TCP -> runBlocking(() -> probeTcp(target, startTime));
+                case DNS -> runBlocking(() -> probeDns(target, startTime));
+            };
+        } catch (RuntimeException e) {
+            inFlight.release();
+            result = CompletableFuture.failedFuture(e);
+        }
+        return complete(result, target.timeout(), startTime);
+    }
+
+    /**
+     * Run a health indicator on a virtual thread, under the same in-flight limit as the targets.
+     *
+     * @return the check result, or empty if too many probes are already in flight
+     */
+    public CompletableFuture<Optional<ProbeResult>> probe(HealthIndicator healthIndicator, long timeoutMs) {
+        if (!inFlight.tryAcquire()) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        long startTime = System.nanoTime();
+        CompletableFuture<ProbeResult> result;
+        try {
+            result = runBlocking(() -> {
+                Health health = healthIndicator.health();
+                return new ProbeResult(HealthStatusCache.toHealthStatus(health.getStatus()), elapsedMs(startTime), health.getDetails());
+            });
+        } catch (RuntimeException e) {
+            inFlight.release();
+            result = CompletableFuture.failedFuture(e);
+        }
+        return complete(result, timeoutMs, startTime);
+    }
+
+    /**
+     * Run a blocking call on a virtual thread, releasing its in-flight slot once the call returns.
+     */
+    private CompletableFuture<ProbeResult> runBlocking(Supplier<ProbeResult> call) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return call.get();
+            } finally {
+                inFlight.release();
+            }
+        }, executor);
+    }
+
+    /**
+     * Report the result, or a DOWN result once the timeout passes. The timeout only completes the
+     * returned future; the slot stays taken until the call itself has returned.
+     */
+    private CompletableFuture<Optional<ProbeResult>> complete(CompletableFuture<ProbeResult> result, long timeoutMs, long startTime) {
+        return result
+                .orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .exceptionally(e -> down(startTime, e instanceof CompletionException ? e.getCause() : e))
+                .thenApply(Optional::of);
+    }
+
+    private CompletableFuture<ProbeResult> probeHttp(ProbeTarget target, long startTime) {
+        HttpRequest request = HttpRequest.newBuilder(target.url())
+                .timeout(Duration.ofMillis(target.timeout()))
+                .GET()
+                .build();
+        // The request's own timeout completes the exchange, and with it the slot, if the target never answers
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, e) -> inFlight.release())
+                .thenApply(response -> {
+                    String body = response.body() != null ? response.body() : "";
+                    boolean statusMatches = response.statusCode() == target.expectedStatus();
+                    boolean bodyMatches = target.expectedBody() == null || body.contains(target.expectedBody());
+                    return new ProbeResult(statusMatches && bodyMatches ? HealthStatus.UP : HealthStatus.DOWN, elapsedMs(startTime), Map.of(
+                            "message", !statusMatches ? "Unexpected status code" : bodyMatches ? "Health check successful" : "Unexpected response body",
+                            "statusCode", response.statusCode(),
+                            "responseBody", body.length() > MAX_BODY_DETAIL_LENGTH ? body.substring(0, MAX_BODY_DETAIL_LENGTH) + "..." : body));
+                });
+    }
+
+    private ProbeResult probeTcp(ProbeTarget target, long startTime) {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(target.host(), target.port()), Math.toIntExact(target.timeout()));
+            return new ProbeResult(HealthStatus.UP, elapsedMs(startTime), Map.of(
+                    "message", "Connection established",
+                    "address", target.host() + ":" + target.port()));
+        } catch (IOException e) {
+            return down(startTime, e);
+        }
+    }
+
+    private ProbeResult probeDns(ProbeTarget target, long startTime) {
+        try {
+            InetAddress[] addresses = InetAddress.getAllByName(target.host());
+            return new ProbeResult(HealthStatus.UP, elapsedMs(startTime), Map.of(
+                    "message", "Host resolved",
+                    "addresses", Arrays.stream(addresses).map(InetAddress::getHostAddress).toList()));
+        } catch (UnknownHostException e) {
+            return down(startTime, e);
+        }
+    }
+
+    private static ProbeResult down(long startTime, Throwable error) {
+        String message = error instanceof TimeoutException ? "Probe timed out" : error.getMessage();
+        return new ProbeResult(HealthStatus.DOWN, elapsedMs(startTime), Map.of(
+                "message", "Health check failed",
+                "error", message != null ? message : error.getClass().getSimpleName(),
+                "errorType", error.getClass().getName()));
+    }
+
+    private static long elapsedMs(long startTime) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+    }
+}
@@ -0,0 +1,11 @@
+package com.chainsea.healthcheck.probe;
+
+import com.chainsea.healthcheck.model.HealthStatus;
+
+import java.util.Map;
+
+/**
+ * Outcome of a single probe; the details are persisted with the health check record.
+ */
+public record ProbeResult(HealthStatus status, long responseTimeMs, Map<String, Object> details) {
+}
@@ -0,0 +1,52 @@
+package com.chainsea.healthcheck.probe;
+
+import java.net.URI;
+
+/**
+ * A declaratively configured endpoint checked by the shared {@link ProbeEngine}, configured under
+ * {@code health-check.targets}. HTTP targets need a URL, TCP targets a host and port and DNS targets a host.
+ *
+ * @param name           service name the results are recorded under
+ * @param type           how the target is probed
+ * @param url            URL of an HTTP target
+ * @param expectedStatus HTTP status that counts as up, default 200
+ * @param expectedBody   substring the HTTP response body must contain, optional
+ * @param host           host of a TCP or DNS target
+ * @param port           port of a TCP target
+ * @param interval       delay between the end of one probe and the start of the next in milliseconds, default 5000
+ * @param timeout        probe timeout in milliseconds, default 2000
+ */
+public record ProbeTarget(
+        String name,
+        ProbeType type,
+        URI url,
+        Integer expectedStatus,
+        String expectedBody,
+        String host,
+        Integer port,
+        Long interval,
+        Long timeout
+) {
+    public ProbeTarget {
+        if (expectedStatus == null) {
+            expectedStatus = 200;
+        }
+        if (interval == null) {
+            interval = 5000L;
+        }
+        if (timeout == null) {
+            timeout = 2000L;
+        }
+    }
+
+    public boolean isValid() {
+        if (name == null || name.isBlank() || type == null || interval <= 0 || timeout <= 0) {
+            return false;
+        }
+        return switch (type) {
+            case HTTP -> url != null;
+            case TCP -> host != null && port != null && port > 0 && port <= 65535;
+            case DNS -> host != null;
+        };
+    }
+}
@@ -0,0 +1,162 @@
+package com.chainsea.healthcheck.probe;
+
+import com.chainsea.healthcheck.cluster.ClusterMembership;
+import com.chainsea.healthcheck.config.HealthCheckProperties;
+import com.chainsea.healthcheck.config.ServiceRegistry;
+import com.chainsea.healthcheck.health.HealthStatusCache;
+import com.chainsea.healthcheck.health.LatencyTracker;
+import com.chainsea.healthcheck.health.RecentHealthHistory;
+import com.chainsea.healthcheck.model.HealthCheckRecord;
+import com.chainsea.healthcheck.model.HealthStatus;
+import com.chainsea.healthcheck.service.HealthCheckRecordWriter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Schedules the probes of all {@code health-check.targets} on the shared task scheduler.
+ * <p>
+ * Each target is one delayed task. It hands the probe to the {@link ProbeEngine} and returns at once,
+ * and the next probe is scheduled when the result arrives, so scheduler threads never wait on the
+ * network and probes of one target never overlap. First probes are spread over one interval so a large
+ * target list does not probe everything at the same instant. Results feed the status cache, the recent
+ * history and, in batches, the health check records. In a cluster, a target owned by another instance
+ * is skipped and looked at again on its next interval, in case ownership moved.
+ */
+@Component
+@ConditionalOnProperty(name = "health-check.scheduler.enabled", havingValue = "true", matchIfMissing = true)
+public class ProbeTargetScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProbeTargetScheduler.class);
+
+    private final HealthCheckProperties properties;
+    private final ServiceRegistry serviceRegistry;
+    private final ProbeEngine probeEngine;
+    private final HealthStatusCache healthStatusCache;
+    private final RecentHealthHistory recentHealthHistory;
+    private final LatencyTracker latencyTracker;
+    private final HealthCheckRecordWriter recordWriter;
+    private final ClusterMembership clusterMembership;
+    private final TaskScheduler taskScheduler;
+    private final Map<String, ActiveTarget> targets = new ConcurrentHashMap<>();
+
+    public ProbeTargetScheduler(HealthCheckProperties properties,
+                                ServiceRegistry serviceRegistry,
+                                ProbeEngine probeEngine,
+                                HealthStatusCache healthStatusCache,
+                                RecentHealthHistory recentHealthHistory,
+                                LatencyTracker latencyTracker,
+                                HealthCheckRecordWriter recordWriter,
+                                ClusterMembership clusterMembership,
+                                TaskScheduler healthCheckTaskScheduler) {
+        this.properties = properties;
+        this.serviceRegistry = serviceRegistry;
+        this.probeEngine = probeEngine;
+        this.healthStatusCache = healthStatusCache;
+        this.recentHealthHistory = recentHealthHistory;
+        this.latencyTracker = latencyTracker;
+        this.recordWriter = recordWriter;
+        this.clusterMembership = clusterMembership;
+        this.taskScheduler = healthCheckTaskScheduler;
+    }
+
+    @PostConstruct
+    public void start() {
+        for (ProbeTarget target : properties.targets()) {
+            if (!target.isValid()) {
+                logger.warn("Probe target '{}' is incomplete for type {}, skipping", target.name(), target.type());
+                continue;
+            }
+            if (serviceRegistry.getService(target.name()).isPresent()) {
+                logger.warn("Probe target '{}' has the name of a registered service, skipping", target.name());
+                continue;
+            }
+            ActiveTarget active = new ActiveTarget(target);
+            if (targets.putIfAbsent(target.name(), active) != null) {
+                logger.warn("Probe target '{}' is configured more than once, skipping duplicate", target.name());
+                continue;
+            }
+            scheduleNext(active, ThreadLocalRandom.current().nextLong(target.interval()));
+        }
+        logger.info("Scheduled {} probe targets", targets.size());
+    }
+
+    @PreDestroy
+    public void stop() {
+        for (ActiveTarget active : targets.values()) {
+            active.running = false;
+            ScheduledFuture<?> future = active.future;
+            if (future != null) {
+                future.cancel(false);
+            }
+        }
+    }
+
+    private void scheduleNext(ActiveTarget active, long delayMs) {
+        if (active.running) {
+            active.future = taskScheduler.schedule(() -> probe(active), Instant.now().plusMillis(delayMs));
+        }
+    }
+
+    private void probe(ActiveTarget active) {
+        if (!active.running) {
+            return;
+        }
+        ProbeTarget target = active.target;
+        if (!clusterMembership.isOwner(target.name())) {
+            scheduleNext(active, target.interval());
+            return;
+        }
+        probeEngine.probe(target).whenComplete((result, e) -> {
+            try {
+                if (e != null) {
+                    logger.warn("Probe of target {} failed: {}", target.name(), e.getMessage());
+                } else {
+                    result.ifPresentOrElse(probeResult -> record(target, probeResult),
+                            () -> logger.debug("Probe engine is saturated, skipping probe of target {}", target.name()));
+                }
+            } finally {
+                scheduleNext(active, target.interval());
+            }
+        });
+    }
+
+    /**
+     * Only answered probes feed the latency percentiles, so timeouts of a down target do not count as
+     * latency.
+     */
+    private void record(ProbeTarget target, ProbeResult result) {
+        Health health = Health.status(new Status(result.status().name())).withDetails(result.details()).build();
+        if (result.status() != HealthStatus.DOWN) {
+            latencyTracker.record(target.name(), result.responseTimeMs());
+            health = latencyTracker.applySlo(target.name(), health);
+        }
+        HealthStatus status = HealthStatusCache.toHealthStatus(health.getStatus());
+        healthStatusCache.updateHealth(target.name(), health);
+        recentHealthHistory.record(target.name(), status, Instant.now(), result.responseTimeMs());
+        recordWriter.write(new HealthCheckRecord(target.name(), status, health.getDetails(), result.responseTimeMs()));
+    }
+
+    private static final class ActiveTarget {
+
+        private final ProbeTarget target;
+        private volatile boolean running = true;
+        private volatile ScheduledFuture<?> future;
+
+        private ActiveTarget(ProbeTarget target) {
+            this.target = target;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.chainsea.healthcheck.probe;
+
+public enum ProbeType {
+    /**
+     * GET the URL and compare the response status and, optionally, a body substring.
+     */
+    HTTP,
+    /**
+     * Open a TCP connection to host and port.
+     */
+    TCP,
+    /**
+     * Resolve the host name.
+     */
+    DNS
+}
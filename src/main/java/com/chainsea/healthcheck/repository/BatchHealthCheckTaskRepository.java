@@ -2,11 +2,21 @@ package com.chainsea.healthcheck.repository;
 
 import com.chainsea.healthcheck.model.BatchHealthCheckTask;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BatchHealthCheckTaskRepository extends JpaRepository<BatchHealthCheckTask, Long> {
     Optional<BatchHealthCheckTask> findByTaskId(String taskId);
+
+    /**
+     * Find tasks that include the given service. The array containment operator is served by
+     * the GIN index idx_batch_task_service_names.
+     */
+    @Query(value = "SELECT * FROM batch_health_check_tasks WHERE service_names @> ARRAY[CAST(:serviceName AS TEXT)]",
+            nativeQuery = true)
+    List<BatchHealthCheckTask> findByServiceName(String serviceName);
 }
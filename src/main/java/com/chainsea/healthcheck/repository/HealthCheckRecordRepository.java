@@ -1,28 +1,43 @@
 package com.chainsea.healthcheck.repository;
 
 import com.chainsea.healthcheck.model.HealthCheckRecord;
+import com.chainsea.healthcheck.model.HealthStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.Optional;
 
+/**
+ * List queries are always paged and return a {@link Slice}, so no request can load an unbounded history
+ * and no count query is issued. Each takes the result type: {@link HealthCheckRecord} loads the full
+ * entity, {@link com.chainsea.healthcheck.model.HealthCheckSummary} selects only the summary columns and
+ * skips the jsonb details. Entities are loaded read-only, so Hibernate keeps no snapshot for dirty checking.
+ */
 @Repository
 public interface HealthCheckRecordRepository extends JpaRepository<HealthCheckRecord, Long> {
 
-    List<HealthCheckRecord> findByServiceNameOrderByCheckedAtDesc(String serviceName);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    <T> Slice<T> findByServiceNameOrderByCheckedAtDesc(String serviceName, Pageable pageable, Class<T> type);
 
-    List<HealthCheckRecord> findByStatusOrderByCheckedAtDesc(String status);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    <T> Slice<T> findByStatusOrderByCheckedAtDesc(HealthStatus status, Pageable pageable, Class<T> type);
 
-    @Query("SELECT h FROM HealthCheckRecord h WHERE h.checkedAt >= :since ORDER BY h.checkedAt DESC")
-    List<HealthCheckRecord> findRecentRecords(LocalDateTime since);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    <T> Slice<T> findByCheckedAtGreaterThanEqualOrderByCheckedAtDesc(LocalDateTime since, Pageable pageable, Class<T> type);
 
-    @Query("SELECT h FROM HealthCheckRecord h WHERE h.serviceName = :serviceName AND h.checkedAt >= :since ORDER BY h.checkedAt DESC")
-    List<HealthCheckRecord> findByServiceNameAndCheckedAtAfterOrderByCheckedAtDesc(String serviceName, LocalDateTime since);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    <T> Slice<T> findByServiceNameAndCheckedAtGreaterThanEqualOrderByCheckedAtDesc(String serviceName,
+                                                                                   LocalDateTime since,
+                                                                                   Pageable pageable,
+                                                                                   Class<T> type);
 
     Optional<HealthCheckRecord> findFirstByServiceNameOrderByCheckedAtDesc(String serviceName);
 
-    long countByServiceNameAndStatus(String serviceName, String status);
+    long countByServiceNameAndStatus(String serviceName, HealthStatus status);
 }
@@ -0,0 +1,121 @@
+package com.chainsea.healthcheck.service;
+
+import com.chainsea.healthcheck.model.HealthCheckRecord;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persists scheduled probe results without blocking the probes.
+ * <p>
+ * Records are queued and a writer thread inserts everything queued since the last write with a single
+ * JDBC batch, so thousands of targets cost one round trip per flush instead of one per result. When the
+ * queue is full, results are dropped rather than slowing down probing; they are still in the status
+ * cache and the recent history.
+ */
+@Component
+public class HealthCheckRecordWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(HealthCheckRecordWriter.class);
+    private static final long POLL_INTERVAL_MS = 100;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO health_check_records (service_name, status, details, checked_at, response_time_ms) VALUES (?, ?, CAST(? AS jsonb), ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final BlockingQueue<HealthCheckRecord> queue;
+    private volatile boolean running;
+    private Thread writer;
+
+    public HealthCheckRecordWriter(JdbcTemplate jdbcTemplate,
+                                   ObjectMapper objectMapper,
+                                   @Value("${health-check.probe.writer.batch-size:500}") int batchSize,
+                                   @Value("${health-check.probe.writer.queue-capacity:10000}") int queueCapacity) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = Thread.ofPlatform()
+                .name("health-check-record-writer")
+                .daemon(true)
+                .start(this::writeLoop);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    /**
+     * Queue a record for insertion.
+     *
+     * @return false if the writer is stopped or its queue is full and the record was dropped
+     */
+    public boolean write(HealthCheckRecord healthCheckRecord) {
+        if (!running || !queue.offer(healthCheckRecord)) {
+            logger.debug("Health check record queue is full, dropping result of {}", healthCheckRecord.getServiceName());
+            return false;
+        }
+        return true;
+    }
+
+    private void writeLoop() {
+        List<HealthCheckRecord> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                HealthCheckRecord first = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                insert(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void insert(List<HealthCheckRecord> batch) {
+        try {
+            List<Object[]> rows = new ArrayList<>(batch.size());
+            for (HealthCheckRecord healthCheckRecord : batch) {
+                rows.add(new Object[]{
+                        healthCheckRecord.getServiceName(),
+                        healthCheckRecord.getStatus().getCode(),
+                        objectMapper.writeValueAsString(healthCheckRecord.getDetails()),
+                        Timestamp.valueOf(healthCheckRecord.getCheckedAt()),
+                        healthCheckRecord.getResponseTimeMs()
+                });
+            }
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        } catch (Exception e) {
+            logger.error("Failed to write batch of {} health check records", batch.size(), e);
+        }
+    }
+}
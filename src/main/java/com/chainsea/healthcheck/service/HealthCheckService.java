@@ -1,7 +1,12 @@
 package com.chainsea.healthcheck.service;
 
+import com.chainsea.healthcheck.health.HealthHistoryEntry;
+import com.chainsea.healthcheck.health.HealthSparkline;
+import com.chainsea.healthcheck.health.LatencySummary;
 import com.chainsea.healthcheck.model.HealthCheckRecord;
 
+import org.springframework.data.domain.Slice;
+
 import java.net.URL;
 import java.util.List;
 import java.util.Optional;
@@ -18,12 +23,15 @@ public interface HealthCheckService {
     HealthCheckRecord check(String serviceName, URL healthCheckUrl);
 
     /**
-     * Retrieves the health check history for a specific service.
+     * Retrieves one page of the health check history for a specific service.
      *
      * @param serviceName the name of the service
-     * @return list of health check records ordered by checked time descending
+     * @param page        zero-based page number
+     * @param size        page size, capped at the configured maximum
+     * @param type        {@link HealthCheckRecord} for full records, {@link com.chainsea.healthcheck.model.HealthCheckSummary} to skip details
+     * @return slice of health check records ordered by checked time descending
      */
-    List<HealthCheckRecord> getHealthChecks(String serviceName);
+    <T> Slice<T> getHealthChecks(String serviceName, int page, int size, Class<T> type);
 
     /**
      * Retrieves the latest health check record for a specific service.
@@ -34,21 +42,53 @@ public interface HealthCheckService {
     Optional<HealthCheckRecord> getLatestHealthCheck(String serviceName);
 
     /**
-     * Retrieves recent health check records within the specified time window.
+     * Retrieves one page of recent health check records within the specified time window.
      *
      * @param hours the number of hours to look back
-     * @return list of health check records within the time window
+     * @param page  zero-based page number
+     * @param size  page size, capped at the configured maximum
+     * @param type  {@link HealthCheckRecord} for full records, {@link com.chainsea.healthcheck.model.HealthCheckSummary} to skip details
+     * @return slice of health check records within the time window, ordered by checked time descending
      */
-    List<HealthCheckRecord> getHealthChecks(int hours);
+    <T> Slice<T> getHealthChecks(int hours, int page, int size, Class<T> type);
 
     /**
-     * Retrieves health check history for a specific service within the specified time window.
+     * Retrieves one page of health check history for a specific service within the specified time window.
      *
      * @param serviceName the name of the service
      * @param hours       the number of hours to look back
-     * @return list of health check records for the service within the time window, ordered by checked time descending
+     * @param page        zero-based page number
+     * @param size        page size, capped at the configured maximum
+     * @param type        {@link HealthCheckRecord} for full records, {@link com.chainsea.healthcheck.model.HealthCheckSummary} to skip details
+     * @return slice of health check records for the service within the time window, ordered by checked time descending
+     */
+    <T> Slice<T> getHealthChecks(String serviceName, int hours, int page, int size, Class<T> type);
+
+    /**
+     * Retrieves the most recent health check results for a specific service from memory.
+     *
+     * @param serviceName the name of the service
+     * @param limit       the maximum number of results, capped at the in-memory history capacity
+     * @return list of recent results ordered by checked time descending, empty if none are held
+     */
+    List<HealthHistoryEntry> getRecentHealthChecks(String serviceName, int limit);
+
+    /**
+     * Retrieves the most recent health check results for a specific service from memory for charting.
+     *
+     * @param serviceName the name of the service
+     * @param points      the maximum number of results, capped at the in-memory history capacity
+     * @return statuses and response times ordered by checked time ascending
+     */
+    HealthSparkline getSparkline(String serviceName, int points);
+
+    /**
+     * Retrieves the latency percentiles of a specific service over the 1m, 5m and 1h sliding windows.
+     *
+     * @param serviceName the name of the service
+     * @return percentiles and SLO state, empty if no latency has been recorded for the service
      */
-    List<HealthCheckRecord> getHealthChecks(String serviceName, int hours);
+    Optional<LatencySummary> getLatency(String serviceName);
 
     /**
      * Gets the count of failed health checks for a specific service.
@@ -1,9 +1,19 @@
 package com.chainsea.healthcheck.service;
 
+import com.chainsea.healthcheck.health.HealthHistoryEntry;
+import com.chainsea.healthcheck.health.HealthSparkline;
+import com.chainsea.healthcheck.health.LatencySummary;
+import com.chainsea.healthcheck.health.LatencyTracker;
+import com.chainsea.healthcheck.health.RecentHealthHistory;
 import com.chainsea.healthcheck.model.HealthCheckRecord;
+import com.chainsea.healthcheck.model.HealthStatus;
 import com.chainsea.healthcheck.repository.HealthCheckRecordRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -22,10 +32,20 @@ public class HealthCheckServiceImpl implements HealthCheckService {
 
     private final HealthCheckRecordRepository repository;
     private final RestClient restClient;
-
-    public HealthCheckServiceImpl(HealthCheckRecordRepository repository, RestClient restClient) {
+    private final RecentHealthHistory recentHealthHistory;
+    private final LatencyTracker latencyTracker;
+    private final int maxPageSize;
+
+    public HealthCheckServiceImpl(HealthCheckRecordRepository repository,
+                                  RestClient restClient,
+                                  RecentHealthHistory recentHealthHistory,
+                                  LatencyTracker latencyTracker,
+                                  @Value("${health-check.query.max-page-size:500}") int maxPageSize) {
         this.repository = repository;
         this.restClient = restClient;
+        this.recentHealthHistory = recentHealthHistory;
+        this.latencyTracker = latencyTracker;
+        this.maxPageSize = maxPageSize;
     }
 
     private static Map<String, Object> getErrorDetails(Exception exception) {
@@ -51,7 +71,7 @@ public class HealthCheckServiceImpl implements HealthCheckService {
             long responseTime = System.currentTimeMillis() - startTime;
 
             boolean isOk = response.getStatusCode().equals(HttpStatus.OK);
-            String status = isOk ? "UP" : "DEGRADED";
+            HealthStatus status = isOk ? HealthStatus.UP : HealthStatus.DEGRADED;
             Map<String, Object> details = Map.of(
                     "message", isOk ? "Health check successful" : "Health check returned non-OK status",
                     "responseBody", response.getBody(),
@@ -64,14 +84,14 @@ public class HealthCheckServiceImpl implements HealthCheckService {
         } catch (Exception ex) {
             long responseTime = System.currentTimeMillis() - startTime;
             logger.error("Health check failed for service: {}", serviceName, ex);
-            return repository.save(new HealthCheckRecord(serviceName, "DOWN", getErrorDetails(ex), responseTime));
+            return repository.save(new HealthCheckRecord(serviceName, HealthStatus.DOWN, getErrorDetails(ex), responseTime));
         }
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<HealthCheckRecord> getHealthChecks(String serviceName) {
-        return repository.findByServiceNameOrderByCheckedAtDesc(serviceName);
+    public <T> Slice<T> getHealthChecks(String serviceName, int page, int size, Class<T> type) {
+        return repository.findByServiceNameOrderByCheckedAtDesc(serviceName, pageRequest(page, size), type);
     }
 
     @Override
@@ -82,22 +102,37 @@ public class HealthCheckServiceImpl implements HealthCheckService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<HealthCheckRecord> getHealthChecks(int hours) {
+    public <T> Slice<T> getHealthChecks(int hours, int page, int size, Class<T> type) {
         LocalDateTime since = LocalDateTime.now().minusHours(hours);
-        return repository.findRecentRecords(since);
+        return repository.findByCheckedAtGreaterThanEqualOrderByCheckedAtDesc(since, pageRequest(page, size), type);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<HealthCheckRecord> getHealthChecks(String serviceName, int hours) {
+    public <T> Slice<T> getHealthChecks(String serviceName, int hours, int page, int size, Class<T> type) {
         LocalDateTime since = LocalDateTime.now().minusHours(hours);
-        return repository.findByServiceNameAndCheckedAtAfterOrderByCheckedAtDesc(serviceName, since);
+        return repository.findByServiceNameAndCheckedAtGreaterThanEqualOrderByCheckedAtDesc(serviceName, since, pageRequest(page, size), type);
+    }
+
+    @Override
+    public List<HealthHistoryEntry> getRecentHealthChecks(String serviceName, int limit) {
+        return recentHealthHistory.getRecent(serviceName, limit);
+    }
+
+    @Override
+    public HealthSparkline getSparkline(String serviceName, int points) {
+        return recentHealthHistory.getSparkline(serviceName, points);
+    }
+
+    @Override
+    public Optional<LatencySummary> getLatency(String serviceName) {
+        return latencyTracker.getSummary(serviceName);
     }
 
     @Override
     @Transactional(readOnly = true)
     public long getFailureCount(String serviceName) {
-        return repository.countByServiceNameAndStatus(serviceName, "DOWN");
+        return repository.countByServiceNameAndStatus(serviceName, HealthStatus.DOWN);
     }
 
     @Override
@@ -105,4 +140,11 @@ public class HealthCheckServiceImpl implements HealthCheckService {
     public Optional<HealthCheckRecord> getHealthCheckById(Long id) {
         return repository.findById(id);
     }
+
+    /**
+     * Clamp client-supplied paging to the configured maximum page size.
+     */
+    private Pageable pageRequest(int page, int size) {
+        return PageRequest.of(Math.max(page, 0), Math.clamp(size, 1, maxPageSize));
+    }
 }
@@ -0,0 +1,76 @@
+package com.chainsea.healthcheck.service.ingest;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Accepts batches of health check results computed by external agents.
+ * <p>
+ * The body is either a JSON array or newline-delimited JSON objects. It is read token by token from the
+ * request stream and each result is bound and validated as soon as it is complete, so a malformed or
+ * oversized request is rejected at the offending result without buffering the rest of the body. A request
+ * is all or nothing: results are only handed to the {@link HealthCheckBulkLoader} once every one of them
+ * is valid.
+ */
+@Service
+public class HealthCheckIngestionService {
+
+    private final HealthCheckBulkLoader bulkLoader;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int maxBatchSize;
+
+    public HealthCheckIngestionService(HealthCheckBulkLoader bulkLoader,
+                                       ObjectMapper objectMapper,
+                                       Validator validator,
+                                       @Value("${health-check.ingest.max-batch-size:10000}") int maxBatchSize) {
+        this.bulkLoader = bulkLoader;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public IngestResult ingest(InputStream body) throws IOException {
+        List<IngestedHealthCheck> results = new ArrayList<>();
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            JsonToken token = parser.nextToken();
+            boolean array = token == JsonToken.START_ARRAY;
+            if (array) {
+                token = parser.nextToken();
+            }
+            while (token != null && !(array && token == JsonToken.END_ARRAY)) {
+                if (results.size() == maxBatchSize) {
+                    return IngestResult.tooLarge(maxBatchSize);
+                }
+                if (token != JsonToken.START_OBJECT) {
+                    return IngestResult.invalid("Result " + results.size() + ": expected a JSON object");
+                }
+                IngestedHealthCheck result = parser.readValueAs(IngestedHealthCheck.class);
+                Set<ConstraintViolation<IngestedHealthCheck>> violations = validator.validate(result);
+                if (!violations.isEmpty()) {
+                    return IngestResult.invalid("Result " + results.size() + ": " + violations.iterator().next().getMessage());
+                }
+                results.add(result);
+                token = parser.nextToken();
+            }
+        } catch (JsonProcessingException e) {
+            return IngestResult.invalid("Result " + results.size() + ": " + e.getOriginalMessage());
+        }
+        if (results.isEmpty()) {
+            return IngestResult.invalid("No results in request");
+        }
+        return bulkLoader.submit(results).isPresent() ? IngestResult.accepted(results.size()) : IngestResult.busy();
+    }
+}
@@ -0,0 +1,48 @@
+package com.chainsea.healthcheck.service.ingest;
+
+/**
+ * Outcome of a bulk ingestion request.
+ *
+ * @param accepted number of results queued for loading, 0 unless the outcome is ACCEPTED
+ * @param error    why the request was rejected, null if it was accepted
+ */
+public record IngestResult(Outcome outcome, int accepted, String error) {
+
+    public enum Outcome {
+        /**
+         * All results were valid and are queued for loading.
+         */
+        ACCEPTED,
+
+        /**
+         * The body is malformed or a result failed validation; nothing was queued.
+         */
+        INVALID,
+
+        /**
+         * The request holds more results than one request may carry; nothing was queued.
+         */
+        TOO_LARGE,
+
+        /**
+         * The load queue has no room for the results; the caller should retry later.
+         */
+        BUSY
+    }
+
+    static IngestResult accepted(int count) {
+        return new IngestResult(Outcome.ACCEPTED, count, null);
+    }
+
+    static IngestResult invalid(String error) {
+        return new IngestResult(Outcome.INVALID, 0, error);
+    }
+
+    static IngestResult tooLarge(int maxBatchSize) {
+        return new IngestResult(Outcome.TOO_LARGE, 0, "A request may carry at most " + maxBatchSize + " results");
+    }
+
+    static IngestResult busy() {
+        return new IngestResult(Outcome.BUSY, 0, "Load queue is full, retry later");
+    }
+}
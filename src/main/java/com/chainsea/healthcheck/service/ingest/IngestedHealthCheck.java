@@ -0,0 +1,32 @@
+package com.chainsea.healthcheck.service.ingest;
+
+import com.chainsea.healthcheck.model.HealthStatus;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * A health check result computed by an external agent, one element of a bulk ingestion request.
+ */
+public record IngestedHealthCheck(
+        @NotBlank(message = "Service name is required")
+        @Size(max = 255, message = "Service name must be at most 255 characters")
+        String serviceName,
+
+        @NotNull(message = "Status is required")
+        HealthStatus status,
+
+        Map<String, Object> details,
+
+        @NotNull(message = "Check time is required")
+        LocalDateTime checkedAt,
+
+        @NotNull(message = "Response time is required")
+        @PositiveOrZero(message = "Response time must not be negative")
+        Long responseTimeMs
+) {
+}
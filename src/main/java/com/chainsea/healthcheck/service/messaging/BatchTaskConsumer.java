@@ -0,0 +1,315 @@
+package com.chainsea.healthcheck.service.messaging;
+
+import com.chainsea.healthcheck.config.HealthCheckProperties;
+import com.chainsea.healthcheck.config.RabbitMqConfig;
+import com.chainsea.healthcheck.config.ServiceRegistry;
+import com.chainsea.healthcheck.model.HealthStatus;
+import com.chainsea.healthcheck.model.MqMessageData;
+import com.chainsea.healthcheck.model.TaskStatus;
+import com.chainsea.healthcheck.probe.ProbeEngine;
+import com.chainsea.healthcheck.probe.ProbeResult;
+import com.chainsea.healthcheck.probe.ProbeTarget;
+import com.chainsea.healthcheck.service.ingest.HealthCheckBulkLoader;
+import com.chainsea.healthcheck.service.ingest.IngestedHealthCheck;
+import com.rabbitmq.client.Channel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.support.DefaultMessagePropertiesConverter;
+import org.springframework.amqp.rabbit.support.MessagePropertiesConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs the health checks of the batch tasks published to {@code batch.task.queue}.
+ * <p>
+ * Each consumer receives tasks in batches and fans the services of every task in the batch out to the
+ * {@link ProbeEngine} at once: declarative targets are probed by the engine itself, registered services
+ * by running their health indicator on a virtual thread. The results of the whole batch are handed to the
+ * {@link HealthCheckBulkLoader} together, tagged with their task ID, and the batch is acknowledged with a
+ * single multiple ack only once the loader reports them written. Consumers share nothing but the probe
+ * engine and the loader, so throughput grows with {@code health-check.consumer.concurrency} until one of
+ * those is saturated.
+ * <p>
+ * A saturated probe engine or loader holds the consumer back rather than bouncing tasks through the
+ * queue: probes the engine skipped are retried with a growing backoff while the finished ones are kept,
+ * and the consumer waits for room in the loader. A task is only requeued once the retries are spent.
+ * <p>
+ * A task whose results could not be loaded is published to the queue again with the attempt counted in
+ * the {@value #LOAD_ATTEMPTS_HEADER} header, since a requeued message keeps its headers unchanged, and is
+ * dead-lettered once {@code health-check.consumer.max-load-attempts} is used up. A message that cannot be
+ * read is dead-lettered right away.
+ */
+@Component
+@ConditionalOnProperty(name = "health-check.consumer.enabled", havingValue = "true", matchIfMissing = true)
+public class BatchTaskConsumer {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchTaskConsumer.class);
+    static final String LOAD_ATTEMPTS_HEADER = "x-load-attempts";
+
+    private final Map<String, ProbeTarget> targets = new HashMap<>();
+    private final ServiceRegistry serviceRegistry;
+    private final ProbeEngine probeEngine;
+    private final HealthCheckBulkLoader bulkLoader;
+    private final MqMessageDataMessageConverter messageConverter;
+    private final MessagePropertiesConverter propertiesConverter = new DefaultMessagePropertiesConverter();
+    private final long probeTimeoutMs;
+    private final long retryBackoffMs;
+    private final int maxRetries;
+    private final long loadTimeoutMs;
+    private final int maxLoadAttempts;
+
+    public BatchTaskConsumer(HealthCheckProperties properties,
+                             ServiceRegistry serviceRegistry,
+                             ProbeEngine probeEngine,
+                             HealthCheckBulkLoader bulkLoader,
+                             MqMessageDataMessageConverter messageConverter,
+                             @Value("${health-check.consumer.probe-timeout:5000}") long probeTimeoutMs,
+                             @Value("${health-check.consumer.retry-backoff:100}") long retryBackoffMs,
+                             @Value("${health-check.consumer.max-retries:5}") int maxRetries,
+                             @Value("${health-check.consumer.load-timeout:30000}") long loadTimeoutMs,
+                             @Value("${health-check.consumer.max-load-attempts:10}") int maxLoadAttempts) {
+        this.serviceRegistry = serviceRegistry;
+        this.probeEngine = probeEngine;
+        this.bulkLoader = bulkLoader;
+        this.messageConverter = messageConverter;
+        this.probeTimeoutMs = probeTimeoutMs;
+        this.retryBackoffMs = retryBackoffMs;
+        this.maxRetries = maxRetries;
+        this.loadTimeoutMs = loadTimeoutMs;
+        this.maxLoadAttempts = maxLoadAttempts;
+        properties.targets().stream()
+                .filter(ProbeTarget::isValid)
+                .forEach(target -> targets.putIfAbsent(target.name(), target));
+    }
+
+    @RabbitListener(queues = RabbitMqConfig.QUEUE, containerFactory = "batchTaskListenerContainerFactory")
+    public void onTasks(List<Message> messages, Channel channel) throws IOException {
+        List<PendingTask> tasks = new ArrayList<>(messages.size());
+        List<CompletableFuture<Optional<ProbeResult>>> allProbes = new ArrayList<>();
+        for (Message message : messages) {
+            PendingTask task = start(message);
+            tasks.add(task);
+            if (task.probes() != null) {
+                allProbes.addAll(task.probes().values());
+            }
+        }
+        // Every probe has a timeout, so these waits are bounded
+        join(allProbes);
+        for (int retry = 0; retry < maxRetries && !allProbes.isEmpty(); retry++) {
+            allProbes = retrySkipped(tasks, retryBackoffMs << retry);
+            join(allProbes);
+        }
+
+        List<IngestedHealthCheck> results = new ArrayList<>();
+        List<PendingTask> completed = new ArrayList<>(tasks.size());
+        for (PendingTask task : tasks) {
+            if (task.probes() == null) {
+                channel.basicNack(task.deliveryTag(), false, false);
+                continue;
+            }
+            List<IngestedHealthCheck> taskResults = collect(task);
+            if (taskResults == null) {
+                logger.debug("Probe engine is still saturated after {} retries, requeueing batch task {}", maxRetries, task.taskId());
+                channel.basicNack(task.deliveryTag(), false, true);
+                continue;
+            }
+            results.addAll(taskResults);
+            completed.add(task);
+        }
+        if (!results.isEmpty() && !load(results)) {
+            // Back off before the tasks come round again, so a failing database is not hammered
+            pause(retryBackoffMs << maxRetries);
+            for (PendingTask task : completed) {
+                retryLoad(channel, task);
+            }
+            return;
+        }
+        // Rejected tasks were settled above, so one multiple ack covers exactly the completed ones
+        completed.stream()
+                .mapToLong(PendingTask::deliveryTag)
+                .max()
+                .ifPresent(deliveryTag -> ack(channel, deliveryTag));
+    }
+
+    /**
+     * Decode a task and start the probes of its services.
+     *
+     * @return the task, with null probes if the message is not a readable task
+     */
+    private PendingTask start(Message message) {
+        long deliveryTag = message.getMessageProperties().getDeliveryTag();
+        MqMessageData task;
+        try {
+            task = messageConverter.readTask(message);
+        } catch (Exception e) {
+            logger.error("Dead-lettering unreadable batch task message {}: {}", deliveryTag, e.getMessage());
+            return new PendingTask(message, deliveryTag, null, null);
+        }
+        if (task.getTaskId() == null || task.getServiceNames() == null) {
+            logger.error("Dead-lettering batch task message {} without task ID or services", deliveryTag);
+            return new PendingTask(message, deliveryTag, task.getTaskId(), null);
+        }
+        Map<String, CompletableFuture<Optional<ProbeResult>>> probes = new HashMap<>();
+        if (task.getStatus() == TaskStatus.COMPLETED) {
+            for (String serviceName : task.getServiceNames()) {
+                probes.computeIfAbsent(serviceName, this::probe);
+            }
+        } else {
+            logger.debug("Skipping batch task {} in status {}", task.getTaskId(), task.getStatus());
+        }
+        return new PendingTask(message, deliveryTag, task.getTaskId(), probes);
+    }
+
+    private CompletableFuture<Optional<ProbeResult>> probe(String serviceName) {
+        ProbeTarget target = targets.get(serviceName);
+        if (target != null) {
+            return probeEngine.probe(target);
+        }
+        return serviceRegistry.getHealthIndicator(serviceName)
+                .map(healthIndicator -> probeEngine.probe(healthIndicator, probeTimeoutMs))
+                .orElseGet(() -> CompletableFuture.completedFuture(Optional.of(new ProbeResult(HealthStatus.UNKNOWN, 0,
+                        Map.of("message", "No health indicator or probe target with this name")))));
+    }
+
+    /**
+     * Probe again, after a backoff, every service whose probe the engine skipped. Probes that finished
+     * keep their results.
+     *
+     * @return the retried probes, empty if none was skipped
+     */
+    private List<CompletableFuture<Optional<ProbeResult>>> retrySkipped(List<PendingTask> tasks, long backoffMs) {
+        List<Map.Entry<String, CompletableFuture<Optional<ProbeResult>>>> skipped = tasks.stream()
+                .filter(task -> task.probes() != null)
+                .flatMap(task -> task.probes().entrySet().stream())
+                .filter(probe -> probe.getValue().join().isEmpty())
+                .toList();
+        if (skipped.isEmpty() || !pause(backoffMs)) {
+            return List.of();
+        }
+        logger.debug("Probe engine is saturated, retrying {} skipped probes after {} ms", skipped.size(), backoffMs);
+        List<CompletableFuture<Optional<ProbeResult>>> retried = new ArrayList<>(skipped.size());
+        for (Map.Entry<String, CompletableFuture<Optional<ProbeResult>>> probe : skipped) {
+            probe.setValue(probe(probe.getKey()));
+            retried.add(probe.getValue());
+        }
+        return retried;
+    }
+
+    /**
+     * Hand the results to the loader, waiting for room in its queue, and wait for them to be written.
+     *
+     * @return whether the results were loaded within {@code health-check.consumer.load-timeout}
+     */
+    private boolean load(List<IngestedHealthCheck> results) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(loadTimeoutMs);
+        try {
+            Optional<CompletableFuture<Void>> loaded = bulkLoader.submit(results, loadTimeoutMs);
+            if (loaded.isEmpty()) {
+                logger.warn("Bulk loader had no room for {} results within {} ms, retrying their batch tasks", results.size(), loadTimeoutMs);
+                return false;
+            }
+            loaded.get().get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            logger.warn("Failed to load {} results, retrying their batch tasks: {}", results.size(), e.getCause().getMessage());
+            return false;
+        } catch (TimeoutException e) {
+            // The results may still be written, in which case the redelivered tasks record them twice
+            logger.warn("Loading {} results took over {} ms, retrying their batch tasks", results.size(), loadTimeoutMs);
+            return false;
+        }
+    }
+
+    /**
+     * Send a task whose results could not be loaded round again, or dead-letter it once
+     * {@code max-load-attempts} is used up. The copy is published before the original is acknowledged,
+     * so a failure in between delivers the task twice rather than losing it.
+     */
+    private void retryLoad(Channel channel, PendingTask task) throws IOException {
+        MessageProperties properties = task.message().getMessageProperties();
+        int attempts = loadAttempts(properties) + 1;
+        if (attempts >= maxLoadAttempts) {
+            logger.error("Dead-lettering batch task {} after {} failed loads", task.taskId(), attempts);
+            channel.basicNack(task.deliveryTag(), false, false);
+            return;
+        }
+        properties.setHeader(LOAD_ATTEMPTS_HEADER, attempts);
+        channel.basicPublish("", RabbitMqConfig.QUEUE,
+                propertiesConverter.fromMessageProperties(properties, StandardCharsets.UTF_8.name()),
+                task.message().getBody());
+        channel.basicAck(task.deliveryTag(), false);
+    }
+
+    private static int loadAttempts(MessageProperties properties) {
+        return properties.getHeaders().get(LOAD_ATTEMPTS_HEADER) instanceof Number attempts ? attempts.intValue() : 0;
+    }
+
+    private static void join(List<CompletableFuture<Optional<ProbeResult>>> probes) {
+        CompletableFuture.allOf(probes.toArray(CompletableFuture[]::new)).join();
+    }
+
+    /**
+     * @return false if interrupted while pausing
+     */
+    private static boolean pause(long ms) {
+        try {
+            Thread.sleep(ms);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * @return the results of all probes of the task, or null if one of them was skipped
+     */
+    private static List<IngestedHealthCheck> collect(PendingTask task) {
+        LocalDateTime checkedAt = LocalDateTime.now();
+        List<IngestedHealthCheck> results = new ArrayList<>(task.probes().size());
+        for (Map.Entry<String, CompletableFuture<Optional<ProbeResult>>> probe : task.probes().entrySet()) {
+            Optional<ProbeResult> result = probe.getValue().join();
+            if (result.isEmpty()) {
+                return null;
+            }
+            Map<String, Object> details = new HashMap<>(result.get().details());
+            details.put("taskId", task.taskId());
+            results.add(new IngestedHealthCheck(probe.getKey(), result.get().status(), details, checkedAt,
+                    result.get().responseTimeMs()));
+        }
+        return results;
+    }
+
+    private static void ack(Channel channel, long deliveryTag) {
+        try {
+            channel.basicAck(deliveryTag, true);
+        } catch (IOException e) {
+            // Unacknowledged tasks are redelivered once the channel closes
+            logger.warn("Failed to acknowledge batch tasks up to {}: {}", deliveryTag, e.getMessage());
+        }
+    }
+
+    private record PendingTask(Message message, long deliveryTag, String taskId,
+                               Map<String, CompletableFuture<Optional<ProbeResult>>> probes) {
+    }
+}
@@ -0,0 +1,199 @@
+package com.chainsea.healthcheck.service.messaging;
+
+import com.chainsea.healthcheck.health.DependencyUnavailableException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publishes messages to RabbitMQ with correlated publisher confirms.
+ * <p>
+ * Callers enqueue a message and receive a future that completes with {@link PublishResult#CONFIRMED}
+ * once the broker has acked it, {@link PublishResult#REJECTED} if it was nacked or returned as
+ * unroutable, or {@link PublishResult#UNCONFIRMED} if it was not confirmed in time or could not be sent
+ * over the connection. Only the last suggests the broker is unreachable.
+ * <p>
+ * A single flusher thread drains everything queued since the last flush and sends it over one
+ * channel, so messages from concurrent transactions share the channel checkout and are confirmed
+ * asynchronously instead of each send being paid for on its own.
+ */
+@Component
+public class ConfirmedMessagePublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConfirmedMessagePublisher.class);
+    private static final long POLL_INTERVAL_MS = 100;
+
+    private final RabbitTemplate rabbitTemplate;
+    private final int batchSize;
+    private final long confirmTimeoutMs;
+    private final BlockingQueue<PendingMessage> queue;
+    private volatile boolean running;
+    private Thread flusher;
+
+    public ConfirmedMessagePublisher(RabbitTemplate rabbitTemplate,
+                                     @Value("${health-check.publisher.batch-size:100}") int batchSize,
+                                     @Value("${health-check.publisher.queue-capacity:10000}") int queueCapacity,
+                                     @Value("${health-check.publisher.confirm-timeout:5000}") long confirmTimeoutMs) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.batchSize = batchSize;
+        this.confirmTimeoutMs = confirmTimeoutMs;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        flusher = Thread.ofPlatform()
+                .name("rabbitmq-publisher")
+                .daemon(true)
+                .start(this::flushLoop);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (flusher != null) {
+            flusher.join(confirmTimeoutMs);
+        }
+    }
+
+    /**
+     * Enqueue a message for publishing.
+     *
+     * @param exchange   the exchange to publish to
+     * @param routingKey the routing key
+     * @param payload    the message payload, converted with the template's message converter
+     * @return future completing with the outcome of the publish
+     */
+    public CompletableFuture<PublishResult> publish(String exchange, String routingKey, Object payload) {
+        PendingMessage message = new PendingMessage(exchange, routingKey, payload,
+                new CorrelationData(UUID.randomUUID().toString()), new CompletableFuture<>());
+        if (!running || !queue.offer(message)) {
+            logger.warn("RabbitMQ publisher: Rejected message for {}/{}, publisher is stopped or queue is full", exchange, routingKey);
+            message.result().complete(PublishResult.REJECTED);
+        }
+        return message.result();
+    }
+
+    /**
+     * Publish a message and block until the broker confirms it.
+     *
+     * @param exchange   the exchange to publish to
+     * @param routingKey the routing key
+     * @param payload    the message payload
+     * @return {@link PublishResult#CONFIRMED} only if the broker acked the message within the confirm timeout
+     */
+    public PublishResult publishAndWait(String exchange, String routingKey, Object payload) {
+        try {
+            return publish(exchange, routingKey, payload).get(confirmTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            logger.warn("RabbitMQ publisher: No confirm for {}/{} within {}ms", exchange, routingKey, confirmTimeoutMs);
+            return PublishResult.UNCONFIRMED;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return PublishResult.UNCONFIRMED;
+        } catch (ExecutionException e) {
+            logger.error("RabbitMQ publisher: Failed to publish to {}/{}", exchange, routingKey, e.getCause());
+            return PublishResult.UNCONFIRMED;
+        }
+    }
+
+    private void flushLoop() {
+        List<PendingMessage> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingMessage first = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+        // Anything still queued after an interrupt will never be sent
+        PendingMessage leftover;
+        while ((leftover = queue.poll()) != null) {
+            leftover.result().complete(PublishResult.REJECTED);
+        }
+    }
+
+    private void flush(List<PendingMessage> batch) {
+        try {
+            // One channel for the whole batch; confirms arrive asynchronously per correlation id
+            rabbitTemplate.invoke(operations -> {
+                for (PendingMessage message : batch) {
+                    operations.convertAndSend(message.exchange(), message.routingKey(), message.payload(), message.correlationData());
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            logger.error("RabbitMQ publisher: Failed to send batch of {} messages", batch.size(), e);
+            PublishResult result = DependencyUnavailableException.isConnectivityFailure(e)
+                    ? PublishResult.UNCONFIRMED
+                    : PublishResult.REJECTED;
+            batch.forEach(message -> message.result().complete(result));
+            return;
+        }
+        logger.debug("RabbitMQ publisher: Sent batch of {} messages", batch.size());
+        batch.forEach(this::completeOnConfirm);
+    }
+
+    private void completeOnConfirm(PendingMessage message) {
+        CorrelationData correlationData = message.correlationData();
+        correlationData.getFuture()
+                .orTimeout(confirmTimeoutMs, TimeUnit.MILLISECONDS)
+                .whenComplete((confirm, ex) -> {
+                    // Returns are delivered before the confirm, so an unroutable message is visible here
+                    PublishResult result;
+                    String reason;
+                    if (ex != null) {
+                        result = PublishResult.UNCONFIRMED;
+                        reason = ex.getClass().getSimpleName();
+                    } else if (correlationData.getReturned() != null) {
+                        result = PublishResult.REJECTED;
+                        reason = "returned: " + correlationData.getReturned().getReplyText();
+                    } else if (!confirm.isAck()) {
+                        result = PublishResult.REJECTED;
+                        reason = confirm.getReason();
+                    } else {
+                        result = PublishResult.CONFIRMED;
+                        reason = null;
+                    }
+                    if (result != PublishResult.CONFIRMED) {
+                        logger.warn("RabbitMQ publisher: Message {} to {}/{} not confirmed: {}",
+                                correlationData.getId(), message.exchange(), message.routingKey(), reason);
+                    }
+                    message.result().complete(result);
+                });
+    }
+
+    private record PendingMessage(
+            String exchange,
+            String routingKey,
+            Object payload,
+            CorrelationData correlationData,
+            CompletableFuture<PublishResult> result
+    ) {
+    }
+}
@@ -0,0 +1,144 @@
+package com.chainsea.healthcheck.service.messaging;
+
+import com.chainsea.healthcheck.model.MqMessageData;
+import com.chainsea.healthcheck.model.TaskStatus;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary encoding of {@link MqMessageData}.
+ * <p>
+ * Version 1 layout: one version byte, the task ID, the task status code as one byte (0xFF if absent),
+ * the number of services and then each service name. Strings are UTF-8 prefixed with their length, and
+ * lengths and counts are unsigned varints holding the value plus one, so zero encodes null. A batch
+ * notification for a handful of services is a few dozen bytes, with no field names or type headers.
+ * A decoder rejects versions it does not know; new versions must get a new version byte.
+ */
+public final class MqMessageDataCodec {
+
+    static final byte VERSION = 1;
+    private static final int NO_STATUS = 0xFF;
+
+    private MqMessageDataCodec() {
+    }
+
+    public static byte[] encode(MqMessageData data) {
+        byte[] taskId = utf8(data.getTaskId());
+        List<String> serviceNames = data.getServiceNames();
+        byte[][] names = serviceNames != null ? new byte[serviceNames.size()][] : null;
+        int size = 2 + lengthSize(taskId) + varintSize(names != null ? names.length + 1 : 0);
+        if (names != null) {
+            for (int i = 0; i < names.length; i++) {
+                names[i] = utf8(serviceNames.get(i));
+                size += lengthSize(names[i]);
+            }
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.put(VERSION);
+        putBytes(buffer, taskId);
+        buffer.put((byte) (data.getStatus() != null ? data.getStatus().getCode() : NO_STATUS));
+        putVarint(buffer, names != null ? names.length + 1 : 0);
+        if (names != null) {
+            for (byte[] name : names) {
+                putBytes(buffer, name);
+            }
+        }
+        return buffer.array();
+    }
+
+    /**
+     * @throws IllegalArgumentException if the payload is truncated, malformed or of an unknown version
+     */
+    public static MqMessageData decode(byte[] payload) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(payload);
+            byte version = buffer.get();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported batch task format version " + version);
+            }
+            String taskId = getString(buffer);
+            int statusCode = buffer.get() & 0xFF;
+            TaskStatus status = statusCode != NO_STATUS ? TaskStatus.fromCode((short) statusCode) : null;
+            int count = getVarint(buffer);
+            List<String> serviceNames = null;
+            if (count > 0) {
+                serviceNames = new ArrayList<>(Math.min(count - 1, buffer.remaining()));
+                for (int i = 0; i < count - 1; i++) {
+                    serviceNames.add(getString(buffer));
+                }
+            }
+            if (buffer.hasRemaining()) {
+                throw new IllegalArgumentException("Trailing bytes after batch task");
+            }
+            return new MqMessageData(taskId, serviceNames, status);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated batch task", e);
+        }
+    }
+
+    private static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static int lengthSize(byte[] value) {
+        return value != null ? varintSize(value.length + 1) + value.length : 1;
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            putVarint(buffer, 0);
+        } else {
+            putVarint(buffer, value.length + 1);
+            buffer.put(value);
+        }
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = getVarint(buffer);
+        if (length == 0) {
+            return null;
+        }
+        if (length - 1 > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        String value = new String(buffer.array(), buffer.position(), length - 1, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length - 1);
+        return value;
+    }
+
+    private static int varintSize(int value) {
+        int size = 1;
+        while ((value >>>= 7) != 0) {
+            size++;
+        }
+        return size;
+    }
+
+    private static void putVarint(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static int getVarint(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                if (value < 0) {
+                    throw new IllegalArgumentException("Varint out of range");
+                }
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+}
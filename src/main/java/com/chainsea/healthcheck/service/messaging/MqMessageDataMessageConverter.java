@@ -0,0 +1,79 @@
+package com.chainsea.healthcheck.service.messaging;
+
+import com.chainsea.healthcheck.model.MqMessageData;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import java.io.IOException;
+
+/**
+ * Message converter that sends {@link MqMessageData} in the binary {@link MqMessageDataCodec} format and
+ * everything else as JSON.
+ * <p>
+ * The format is chosen per message by its content type, so consumers read both formats and a binary
+ * producer can be rolled out once every consumer understands it. Until then the producer keeps sending
+ * JSON, which consumers that predate the binary format still read; see
+ * {@code health-check.messaging.binary}.
+ */
+public class MqMessageDataMessageConverter implements MessageConverter {
+
+    public static final String CONTENT_TYPE = "application/vnd.healthcheck.batch-task+binary";
+
+    private final MessageConverter jsonConverter;
+    private final ObjectMapper objectMapper;
+    private final boolean binary;
+
+    public MqMessageDataMessageConverter(MessageConverter jsonConverter, ObjectMapper objectMapper, boolean binary) {
+        this.jsonConverter = jsonConverter;
+        this.objectMapper = objectMapper;
+        this.binary = binary;
+    }
+
+    @Override
+    public Message toMessage(Object object, MessageProperties messageProperties) {
+        if (binary && object instanceof MqMessageData data) {
+            byte[] payload = MqMessageDataCodec.encode(data);
+            messageProperties.setContentType(CONTENT_TYPE);
+            messageProperties.setContentLength(payload.length);
+            return new Message(payload, messageProperties);
+        }
+        return jsonConverter.toMessage(object, messageProperties);
+    }
+
+    @Override
+    public Object fromMessage(Message message) {
+        if (isBinary(message)) {
+            return decode(message);
+        }
+        return jsonConverter.fromMessage(message);
+    }
+
+    /**
+     * Read a batch task in either format. Unlike {@link #fromMessage}, JSON tasks need no type header.
+     */
+    public MqMessageData readTask(Message message) {
+        if (isBinary(message)) {
+            return decode(message);
+        }
+        try {
+            return objectMapper.readValue(message.getBody(), MqMessageData.class);
+        } catch (IOException e) {
+            throw new MessageConversionException("Failed to read batch task as JSON", e);
+        }
+    }
+
+    private static boolean isBinary(Message message) {
+        return CONTENT_TYPE.equals(message.getMessageProperties().getContentType());
+    }
+
+    private static MqMessageData decode(Message message) {
+        try {
+            return MqMessageDataCodec.decode(message.getBody());
+        } catch (IllegalArgumentException e) {
+            throw new MessageConversionException("Failed to read binary batch task", e);
+        }
+    }
+}
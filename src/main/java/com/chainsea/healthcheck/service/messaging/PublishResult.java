@@ -0,0 +1,28 @@
+package com.chainsea.healthcheck.service.messaging;
+
+/**
+ * Outcome of a message published through {@link ConfirmedMessagePublisher}.
+ */
+public enum PublishResult {
+
+    /**
+     * Acked by the broker.
+     */
+    CONFIRMED,
+
+    /**
+     * Nacked by the broker, returned as unroutable, or refused by a stopped or full publisher. The
+     * broker, if reached, is healthy; the message was turned down.
+     */
+    REJECTED,
+
+    /**
+     * Not confirmed within the confirm timeout, or not sent because the connection failed. The broker
+     * may be unreachable.
+     */
+    UNCONFIRMED;
+
+    public boolean isConfirmed() {
+        return this == CONFIRMED;
+    }
+}
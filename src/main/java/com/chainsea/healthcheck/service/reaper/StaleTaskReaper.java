@@ -0,0 +1,232 @@
+package com.chainsea.healthcheck.service.reaper;
+
+import com.chainsea.healthcheck.model.TaskStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Background reaper for batch tasks left in doubt by crashed 2PC and TCC transactions.
+ * <p>
+ * Tasks still PREPARED or RESERVED after {@code stale-after} are claimed a page at a time with
+ * keyset pagination and {@code FOR UPDATE SKIP LOCKED}, so several instances can reap concurrently
+ * without blocking each other or resolving the same task twice. Each page is resolved the same way
+ * the coordinators would have aborted it:
+ * - PostgreSQL: PREPARED rows are deleted (2PC rollback), RESERVED rows are marked CANCELLED (TCC cancel)
+ * - Redis: task locks and reserved status keys are deleted with a single command
+ * - MongoDB: reserved and prepared log documents are removed with one query per collection
+ * <p>
+ * Redis and MongoDB cleanup is best effort after the PostgreSQL transaction commits; their leftovers
+ * also expire or are harmless once the task row is resolved.
+ */
+@Component
+@ConditionalOnProperty(name = "health-check.reaper.enabled", havingValue = "true", matchIfMissing = true)
+public class StaleTaskReaper {
+
+    private static final Logger logger = LoggerFactory.getLogger(StaleTaskReaper.class);
+
+    private static final String STATUS_KEY_PREFIX = "task:status:";
+    private static final String LOCK_KEY_PREFIX = "task:lock:";
+    private static final String LOG_COLLECTION = "batch_task_logs";
+    private static final String PREPARE_COLLECTION = "batch_task_logs_prepare";
+
+    private static final String SELECT_STALE_SQL = """
+            SELECT id, task_id, status FROM batch_health_check_tasks
+            WHERE status IN (?, ?) AND created_at < ? AND id > ?
+            ORDER BY id
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED""";
+    private static final String DELETE_SQL = "DELETE FROM batch_health_check_tasks WHERE id = ?";
+    private static final String CANCEL_SQL =
+            "UPDATE batch_health_check_tasks SET status = ?, completed_at = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final StringRedisTemplate redisTemplate;
+    private final MongoTemplate mongoTemplate;
+    private final TaskScheduler taskScheduler;
+    private final Counter preparedReaped;
+    private final Counter reservedReaped;
+    private final long initialDelayMs;
+    private final long intervalMs;
+    private final long staleAfterMs;
+    private final int batchSize;
+    private ScheduledFuture<?> scheduledTask;
+
+    public StaleTaskReaper(JdbcTemplate jdbcTemplate,
+                           TransactionTemplate transactionTemplate,
+                           StringRedisTemplate redisTemplate,
+                           MongoTemplate mongoTemplate,
+                           TaskScheduler healthCheckTaskScheduler,
+                           MeterRegistry meterRegistry,
+                           @Value("${health-check.reaper.initial-delay:30000}") long initialDelayMs,
+                           @Value("${health-check.reaper.interval:60000}") long intervalMs,
+                           @Value("${health-check.reaper.stale-after:600000}") long staleAfterMs,
+                           @Value("${health-check.reaper.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.redisTemplate = redisTemplate;
+        this.mongoTemplate = mongoTemplate;
+        this.taskScheduler = healthCheckTaskScheduler;
+        this.preparedReaped = reapedCounter(meterRegistry, TaskStatus.PREPARED);
+        this.reservedReaped = reapedCounter(meterRegistry, TaskStatus.RESERVED);
+        this.initialDelayMs = initialDelayMs;
+        this.intervalMs = intervalMs;
+        this.staleAfterMs = staleAfterMs;
+        this.batchSize = batchSize;
+    }
+
+    private static Counter reapedCounter(MeterRegistry meterRegistry, TaskStatus status) {
+        return Counter.builder("batch.tasks.reaped")
+                .description("Stale batch health check tasks resolved by the reaper")
+                .tag("status", status.name())
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        logger.info("Starting stale task reaper with interval: {}ms, stale after: {}ms", intervalMs, staleAfterMs);
+        scheduledTask = taskScheduler.scheduleWithFixedDelay(
+                this::runOnce,
+                Instant.now().plusMillis(initialDelayMs),
+                Duration.ofMillis(intervalMs)
+        );
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduledTask != null && !scheduledTask.isCancelled()) {
+            scheduledTask.cancel(false);
+        }
+    }
+
+    void runOnce() {
+        try {
+            int reaped = reap();
+            if (reaped > 0) {
+                logger.info("Task reaper: Resolved {} stale tasks", reaped);
+            }
+        } catch (Exception e) {
+            logger.warn("Task reaper: Run failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Resolve every task that has been PREPARED or RESERVED for longer than the threshold.
+     *
+     * @return number of resolved tasks
+     */
+    public int reap() {
+        LocalDateTime staleBefore = LocalDateTime.now().minus(Duration.ofMillis(staleAfterMs));
+        long lastId = 0;
+        int total = 0;
+        while (true) {
+            long afterId = lastId;
+            List<StaleTask> page = transactionTemplate.execute(status -> claimAndResolve(staleBefore, afterId));
+            if (page == null || page.isEmpty()) {
+                return total;
+            }
+            cleanUpRedis(page);
+            cleanUpMongo(page);
+
+            total += page.size();
+            lastId = page.getLast().id();
+            if (page.size() < batchSize) {
+                return total;
+            }
+        }
+    }
+
+    /**
+     * Lock one page of stale tasks, skipping rows another instance holds, and resolve them in PostgreSQL.
+     */
+    private List<StaleTask> claimAndResolve(LocalDateTime staleBefore, long afterId) {
+        List<StaleTask> page = jdbcTemplate.query(SELECT_STALE_SQL,
+                (rs, rowNum) -> new StaleTask(rs.getLong("id"), rs.getString("task_id"),
+                        TaskStatus.fromCode(rs.getShort("status"))),
+                TaskStatus.PREPARED.getCode(), TaskStatus.RESERVED.getCode(), Timestamp.valueOf(staleBefore), afterId, batchSize);
+
+        List<Object[]> prepared = new ArrayList<>();
+        List<Object[]> reserved = new ArrayList<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (StaleTask task : page) {
+            if (task.status() == TaskStatus.PREPARED) {
+                prepared.add(new Object[]{task.id()});
+            } else {
+                reserved.add(new Object[]{TaskStatus.CANCELLED.getCode(), now, task.id()});
+            }
+        }
+        if (!prepared.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_SQL, prepared);
+            preparedReaped.increment(prepared.size());
+        }
+        if (!reserved.isEmpty()) {
+            jdbcTemplate.batchUpdate(CANCEL_SQL, reserved);
+            reservedReaped.increment(reserved.size());
+        }
+        return page;
+    }
+
+    private void cleanUpRedis(List<StaleTask> page) {
+        List<String> keys = new ArrayList<>();
+        for (StaleTask task : page) {
+            keys.add(LOCK_KEY_PREFIX + task.taskId());
+            if (task.status() == TaskStatus.RESERVED) {
+                keys.add(STATUS_KEY_PREFIX + task.taskId());
+            }
+        }
+        try {
+            redisTemplate.delete(keys);
+        } catch (Exception e) {
+            logger.warn("Task reaper: Failed to clean up Redis keys for {} tasks: {}", page.size(), e.getMessage());
+        }
+    }
+
+    private void cleanUpMongo(List<StaleTask> page) {
+        List<String> reservedTaskIds = taskIds(page, TaskStatus.RESERVED);
+        List<String> preparedTaskIds = taskIds(page, TaskStatus.PREPARED);
+        try {
+            if (!reservedTaskIds.isEmpty()) {
+                mongoTemplate.remove(query(where("taskId").in(reservedTaskIds).and("status").is(TaskStatus.RESERVED)),
+                        LOG_COLLECTION);
+            }
+            if (!preparedTaskIds.isEmpty()) {
+                mongoTemplate.remove(query(where("taskId").in(preparedTaskIds)), PREPARE_COLLECTION);
+            }
+        } catch (Exception e) {
+            logger.warn("Task reaper: Failed to clean up MongoDB logs for {} tasks: {}", page.size(), e.getMessage());
+        }
+    }
+
+    private static List<String> taskIds(List<StaleTask> page, TaskStatus status) {
+        return page.stream()
+                .filter(task -> task.status() == status)
+                .map(StaleTask::taskId)
+                .toList();
+    }
+
+    private record StaleTask(long id, String taskId, TaskStatus status) {
+    }
+}
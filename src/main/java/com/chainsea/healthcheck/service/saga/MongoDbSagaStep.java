@@ -1,5 +1,6 @@
 package com.chainsea.healthcheck.service.saga;
 
+import com.chainsea.healthcheck.health.DependencyUnavailableException;
 import com.chainsea.healthcheck.model.TaskStatus;
 import org.bson.Document;
 import org.bson.types.ObjectId;
@@ -37,6 +38,16 @@ public class MongoDbSagaStep implements SagaStep {
         return STEP_NAME;
     }
 
+    @Override
+    public String getDependencyName() {
+        return "mongodb";
+    }
+
+    @Override
+    public Class<?> getStepDataType() {
+        return String.class;
+    }
+
     @Override
     public boolean execute(SagaContext sagaContext, String taskId, List<String> serviceNames) {
         try {
@@ -59,6 +70,7 @@ public class MongoDbSagaStep implements SagaStep {
             logger.info("MongoDB Saga: Task {} logged with document ID {}", taskId, documentId);
             return true;
         } catch (Exception e) {
+            DependencyUnavailableException.throwIfUnavailable(getDependencyName(), e);
             logger.error("MongoDB Saga: Failed to execute step for task {}", taskId, e);
             return false;
         }
@@ -66,15 +78,11 @@ public class MongoDbSagaStep implements SagaStep {
 
     @Override
     public void compensate(SagaContext sagaContext) {
-        try {
-            logger.info("MongoDB Saga: Compensating step");
-            String documentId = (String) sagaContext.getStepData(STEP_NAME);
-            if (documentId != null) {
-                mongoTemplate.remove(query(where("_id").is(new ObjectId(documentId))), COLLECTION);
-                logger.info("MongoDB Saga: Log document {} deleted", documentId);
-            }
-        } catch (Exception e) {
-            logger.error("MongoDB Saga: Failed to compensate", e);
+        logger.info("MongoDB Saga: Compensating step");
+        String documentId = (String) sagaContext.getStepData(STEP_NAME);
+        if (documentId != null) {
+            mongoTemplate.remove(query(where("_id").is(new ObjectId(documentId))), COLLECTION);
+            logger.info("MongoDB Saga: Log document {} deleted", documentId);
         }
     }
 }
@@ -1,5 +1,6 @@
 package com.chainsea.healthcheck.service.saga;
 
+import com.chainsea.healthcheck.health.DependencyUnavailableException;
 import com.chainsea.healthcheck.model.BatchHealthCheckTask;
 import com.chainsea.healthcheck.model.TaskStatus;
 import com.chainsea.healthcheck.repository.BatchHealthCheckTaskRepository;
@@ -32,6 +33,16 @@ public class PostgresSagaStep implements SagaStep {
         return STEP_NAME;
     }
 
+    @Override
+    public String getDependencyName() {
+        return "postgres";
+    }
+
+    @Override
+    public Class<?> getStepDataType() {
+        return Long.class;
+    }
+
     @Override
     public boolean execute(SagaContext sagaContext, String taskId, List<String> serviceNames) {
         try {
@@ -49,6 +60,7 @@ public class PostgresSagaStep implements SagaStep {
             logger.info("PostgreSQL Saga: Task {} saved with ID {}", taskId, saved.getId());
             return true;
         } catch (Exception e) {
+            DependencyUnavailableException.throwIfUnavailable(getDependencyName(), e);
             logger.error("PostgreSQL Saga: Failed to execute step for task {}", taskId, e);
             return false;
         }
@@ -56,19 +68,15 @@ public class PostgresSagaStep implements SagaStep {
 
     @Override
     public void compensate(SagaContext sagaContext) {
-        try {
-            logger.info("PostgreSQL Saga: Compensating step");
-            Long taskId = (Long) sagaContext.getStepData(STEP_NAME);
-            if (taskId != null) {
-                BatchHealthCheckTask task = repository.findById(taskId).orElse(null);
-                if (task != null) {
-                    task.setStatus(TaskStatus.FAILED);
-                    repository.save(task);
-                    logger.info("PostgreSQL Saga: Task {} marked as FAILED", taskId);
-                }
+        logger.info("PostgreSQL Saga: Compensating step");
+        Long taskId = (Long) sagaContext.getStepData(STEP_NAME);
+        if (taskId != null) {
+            BatchHealthCheckTask task = repository.findById(taskId).orElse(null);
+            if (task != null) {
+                task.setStatus(TaskStatus.FAILED);
+                repository.save(task);
+                logger.info("PostgreSQL Saga: Task {} marked as FAILED", taskId);
             }
-        } catch (Exception e) {
-            logger.error("PostgreSQL Saga: Failed to compensate", e);
         }
     }
 
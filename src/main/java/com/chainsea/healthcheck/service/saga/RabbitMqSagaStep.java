@@ -1,17 +1,19 @@
 package com.chainsea.healthcheck.service.saga;
 
+import com.chainsea.healthcheck.health.DependencyUnavailableException;
 import com.chainsea.healthcheck.model.MqMessageData;
 import com.chainsea.healthcheck.model.TaskStatus;
+import com.chainsea.healthcheck.service.messaging.ConfirmedMessagePublisher;
+import com.chainsea.healthcheck.service.messaging.PublishResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
 
 /**
  * RabbitMQ step for Saga pattern.
- * Execute: Send notification message (local transaction)
+ * Execute: Send notification message and wait for the broker confirm (local transaction)
  * Compensate: Send compensation message (optional, as message is already sent)
  * Note: Message sending is typically not compensatable, but we can send a cancellation message
  */
@@ -24,10 +26,10 @@ public class RabbitMqSagaStep implements SagaStep {
     private static final String COMPENSATION_ROUTING_KEY = "batch.task.cancel";
     private static final String STEP_NAME = "RabbitMQ";
 
-    private final RabbitTemplate rabbitTemplate;
+    private final ConfirmedMessagePublisher publisher;
 
-    public RabbitMqSagaStep(RabbitTemplate rabbitTemplate) {
-        this.rabbitTemplate = rabbitTemplate;
+    public RabbitMqSagaStep(ConfirmedMessagePublisher publisher) {
+        this.publisher = publisher;
     }
 
     @Override
@@ -35,13 +37,32 @@ public class RabbitMqSagaStep implements SagaStep {
         return STEP_NAME;
     }
 
+    @Override
+    public String getDependencyName() {
+        return "rabbitmq";
+    }
+
+    @Override
+    public Class<?> getStepDataType() {
+        return MqMessageData.class;
+    }
+
     @Override
     public boolean execute(SagaContext sagaContext, String taskId, List<String> serviceNames) {
         try {
             logger.info("RabbitMQ Saga: Executing step for task {}", taskId);
             // Execute local transaction - send message immediately
             MqMessageData messageData = new MqMessageData(taskId, serviceNames, TaskStatus.COMPLETED);
-            rabbitTemplate.convertAndSend(EXCHANGE, ROUTING_KEY, messageData);
+            PublishResult published = publisher.publishAndWait(EXCHANGE, ROUTING_KEY, messageData);
+            if (published == PublishResult.UNCONFIRMED) {
+                logger.error("RabbitMQ Saga: Notification for task {} was not confirmed by the broker", taskId);
+                throw new DependencyUnavailableException(getDependencyName(), "Publish was not confirmed by the broker");
+            }
+            if (published == PublishResult.REJECTED) {
+                // The broker answered, so this does not count against its circuit breaker
+                logger.error("RabbitMQ Saga: Notification for task {} was rejected by the broker", taskId);
+                return false;
+            }
 
             // Store message data in context for compensation
             sagaContext.addStepData(STEP_NAME, messageData);
@@ -50,6 +71,7 @@ public class RabbitMqSagaStep implements SagaStep {
             logger.info("RabbitMQ Saga: Notification sent for task {}", taskId);
             return true;
         } catch (Exception e) {
+            DependencyUnavailableException.throwIfUnavailable(getDependencyName(), e);
             logger.error("RabbitMQ Saga: Failed to execute step for task {}", taskId, e);
             return false;
         }
@@ -57,17 +79,16 @@ public class RabbitMqSagaStep implements SagaStep {
 
     @Override
     public void compensate(SagaContext sagaContext) {
-        try {
-            logger.info("RabbitMQ Saga: Compensating step");
-            MqMessageData messageData = (MqMessageData) sagaContext.getStepData(STEP_NAME);
-            if (messageData != null) {
-                // Send a cancellation message to notify downstream services
-                messageData.setStatus(TaskStatus.CANCELLED);
-                rabbitTemplate.convertAndSend(EXCHANGE, COMPENSATION_ROUTING_KEY, messageData);
-                logger.info("RabbitMQ Saga: Cancellation message sent for task {}", messageData.getTaskId());
+        logger.info("RabbitMQ Saga: Compensating step");
+        MqMessageData messageData = (MqMessageData) sagaContext.getStepData(STEP_NAME);
+        if (messageData != null) {
+            // Send a cancellation message to notify downstream services
+            messageData.setStatus(TaskStatus.CANCELLED);
+            PublishResult published = publisher.publishAndWait(EXCHANGE, COMPENSATION_ROUTING_KEY, messageData);
+            if (!published.isConfirmed()) {
+                throw new IllegalStateException("Cancellation message for task " + messageData.getTaskId() + " was " + published);
             }
-        } catch (Exception e) {
-            logger.error("RabbitMQ Saga: Failed to compensate", e);
+            logger.info("RabbitMQ Saga: Cancellation message sent for task {}", messageData.getTaskId());
         }
     }
 }
@@ -1,5 +1,6 @@
 package com.chainsea.healthcheck.service.saga;
 
+import com.chainsea.healthcheck.health.DependencyUnavailableException;
 import com.chainsea.healthcheck.model.TaskStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,6 +33,16 @@ public class RedisSagaStep implements SagaStep {
         return STEP_NAME;
     }
 
+    @Override
+    public String getDependencyName() {
+        return "redis";
+    }
+
+    @Override
+    public Class<?> getStepDataType() {
+        return String.class;
+    }
+
     @Override
     public boolean execute(SagaContext sagaContext, String taskId, List<String> serviceNames) {
         try {
@@ -48,6 +59,7 @@ public class RedisSagaStep implements SagaStep {
             logger.info("Redis Saga: Task {} status cached", taskId);
             return true;
         } catch (Exception e) {
+            DependencyUnavailableException.throwIfUnavailable(getDependencyName(), e);
             logger.error("Redis Saga: Failed to execute step for task {}", taskId, e);
             return false;
         }
@@ -55,15 +67,11 @@ public class RedisSagaStep implements SagaStep {
 
     @Override
     public void compensate(SagaContext sagaContext) {
-        try {
-            logger.info("Redis Saga: Compensating step");
-            String statusKey = (String) sagaContext.getStepData(STEP_NAME);
-            if (statusKey != null) {
-                redisTemplate.delete(statusKey);
-                logger.info("Redis Saga: Cached status deleted for key {}", statusKey);
-            }
-        } catch (Exception e) {
-            logger.error("Redis Saga: Failed to compensate", e);
+        logger.info("Redis Saga: Compensating step");
+        String statusKey = (String) sagaContext.getStepData(STEP_NAME);
+        if (statusKey != null) {
+            redisTemplate.delete(statusKey);
+            logger.info("Redis Saga: Cached status deleted for key {}", statusKey);
         }
     }
 }
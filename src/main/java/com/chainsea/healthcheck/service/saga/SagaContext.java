@@ -6,12 +6,13 @@ import java.util.concurrent.ConcurrentHashMap;
 /**
  * Context for Saga transaction coordination.
  * Stores execution results and state for compensation.
+ * Steps may run concurrently, so all state is held in concurrent maps.
  */
 public class SagaContext {
     private final String sagaId;
     private final Map<String, Object> stepResults = new ConcurrentHashMap<>();
     private final Map<String, Object> stepData = new ConcurrentHashMap<>();
-    private int currentStepIndex = -1;
+    private final Map<String, SagaStepStatus> stepStatuses = new ConcurrentHashMap<>();
 
     public SagaContext(String sagaId) {
         this.sagaId = sagaId;
@@ -45,11 +46,15 @@ public class SagaContext {
         return stepData.get(stepName);
     }
 
-    public int getCurrentStepIndex() {
-        return currentStepIndex;
+    public Map<String, SagaStepStatus> getStepStatuses() {
+        return stepStatuses;
     }
 
-    public void setCurrentStepIndex(int currentStepIndex) {
-        this.currentStepIndex = currentStepIndex;
+    public SagaStepStatus getStepStatus(String stepName) {
+        return stepStatuses.getOrDefault(stepName, SagaStepStatus.PENDING);
+    }
+
+    public void setStepStatus(String stepName, SagaStepStatus status) {
+        stepStatuses.put(stepName, status);
     }
 }
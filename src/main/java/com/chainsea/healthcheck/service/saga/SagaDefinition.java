@@ -0,0 +1,119 @@
+package com.chainsea.healthcheck.service.saga;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Definition of a saga as a directed acyclic graph of steps.
+ * <p>
+ * Each step declares, by step name, the steps it depends on. A step may run as soon as all of its
+ * dependencies have completed, so steps without a path between them run concurrently.
+ * The definition is validated on build and keeps the steps in topological order;
+ * the orchestrator compensates in the reverse of that order.
+ */
+public final class SagaDefinition {
+
+    private final List<SagaStep> steps;
+    private final Map<String, Set<String>> dependencies;
+
+    private SagaDefinition(List<SagaStep> steps, Map<String, Set<String>> dependencies) {
+        this.steps = List.copyOf(steps);
+        this.dependencies = Map.copyOf(dependencies);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Get all steps in topological order (every step comes after its dependencies).
+     *
+     * @return steps in topological order
+     */
+    public List<SagaStep> getSteps() {
+        return steps;
+    }
+
+    /**
+     * Get the names of the steps the given step depends on.
+     *
+     * @param stepName the step name
+     * @return names of the dependencies, empty if the step has none
+     */
+    public Set<String> getDependencies(String stepName) {
+        return dependencies.getOrDefault(stepName, Set.of());
+    }
+
+    public static final class Builder {
+
+        private final Map<String, SagaStep> steps = new LinkedHashMap<>();
+        private final Map<String, Set<String>> dependencies = new LinkedHashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Add a step to the saga.
+         *
+         * @param step      the step
+         * @param dependsOn names of the steps that must complete before this step runs
+         * @return this builder
+         */
+        public Builder step(SagaStep step, String... dependsOn) {
+            String stepName = step.getStepName();
+            if (steps.containsKey(stepName)) {
+                throw new IllegalArgumentException("Duplicate saga step: " + stepName);
+            }
+            steps.put(stepName, step);
+            dependencies.put(stepName, Collections.unmodifiableSet(new LinkedHashSet<>(List.of(dependsOn))));
+            return this;
+        }
+
+        /**
+         * Validate the graph and build the definition.
+         *
+         * @return the saga definition
+         * @throws IllegalStateException if a dependency is unknown or the steps form a cycle
+         */
+        public SagaDefinition build() {
+            Map<String, Integer> inDegree = new HashMap<>();
+            Map<String, List<String>> dependents = new HashMap<>();
+            dependencies.forEach((stepName, dependsOn) -> {
+                inDegree.put(stepName, dependsOn.size());
+                for (String dependency : dependsOn) {
+                    if (!steps.containsKey(dependency)) {
+                        throw new IllegalStateException("Saga step " + stepName + " depends on unknown step " + dependency);
+                    }
+                    dependents.computeIfAbsent(dependency, k -> new ArrayList<>()).add(stepName);
+                }
+            });
+
+            // Kahn's algorithm, seeded in declaration order so the result is deterministic
+            Deque<String> ready = new ArrayDeque<>();
+            steps.keySet().stream().filter(name -> inDegree.get(name) == 0).forEach(ready::add);
+            List<SagaStep> ordered = new ArrayList<>(steps.size());
+            while (!ready.isEmpty()) {
+                String stepName = ready.poll();
+                ordered.add(steps.get(stepName));
+                for (String dependent : dependents.getOrDefault(stepName, List.of())) {
+                    if (inDegree.merge(dependent, -1, Integer::sum) == 0) {
+                        ready.add(dependent);
+                    }
+                }
+            }
+
+            if (ordered.size() != steps.size()) {
+                throw new IllegalStateException("Saga steps contain a dependency cycle");
+            }
+            return new SagaDefinition(ordered, dependencies);
+        }
+    }
+}
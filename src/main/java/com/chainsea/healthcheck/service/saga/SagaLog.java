@@ -0,0 +1,300 @@
+package com.chainsea.healthcheck.service.saga;
+
+import com.chainsea.healthcheck.cluster.ClusterMembership;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Durable, append-only saga execution log stored in PostgreSQL.
+ * <p>
+ * Appends are group-committed: a writer thread drains every entry queued since the last write
+ * and inserts them with a single JDBC batch, completing all of their futures together.
+ * Concurrent sagas therefore share one round trip per flush instead of paying one each.
+ */
+@Component
+public class SagaLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(SagaLog.class);
+    private static final long POLL_INTERVAL_MS = 100;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO saga_log (saga_id, step_name, event, payload, created_at) VALUES (?, ?, ?, ?, ?)";
+    private static final String SELECT_ENTRIES_SQL =
+            "SELECT id, saga_id, step_name, event, payload, created_at FROM saga_log WHERE saga_id = ? ORDER BY id";
+    private static final String SELECT_UNFINISHED_SQL = """
+            SELECT s.saga_id FROM saga_log s
+            WHERE s.event = 'SAGA_STARTED' AND s.created_at < ?
+              AND NOT EXISTS (SELECT 1 FROM saga_log f
+                              WHERE f.saga_id = s.saga_id
+                                AND f.event IN ('SAGA_COMPLETED', 'SAGA_COMPENSATED'))
+              AND NOT EXISTS (SELECT 1 FROM saga_lease l
+                              WHERE l.saga_id = s.saga_id AND l.expires_at > ?)
+            ORDER BY s.created_at
+            LIMIT ?""";
+    private static final String DELETE_FINISHED_SQL = """
+            DELETE FROM saga_log WHERE saga_id IN (
+                SELECT saga_id FROM saga_log
+                WHERE event IN ('SAGA_COMPLETED', 'SAGA_COMPENSATED') AND created_at < ?
+                LIMIT ?)""";
+    private static final String ACQUIRE_LEASE_SQL = """
+            INSERT INTO saga_lease (saga_id, owner, expires_at) VALUES (?, ?, ?)
+            ON CONFLICT (saga_id) DO UPDATE SET owner = EXCLUDED.owner, expires_at = EXCLUDED.expires_at
+            WHERE saga_lease.expires_at <= ?""";
+    private static final String RELEASE_LEASE_SQL = "DELETE FROM saga_lease WHERE saga_id = ? AND owner = ?";
+    private static final String DELETE_EXPIRED_LEASES_SQL = "DELETE FROM saga_lease WHERE expires_at <= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final String instanceId;
+    private final int batchSize;
+    private final long writeTimeoutMs;
+    private final BlockingQueue<PendingEntry> queue;
+    private volatile boolean running;
+    private Thread writer;
+
+    public SagaLog(JdbcTemplate jdbcTemplate,
+                   ObjectMapper objectMapper,
+                   ClusterMembership clusterMembership,
+                   @Value("${health-check.saga.log.batch-size:200}") int batchSize,
+                   @Value("${health-check.saga.log.queue-capacity:10000}") int queueCapacity,
+                   @Value("${health-check.saga.log.write-timeout:5000}") long writeTimeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.instanceId = clusterMembership.getInstanceId();
+        this.batchSize = batchSize;
+        this.writeTimeoutMs = writeTimeoutMs;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = Thread.ofPlatform()
+                .name("saga-log-writer")
+                .daemon(true)
+                .start(this::writeLoop);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.join(writeTimeoutMs);
+        }
+    }
+
+    /**
+     * Append an entry and wait until it is durable.
+     *
+     * @param sagaId   the saga ID
+     * @param stepName the step name, or null for saga-level events
+     * @param event    the event
+     * @param payload  payload serialized as JSON, may be null
+     * @return true if the entry was written within the write timeout
+     */
+    public boolean append(String sagaId, String stepName, SagaLogEvent event, Object payload) {
+        try {
+            appendAsync(sagaId, stepName, event, payload).get(writeTimeoutMs, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            logger.error("Saga log: Timed out writing {} for saga {}", event, sagaId);
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            logger.error("Saga log: Failed to write {} for saga {}", event, sagaId, e.getCause());
+            return false;
+        }
+    }
+
+    /**
+     * Append an entry without waiting for it to be written.
+     *
+     * @return future completing once the batch containing the entry is written
+     */
+    public CompletableFuture<Void> appendAsync(String sagaId, String stepName, SagaLogEvent event, Object payload) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        String json;
+        try {
+            json = payload != null ? objectMapper.writeValueAsString(payload) : null;
+        } catch (JsonProcessingException e) {
+            result.completeExceptionally(e);
+            return result;
+        }
+        PendingEntry entry = new PendingEntry(sagaId, stepName, event, json, LocalDateTime.now(), result);
+        if (!running || !queue.offer(entry)) {
+            result.completeExceptionally(new IllegalStateException("Saga log is stopped or its queue is full"));
+        }
+        return result;
+    }
+
+    /**
+     * Take the lease on a saga, unless another holder's lease on it has not expired yet. Only one caller
+     * across all instances holds a live lease on a saga at a time.
+     *
+     * @param sagaId  the saga ID
+     * @param leaseMs how long the lease lasts unless released
+     * @return the owner of the new lease, to release it with, or empty if the saga is leased by someone else
+     */
+    public Optional<String> acquireLease(String sagaId, long leaseMs) {
+        String owner = instanceId + "/" + UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+        int acquired = jdbcTemplate.update(ACQUIRE_LEASE_SQL, sagaId, owner,
+                Timestamp.valueOf(now.plus(Duration.ofMillis(leaseMs))), Timestamp.valueOf(now));
+        return acquired > 0 ? Optional.of(owner) : Optional.empty();
+    }
+
+    /**
+     * Release a lease taken with {@link #acquireLease}. A lease that has since been taken over is left alone.
+     */
+    public void releaseLease(String sagaId, String owner) {
+        jdbcTemplate.update(RELEASE_LEASE_SQL, sagaId, owner);
+    }
+
+    /**
+     * Claim an unfinished saga for recovery by taking its lease. If the recovering instance crashes,
+     * the saga is claimed again once the lease has expired.
+     *
+     * @param sagaId  the saga ID
+     * @param leaseMs how long the claim lasts unless released
+     * @return the owner of the claim, or empty if the saga is leased by someone else
+     */
+    public Optional<String> claimForRecovery(String sagaId, long leaseMs) {
+        Optional<String> owner = acquireLease(sagaId, leaseMs);
+        // The lease is the claim, the entry only reports the saga as recovering
+        owner.ifPresent(claimed -> appendAsync(sagaId, null, SagaLogEvent.RECOVERY_STARTED, null));
+        return owner;
+    }
+
+    /**
+     * Find sagas that were started before the given time, never reached a terminal event and are not
+     * leased by anyone.
+     */
+    public List<String> findUnfinishedSagaIds(LocalDateTime startedBefore, int limit) {
+        return jdbcTemplate.queryForList(SELECT_UNFINISHED_SQL, String.class, Timestamp.valueOf(startedBefore),
+                Timestamp.valueOf(LocalDateTime.now()), limit);
+    }
+
+    /**
+     * Load all entries of a saga in append order.
+     */
+    public List<SagaLogEntry> findEntries(String sagaId) {
+        return jdbcTemplate.query(SELECT_ENTRIES_SQL, (rs, rowNum) -> new SagaLogEntry(
+                rs.getLong("id"),
+                rs.getString("saga_id"),
+                rs.getString("step_name"),
+                SagaLogEvent.valueOf(rs.getString("event")),
+                rs.getString("payload"),
+                rs.getTimestamp("created_at").toLocalDateTime()
+        ), sagaId);
+    }
+
+    /**
+     * Read a payload written by {@link #append}.
+     */
+    public <T> T readPayload(SagaLogEntry entry, Class<T> type) throws JsonProcessingException {
+        return entry.payload() != null ? objectMapper.readValue(entry.payload(), type) : null;
+    }
+
+    /**
+     * Delete all entries of sagas that finished before the given time, a batch of sagas at a time,
+     * and the leases that have expired.
+     *
+     * @return number of deleted entries
+     */
+    public int compact(LocalDateTime finishedBefore, int sagasPerBatch) {
+        jdbcTemplate.update(DELETE_EXPIRED_LEASES_SQL, Timestamp.valueOf(LocalDateTime.now()));
+        int total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(DELETE_FINISHED_SQL, Timestamp.valueOf(finishedBefore), sagasPerBatch);
+            total += deleted;
+        } while (deleted > 0);
+        return total;
+    }
+
+    private void writeLoop() {
+        List<PendingEntry> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingEntry first = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+        PendingEntry leftover;
+        while ((leftover = queue.poll()) != null) {
+            leftover.result().completeExceptionally(new IllegalStateException("Saga log stopped"));
+        }
+    }
+
+    private void write(List<PendingEntry> batch) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch.stream()
+                    .map(entry -> new Object[]{entry.sagaId(), entry.stepName(), entry.event().name(), entry.payload(),
+                            Timestamp.valueOf(entry.createdAt())})
+                    .toList());
+            batch.forEach(entry -> entry.result().complete(null));
+        } catch (Exception e) {
+            logger.error("Saga log: Failed to write batch of {} entries", batch.size(), e);
+            batch.forEach(entry -> entry.result().completeExceptionally(e));
+        }
+    }
+
+    /**
+     * Input of a saga, recorded with {@link SagaLogEvent#SAGA_STARTED} so it can be resumed.
+     */
+    public record SagaInput(String taskId, List<String> serviceNames) {
+    }
+
+    public record SagaLogEntry(
+            long id,
+            String sagaId,
+            String stepName,
+            SagaLogEvent event,
+            String payload,
+            LocalDateTime createdAt
+    ) {
+    }
+
+    private record PendingEntry(
+            String sagaId,
+            String stepName,
+            SagaLogEvent event,
+            String payload,
+            LocalDateTime createdAt,
+            CompletableFuture<Void> result
+    ) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.chainsea.healthcheck.service.saga;
+
+/**
+ * Events recorded in the saga log.
+ */
+public enum SagaLogEvent {
+    /**
+     * Saga was started; the payload holds the task ID and service names.
+     */
+    SAGA_STARTED,
+
+    /**
+     * A step is about to execute its local transaction.
+     */
+    STEP_STARTED,
+
+    /**
+     * A step completed; the payload holds the step data needed to compensate it.
+     */
+    STEP_COMPLETED,
+
+    /**
+     * A step failed to execute.
+     */
+    STEP_FAILED,
+
+    /**
+     * A completed step was compensated.
+     */
+    STEP_COMPENSATED,
+
+    /**
+     * All steps completed successfully.
+     */
+    SAGA_COMPLETED,
+
+    /**
+     * The saga failed and all completed steps were compensated.
+     */
+    SAGA_COMPENSATED,
+
+    /**
+     * An instance claimed the unfinished saga for recovery.
+     */
+    RECOVERY_STARTED
+}
@@ -1,22 +1,53 @@
 package com.chainsea.healthcheck.service.saga;
 
+import com.chainsea.healthcheck.health.CircuitBreakerRegistry;
+import com.chainsea.healthcheck.health.DependencyUnavailableException;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Orchestrator for Saga pattern (Orchestration style).
  * <p>
- * Scenario: Batch Health Check Task
+ * Scenario: Batch Health Check Task (see {@code SagaConfig} for the step graph)
  * - Step 1: Save task to PostgreSQL (local transaction)
- * - Step 2: Cache task status in Redis (local transaction)
- * - Step 3: Log task details to MongoDB (local transaction)
- * - Step 4: Send notification via RabbitMQ (local transaction)
+ * - Step 2: Cache task status in Redis (local transaction, after step 1)
+ * - Step 3: Log task details to MongoDB (local transaction, after step 1, concurrently with step 2)
+ * - Step 4: Send notification via RabbitMQ (local transaction, after steps 2 and 3)
  * <p>
- * If any step fails, compensate all previous steps in reverse order.
+ * Steps are scheduled from the {@link SagaDefinition} graph: a step starts as soon as all of its
+ * dependencies have completed, so saga latency follows the critical path instead of the sum of all steps.
+ * If any step fails, no further steps are started and every completed step is compensated
+ * in reverse topological order.
+ * <p>
+ * Every saga start, step start, step completion (with its compensation data) and compensation is
+ * recorded in the {@link SagaLog}, so {@link SagaRecoveryWorker} can finish or undo sagas that were
+ * interrupted by a crash.
+ * <p>
+ * Sagas can also be submitted asynchronously: the start is recorded, the saga is queued on the bounded
+ * submission executor and its ID is returned immediately. Progress of sagas running on this instance is
+ * read from their {@link SagaContext}; finished or foreign sagas are reported from the saga log.
+ * <p>
+ * A saga takes its lease in the saga log right before its steps run and releases it when it is done, so
+ * recovery on any instance leaves a running saga alone. A queued saga that recovery claimed while it
+ * was waiting is not run at all. A saga still running when its lease expires is taken for crashed.
+ * <p>
+ * A saga is rejected before its start is recorded if the circuit of any step's dependency is open, so
+ * an outage fails fast instead of running and compensating steps against a backend that is down.
  * <p>
  * Saga Pattern Characteristics:
  * - Each step executes a local transaction immediately
@@ -29,14 +60,26 @@ public class SagaOrchestrator {
 
     private static final Logger logger = LoggerFactory.getLogger(SagaOrchestrator.class);
 
-    private final List<SagaStep> sagaSteps;
+    private final SagaDefinition sagaDefinition;
+    private final Executor sagaStepExecutor;
+    private final Executor sagaSubmissionExecutor;
+    private final SagaLog sagaLog;
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final long leaseMs;
+    private final Map<String, ActiveSaga> activeSagas = new ConcurrentHashMap<>();
 
-    public SagaOrchestrator(
-            PostgresSagaStep postgresStep,
-            RedisSagaStep redisStep,
-            MongoDbSagaStep mongodbStep,
-            RabbitMqSagaStep rabbitmqStep) {
-        this.sagaSteps = List.of(postgresStep, redisStep, mongodbStep, rabbitmqStep);
+    public SagaOrchestrator(SagaDefinition sagaDefinition,
+                            Executor sagaStepExecutor,
+                            Executor sagaSubmissionExecutor,
+                            SagaLog sagaLog,
+                            CircuitBreakerRegistry circuitBreakers,
+                            @Value("${health-check.saga.recovery.lease-duration:300000}") long leaseMs) {
+        this.sagaDefinition = sagaDefinition;
+        this.sagaStepExecutor = sagaStepExecutor;
+        this.sagaSubmissionExecutor = sagaSubmissionExecutor;
+        this.sagaLog = sagaLog;
+        this.circuitBreakers = circuitBreakers;
+        this.leaseMs = leaseMs;
     }
 
     /**
@@ -51,54 +94,326 @@ public class SagaOrchestrator {
         SagaContext context = new SagaContext(sagaId);
         logger.info("Starting Saga transaction: {}", sagaId);
 
+        if (!circuitsClosed(sagaId) || !recordStart(sagaId, taskId, serviceNames)) {
+            return false;
+        }
+        Optional<String> lease = lease(sagaId);
+        if (lease.isEmpty()) {
+            return false;
+        }
+        activeSagas.put(sagaId, new ActiveSaga(taskId, context, SagaState.RUNNING));
         try {
-            // Execute each step sequentially
-            for (int i = 0; i < sagaSteps.size(); i++) {
-                SagaStep step = sagaSteps.get(i);
-                context.setCurrentStepIndex(i);
-                logger.info("Saga {}: Executing step {} - {}", sagaId, i + 1, step.getStepName());
-
-                if (!step.execute(context, taskId, serviceNames)) {
-                    logger.error("Saga {}: Step {} ({}) failed, starting compensation", sagaId, i + 1, step.getStepName());
-                    compensate(context, i - 1);
-                    return false;
+            return run(context, taskId, serviceNames);
+        } finally {
+            releaseLease(sagaId, lease.get());
+            activeSagas.remove(sagaId);
+        }
+    }
+
+    /**
+     * Queue a saga for execution on the submission executor and return without waiting for it.
+     *
+     * @param taskId       the task ID
+     * @param serviceNames list of service names to check
+     * @return the saga ID, or empty if a circuit is open, the saga could not be recorded or the submission queue is full
+     */
+    public Optional<String> submitSaga(String taskId, List<String> serviceNames) {
+        String sagaId = UUID.randomUUID().toString();
+        SagaContext context = new SagaContext(sagaId);
+        logger.info("Submitting Saga transaction: {}", sagaId);
+
+        if (!circuitsClosed(sagaId) || !recordStart(sagaId, taskId, serviceNames)) {
+            return Optional.empty();
+        }
+        ActiveSaga activeSaga = new ActiveSaga(taskId, context, SagaState.QUEUED);
+        activeSagas.put(sagaId, activeSaga);
+        try {
+            sagaSubmissionExecutor.execute(() -> {
+                // Recovery may have claimed the saga while it was queued
+                Optional<String> lease = lease(sagaId);
+                if (lease.isEmpty()) {
+                    activeSagas.remove(sagaId);
+                    return;
                 }
+                activeSaga.state = SagaState.RUNNING;
+                try {
+                    run(context, taskId, serviceNames);
+                } catch (Exception e) {
+                    logger.error("Saga {}: Asynchronous execution failed", sagaId, e);
+                } finally {
+                    releaseLease(sagaId, lease.get());
+                    activeSagas.remove(sagaId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            activeSagas.remove(sagaId);
+            logger.warn("Saga {}: Submission queue is full, rejecting saga", sagaId);
+            // Nothing has executed, so closing the saga keeps recovery from picking it up
+            sagaLog.append(sagaId, null, SagaLogEvent.SAGA_COMPENSATED, null);
+            return Optional.empty();
+        }
+        return Optional.of(sagaId);
+    }
 
-                logger.info("Saga {}: Step {} ({}) completed successfully", sagaId, i + 1, step.getStepName());
+    /**
+     * Report the progress of a saga.
+     *
+     * @param sagaId the saga ID
+     * @return the saga status, or empty if the saga is unknown or its log has been compacted
+     */
+    public Optional<SagaStatus> getSagaStatus(String sagaId) {
+        ActiveSaga activeSaga = activeSagas.get(sagaId);
+        if (activeSaga != null) {
+            return Optional.of(new SagaStatus(sagaId, activeSaga.taskId, activeSaga.state,
+                    Map.copyOf(activeSaga.context.getStepStatuses())));
+        }
+
+        List<SagaLog.SagaLogEntry> entries = sagaLog.findEntries(sagaId);
+        if (entries.isEmpty()) {
+            return Optional.empty();
+        }
+        String taskId = null;
+        // Not finished and not running here: either running on another instance or interrupted
+        SagaState state = SagaState.RUNNING;
+        Map<String, SagaStepStatus> steps = new HashMap<>();
+        for (SagaLog.SagaLogEntry entry : entries) {
+            switch (entry.event()) {
+                case SAGA_STARTED -> taskId = readTaskId(entry);
+                case STEP_STARTED -> steps.put(entry.stepName(), SagaStepStatus.RUNNING);
+                case STEP_COMPLETED -> steps.put(entry.stepName(), SagaStepStatus.COMPLETED);
+                case STEP_FAILED -> steps.put(entry.stepName(), SagaStepStatus.FAILED);
+                case STEP_COMPENSATED -> steps.put(entry.stepName(), SagaStepStatus.COMPENSATED);
+                case SAGA_COMPLETED -> state = SagaState.COMPLETED;
+                case SAGA_COMPENSATED -> state = SagaState.COMPENSATED;
+                case RECOVERY_STARTED -> state = SagaState.RECOVERING;
             }
+        }
+        return Optional.of(new SagaStatus(sagaId, taskId, state, steps));
+    }
+
+    /**
+     * Whether the saga is queued or running on this instance.
+     */
+    boolean isActive(String sagaId) {
+        return activeSagas.containsKey(sagaId);
+    }
+
+    private boolean circuitsClosed(String sagaId) {
+        for (SagaStep step : sagaDefinition.getSteps()) {
+            if (!circuitBreakers.allowRequest(step.getDependencyName())) {
+                logger.warn("Saga {}: Circuit for {} is open, failing fast", sagaId, step.getDependencyName());
+                return false;
+            }
+        }
+        return true;
+    }
 
-            logger.info("Saga {}: All steps executed successfully", sagaId);
-            return true;
+    /**
+     * Nothing may execute before the saga is durably recorded, otherwise it could not be recovered.
+     */
+    private boolean recordStart(String sagaId, String taskId, List<String> serviceNames) {
+        if (!sagaLog.append(sagaId, null, SagaLogEvent.SAGA_STARTED, new SagaLog.SagaInput(taskId, serviceNames))) {
+            logger.error("Saga {}: Could not record saga start, aborting", sagaId);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Take the lease of a saga before running its steps.
+     *
+     * @return the lease owner, or empty if recovery holds the saga or the lease could not be written
+     */
+    private Optional<String> lease(String sagaId) {
+        try {
+            Optional<String> owner = sagaLog.acquireLease(sagaId, leaseMs);
+            if (owner.isEmpty()) {
+                logger.warn("Saga {}: Already claimed by recovery, not running it", sagaId);
+            }
+            return owner;
         } catch (Exception e) {
-            logger.error("Saga {}: Exception occurred during execution", sagaId, e);
-            compensate(context, context.getCurrentStepIndex());
+            // Nothing has executed, so recovery will close the saga
+            logger.error("Saga {}: Could not take the saga lease, leaving it to recovery: {}", sagaId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void releaseLease(String sagaId, String owner) {
+        try {
+            sagaLog.releaseLease(sagaId, owner);
+        } catch (Exception e) {
+            logger.warn("Saga {}: Could not release the saga lease, it expires in {}ms: {}", sagaId, leaseMs, e.getMessage());
+        }
+    }
+
+    private String readTaskId(SagaLog.SagaLogEntry entry) {
+        try {
+            SagaLog.SagaInput input = sagaLog.readPayload(entry, SagaLog.SagaInput.class);
+            return input != null ? input.taskId() : null;
+        } catch (JsonProcessingException e) {
+            logger.warn("Saga {}: Could not read saga input: {}", entry.sagaId(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Run every step of the saga that has not completed yet, then complete or compensate the saga.
+     * Steps already marked {@link SagaStepStatus#COMPLETED} in the context are not executed again,
+     * which lets a recovered saga resume where it stopped.
+     *
+     * @param context      the saga context
+     * @param taskId       the task ID
+     * @param serviceNames list of service names to check
+     * @return true if all steps executed successfully, false otherwise
+     */
+    boolean run(SagaContext context, String taskId, List<String> serviceNames) {
+        String sagaId = context.getSagaId();
+        AtomicBoolean failed = new AtomicBoolean(false);
+        Map<String, CompletableFuture<Void>> stepFutures = new HashMap<>();
+
+        // Steps are in topological order, so every dependency future already exists
+        for (SagaStep step : sagaDefinition.getSteps()) {
+            if (context.getStepStatus(step.getStepName()) == SagaStepStatus.COMPLETED) {
+                stepFutures.put(step.getStepName(), CompletableFuture.completedFuture(null));
+                continue;
+            }
+            CompletableFuture<?>[] dependencies = sagaDefinition.getDependencies(step.getStepName()).stream()
+                    .map(stepFutures::get)
+                    .toArray(CompletableFuture[]::new);
+            CompletableFuture<Void> stepFuture = CompletableFuture.allOf(dependencies)
+                    .thenRunAsync(() -> runStep(context, step, taskId, serviceNames, failed), sagaStepExecutor);
+            stepFutures.put(step.getStepName(), stepFuture);
+        }
+
+        try {
+            CompletableFuture.allOf(stepFutures.values().toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            logger.error("Saga {}: Exception occurred during execution", sagaId, e.getCause());
+            failed.set(true);
+        }
+
+        if (!failed.get() && !sagaLog.append(sagaId, null, SagaLogEvent.SAGA_COMPLETED, null)) {
+            // An unrecorded completion would be compensated by recovery later, so undo it now instead
+            logger.error("Saga {}: Could not record saga completion, compensating", sagaId);
+            failed.set(true);
+        }
+
+        if (failed.get()) {
+            compensate(context);
             return false;
         }
+
+        logger.info("Saga {}: All steps executed successfully", sagaId);
+        return true;
+    }
+
+    /**
+     * Run a single step unless the saga has already failed.
+     */
+    private void runStep(SagaContext context, SagaStep step, String taskId, List<String> serviceNames, AtomicBoolean failed) {
+        String stepName = step.getStepName();
+        if (failed.get()) {
+            context.setStepStatus(stepName, SagaStepStatus.SKIPPED);
+            logger.info("Saga {}: Skipping step {} because an earlier step failed", context.getSagaId(), stepName);
+            return;
+        }
+
+        context.setStepStatus(stepName, SagaStepStatus.RUNNING);
+        if (!sagaLog.append(context.getSagaId(), stepName, SagaLogEvent.STEP_STARTED, null)) {
+            logger.error("Saga {}: Could not record start of step {}", context.getSagaId(), stepName);
+            context.setStepStatus(stepName, SagaStepStatus.FAILED);
+            failed.set(true);
+            return;
+        }
+
+        logger.info("Saga {}: Executing step {}", context.getSagaId(), stepName);
+        try {
+            boolean executed = step.execute(context, taskId, serviceNames);
+            // A step turned down by its dependency still reached it
+            circuitBreakers.recordResult(step.getDependencyName(), true);
+            if (executed) {
+                context.setStepStatus(stepName, SagaStepStatus.COMPLETED);
+                // The step data is what recovery needs to compensate this step after a restart
+                if (!sagaLog.append(context.getSagaId(), stepName, SagaLogEvent.STEP_COMPLETED, context.getStepData(stepName))) {
+                    logger.error("Saga {}: Could not record completion of step {}, starting compensation", context.getSagaId(), stepName);
+                    failed.set(true);
+                    return;
+                }
+                logger.info("Saga {}: Step {} completed successfully", context.getSagaId(), stepName);
+                return;
+            }
+            logger.error("Saga {}: Step {} failed, starting compensation", context.getSagaId(), stepName);
+        } catch (Exception e) {
+            if (DependencyUnavailableException.isConnectivityFailure(e)) {
+                circuitBreakers.recordResult(step.getDependencyName(), false);
+            }
+            logger.error("Saga {}: Step {} threw an exception, starting compensation", context.getSagaId(), stepName, e);
+        }
+        context.setStepStatus(stepName, SagaStepStatus.FAILED);
+        sagaLog.appendAsync(context.getSagaId(), stepName, SagaLogEvent.STEP_FAILED, null);
+        failed.set(true);
     }
 
     /**
-     * Compensate all executed steps in reverse order.
+     * Compensate all completed steps in reverse topological order. The saga is only recorded as
+     * compensated once every completed step has been; otherwise it stays unfinished, so
+     * {@link SagaRecoveryWorker} compensates the remaining steps later.
      *
-     * @param context               the saga context
-     * @param lastExecutedStepIndex the index of the last successfully executed step
+     * @param context the saga context
+     * @return true if every completed step was compensated
      */
-    private void compensate(SagaContext context, int lastExecutedStepIndex) {
-        logger.info("Saga {}: Starting compensation from step {}", context.getSagaId(), lastExecutedStepIndex + 1);
+    boolean compensate(SagaContext context) {
+        logger.info("Saga {}: Starting compensation", context.getSagaId());
 
-        // Compensate in reverse order
-        for (int i = lastExecutedStepIndex; i >= 0; i--) {
-            SagaStep step = sagaSteps.get(i);
+        boolean allCompensated = true;
+        for (SagaStep step : sagaDefinition.getSteps().reversed()) {
+            String stepName = step.getStepName();
+            if (context.getStepStatus(stepName) != SagaStepStatus.COMPLETED) {
+                continue;
+            }
             try {
-                logger.info("Saga {}: Compensating step {} - {}", context.getSagaId(), i + 1, step.getStepName());
+                logger.info("Saga {}: Compensating step {}", context.getSagaId(), stepName);
                 step.compensate(context);
-                logger.info("Saga {}: Step {} compensated successfully", context.getSagaId(), i + 1);
+                if (!sagaLog.append(context.getSagaId(), stepName, SagaLogEvent.STEP_COMPENSATED, null)) {
+                    // Recovery would not know this step is undone, so it compensates it again later
+                    logger.error("Saga {}: Could not record compensation of step {}", context.getSagaId(), stepName);
+                    allCompensated = false;
+                    continue;
+                }
+                context.setStepStatus(stepName, SagaStepStatus.COMPENSATED);
+                logger.info("Saga {}: Step {} compensated successfully", context.getSagaId(), stepName);
             } catch (Exception e) {
-                logger.error("Saga {}: Failed to compensate step {} ({})", context.getSagaId(), i + 1, step.getStepName(), e);
+                logger.error("Saga {}: Failed to compensate step {}", context.getSagaId(), stepName, e);
                 // Continue compensating other steps even if one fails
+                allCompensated = false;
             }
         }
 
+        if (!allCompensated) {
+            logger.warn("Saga {}: Compensation incomplete, leaving the saga for recovery", context.getSagaId());
+            return false;
+        }
+        if (!sagaLog.append(context.getSagaId(), null, SagaLogEvent.SAGA_COMPENSATED, null)) {
+            logger.error("Saga {}: Could not record saga compensation, leaving the saga for recovery", context.getSagaId());
+            return false;
+        }
         logger.info("Saga {}: Compensation completed", context.getSagaId());
+        return true;
     }
 
+    /**
+     * A saga queued or running on this instance.
+     */
+    private static final class ActiveSaga {
+
+        private final String taskId;
+        private final SagaContext context;
+        private volatile SagaState state;
+
+        private ActiveSaga(String taskId, SagaContext context, SagaState state) {
+            this.taskId = taskId;
+            this.context = context;
+            this.state = state;
+        }
+    }
 }
@@ -0,0 +1,194 @@
+package com.chainsea.healthcheck.service.saga;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Background worker that finishes sagas interrupted by a crash and compacts the saga log.
+ * <p>
+ * A saga is considered interrupted when it was started longer than {@code stale-after} ago and has
+ * no terminal event in the {@link SagaLog}. Its context is rebuilt from the log, then depending on
+ * {@code mode} the saga is either compensated (default) or resumed from the first incomplete step.
+ * Steps that were started but never recorded as completed are in doubt; a saga with such steps is
+ * always compensated, and the in-doubt steps are reported for manual follow-up.
+ * <p>
+ * Each saga is claimed in the log before recovery, so several instances can run the worker at once.
+ * The claim is a lease that lasts {@code lease-duration} and is released once recovery returns. A saga
+ * whose compensation did not complete stays unfinished and is recovered again on a later run; one whose
+ * recovering instance crashed is claimed again once the lease has expired.
+ */
+@Component
+@ConditionalOnProperty(name = "health-check.saga.recovery.enabled", havingValue = "true", matchIfMissing = true)
+public class SagaRecoveryWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(SagaRecoveryWorker.class);
+
+    private final SagaOrchestrator sagaOrchestrator;
+    private final SagaLog sagaLog;
+    private final Map<String, SagaStep> stepsByName;
+    private final TaskScheduler taskScheduler;
+    private final RecoveryMode mode;
+    private final long initialDelayMs;
+    private final long intervalMs;
+    private final long staleAfterMs;
+    private final long retentionMs;
+    private final long leaseMs;
+    private final int batchSize;
+    private ScheduledFuture<?> scheduledTask;
+
+    public SagaRecoveryWorker(SagaOrchestrator sagaOrchestrator,
+                              SagaDefinition sagaDefinition,
+                              SagaLog sagaLog,
+                              TaskScheduler healthCheckTaskScheduler,
+                              @Value("${health-check.saga.recovery.mode:COMPENSATE}") RecoveryMode mode,
+                              @Value("${health-check.saga.recovery.initial-delay:10000}") long initialDelayMs,
+                              @Value("${health-check.saga.recovery.interval:60000}") long intervalMs,
+                              @Value("${health-check.saga.recovery.stale-after:120000}") long staleAfterMs,
+                              @Value("${health-check.saga.recovery.retention:86400000}") long retentionMs,
+                              @Value("${health-check.saga.recovery.lease-duration:300000}") long leaseMs,
+                              @Value("${health-check.saga.recovery.batch-size:100}") int batchSize) {
+        this.sagaOrchestrator = sagaOrchestrator;
+        this.sagaLog = sagaLog;
+        this.stepsByName = sagaDefinition.getSteps().stream()
+                .collect(Collectors.toMap(SagaStep::getStepName, Function.identity()));
+        this.taskScheduler = healthCheckTaskScheduler;
+        this.mode = mode;
+        this.initialDelayMs = initialDelayMs;
+        this.intervalMs = intervalMs;
+        this.staleAfterMs = staleAfterMs;
+        this.retentionMs = retentionMs;
+        this.leaseMs = leaseMs;
+        this.batchSize = batchSize;
+    }
+
+    @PostConstruct
+    public void start() {
+        logger.info("Starting saga recovery worker in {} mode with interval: {}ms", mode, intervalMs);
+        scheduledTask = taskScheduler.scheduleWithFixedDelay(
+                this::runOnce,
+                Instant.now().plusMillis(initialDelayMs),
+                Duration.ofMillis(intervalMs)
+        );
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduledTask != null && !scheduledTask.isCancelled()) {
+            scheduledTask.cancel(false);
+        }
+    }
+
+    void runOnce() {
+        try {
+            int recovered = recoverUnfinishedSagas();
+            if (recovered > 0) {
+                logger.info("Saga recovery: Recovered {} unfinished sagas", recovered);
+            }
+            int compacted = sagaLog.compact(LocalDateTime.now().minus(Duration.ofMillis(retentionMs)), batchSize);
+            if (compacted > 0) {
+                logger.info("Saga recovery: Compacted {} saga log entries", compacted);
+            }
+        } catch (Exception e) {
+            logger.warn("Saga recovery: Run failed: {}", e.getMessage());
+        }
+    }
+
+    private int recoverUnfinishedSagas() {
+        LocalDateTime startedBefore = LocalDateTime.now().minus(Duration.ofMillis(staleAfterMs));
+        List<String> sagaIds = sagaLog.findUnfinishedSagaIds(startedBefore, batchSize);
+        int recovered = 0;
+        for (String sagaId : sagaIds) {
+            if (sagaOrchestrator.isActive(sagaId)) {
+                // Still queued or running on this instance, e.g. behind a long submission queue
+                continue;
+            }
+            Optional<String> claim = sagaLog.claimForRecovery(sagaId, leaseMs);
+            if (claim.isEmpty()) {
+                logger.debug("Saga recovery: Saga {} is already being recovered by another instance", sagaId);
+                continue;
+            }
+            try {
+                recover(sagaId);
+                recovered++;
+            } catch (Exception e) {
+                logger.error("Saga recovery: Failed to recover saga {}", sagaId, e);
+            } finally {
+                sagaLog.releaseLease(sagaId, claim.get());
+            }
+        }
+        return recovered;
+    }
+
+    private void recover(String sagaId) throws Exception {
+        SagaContext context = new SagaContext(sagaId);
+        SagaLog.SagaInput input = null;
+
+        for (SagaLog.SagaLogEntry entry : sagaLog.findEntries(sagaId)) {
+            String stepName = entry.stepName();
+            switch (entry.event()) {
+                case SAGA_STARTED -> input = sagaLog.readPayload(entry, SagaLog.SagaInput.class);
+                case STEP_STARTED -> context.setStepStatus(stepName, SagaStepStatus.RUNNING);
+                case STEP_COMPLETED -> {
+                    SagaStep step = stepsByName.get(stepName);
+                    Object stepData = step != null ? sagaLog.readPayload(entry, step.getStepDataType()) : null;
+                    if (stepData != null) {
+                        context.addStepData(stepName, stepData);
+                    }
+                    context.setStepStatus(stepName, SagaStepStatus.COMPLETED);
+                }
+                case STEP_FAILED -> context.setStepStatus(stepName, SagaStepStatus.FAILED);
+                case STEP_COMPENSATED -> context.setStepStatus(stepName, SagaStepStatus.COMPENSATED);
+                default -> {
+                    // Saga-level terminal and recovery events carry no step state
+                }
+            }
+        }
+
+        List<String> inDoubt = context.getStepStatuses().entrySet().stream()
+                .filter(e -> e.getValue() == SagaStepStatus.RUNNING)
+                .map(Map.Entry::getKey)
+                .toList();
+        if (!inDoubt.isEmpty()) {
+            logger.warn("Saga recovery: Saga {} was interrupted while executing steps {}; " +
+                    "their effects cannot be compensated automatically", sagaId, inDoubt);
+        }
+
+        boolean resumable = mode == RecoveryMode.RESUME && input != null && inDoubt.isEmpty()
+                && context.getStepStatuses().values().stream().allMatch(status -> status == SagaStepStatus.COMPLETED);
+        if (resumable) {
+            logger.info("Saga recovery: Resuming saga {} for task {}", sagaId, input.taskId());
+            sagaOrchestrator.run(context, input.taskId(), input.serviceNames());
+        } else {
+            logger.info("Saga recovery: Compensating saga {}", sagaId);
+            sagaOrchestrator.compensate(context);
+        }
+    }
+
+    public enum RecoveryMode {
+        /**
+         * Compensate every completed step of an interrupted saga.
+         */
+        COMPENSATE,
+
+        /**
+         * Run the remaining steps of an interrupted saga when it is safe to do so.
+         */
+        RESUME
+    }
+}
@@ -0,0 +1,31 @@
+package com.chainsea.healthcheck.service.saga;
+
+/**
+ * Overall state of a saga as reported to clients.
+ */
+public enum SagaState {
+    /**
+     * Accepted and waiting for a worker thread.
+     */
+    QUEUED,
+
+    /**
+     * Executing or compensating its steps.
+     */
+    RUNNING,
+
+    /**
+     * Interrupted and claimed by {@link SagaRecoveryWorker}.
+     */
+    RECOVERING,
+
+    /**
+     * All steps completed successfully.
+     */
+    COMPLETED,
+
+    /**
+     * Failed and all completed steps were compensated.
+     */
+    COMPENSATED
+}
@@ -0,0 +1,19 @@
+package com.chainsea.healthcheck.service.saga;
+
+import java.util.Map;
+
+/**
+ * Snapshot of a saga's progress.
+ *
+ * @param sagaId the saga ID
+ * @param taskId the task ID, null if it could not be read from the saga log
+ * @param state  the overall state
+ * @param steps  status of every step that has started so far
+ */
+public record SagaStatus(
+        String sagaId,
+        String taskId,
+        SagaState state,
+        Map<String, SagaStepStatus> steps
+) {
+}
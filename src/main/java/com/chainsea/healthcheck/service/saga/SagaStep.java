@@ -14,14 +14,17 @@ public interface SagaStep {
      * @param sagaContext  the saga context
      * @param taskId       the task ID
      * @param serviceNames list of service names
-     * @return true if executed successfully, false otherwise
+     * @return true if executed successfully, false if the dependency turned the step down
+     * @throws com.chainsea.healthcheck.health.DependencyUnavailableException if the dependency cannot be reached
      */
     boolean execute(SagaContext sagaContext, String taskId, List<String> serviceNames);
 
     /**
-     * Compensate (undo) the step if a later step fails.
+     * Compensate (undo) the step if a later step fails. A failed compensation leaves the saga unfinished
+     * and is retried by recovery, so compensating must be safe to repeat.
      *
      * @param sagaContext the saga context
+     * @throws RuntimeException if the step could not be undone
      */
     void compensate(SagaContext sagaContext);
 
@@ -31,4 +34,23 @@ public interface SagaStep {
      * @return step name
      */
     String getStepName();
+
+    /**
+     * Get the type of the data this step stores in the saga context for compensation.
+     * Used to restore the step data from the saga log when a saga is recovered after a restart.
+     *
+     * @return step data type
+     */
+    default Class<?> getStepDataType() {
+        return Object.class;
+    }
+
+    /**
+     * Get the name of the dependency this step writes to, as used by its health indicator and circuit breaker.
+     *
+     * @return dependency name, or null if the step is not guarded by a circuit breaker
+     */
+    default String getDependencyName() {
+        return null;
+    }
 }
@@ -0,0 +1,36 @@
+package com.chainsea.healthcheck.service.saga;
+
+/**
+ * Execution status of a single step within a saga.
+ */
+public enum SagaStepStatus {
+    /**
+     * Step has not started yet.
+     */
+    PENDING,
+
+    /**
+     * Step is currently executing.
+     */
+    RUNNING,
+
+    /**
+     * Step executed its local transaction successfully.
+     */
+    COMPLETED,
+
+    /**
+     * Step failed to execute.
+     */
+    FAILED,
+
+    /**
+     * Step was not executed because another step failed first.
+     */
+    SKIPPED,
+
+    /**
+     * Step completed and was later compensated.
+     */
+    COMPENSATED
+}
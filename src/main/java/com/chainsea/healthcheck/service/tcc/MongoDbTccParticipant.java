@@ -1,5 +1,6 @@
 package com.chainsea.healthcheck.service.tcc;
 
+import com.chainsea.healthcheck.health.DependencyUnavailableException;
 import com.chainsea.healthcheck.model.TaskStatus;
 import org.bson.Document;
 import org.bson.types.ObjectId;
@@ -36,6 +37,11 @@ public class MongoDbTccParticipant implements TccParticipant {
         this.mongoTemplate = mongoTemplate;
     }
 
+    @Override
+    public String getDependencyName() {
+        return "mongodb";
+    }
+
     @Override
     public boolean tryExecute(String transactionId, String taskId, List<String> serviceNames) {
         try {
@@ -54,6 +60,7 @@ public class MongoDbTccParticipant implements TccParticipant {
             logger.info("MongoDB TCC: Tried transaction {} successfully, document ID: {}", transactionId, documentId);
             return true;
         } catch (Exception e) {
+            DependencyUnavailableException.throwIfUnavailable(getDependencyName(), e);
             logger.error("MongoDB TCC: Failed to try transaction {}", transactionId, e);
             return false;
         }
@@ -77,6 +84,7 @@ public class MongoDbTccParticipant implements TccParticipant {
             logger.info("MongoDB TCC: Confirmed transaction {} successfully", transactionId);
             return true;
         } catch (Exception e) {
+            DependencyUnavailableException.throwIfUnavailable(getDependencyName(), e);
             logger.error("MongoDB TCC: Failed to confirm transaction {}", transactionId, e);
             return false;
         }
@@ -1,5 +1,6 @@
 package com.chainsea.healthcheck.service.tcc;
 
+import com.chainsea.healthcheck.health.DependencyUnavailableException;
 import com.chainsea.healthcheck.model.BatchHealthCheckTask;
 import com.chainsea.healthcheck.model.TaskStatus;
 import com.chainsea.healthcheck.repository.BatchHealthCheckTaskRepository;
@@ -30,6 +31,11 @@ public class PostgresTccParticipant implements TccParticipant {
         this.repository = repository;
     }
 
+    @Override
+    public String getDependencyName() {
+        return "postgres";
+    }
+
     @Override
     public boolean tryExecute(String transactionId, String taskId, List<String> serviceNames) {
         try {
@@ -42,6 +48,7 @@ public class PostgresTccParticipant implements TccParticipant {
             logger.info("PostgreSQL TCC: Tried transaction {} successfully, task ID: {}", transactionId, saved.getId());
             return true;
         } catch (Exception e) {
+            DependencyUnavailableException.throwIfUnavailable(getDependencyName(), e);
             logger.error("PostgreSQL TCC: Failed to try transaction {}", transactionId, e);
             return false;
         }
@@ -66,6 +73,7 @@ public class PostgresTccParticipant implements TccParticipant {
             logger.info("PostgreSQL TCC: Confirmed transaction {} successfully", transactionId);
             return true;
         } catch (Exception e) {
+            DependencyUnavailableException.throwIfUnavailable(getDependencyName(), e);
             logger.error("PostgreSQL TCC: Failed to confirm transaction {}", transactionId, e);
             return false;
         }
@@ -1,10 +1,12 @@
 package com.chainsea.healthcheck.service.tcc;
 
+import com.chainsea.healthcheck.health.DependencyUnavailableException;
 import com.chainsea.healthcheck.model.MqMessageData;
 import com.chainsea.healthcheck.model.TaskStatus;
+import com.chainsea.healthcheck.service.messaging.ConfirmedMessagePublisher;
+import com.chainsea.healthcheck.service.messaging.PublishResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -14,7 +16,7 @@ import java.util.concurrent.ConcurrentHashMap;
 /**
  * RabbitMQ participant for TCC pattern.
  * Try: Prepare message but don't send (store in memory)
- * Confirm: Actually send the message
+ * Confirm: Actually send the message and wait for the broker confirm
  * Cancel: Discard the prepared message
  */
 @Component
@@ -26,11 +28,16 @@ public class RabbitMqTccParticipant implements TccParticipant {
 
     // Note: Exchange and queue should be configured via RabbitMqConfig
 
-    private final RabbitTemplate rabbitTemplate;
+    private final ConfirmedMessagePublisher publisher;
     private final Map<String, MqMessageData> reservedMessages = new ConcurrentHashMap<>();
 
-    public RabbitMqTccParticipant(RabbitTemplate rabbitTemplate) {
-        this.rabbitTemplate = rabbitTemplate;
+    public RabbitMqTccParticipant(ConfirmedMessagePublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @Override
+    public String getDependencyName() {
+        return "rabbitmq";
     }
 
     @Override
@@ -43,6 +50,7 @@ public class RabbitMqTccParticipant implements TccParticipant {
             logger.info("RabbitMQ TCC: Tried transaction {} successfully", transactionId);
             return true;
         } catch (Exception e) {
+            DependencyUnavailableException.throwIfUnavailable(getDependencyName(), e);
             logger.error("RabbitMQ TCC: Failed to try transaction {}", transactionId, e);
             return false;
         }
@@ -58,14 +66,24 @@ public class RabbitMqTccParticipant implements TccParticipant {
                 return false;
             }
 
-            // Actually send the message
+            // Actually send the message and wait for the broker to confirm it
             messageData.setStatus(TaskStatus.COMPLETED);
-            rabbitTemplate.convertAndSend(EXCHANGE, ROUTING_KEY, messageData);
+            PublishResult published = publisher.publishAndWait(EXCHANGE, ROUTING_KEY, messageData);
+            if (published == PublishResult.UNCONFIRMED) {
+                logger.error("RabbitMQ TCC: Notification for transaction {} was not confirmed by the broker", transactionId);
+                throw new DependencyUnavailableException(getDependencyName(), "Publish was not confirmed by the broker");
+            }
+            if (published == PublishResult.REJECTED) {
+                // The broker answered, so this does not count against its circuit breaker
+                logger.error("RabbitMQ TCC: Notification for transaction {} was rejected by the broker", transactionId);
+                return false;
+            }
             reservedMessages.remove(transactionId);
 
             logger.info("RabbitMQ TCC: Confirmed transaction {} successfully", transactionId);
             return true;
         } catch (Exception e) {
+            DependencyUnavailableException.throwIfUnavailable(getDependencyName(), e);
             logger.error("RabbitMQ TCC: Failed to confirm transaction {}", transactionId, e);
             return false;
         }
@@ -1,5 +1,6 @@
 package com.chainsea.healthcheck.service.tcc;
 
+import com.chainsea.healthcheck.health.DependencyUnavailableException;
 import com.chainsea.healthcheck.model.TaskStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,6 +40,11 @@ public class RedisTccParticipant implements TccParticipant {
         return LOCK_PREFIX + taskId;
     }
 
+    @Override
+    public String getDependencyName() {
+        return "redis";
+    }
+
     @Override
     public boolean tryExecute(String transactionId, String taskId, List<String> serviceNames) {
         try {
@@ -58,6 +64,7 @@ public class RedisTccParticipant implements TccParticipant {
                 return false;
             }
         } catch (Exception e) {
+            DependencyUnavailableException.throwIfUnavailable(getDependencyName(), e);
             logger.error("Redis TCC: Failed to try transaction {}", transactionId, e);
             return false;
         }
@@ -83,6 +90,7 @@ public class RedisTccParticipant implements TccParticipant {
             logger.info("Redis TCC: Confirmed transaction {} successfully", transactionId);
             return true;
         } catch (Exception e) {
+            DependencyUnavailableException.throwIfUnavailable(getDependencyName(), e);
             logger.error("Redis TCC: Failed to confirm transaction {}", transactionId, e);
             return false;
         }
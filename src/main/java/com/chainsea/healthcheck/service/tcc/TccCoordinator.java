@@ -1,11 +1,14 @@
 package com.chainsea.healthcheck.service.tcc;
 
+import com.chainsea.healthcheck.health.CircuitBreakerRegistry;
+import com.chainsea.healthcheck.health.DependencyUnavailableException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.function.BooleanSupplier;
 
 /**
  * Coordinator for TCC (Try-Confirm-Cancel) pattern.
@@ -16,7 +19,8 @@ import java.util.UUID;
  * - Step 3: Try to log task details to MongoDB (reserve log entry)
  * - Step 4: Try to send notification via RabbitMQ (reserve message)
  * <p>
- * If all Try operations succeed, Confirm all. Otherwise, Cancel all.
+ * If all Try operations succeed, Confirm all. Otherwise, Cancel all. If the circuit of any participant's
+ * dependency is open, the transaction fails before any participant is called.
  */
 @Component
 public class TccCoordinator {
@@ -24,12 +28,15 @@ public class TccCoordinator {
     private static final Logger logger = LoggerFactory.getLogger(TccCoordinator.class);
 
     private final List<TccParticipant> participants;
+    private final CircuitBreakerRegistry circuitBreakers;
 
     public TccCoordinator(
             PostgresTccParticipant postgresParticipant,
             RedisTccParticipant redisParticipant,
             MongoDbTccParticipant mongodbParticipant,
-            RabbitMqTccParticipant rabbitmqParticipant) {
+            RabbitMqTccParticipant rabbitmqParticipant,
+            CircuitBreakerRegistry circuitBreakers) {
+        this.circuitBreakers = circuitBreakers;
         participants = List.of(
                 postgresParticipant,
                 redisParticipant,
@@ -47,6 +54,12 @@ public class TccCoordinator {
      */
     public boolean executeTransaction(String taskId, List<String> serviceNames) {
         String transactionId = UUID.randomUUID().toString();
+        for (TccParticipant participant : participants) {
+            if (!circuitBreakers.allowRequest(participant.getDependencyName())) {
+                logger.warn("Circuit for {} is open, failing TCC transaction {} fast", participant.getDependencyName(), transactionId);
+                return false;
+            }
+        }
         logger.info("Starting TCC transaction: {}", transactionId);
 
         try {
@@ -80,7 +93,7 @@ public class TccCoordinator {
         logger.info("Phase 1: Try phase started for transaction: {}", transactionId);
 
         boolean allTried = participants.parallelStream().allMatch(p -> {
-            boolean tried = p.tryExecute(transactionId, taskId, serviceNames);
+            boolean tried = call(p, () -> p.tryExecute(transactionId, taskId, serviceNames));
             if (!tried) {
                 logger.error("{} failed to try", p.getClass().getSimpleName());
             }
@@ -103,7 +116,7 @@ public class TccCoordinator {
         logger.info("Phase 2: Confirm phase started for transaction: {}", transactionId);
 
         boolean allConfirmed = participants.parallelStream().allMatch(p -> {
-            boolean confirmed = p.confirm(transactionId);
+            boolean confirmed = call(p, () -> p.confirm(transactionId));
             if (!confirmed) {
                 logger.error("{} failed to confirm", p.getClass().getSimpleName());
             }
@@ -119,6 +132,25 @@ public class TccCoordinator {
         }
     }
 
+    /**
+     * Run a participant call and record on its circuit whether the dependency could be reached. A
+     * participant that was turned down by its dependency does not count as a failure.
+     */
+    private boolean call(TccParticipant participant, BooleanSupplier action) {
+        try {
+            boolean result = action.getAsBoolean();
+            circuitBreakers.recordResult(participant.getDependencyName(), true);
+            return result;
+        } catch (RuntimeException e) {
+            if (!DependencyUnavailableException.isConnectivityFailure(e)) {
+                throw e;
+            }
+            circuitBreakers.recordResult(participant.getDependencyName(), false);
+            logger.error("{} could not reach {}: {}", participant.getClass().getSimpleName(), participant.getDependencyName(), e.getMessage());
+            return false;
+        }
+    }
+
     /**
      * Cancel - All participants cancel their reserved resources.
      */
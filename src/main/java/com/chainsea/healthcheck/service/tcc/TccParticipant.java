@@ -15,7 +15,8 @@ public interface TccParticipant {
      * @param transactionId the transaction ID
      * @param taskId        the task ID
      * @param serviceNames  list of service names
-     * @return true if try succeeded, false otherwise
+     * @return true if try succeeded, false if the dependency turned the transaction down
+     * @throws com.chainsea.healthcheck.health.DependencyUnavailableException if the dependency cannot be reached
      */
     boolean tryExecute(String transactionId, String taskId, List<String> serviceNames);
 
@@ -23,7 +24,8 @@ public interface TccParticipant {
      * Confirm phase: Actually commit the reserved resources.
      *
      * @param transactionId the transaction ID
-     * @return true if confirmed successfully, false otherwise
+     * @return true if confirmed successfully, false if the dependency turned the transaction down
+     * @throws com.chainsea.healthcheck.health.DependencyUnavailableException if the dependency cannot be reached
      */
     boolean confirm(String transactionId);
 
@@ -33,4 +35,11 @@ public interface TccParticipant {
      * @param transactionId the transaction ID
      */
     void cancel(String transactionId);
+
+    /**
+     * Name of the dependency this participant writes to, as used by its health indicator and circuit breaker.
+     *
+     * @return dependency name
+     */
+    String getDependencyName();
 }
@@ -1,5 +1,6 @@
 package com.chainsea.healthcheck.service.twophase;
 
+import com.chainsea.healthcheck.health.DependencyUnavailableException;
 import com.chainsea.healthcheck.model.TaskStatus;
 import org.bson.Document;
 import org.slf4j.Logger;
@@ -30,6 +31,11 @@ public class MongoDbParticipant implements TwoPhaseCommitParticipant {
         this.mongoTemplate = mongoTemplate;
     }
 
+    @Override
+    public String getDependencyName() {
+        return "mongodb";
+    }
+
     @Override
     public boolean prepare(String transactionId, String taskId, List<String> serviceNames) {
         try {
@@ -48,6 +54,7 @@ public class MongoDbParticipant implements TwoPhaseCommitParticipant {
             logger.info("MongoDB: Prepared transaction {} successfully", transactionId);
             return true;
         } catch (Exception e) {
+            DependencyUnavailableException.throwIfUnavailable(getDependencyName(), e);
             logger.error("MongoDB: Failed to prepare transaction {}", transactionId, e);
             return false;
         }
@@ -73,6 +80,7 @@ public class MongoDbParticipant implements TwoPhaseCommitParticipant {
             logger.info("MongoDB: Committed transaction {} successfully", transactionId);
             return true;
         } catch (Exception e) {
+            DependencyUnavailableException.throwIfUnavailable(getDependencyName(), e);
             logger.error("MongoDB: Failed to commit transaction {}", transactionId, e);
             return false;
         }
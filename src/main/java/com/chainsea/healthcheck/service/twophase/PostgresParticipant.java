@@ -1,5 +1,6 @@
 package com.chainsea.healthcheck.service.twophase;
 
+import com.chainsea.healthcheck.health.DependencyUnavailableException;
 import com.chainsea.healthcheck.model.BatchHealthCheckTask;
 import com.chainsea.healthcheck.model.TaskStatus;
 import com.chainsea.healthcheck.repository.BatchHealthCheckTaskRepository;
@@ -45,6 +46,11 @@ public class PostgresParticipant implements TwoPhaseCommitParticipant {
      * The task_id has UNIQUE constraint to prevent concurrent conflicts.
      * If another transaction tries to prepare the same taskId, it will fail with DataIntegrityViolationException.
      */
+    @Override
+    public String getDependencyName() {
+        return "postgres";
+    }
+
     @Override
     @Transactional
     public boolean prepare(String transactionId, String taskId, List<String> serviceNames) {
@@ -77,6 +83,7 @@ public class PostgresParticipant implements TwoPhaseCommitParticipant {
             logger.error("PostgreSQL: Failed to prepare transaction {} - task {} already exists", transactionId, taskId, e);
             return false;
         } catch (Exception e) {
+            DependencyUnavailableException.throwIfUnavailable(getDependencyName(), e);
             logger.error("PostgreSQL: Failed to prepare transaction {}", transactionId, e);
             return false;
         }
@@ -115,6 +122,7 @@ public class PostgresParticipant implements TwoPhaseCommitParticipant {
             logger.info("PostgreSQL: Committed transaction {} successfully", transactionId);
             return true;
         } catch (Exception e) {
+            DependencyUnavailableException.throwIfUnavailable(getDependencyName(), e);
             logger.error("PostgreSQL: Failed to commit transaction {}", transactionId, e);
             return false;
         }
@@ -1,10 +1,12 @@
 package com.chainsea.healthcheck.service.twophase;
 
+import com.chainsea.healthcheck.health.DependencyUnavailableException;
 import com.chainsea.healthcheck.model.MqMessageData;
 import com.chainsea.healthcheck.model.TaskStatus;
+import com.chainsea.healthcheck.service.messaging.ConfirmedMessagePublisher;
+import com.chainsea.healthcheck.service.messaging.PublishResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -14,6 +16,7 @@ import java.util.concurrent.ConcurrentHashMap;
 /**
  * RabbitMQ participant for 2PC protocol.
  * Manages task notifications via message queue.
+ * The commit only succeeds once the broker has confirmed the notification.
  */
 @Component
 public class RabbitMqParticipant implements TwoPhaseCommitParticipant {
@@ -24,11 +27,16 @@ public class RabbitMqParticipant implements TwoPhaseCommitParticipant {
 
     // Note: Exchange and queue should be configured via RabbitMqConfig
 
-    private final RabbitTemplate rabbitTemplate;
+    private final ConfirmedMessagePublisher publisher;
     private final Map<String, MqMessageData> preparedMessages = new ConcurrentHashMap<>();
 
-    public RabbitMqParticipant(RabbitTemplate rabbitTemplate) {
-        this.rabbitTemplate = rabbitTemplate;
+    public RabbitMqParticipant(ConfirmedMessagePublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @Override
+    public String getDependencyName() {
+        return "rabbitmq";
     }
 
     @Override
@@ -41,6 +49,7 @@ public class RabbitMqParticipant implements TwoPhaseCommitParticipant {
             logger.info("RabbitMQ: Prepared transaction {} successfully", transactionId);
             return true;
         } catch (Exception e) {
+            DependencyUnavailableException.throwIfUnavailable(getDependencyName(), e);
             logger.error("RabbitMQ: Failed to prepare transaction {}", transactionId, e);
             return false;
         }
@@ -56,14 +65,24 @@ public class RabbitMqParticipant implements TwoPhaseCommitParticipant {
                 return false;
             }
 
-            // Actually send the message
+            // Actually send the message and wait for the broker to confirm it
             messageData.setStatus(TaskStatus.COMPLETED);
-            rabbitTemplate.convertAndSend(EXCHANGE, ROUTING_KEY, messageData);
+            PublishResult published = publisher.publishAndWait(EXCHANGE, ROUTING_KEY, messageData);
+            if (published == PublishResult.UNCONFIRMED) {
+                logger.error("RabbitMQ: Notification for transaction {} was not confirmed by the broker", transactionId);
+                throw new DependencyUnavailableException(getDependencyName(), "Publish was not confirmed by the broker");
+            }
+            if (published == PublishResult.REJECTED) {
+                // The broker answered, so this does not count against its circuit breaker
+                logger.error("RabbitMQ: Notification for transaction {} was rejected by the broker", transactionId);
+                return false;
+            }
             preparedMessages.remove(transactionId);
 
             logger.info("RabbitMQ: Committed transaction {} successfully", transactionId);
             return true;
         } catch (Exception e) {
+            DependencyUnavailableException.throwIfUnavailable(getDependencyName(), e);
             logger.error("RabbitMQ: Failed to commit transaction {}", transactionId, e);
             return false;
         }
@@ -1,5 +1,6 @@
 package com.chainsea.healthcheck.service.twophase;
 
+import com.chainsea.healthcheck.health.DependencyUnavailableException;
 import com.chainsea.healthcheck.model.TaskStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,6 +34,11 @@ public class RedisParticipant implements TwoPhaseCommitParticipant {
         return PREPARE_PREFIX + transactionId;
     }
 
+    @Override
+    public String getDependencyName() {
+        return "redis";
+    }
+
     @Override
     public boolean prepare(String transactionId, String taskId, List<String> serviceNames) {
         try {
@@ -47,6 +53,7 @@ public class RedisParticipant implements TwoPhaseCommitParticipant {
             logger.info("Redis: Prepared transaction {} successfully", transactionId);
             return true;
         } catch (Exception e) {
+            DependencyUnavailableException.throwIfUnavailable(getDependencyName(), e);
             logger.error("Redis: Failed to prepare transaction {}", transactionId, e);
             return false;
         }
@@ -72,6 +79,7 @@ public class RedisParticipant implements TwoPhaseCommitParticipant {
             logger.info("Redis: Committed transaction {} successfully", transactionId);
             return true;
         } catch (Exception e) {
+            DependencyUnavailableException.throwIfUnavailable(getDependencyName(), e);
             logger.error("Redis: Failed to commit transaction {}", transactionId, e);
             return false;
         }
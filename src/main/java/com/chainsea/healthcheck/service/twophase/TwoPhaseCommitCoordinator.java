@@ -1,11 +1,14 @@
 package com.chainsea.healthcheck.service.twophase;
 
+import com.chainsea.healthcheck.health.CircuitBreakerRegistry;
+import com.chainsea.healthcheck.health.DependencyUnavailableException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.function.BooleanSupplier;
 
 /**
  * Coordinator for Two-Phase Commit (2PC) protocol.
@@ -16,7 +19,8 @@ import java.util.UUID;
  * - Step 3: Log task details to MongoDB
  * - Step 4: Send notification via RabbitMQ
  * <p>
- * All steps must succeed or all must be rolled back.
+ * All steps must succeed or all must be rolled back. If the circuit of any participant's dependency
+ * is open, the transaction fails before any participant is called.
  */
 @Component
 public class TwoPhaseCommitCoordinator {
@@ -24,12 +28,15 @@ public class TwoPhaseCommitCoordinator {
     private static final Logger logger = LoggerFactory.getLogger(TwoPhaseCommitCoordinator.class);
 
     private final List<TwoPhaseCommitParticipant> participants;
+    private final CircuitBreakerRegistry circuitBreakers;
 
     public TwoPhaseCommitCoordinator(
             PostgresParticipant postgresParticipant,
             RedisParticipant redisParticipant,
             MongoDbParticipant mongodbParticipant,
-            RabbitMqParticipant rabbitmqParticipant) {
+            RabbitMqParticipant rabbitmqParticipant,
+            CircuitBreakerRegistry circuitBreakers) {
+        this.circuitBreakers = circuitBreakers;
         this.participants = List.of(
                 postgresParticipant,
                 redisParticipant,
@@ -47,6 +54,12 @@ public class TwoPhaseCommitCoordinator {
      */
     public boolean executeTransaction(String taskId, List<String> serviceNames) {
         String transactionId = UUID.randomUUID().toString();
+        for (TwoPhaseCommitParticipant participant : participants) {
+            if (!circuitBreakers.allowRequest(participant.getDependencyName())) {
+                logger.warn("Circuit for {} is open, failing 2PC transaction {} fast", participant.getDependencyName(), transactionId);
+                return false;
+            }
+        }
         logger.info("Starting 2PC transaction: {}", transactionId);
 
         try {
@@ -82,7 +95,7 @@ public class TwoPhaseCommitCoordinator {
         logger.info("Phase 1: Prepare phase started for transaction: {}", transactionId);
 
         boolean allPrepared = participants.stream().allMatch(p -> {
-            boolean prepared = p.prepare(transactionId, taskId, serviceNames);
+            boolean prepared = call(p, () -> p.prepare(transactionId, taskId, serviceNames));
             if (!prepared) {
                 logger.error("{} failed to prepare", p.getClass().getSimpleName());
             }
@@ -105,7 +118,7 @@ public class TwoPhaseCommitCoordinator {
         logger.info("Phase 2: Commit phase started for transaction: {}", transactionId);
 
         boolean allCommitted = participants.stream().allMatch(p -> {
-            boolean committed = p.commit(transactionId);
+            boolean committed = call(p, () -> p.commit(transactionId));
             if (!committed) {
                 logger.error("{} failed to commit", p.getClass().getSimpleName());
             }
@@ -121,6 +134,25 @@ public class TwoPhaseCommitCoordinator {
         }
     }
 
+    /**
+     * Run a participant call and record on its circuit whether the dependency could be reached. A
+     * participant that was turned down by its dependency does not count as a failure.
+     */
+    private boolean call(TwoPhaseCommitParticipant participant, BooleanSupplier action) {
+        try {
+            boolean result = action.getAsBoolean();
+            circuitBreakers.recordResult(participant.getDependencyName(), true);
+            return result;
+        } catch (RuntimeException e) {
+            if (!DependencyUnavailableException.isConnectivityFailure(e)) {
+                throw e;
+            }
+            circuitBreakers.recordResult(participant.getDependencyName(), false);
+            logger.error("{} could not reach {}: {}", participant.getClass().getSimpleName(), participant.getDependencyName(), e.getMessage());
+            return false;
+        }
+    }
+
     /**
      * Rollback - All participants rollback their changes.
      */
@@ -15,7 +15,8 @@ public interface TwoPhaseCommitParticipant {
      * @param transactionId the transaction ID
      * @param taskId        the task ID
      * @param serviceNames  list of service names
-     * @return true if prepared successfully, false otherwise
+     * @return true if prepared successfully, false if the dependency turned the transaction down
+     * @throws com.chainsea.healthcheck.health.DependencyUnavailableException if the dependency cannot be reached
      */
     boolean prepare(String transactionId, String taskId, List<String> serviceNames);
 
@@ -23,7 +24,8 @@ public interface TwoPhaseCommitParticipant {
      * Phase 2: Commit - Actually commit the changes.
      *
      * @param transactionId the transaction ID
-     * @return true if committed successfully, false otherwise
+     * @return true if committed successfully, false if the dependency turned the transaction down
+     * @throws com.chainsea.healthcheck.health.DependencyUnavailableException if the dependency cannot be reached
      */
     boolean commit(String transactionId);
 
@@ -33,4 +35,11 @@ public interface TwoPhaseCommitParticipant {
      * @param transactionId the transaction ID
      */
     void rollback(String transactionId);
+
+    /**
+     * Name of the dependency this participant writes to, as used by its health indicator and circuit breaker.
+     *
+     * @return dependency name
+     */
+    String getDependencyName();
 }
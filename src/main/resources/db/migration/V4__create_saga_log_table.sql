@@ -0,0 +1,18 @@
+-- Append-only execution log for sagas, used to resume or compensate sagas after a crash
+CREATE TABLE saga_log (
+    id BIGSERIAL PRIMARY KEY,
+    saga_id VARCHAR(64) NOT NULL,
+    step_name VARCHAR(64),
+    event VARCHAR(32) NOT NULL,
+    payload TEXT,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_saga_log_saga_id ON saga_log(saga_id, id);
+
+-- Recovery scans for started sagas, compaction for finished ones
+CREATE INDEX idx_saga_log_started ON saga_log(created_at) WHERE event = 'SAGA_STARTED';
+CREATE INDEX idx_saga_log_finished ON saga_log(created_at) WHERE event IN ('SAGA_COMPLETED', 'SAGA_COMPENSATED');
+
+-- Only one instance may recover a given saga
+CREATE UNIQUE INDEX uq_saga_log_recovery ON saga_log(saga_id) WHERE event = 'RECOVERY_STARTED';
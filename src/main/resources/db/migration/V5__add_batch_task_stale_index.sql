@@ -0,0 +1,4 @@
+-- Partial index for the stale task reaper: only in-doubt rows are indexed, so it stays small
+-- and supports keyset pagination by id without scanning completed tasks
+CREATE INDEX IF NOT EXISTS idx_batch_task_in_doubt ON batch_health_check_tasks(id, created_at)
+    WHERE status IN ('PREPARED', 'RESERVED');
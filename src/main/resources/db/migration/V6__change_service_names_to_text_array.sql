@@ -0,0 +1,10 @@
+-- Store service names as text[] instead of comma-separated TEXT
+-- Names containing commas no longer break, and a GIN index makes "tasks including service X" an index lookup
+ALTER TABLE batch_health_check_tasks
+ALTER COLUMN service_names TYPE TEXT[]
+USING CASE
+    WHEN service_names = '' THEN '{}'::TEXT[]
+    ELSE string_to_array(service_names, ',')
+END;
+
+CREATE INDEX IF NOT EXISTS idx_batch_task_service_names ON batch_health_check_tasks USING GIN (service_names);
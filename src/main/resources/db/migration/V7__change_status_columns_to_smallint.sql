@@ -0,0 +1,29 @@
+-- Store statuses as SMALLINT codes instead of free-form strings
+-- Codes match HealthStatus and TaskStatus; existing indexes on status are rebuilt by the type change
+ALTER TABLE health_check_records
+ALTER COLUMN status TYPE SMALLINT
+USING CASE status
+    WHEN 'UP' THEN 0
+    WHEN 'DOWN' THEN 1
+    WHEN 'DEGRADED' THEN 2
+    ELSE 3
+END;
+
+-- The partial index predicate compares status to text, so it is recreated against the codes
+DROP INDEX IF EXISTS idx_batch_task_in_doubt;
+
+ALTER TABLE batch_health_check_tasks
+ALTER COLUMN status TYPE SMALLINT
+USING CASE status
+    WHEN 'PENDING' THEN 0
+    WHEN 'PROCESSING' THEN 1
+    WHEN 'PREPARED' THEN 2
+    WHEN 'RESERVED' THEN 3
+    WHEN 'COMPLETED' THEN 4
+    WHEN 'FAILED' THEN 5
+    WHEN 'CANCELLED' THEN 6
+END;
+
+-- PREPARED = 2, RESERVED = 3
+CREATE INDEX IF NOT EXISTS idx_batch_task_in_doubt ON batch_health_check_tasks(id, created_at)
+    WHERE status IN (2, 3);
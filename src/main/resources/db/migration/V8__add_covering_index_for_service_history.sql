@@ -0,0 +1,13 @@
+-- Index health_check_records for the queries the application actually runs
+-- Per-service history pages and the latest result per service filter on service_name and read
+-- checked_at DESC: one range scan with no sort, and the summary projection (id, status,
+-- response_time_ms) is answered from the index alone
+CREATE INDEX IF NOT EXISTS idx_health_check_records_service_checked_at
+    ON health_check_records (service_name, checked_at DESC) INCLUDE (id, status, response_time_ms);
+
+-- service_name is the leading column of the covering index, and status alone is too unselective
+-- to be chosen by the planner. idx_health_check_records_checked_at stays: paged time windows across
+-- all services stop after one page when read in checked_at order, which a BRIN index cannot do.
+-- idx_health_check_records_service_status stays for per-service failure counts.
+DROP INDEX IF EXISTS idx_health_check_records_service_name;
+DROP INDEX IF EXISTS idx_health_check_records_status;
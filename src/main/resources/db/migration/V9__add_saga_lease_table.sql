@@ -0,0 +1,12 @@
+-- Leases on sagas being run or recovered. A lease names its holder and expires, so a saga whose
+-- holder crashed is taken over once the lease runs out instead of being claimed forever
+CREATE TABLE saga_lease (
+    saga_id VARCHAR(64) PRIMARY KEY,
+    owner VARCHAR(255) NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_saga_lease_expires_at ON saga_lease(expires_at);
+
+-- RECOVERY_STARTED is now recorded on every claim, and an expired claim may be claimed again
+DROP INDEX IF EXISTS uq_saga_log_recovery;
@@ -0,0 +1,81 @@
+package com.chainsea.healthcheck.cluster;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ClusterMembershipTest {
+
+    private static final List<String> SERVICES = IntStream.range(0, 100).mapToObj(i -> "service-" + i).toList();
+
+    private ZSetOperations<String, String> zSetOps;
+    private ClusterMembership membership;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        zSetOps = mock(ZSetOperations.class);
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOps);
+        membership = new ClusterMembership(redisTemplate, mock(TaskScheduler.class), true, "node-a", 5000, 15000, 64);
+    }
+
+    @Test
+    void shouldOwnOnlyItsShareGivenOtherLiveMembersWhenHeartbeating() {
+        // Given
+        when(zSetOps.rangeByScore(eq(ClusterMembership.MEMBERS_KEY), anyDouble(), anyDouble()))
+                .thenReturn(Set.of("node-a", "node-b", "node-c"));
+
+        // When
+        membership.heartbeat();
+
+        // Then
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("node-a", "node-b", "node-c"), 64);
+        assertThat(membership.getMembers()).containsExactlyInAnyOrder("node-a", "node-b", "node-c");
+        assertThat(SERVICES).allSatisfy(service ->
+                assertThat(membership.isOwner(service)).isEqualTo("node-a".equals(ring.ownerOf(service))));
+        assertThat(SERVICES.stream().filter(membership::isOwner).count()).isBetween(1L, 99L);
+    }
+
+    @Test
+    void shouldOwnEveryServiceGivenRedisFailureWhenHeartbeating() {
+        // Given - the ring first has other members, then Redis goes away
+        when(zSetOps.rangeByScore(eq(ClusterMembership.MEMBERS_KEY), anyDouble(), anyDouble()))
+                .thenReturn(Set.of("node-a", "node-b"));
+        membership.heartbeat();
+        when(zSetOps.add(anyString(), anyString(), anyDouble())).thenThrow(new RuntimeException("Redis unavailable"));
+
+        // When
+        membership.heartbeat();
+
+        // Then
+        assertThat(membership.getMembers()).containsExactly("node-a");
+        assertThat(SERVICES).allSatisfy(service -> assertThat(membership.isOwner(service)).isTrue());
+    }
+
+    @Test
+    void shouldOwnEveryServiceGivenClusteringDisabledWhenCheckingOwnership() {
+        // Given
+        ClusterMembership standalone = new ClusterMembership(mock(StringRedisTemplate.class), mock(TaskScheduler.class),
+                false, "", 5000, 15000, 64);
+
+        // When
+        standalone.start();
+
+        // Then
+        assertThat(SERVICES).allSatisfy(service -> assertThat(standalone.isOwner(service)).isTrue());
+    }
+}
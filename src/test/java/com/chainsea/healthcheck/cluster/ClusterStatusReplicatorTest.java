@@ -0,0 +1,141 @@
+package com.chainsea.healthcheck.cluster;
+
+import com.chainsea.healthcheck.config.RegisteredService;
+import com.chainsea.healthcheck.config.ServiceRegistry;
+import com.chainsea.healthcheck.health.CircuitBreakerRegistry;
+import com.chainsea.healthcheck.health.HealthStatusCache;
+import com.chainsea.healthcheck.health.HealthStatusTransition;
+import com.chainsea.healthcheck.model.HealthStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ClusterStatusReplicatorTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private ClusterMembership clusterMembership;
+    private HealthStatusCache healthStatusCache;
+    private CircuitBreakerRegistry circuitBreakers;
+    private StringRedisTemplate redisTemplate;
+    private HashOperations<String, Object, Object> hashOps;
+    private ClusterStatusReplicator replicator;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        clusterMembership = mock(ClusterMembership.class);
+        when(clusterMembership.getInstanceId()).thenReturn("node-a");
+        when(clusterMembership.isOwner(anyString())).thenReturn(true);
+        healthStatusCache = new HealthStatusCache(event -> { }, 1, 1, 60000, 4);
+        circuitBreakers = new CircuitBreakerRegistry(3, 60000);
+        ServiceRegistry serviceRegistry = mock(ServiceRegistry.class);
+        when(serviceRegistry.getService("postgres")).thenReturn(Optional.of(new RegisteredService("postgres", 5000L, true)));
+        redisTemplate = mock(StringRedisTemplate.class);
+        hashOps = mock(HashOperations.class);
+        when(redisTemplate.<Object, Object>opsForHash()).thenReturn(hashOps);
+        replicator = new ClusterStatusReplicator(clusterMembership, healthStatusCache, circuitBreakers, serviceRegistry,
+                redisTemplate, objectMapper, Runnable::run);
+    }
+
+    private DefaultMessage message(String origin, String serviceName, HealthStatus status, Instant time) throws Exception {
+        String json = objectMapper.writeValueAsString(new ClusterStatusReplicator.ReplicatedStatus(origin, serviceName, status, time));
+        return new DefaultMessage(ClusterStatusReplicator.CHANNEL.getBytes(StandardCharsets.UTF_8), json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldKeepNewestStatusGivenOutOfOrderUpdatesWhenMergingRemoteStatus() throws Exception {
+        // Given
+        Instant now = Instant.now();
+
+        // When - the older update arrives last
+        replicator.onMessage(message("node-b", "redis", HealthStatus.DOWN, now), null);
+        replicator.onMessage(message("node-c", "redis", HealthStatus.UP, now.minusSeconds(5)), null);
+
+        // Then
+        assertThat(healthStatusCache.getAllCachedHealths().get("redis"))
+                .isEqualTo(new HealthStatusCache.CachedHealth(HealthStatus.DOWN, now));
+    }
+
+    @Test
+    void shouldReplicateOnlyLocalTransitionsGivenLocalAndRemoteTransitionsWhenPublishing() {
+        // Given
+        Instant now = Instant.now();
+
+        // When
+        replicator.onTransition(new HealthStatusTransition("postgres", HealthStatus.UP, HealthStatus.DOWN, now));
+        replicator.onTransition(new HealthStatusTransition("redis", null, HealthStatus.UP, now, true));
+
+        // Then
+        verify(hashOps, times(1)).put(eq(ClusterStatusReplicator.SNAPSHOT_KEY), eq("postgres"), anyString());
+        verify(redisTemplate, times(1)).convertAndSend(eq(ClusterStatusReplicator.CHANNEL), anyString());
+        verify(hashOps, never()).put(eq(ClusterStatusReplicator.SNAPSHOT_KEY), eq("redis"), anyString());
+    }
+
+    @Test
+    void shouldWarmCacheWithoutOpeningBreakersGivenSnapshotWhenStarting() throws Exception {
+        // Given
+        Instant time = Instant.now().minusSeconds(30);
+        when(hashOps.entries(ClusterStatusReplicator.SNAPSHOT_KEY)).thenReturn(Map.of(
+                "postgres", objectMapper.writeValueAsString(new ClusterStatusReplicator.ReplicatedStatus("node-b", "postgres", HealthStatus.DOWN, time)),
+                "redis", objectMapper.writeValueAsString(new ClusterStatusReplicator.ReplicatedStatus("node-b", "redis", HealthStatus.UP, time))));
+
+        // When
+        replicator.loadSnapshot();
+
+        // Then
+        assertThat(healthStatusCache.getAllCachedHealths()).containsOnlyKeys("postgres", "redis");
+        assertThat(healthStatusCache.getAllCachedHealths().get("postgres").status()).isEqualTo(HealthStatus.DOWN);
+        assertThat(circuitBreakers.getState("postgres")).isEqualTo(CircuitBreakerRegistry.State.CLOSED);
+    }
+
+    @Test
+    void shouldOpenLocalBreakerGivenDownFromOwnerWhenServiceOwnedElsewhere() throws Exception {
+        // Given
+        when(clusterMembership.isOwner("postgres")).thenReturn(false);
+
+        // When
+        replicator.onMessage(message("node-b", "postgres", HealthStatus.DOWN, Instant.now()), null);
+        replicator.onMessage(message("node-a", "redis", HealthStatus.DOWN, Instant.now()), null);
+
+        // Then - the instance's own echo is ignored
+        assertThat(circuitBreakers.getState("postgres")).isEqualTo(CircuitBreakerRegistry.State.OPEN);
+        assertThat(healthStatusCache.getAllCachedHealths()).containsOnlyKeys("postgres");
+    }
+
+    @Test
+    void shouldLeaveRedisWritesToExecutorGivenLocalTransitionWhenPublishing() {
+        // Given
+        List<Runnable> writes = new ArrayList<>();
+        ClusterStatusReplicator deferred = new ClusterStatusReplicator(clusterMembership, healthStatusCache, circuitBreakers,
+                mock(ServiceRegistry.class), redisTemplate, objectMapper, writes::add);
+
+        // When
+        deferred.onTransition(new HealthStatusTransition("postgres", HealthStatus.UP, HealthStatus.DOWN, Instant.now()));
+
+        // Then - nothing is written on the publishing thread
+        verifyNoInteractions(redisTemplate);
+        writes.forEach(Runnable::run);
+        verify(hashOps).put(eq(ClusterStatusReplicator.SNAPSHOT_KEY), eq("postgres"), anyString());
+        verify(redisTemplate).convertAndSend(eq(ClusterStatusReplicator.CHANNEL), anyString());
+    }
+}
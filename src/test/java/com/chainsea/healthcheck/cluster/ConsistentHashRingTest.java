@@ -0,0 +1,56 @@
+package com.chainsea.healthcheck.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConsistentHashRingTest {
+
+    private static final List<String> SERVICES = IntStream.range(0, 3000).mapToObj(i -> "service-" + i).toList();
+
+    @Test
+    void shouldSpreadServicesEvenlyGivenThreeMembersWhenAssigningOwners() {
+        // Given
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("a", "b", "c"), 64);
+
+        // When
+        Map<String, Integer> owned = new HashMap<>();
+        SERVICES.forEach(service -> owned.merge(ring.ownerOf(service), 1, Integer::sum));
+
+        // Then - every member owns roughly a third
+        assertThat(owned).containsOnlyKeys("a", "b", "c");
+        assertThat(owned.values()).allSatisfy(count -> assertThat(count).isBetween(700, 1300));
+    }
+
+    @Test
+    void shouldOnlyMoveServicesToNewMemberGivenJoiningMemberWhenRebuildingRing() {
+        // Given
+        ConsistentHashRing before = new ConsistentHashRing(List.of("a", "b", "c"), 64);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("a", "b", "c", "d"), 64);
+
+        // When
+        List<String> moved = SERVICES.stream()
+                .filter(service -> !before.ownerOf(service).equals(after.ownerOf(service)))
+                .toList();
+
+        // Then - moved services all go to the new member, about a quarter of them
+        assertThat(moved).allSatisfy(service -> assertThat(after.ownerOf(service)).isEqualTo("d"));
+        assertThat(moved.size()).isBetween(450, 1050);
+    }
+
+    @Test
+    void shouldAgreeOnOwnersGivenMembersInAnyOrderWhenBuildingRing() {
+        // Given
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("a", "b", "c"), 64);
+        ConsistentHashRing reordered = new ConsistentHashRing(List.of("c", "a", "b"), 64);
+
+        // When / Then
+        assertThat(SERVICES).allSatisfy(service -> assertThat(reordered.ownerOf(service)).isEqualTo(ring.ownerOf(service)));
+        assertThat(new ConsistentHashRing(List.of(), 64).ownerOf("postgres")).isNull();
+    }
+}
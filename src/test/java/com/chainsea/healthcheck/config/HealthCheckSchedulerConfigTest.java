@@ -0,0 +1,165 @@
+package com.chainsea.healthcheck.config;
+
+import com.chainsea.healthcheck.cluster.ClusterMembership;
+import com.chainsea.healthcheck.health.CircuitBreakerRegistry;
+import com.chainsea.healthcheck.health.HealthStatusCache;
+import com.chainsea.healthcheck.health.LatencyTracker;
+import com.chainsea.healthcheck.health.RecentHealthHistory;
+import com.chainsea.healthcheck.model.HealthStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HealthCheckSchedulerConfigTest {
+
+    private ServiceRegistry serviceRegistry;
+    private HealthStatusCache healthStatusCache;
+    private LatencyTracker latencyTracker;
+    private RecentHealthHistory recentHealthHistory;
+    private TaskScheduler taskScheduler;
+    private ScheduledFuture<?> postgresFuture;
+    private ScheduledFuture<?> redisFuture;
+    private HealthCheckSchedulerConfig config;
+
+    @BeforeEach
+    void setUp() {
+        serviceRegistry = mock(ServiceRegistry.class);
+        healthStatusCache = new HealthStatusCache(event -> { }, 1, 1, 60000, 4);
+        taskScheduler = mock(TaskScheduler.class);
+        postgresFuture = mock(ScheduledFuture.class);
+        redisFuture = mock(ScheduledFuture.class);
+        HealthIndicator healthIndicator = () -> Health.up().build();
+        when(serviceRegistry.getHealthIndicator(any())).thenReturn(Optional.of(healthIndicator));
+        when(serviceRegistry.getServices()).thenReturn(List.of(
+                new RegisteredService("postgres", 5000L, true), new RegisteredService("redis", 5000L, true)));
+        when(serviceRegistry.getService("postgres")).thenReturn(Optional.of(new RegisteredService("postgres", 5000L, true)));
+        when(serviceRegistry.getService("redis")).thenReturn(Optional.of(new RegisteredService("redis", 5000L, true)));
+        doReturn(postgresFuture, redisFuture).when(taskScheduler).scheduleWithFixedDelay(any(Runnable.class), any(Instant.class), eq(Duration.ofMillis(5000)));
+        latencyTracker = latencyTracker();
+        recentHealthHistory = new RecentHealthHistory(16, 10);
+        config = new HealthCheckSchedulerConfig(serviceRegistry, healthStatusCache, recentHealthHistory, latencyTracker,
+                new CircuitBreakerRegistry(3, 30000),
+                clusterMembership(), taskScheduler, 3000);
+        config.createSchedulers();
+    }
+
+    private LatencyTracker latencyTracker() {
+        return new LatencyTracker(taskScheduler, new SimpleMeterRegistry(), 100, 1000, 10);
+    }
+
+    private ClusterMembership clusterMembership() {
+        return new ClusterMembership(mock(StringRedisTemplate.class), taskScheduler, false, "", 5000, 15000, 64);
+    }
+
+    @Test
+    void shouldRescheduleOnlyChangedServiceGivenNewIntervalWhenRegistryChanges() {
+        // Given
+        RegisteredService changed = new RegisteredService("postgres", 1000L, true);
+        when(serviceRegistry.getService("postgres")).thenReturn(Optional.of(changed));
+
+        // When
+        config.onServiceRegistryChange(new ServiceRegistryEvent("postgres", new RegisteredService("postgres", 5000L, true), changed));
+
+        // Then
+        verify(postgresFuture).cancel(false);
+        verify(redisFuture, never()).cancel(false);
+        verify(taskScheduler).scheduleWithFixedDelay(any(Runnable.class), any(Instant.class), eq(Duration.ofMillis(1000)));
+    }
+
+    @Test
+    void shouldKeepSchedulerGivenOnlyCriticalityChangedWhenRegistryChanges() {
+        // Given
+        RegisteredService changed = new RegisteredService("postgres", 5000L, false);
+        when(serviceRegistry.getService("postgres")).thenReturn(Optional.of(changed));
+
+        // When
+        config.onServiceRegistryChange(new ServiceRegistryEvent("postgres", new RegisteredService("postgres", 5000L, true), changed));
+
+        // Then
+        verify(postgresFuture, never()).cancel(false);
+        verify(taskScheduler, times(2)).scheduleWithFixedDelay(any(Runnable.class), any(Instant.class), any(Duration.class));
+    }
+
+    @Test
+    void shouldStopSchedulerAndForgetStatusGivenRemovedServiceWhenRegistryChanges() {
+        // Given
+        when(serviceRegistry.getService("redis")).thenReturn(Optional.empty());
+
+        // When
+        config.onServiceRegistryChange(new ServiceRegistryEvent("redis", new RegisteredService("redis", 5000L, true), null));
+        // A probe that was still in flight
+        latencyTracker.record("redis", 10);
+
+        // Then
+        verify(redisFuture).cancel(false);
+        verify(postgresFuture, never()).cancel(false);
+        assertThat(healthStatusCache.getAllCachedHealths()).containsOnlyKeys("postgres");
+        assertThat(latencyTracker.getSummary("redis")).isEmpty();
+        assertThat(latencyTracker.getSummary("postgres")).isPresent();
+        assertThat(recentHealthHistory.getRecent("redis", 10)).isEmpty();
+        assertThat(recentHealthHistory.getRecent("postgres", 10)).isNotEmpty();
+    }
+
+    @Test
+    void shouldCheckAllServicesFirstGivenFastIndicatorsWhenCreatingSchedulers() {
+        // Then - both first checks completed before startup went on
+        assertThat(healthStatusCache.getAllCachedHealths()).containsOnlyKeys("postgres", "redis");
+        assertThat(healthStatusCache.getAllCachedHealths().values())
+                .allSatisfy(health -> assertThat(health.status()).isEqualTo(HealthStatus.UP));
+    }
+
+    @Test
+    void shouldReportUnknownAfterDeadlineGivenHangingIndicatorWhenCreatingSchedulers() {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        HealthIndicator hanging = () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Health.up().build();
+        };
+        doReturn(Optional.of(hanging)).when(serviceRegistry).getHealthIndicator("postgres");
+        HealthStatusCache startupCache = new HealthStatusCache(event -> { }, 1, 1, 60000, 4);
+        HealthCheckSchedulerConfig startupConfig = new HealthCheckSchedulerConfig(serviceRegistry, startupCache,
+                new RecentHealthHistory(16, 10), latencyTracker(), new CircuitBreakerRegistry(3, 30000), clusterMembership(), taskScheduler, 200);
+
+        try {
+            // When
+            long startTime = System.nanoTime();
+            startupConfig.createSchedulers();
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+
+            // Then
+            assertThat(elapsedMs).isLessThan(2000);
+            assertThat(startupCache.getAllCachedHealths().get("postgres").status()).isEqualTo(HealthStatus.UNKNOWN);
+            assertThat(startupCache.getAllCachedHealths().get("redis").status()).isEqualTo(HealthStatus.UP);
+        } finally {
+            release.countDown();
+            startupConfig.destroySchedulers();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.chainsea.healthcheck.config;
+
+import com.chainsea.healthcheck.cluster.ClusterMembership;
+import com.chainsea.healthcheck.health.CircuitBreakerRegistry;
+import com.chainsea.healthcheck.health.HealthStatusCache;
+import com.chainsea.healthcheck.health.LatencyTracker;
+import com.chainsea.healthcheck.health.RecentHealthHistory;
+import com.chainsea.healthcheck.model.HealthStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class ServiceHealthCheckSchedulerTest {
+
+    private final Queue<Health> results = new ArrayDeque<>();
+    private HealthStatusCache healthStatusCache;
+    private CircuitBreakerRegistry circuitBreakers;
+    private LatencyTracker latencyTracker;
+    private ServiceHealthCheckScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        TaskScheduler taskScheduler = mock(TaskScheduler.class);
+        healthStatusCache = new HealthStatusCache(event -> { }, 2, 2, 60000, 4);
+        circuitBreakers = new CircuitBreakerRegistry(3, 100);
+        latencyTracker = new LatencyTracker(taskScheduler, new SimpleMeterRegistry(), 100, 1000, 10);
+        HealthIndicator healthIndicator = results::remove;
+        scheduler = new ServiceHealthCheckScheduler("postgres", healthIndicator, healthStatusCache,
+                new RecentHealthHistory(16, 10), latencyTracker, circuitBreakers,
+                new ClusterMembership(mock(StringRedisTemplate.class), taskScheduler, false, "", 5000, 15000, 64),
+                5000, taskScheduler);
+    }
+
+    @Test
+    void shouldKeepCircuitClosedGivenSingleFailedProbeOfUpServiceWhenChecking() {
+        // Given
+        results.addAll(List.of(Health.up().build(), Health.down().build()));
+
+        // When
+        scheduler.checkNow();
+        scheduler.checkNow();
+
+        // Then
+        assertThat(healthStatusCache.getAllCachedHealths().get("postgres").status()).isEqualTo(HealthStatus.UP);
+        assertThat(circuitBreakers.getState("postgres")).isEqualTo(CircuitBreakerRegistry.State.CLOSED);
+    }
+
+    @Test
+    void shouldOpenCircuitGivenConfirmedFailureWhenChecking() {
+        // Given
+        results.addAll(List.of(Health.up().build(), Health.down().build(), Health.down().build()));
+
+        // When
+        scheduler.checkNow();
+        scheduler.checkNow();
+        scheduler.checkNow();
+
+        // Then
+        assertThat(healthStatusCache.getAllCachedHealths().get("postgres").status()).isEqualTo(HealthStatus.DOWN);
+        assertThat(circuitBreakers.getState("postgres")).isEqualTo(CircuitBreakerRegistry.State.OPEN);
+    }
+
+    @Test
+    void shouldReopenCircuitGivenFailedHalfOpenTrialOfCachedUpServiceWhenChecking() throws InterruptedException {
+        // Given - the service is cached UP, but failed transaction calls opened its circuit
+        results.addAll(List.of(Health.up().build(), Health.down().build()));
+        scheduler.checkNow();
+        openByFailedCalls();
+
+        // When
+        scheduler.checkNow();
+
+        // Then - one failure keeps the cached status, but the trial still failed
+        assertThat(healthStatusCache.getAllCachedHealths().get("postgres").status()).isEqualTo(HealthStatus.UP);
+        assertThat(circuitBreakers.getState("postgres")).isEqualTo(CircuitBreakerRegistry.State.OPEN);
+    }
+
+    @Test
+    void shouldCloseCircuitGivenSuccessfulHalfOpenTrialWhenChecking() throws InterruptedException {
+        // Given
+        results.addAll(List.of(Health.up().build(), Health.up().build()));
+        scheduler.checkNow();
+        openByFailedCalls();
+
+        // When
+        scheduler.checkNow();
+
+        // Then
+        assertThat(circuitBreakers.getState("postgres")).isEqualTo(CircuitBreakerRegistry.State.CLOSED);
+    }
+
+    @Test
+    void shouldNotRecordLatencyGivenFailedProbesWhenChecking() {
+        // Given
+        results.addAll(List.of(Health.down().build(), Health.down().build()));
+
+        // When
+        scheduler.checkNow();
+        scheduler.checkNow();
+
+        // Then
+        assertThat(latencyTracker.getSummary("postgres")).isEmpty();
+    }
+
+    private void openByFailedCalls() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            circuitBreakers.recordResult("postgres", false);
+        }
+        assertThat(circuitBreakers.getState("postgres")).isEqualTo(CircuitBreakerRegistry.State.OPEN);
+        // Past the open duration, so the next check runs as the half-open trial
+        Thread.sleep(150);
+    }
+}
@@ -0,0 +1,110 @@
+package com.chainsea.healthcheck.config;
+
+import com.chainsea.healthcheck.health.ReadinessHealthIndicator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class ServiceRegistryTest {
+
+    private ApplicationContext applicationContext;
+    private ApplicationEventPublisher eventPublisher;
+    private ServiceRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        applicationContext = mock(ApplicationContext.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        HealthIndicator healthIndicator = () -> Health.up().build();
+        doThrow(new NoSuchBeanDefinitionException("unknown"))
+                .when(applicationContext).getBean(anyString(), eq(HealthIndicator.class));
+        doReturn(healthIndicator).when(applicationContext).getBean("postgres", HealthIndicator.class);
+        doReturn(healthIndicator).when(applicationContext).getBean("mongodb", HealthIndicator.class);
+        doReturn(new ReadinessHealthIndicator(null, null))
+                .when(applicationContext).getBean("degradedReadiness", HealthIndicator.class);
+        HealthCheckProperties properties = new HealthCheckProperties(
+                List.of(new ServiceConfig("postgres", 5000L)), List.of(new ServiceConfig("rabbitmq", 10000L)), null, null);
+        registry = new ServiceRegistry(properties, applicationContext, eventPublisher);
+    }
+
+    @Test
+    void shouldSeedServicesGivenConfiguredPropertiesWhenCreated() {
+        // When
+        Optional<RegisteredService> postgres = registry.getService("postgres");
+        Optional<RegisteredService> rabbitmq = registry.getService("rabbitmq");
+
+        // Then
+        assertThat(postgres).contains(new RegisteredService("postgres", 5000L, true));
+        assertThat(rabbitmq).contains(new RegisteredService("rabbitmq", 10000L, false));
+        assertThat(registry.getServices()).hasSize(2);
+    }
+
+    @Test
+    void shouldPublishChangeGivenNewIntervalWhenRegistering() {
+        // Given
+        RegisteredService changed = new RegisteredService("postgres", 1000L, true);
+
+        // When
+        Optional<RegisteredService> registered = registry.register(changed);
+
+        // Then
+        assertThat(registered).contains(changed);
+        assertThat(registry.getService("postgres")).contains(changed);
+        verify(eventPublisher).publishEvent(new ServiceRegistryEvent("postgres",
+                new RegisteredService("postgres", 5000L, true), changed));
+    }
+
+    @Test
+    void shouldNotPublishGivenUnchangedRegistrationWhenRegistering() {
+        // When
+        registry.register(new RegisteredService("postgres", 5000L, true));
+
+        // Then
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void shouldRejectGivenUnknownHealthIndicatorOrReadinessWhenRegistering() {
+        // When
+        Optional<RegisteredService> unknown = registry.register(new RegisteredService("unknown", 5000L, false));
+        Optional<RegisteredService> readiness = registry.register(new RegisteredService("degradedReadiness", 5000L, false));
+        Optional<RegisteredService> invalidInterval = registry.register(new RegisteredService("mongodb", 0L, false));
+
+        // Then
+        assertThat(unknown).isEmpty();
+        assertThat(readiness).isEmpty();
+        assertThat(invalidInterval).isEmpty();
+        assertThat(registry.getServices()).extracting(RegisteredService::name).containsExactlyInAnyOrder("postgres", "rabbitmq");
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void shouldPublishRemovalGivenRegisteredServiceWhenDeregistering() {
+        // When
+        Optional<RegisteredService> removed = registry.deregister("rabbitmq");
+        Optional<RegisteredService> missing = registry.deregister("rabbitmq");
+
+        // Then
+        assertThat(removed).contains(new RegisteredService("rabbitmq", 10000L, false));
+        assertThat(missing).isEmpty();
+        assertThat(registry.getService("rabbitmq")).isEmpty();
+        verify(eventPublisher).publishEvent(new ServiceRegistryEvent("rabbitmq", removed.get(), null));
+    }
+}
@@ -2,21 +2,28 @@ package com.chainsea.healthcheck.controller;
 
 import com.chainsea.healthcheck.controller.dto.HealthCheckRequest;
 import com.chainsea.healthcheck.model.HealthCheckRecord;
+import com.chainsea.healthcheck.model.HealthCheckSummary;
+import com.chainsea.healthcheck.model.HealthStatus;
 import com.chainsea.healthcheck.service.HealthCheckService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.net.URI;
 import java.net.URL;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -40,7 +47,7 @@ class HealthCheckControllerTest {
         URL url = URI.create("http://example.com/health").toURL();
         HealthCheckRequest request = new HealthCheckRequest("test-service", url);
         Map<String, Object> details = Map.of("message", "OK");
-        HealthCheckRecord healthCheckRecord = new HealthCheckRecord("test-service", "UP", details, 100L);
+        HealthCheckRecord healthCheckRecord = new HealthCheckRecord("test-service", HealthStatus.UP, details, 100L);
         healthCheckRecord.setId(1L);
         when(healthCheckService.check("test-service", url)).thenReturn(healthCheckRecord);
 
@@ -100,7 +107,7 @@ class HealthCheckControllerTest {
         // Given
         Long id = 1L;
         Map<String, Object> details = Map.of("message", "OK");
-        HealthCheckRecord healthCheckRecord = new HealthCheckRecord("test-service", "UP", details, 100L);
+        HealthCheckRecord healthCheckRecord = new HealthCheckRecord("test-service", HealthStatus.UP, details, 100L);
         healthCheckRecord.setId(id);
         when(healthCheckService.getHealthCheckById(id)).thenReturn(Optional.of(healthCheckRecord));
 
@@ -131,11 +138,11 @@ class HealthCheckControllerTest {
         // Given
         String serviceName = "test-service";
         int hours = 24;
-        List<HealthCheckRecord> history = List.of(
-                new HealthCheckRecord(serviceName, "UP", Map.of("status", "OK"), 100L),
-                new HealthCheckRecord(serviceName, "DOWN", Map.of("status", "Error"), 200L)
+        List<HealthCheckSummary> history = List.of(
+                new HealthCheckSummary(2L, serviceName, HealthStatus.UP, LocalDateTime.now(), 100L),
+                new HealthCheckSummary(1L, serviceName, HealthStatus.DOWN, LocalDateTime.now(), 200L)
         );
-        when(healthCheckService.getHealthChecks(serviceName, hours)).thenReturn(history);
+        when(healthCheckService.getHealthChecks(serviceName, hours, 0, 50, HealthCheckSummary.class)).thenReturn(new SliceImpl<>(history));
 
         // When & Then
         mockMvc.perform(get("/api/health-checks")
@@ -153,8 +160,8 @@ class HealthCheckControllerTest {
         // Given
         String serviceName = "test-service";
         int hours = 12;
-        List<HealthCheckRecord> history = List.of(new HealthCheckRecord(serviceName, "UP", Map.of("status", "OK"), 100L));
-        when(healthCheckService.getHealthChecks(serviceName, hours)).thenReturn(history);
+        List<HealthCheckSummary> history = List.of(new HealthCheckSummary(1L, serviceName, HealthStatus.UP, LocalDateTime.now(), 100L));
+        when(healthCheckService.getHealthChecks(serviceName, hours, 0, 50, HealthCheckSummary.class)).thenReturn(new SliceImpl<>(history));
 
         // When & Then
         mockMvc.perform(get("/api/health-checks")
@@ -170,11 +177,11 @@ class HealthCheckControllerTest {
     @Test
     void shouldReturnHealthChecksGivenHoursFilterWhenGettingHealthChecks() throws Exception {
         // Given
-        List<HealthCheckRecord> recent = List.of(
-                new HealthCheckRecord("service1", "UP", Map.of("message", "OK"), 100L),
-                new HealthCheckRecord("service2", "DOWN", Map.of("message", "Error"), 200L)
+        List<HealthCheckSummary> recent = List.of(
+                new HealthCheckSummary(2L, "service1", HealthStatus.UP, LocalDateTime.now(), 100L),
+                new HealthCheckSummary(1L, "service2", HealthStatus.DOWN, LocalDateTime.now(), 200L)
         );
-        when(healthCheckService.getHealthChecks(24)).thenReturn(recent);
+        when(healthCheckService.getHealthChecks(24, 0, 50, HealthCheckSummary.class)).thenReturn(new SliceImpl<>(recent));
 
         // When & Then
         mockMvc.perform(get("/api/health-checks")
@@ -189,8 +196,8 @@ class HealthCheckControllerTest {
     @Test
     void shouldReturnHealthChecksGivenNoParametersWhenGettingHealthChecks() throws Exception {
         // Given
-        List<HealthCheckRecord> recent = List.of();
-        when(healthCheckService.getHealthChecks(24)).thenReturn(recent);
+        List<HealthCheckSummary> recent = List.of();
+        when(healthCheckService.getHealthChecks(24, 0, 50, HealthCheckSummary.class)).thenReturn(new SliceImpl<>(recent));
 
         // When & Then
         mockMvc.perform(get("/api/health-checks"))
@@ -199,4 +206,39 @@ class HealthCheckControllerTest {
                 // Empty collection may not have _embedded field
                 .andExpect(jsonPath("$._embedded").doesNotExist());
     }
+
+    @Test
+    void shouldReturnDetailsAndNextLinkGivenDetailsIncludedWhenGettingHealthChecks() throws Exception {
+        // Given
+        List<HealthCheckRecord> recent = List.of(
+                new HealthCheckRecord("service1", HealthStatus.UP, Map.of("message", "OK"), 100L),
+                new HealthCheckRecord("service2", HealthStatus.DOWN, Map.of("message", "Error"), 200L)
+        );
+        when(healthCheckService.getHealthChecks(24, 0, 2, HealthCheckRecord.class))
+                .thenReturn(new SliceImpl<>(recent, PageRequest.of(0, 2), true));
+
+        // When & Then
+        mockMvc.perform(get("/api/health-checks")
+                        .param("size", "2")
+                        .param("details", "include"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.healthChecks[0].details.message").value("OK"))
+                .andExpect(jsonPath("$._embedded.healthChecks[1].details.message").value("Error"))
+                .andExpect(jsonPath("$._links.next.href").value(containsString("page=1")))
+                .andExpect(jsonPath("$._links.prev").doesNotExist());
+    }
+
+    @Test
+    void shouldOmitDetailsGivenDefaultParametersWhenGettingHealthChecks() throws Exception {
+        // Given
+        List<HealthCheckSummary> recent = List.of(new HealthCheckSummary(1L, "service1", HealthStatus.UP, LocalDateTime.now(), 100L));
+        when(healthCheckService.getHealthChecks(24, 0, 50, HealthCheckSummary.class)).thenReturn(new SliceImpl<>(recent));
+
+        // When & Then
+        mockMvc.perform(get("/api/health-checks"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.healthChecks[0].status").value("UP"))
+                .andExpect(jsonPath("$._embedded.healthChecks[0].details").doesNotExist())
+                .andExpect(jsonPath("$._embedded.healthChecks[0]._links.self.href").value(endsWith("/api/health-checks/1")));
+    }
 }
@@ -1,13 +1,23 @@
 package com.chainsea.healthcheck.controller;
 
+import com.chainsea.healthcheck.health.HealthHistoryEntry;
+import com.chainsea.healthcheck.health.HealthSparkline;
+import com.chainsea.healthcheck.health.LatencyPercentiles;
+import com.chainsea.healthcheck.health.LatencySummary;
 import com.chainsea.healthcheck.model.HealthCheckRecord;
+import com.chainsea.healthcheck.model.HealthCheckSummary;
+import com.chainsea.healthcheck.model.HealthStatus;
 import com.chainsea.healthcheck.service.HealthCheckService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -30,11 +40,11 @@ class ServiceHealthCheckControllerTest {
     void shouldReturnServiceHealthChecksGivenServiceNameWhenGettingServiceHealthChecks() throws Exception {
         // Given
         String serviceName = "test-service";
-        List<HealthCheckRecord> history = List.of(
-                new HealthCheckRecord(serviceName, "UP", Map.of("status", "OK"), 100L),
-                new HealthCheckRecord(serviceName, "DOWN", Map.of("status", "Error"), 200L)
+        List<HealthCheckSummary> history = List.of(
+                new HealthCheckSummary(2L, serviceName, HealthStatus.UP, LocalDateTime.now(), 100L),
+                new HealthCheckSummary(1L, serviceName, HealthStatus.DOWN, LocalDateTime.now(), 200L)
         );
-        when(healthCheckService.getHealthChecks(serviceName)).thenReturn(history);
+        when(healthCheckService.getHealthChecks(serviceName, 0, 50, HealthCheckSummary.class)).thenReturn(new SliceImpl<>(history));
 
         // When & Then
         mockMvc.perform(get("/api/services/{serviceName}/health-checks", serviceName))
@@ -52,7 +62,7 @@ class ServiceHealthCheckControllerTest {
     void shouldReturnLatestHealthCheckGivenServiceNameWhenGettingLatestServiceHealthCheck() throws Exception {
         // Given
         String serviceName = "test-service";
-        HealthCheckRecord latest = new HealthCheckRecord(serviceName, "UP", Map.of("message", "OK"), 100L);
+        HealthCheckRecord latest = new HealthCheckRecord(serviceName, HealthStatus.UP, Map.of("message", "OK"), 100L);
         when(healthCheckService.getLatestHealthCheck(serviceName)).thenReturn(Optional.of(latest));
 
         // When & Then
@@ -80,9 +90,11 @@ class ServiceHealthCheckControllerTest {
     void shouldReturnServiceStatsGivenServiceNameWhenGettingServiceStats() throws Exception {
         // Given
         String serviceName = "test-service";
-        HealthCheckRecord latest = new HealthCheckRecord(serviceName, "UP", Map.of("message", "OK"), 100L);
+        HealthCheckRecord latest = new HealthCheckRecord(serviceName, HealthStatus.UP, Map.of("message", "OK"), 100L);
         when(healthCheckService.getFailureCount(serviceName)).thenReturn(5L);
         when(healthCheckService.getLatestHealthCheck(serviceName)).thenReturn(Optional.of(latest));
+        when(healthCheckService.getLatency(serviceName)).thenReturn(Optional.of(new LatencySummary(
+                Map.of("5m", new LatencyPercentiles(60, 40, 80, 120, 150)), 1000, false)));
 
         // When & Then
         mockMvc.perform(get("/api/services/{serviceName}/stats", serviceName))
@@ -91,8 +103,69 @@ class ServiceHealthCheckControllerTest {
                 .andExpect(jsonPath("$.failureCount").value(5))
                 .andExpect(jsonPath("$.latestStatus").value("UP"))
                 .andExpect(jsonPath("$.hasRecords").value(true))
+                .andExpect(jsonPath("$.latency.windows.5m.p99").value(120))
+                .andExpect(jsonPath("$.latency.sloBreached").value(false))
                 .andExpect(jsonPath("$._links.self.href").exists())
                 .andExpect(jsonPath("$._links.health-checks.href").exists())
                 .andExpect(jsonPath("$._links.latest.href").exists());
     }
+
+    @Test
+    void shouldReturnRecentHealthChecksGivenLimitWhenGettingRecentServiceHealthChecks() throws Exception {
+        // Given
+        String serviceName = "test-service";
+        Instant now = Instant.now();
+        List<HealthHistoryEntry> recent = List.of(
+                new HealthHistoryEntry(HealthStatus.DOWN, now, 200L),
+                new HealthHistoryEntry(HealthStatus.UP, now.minusSeconds(5), 100L)
+        );
+        when(healthCheckService.getRecentHealthChecks(serviceName, 2)).thenReturn(recent);
+
+        // When & Then
+        mockMvc.perform(get("/api/services/{serviceName}/health-checks/recent", serviceName).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.recentHealthChecks[0].status").value("DOWN"))
+                .andExpect(jsonPath("$._embedded.recentHealthChecks[0].responseTimeMs").value(200))
+                .andExpect(jsonPath("$._embedded.recentHealthChecks[1].status").value("UP"))
+                .andExpect(jsonPath("$._links.self.href").exists())
+                .andExpect(jsonPath("$._links.sparkline.href").exists());
+    }
+
+    @Test
+    void shouldReturnSparklineGivenDefaultPointsWhenGettingServiceSparkline() throws Exception {
+        // Given
+        String serviceName = "test-service";
+        Instant now = Instant.now();
+        HealthSparkline sparkline = new HealthSparkline(serviceName, now.minusSeconds(5), now,
+                List.of(HealthStatus.UP, HealthStatus.DOWN), new long[]{100L, 200L});
+        when(healthCheckService.getSparkline(serviceName, 60)).thenReturn(sparkline);
+
+        // When & Then
+        mockMvc.perform(get("/api/services/{serviceName}/health-checks/sparkline", serviceName))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.serviceName").value(serviceName))
+                .andExpect(jsonPath("$.statuses[0]").value("UP"))
+                .andExpect(jsonPath("$.statuses[1]").value("DOWN"))
+                .andExpect(jsonPath("$.responseTimesMs[1]").value(200))
+                .andExpect(jsonPath("$._links.recent.href").exists());
+    }
+
+    @Test
+    void shouldReturnPageWithNavigationLinksGivenMiddlePageWhenGettingServiceHealthChecks() throws Exception {
+        // Given
+        String serviceName = "test-service";
+        List<HealthCheckRecord> history = List.of(new HealthCheckRecord(serviceName, HealthStatus.UP, Map.of("status", "OK"), 100L));
+        when(healthCheckService.getHealthChecks(serviceName, 1, 1, HealthCheckRecord.class))
+                .thenReturn(new SliceImpl<>(history, PageRequest.of(1, 1), true));
+
+        // When & Then
+        mockMvc.perform(get("/api/services/{serviceName}/health-checks", serviceName)
+                        .param("page", "1")
+                        .param("size", "1")
+                        .param("details", "include"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.healthChecks[0].details.status").value("OK"))
+                .andExpect(jsonPath("$._links.next.href").exists())
+                .andExpect(jsonPath("$._links.prev.href").exists());
+    }
 }
@@ -0,0 +1,115 @@
+package com.chainsea.healthcheck.health;
+
+import com.chainsea.healthcheck.model.HealthStatus;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerRegistryTest {
+
+    @Test
+    void shouldFailFastAndSkipProbesGivenDownProbeWhenCheckingCircuit() {
+        // Given
+        CircuitBreakerRegistry circuitBreakers = new CircuitBreakerRegistry(3, 60000);
+
+        // When
+        circuitBreakers.recordProbe("postgres", HealthStatus.DOWN);
+
+        // Then
+        assertThat(circuitBreakers.getState("postgres")).isEqualTo(CircuitBreakerRegistry.State.OPEN);
+        assertThat(circuitBreakers.allowRequest("postgres")).isFalse();
+        assertThat(circuitBreakers.tryAcquireProbe("postgres")).isFalse();
+        assertThat(circuitBreakers.allowRequest("redis")).isTrue();
+    }
+
+    @Test
+    void shouldOpenOnlyAfterConsecutiveFailuresGivenParticipantResultsWhenRecording() {
+        // Given
+        CircuitBreakerRegistry circuitBreakers = new CircuitBreakerRegistry(3, 60000);
+
+        // When - a success in between resets the count
+        circuitBreakers.recordResult("redis", false);
+        circuitBreakers.recordResult("redis", false);
+        circuitBreakers.recordResult("redis", true);
+        circuitBreakers.recordResult("redis", false);
+        circuitBreakers.recordResult("redis", false);
+        boolean allowedBeforeThreshold = circuitBreakers.allowRequest("redis");
+        circuitBreakers.recordResult("redis", false);
+
+        // Then
+        assertThat(allowedBeforeThreshold).isTrue();
+        assertThat(circuitBreakers.allowRequest("redis")).isFalse();
+    }
+
+    @Test
+    void shouldProbeHalfOpenAndCloseGivenElapsedOpenDurationWhenDependencyRecovers() throws Exception {
+        // Given
+        CircuitBreakerRegistry circuitBreakers = new CircuitBreakerRegistry(3, 200);
+        circuitBreakers.recordProbe("mongodb", HealthStatus.DOWN);
+        Thread.sleep(250);
+
+        // When
+        boolean probeAllowed = circuitBreakers.tryAcquireProbe("mongodb");
+        CircuitBreakerRegistry.State halfOpen = circuitBreakers.getState("mongodb");
+        boolean requestAllowedWhileHalfOpen = circuitBreakers.allowRequest("mongodb");
+        circuitBreakers.recordProbe("mongodb", HealthStatus.UP);
+
+        // Then
+        assertThat(probeAllowed).isTrue();
+        assertThat(halfOpen).isEqualTo(CircuitBreakerRegistry.State.HALF_OPEN);
+        assertThat(requestAllowedWhileHalfOpen).isFalse();
+        assertThat(circuitBreakers.getState("mongodb")).isEqualTo(CircuitBreakerRegistry.State.CLOSED);
+        assertThat(circuitBreakers.allowRequest("mongodb")).isTrue();
+    }
+
+    @Test
+    void shouldReopenGivenHalfOpenProbeStillDownWhenRecordingProbe() {
+        // Given
+        CircuitBreakerRegistry circuitBreakers = new CircuitBreakerRegistry(3, 0);
+        circuitBreakers.recordProbe("rabbitmq", HealthStatus.DOWN);
+        circuitBreakers.tryAcquireProbe("rabbitmq");
+
+        // When
+        circuitBreakers.recordProbe("rabbitmq", HealthStatus.DOWN);
+
+        // Then
+        assertThat(circuitBreakers.getState("rabbitmq")).isEqualTo(CircuitBreakerRegistry.State.OPEN);
+    }
+
+    @Test
+    void shouldLetSingleTrialCallThroughGivenElapsedOpenDurationWhenCircuitIsOpen() throws Exception {
+        // Given
+        CircuitBreakerRegistry circuitBreakers = new CircuitBreakerRegistry(1, 200);
+        circuitBreakers.recordResult("postgres", false);
+        boolean allowedWhileOpen = circuitBreakers.allowRequest("postgres");
+        Thread.sleep(250);
+
+        // When
+        boolean trialAllowed = circuitBreakers.allowRequest("postgres");
+        boolean secondAllowed = circuitBreakers.allowRequest("postgres");
+        CircuitBreakerRegistry.State duringTrial = circuitBreakers.getState("postgres");
+        circuitBreakers.recordResult("postgres", true);
+
+        // Then
+        assertThat(allowedWhileOpen).isFalse();
+        assertThat(trialAllowed).isTrue();
+        assertThat(secondAllowed).isFalse();
+        assertThat(duringTrial).isEqualTo(CircuitBreakerRegistry.State.HALF_OPEN);
+        assertThat(circuitBreakers.getState("postgres")).isEqualTo(CircuitBreakerRegistry.State.CLOSED);
+        assertThat(circuitBreakers.allowRequest("postgres")).isTrue();
+    }
+
+    @Test
+    void shouldReopenGivenUnreachableTrialCallWhenRecordingResult() {
+        // Given
+        CircuitBreakerRegistry circuitBreakers = new CircuitBreakerRegistry(3, 0);
+        circuitBreakers.recordProbe("redis", HealthStatus.DOWN);
+        circuitBreakers.allowRequest("redis");
+
+        // When
+        circuitBreakers.recordResult("redis", false);
+
+        // Then
+        assertThat(circuitBreakers.getState("redis")).isEqualTo(CircuitBreakerRegistry.State.OPEN);
+    }
+}
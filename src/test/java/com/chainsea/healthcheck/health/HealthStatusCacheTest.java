@@ -0,0 +1,95 @@
+package com.chainsea.healthcheck.health;
+
+import com.chainsea.healthcheck.model.HealthStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HealthStatusCacheTest {
+
+    private final List<HealthStatusTransition> transitions = new ArrayList<>();
+
+    private HealthStatusCache cache(int failureThreshold, int successThreshold, long flapWindowMs, int flapThreshold) {
+        return new HealthStatusCache(event -> transitions.add((HealthStatusTransition) event),
+                failureThreshold, successThreshold, flapWindowMs, flapThreshold);
+    }
+
+    private static HealthStatus statusOf(HealthStatusCache cache, String serviceName) {
+        return cache.getAllCachedHealths().get(serviceName).status();
+    }
+
+    @Test
+    void shouldStayUpUntilConsecutiveFailuresGivenSingleFailedProbeWhenUpdating() {
+        // Given
+        HealthStatusCache cache = cache(3, 2, 60000, 10);
+        cache.updateHealth("redis", Health.up().build());
+
+        // When - a single failure in between resets the streak
+        cache.updateHealth("redis", Health.down().build());
+        cache.updateHealth("redis", Health.up().build());
+        cache.updateHealth("redis", Health.down().build());
+        cache.updateHealth("redis", Health.down().build());
+        HealthStatus beforeThreshold = statusOf(cache, "redis");
+        cache.updateHealth("redis", Health.down().build());
+
+        // Then
+        assertThat(beforeThreshold).isEqualTo(HealthStatus.UP);
+        assertThat(statusOf(cache, "redis")).isEqualTo(HealthStatus.DOWN);
+        assertThat(transitions).extracting(HealthStatusTransition::status).containsExactly(HealthStatus.UP, HealthStatus.DOWN);
+    }
+
+    @Test
+    void shouldRecoverOnlyAfterConsecutiveSuccessesGivenDownServiceWhenUpdating() {
+        // Given - the first result is taken as is
+        HealthStatusCache cache = cache(3, 2, 60000, 10);
+        cache.updateHealth("postgres", Health.down().build());
+
+        // When
+        cache.updateHealth("postgres", Health.up().build());
+        HealthStatus afterOneSuccess = statusOf(cache, "postgres");
+        cache.updateHealth("postgres", Health.up().build());
+
+        // Then
+        assertThat(afterOneSuccess).isEqualTo(HealthStatus.DOWN);
+        assertThat(statusOf(cache, "postgres")).isEqualTo(HealthStatus.UP);
+    }
+
+    @Test
+    void shouldReportFlappingGivenFrequentStatusChangesWhenUpdating() {
+        // Given
+        HealthStatusCache cache = cache(3, 3, 60000, 4);
+        cache.updateHealth("rabbitmq", Health.up().build());
+
+        // When - four changes within the window, none long enough to change the status
+        for (int i = 0; i < 2; i++) {
+            cache.updateHealth("rabbitmq", Health.down().build());
+            cache.updateHealth("rabbitmq", Health.up().build());
+        }
+
+        // Then
+        HealthStatusCache.CachedHealth cached = cache.getAllCachedHealths().get("rabbitmq");
+        assertThat(cached.status()).isEqualTo(HealthStatus.UP);
+        assertThat(cached.flapping()).isTrue();
+        assertThat(transitions).hasSize(1);
+    }
+
+    @Test
+    void shouldNotReportFlappingGivenChangesOutsideWindowWhenUpdating() throws Exception {
+        // Given
+        HealthStatusCache cache = cache(1, 1, 50, 2);
+        cache.updateHealth("mongodb", Health.up().build());
+        cache.updateHealth("mongodb", Health.down().build());
+
+        // When
+        Thread.sleep(100);
+        cache.updateHealth("mongodb", Health.up().build());
+
+        // Then
+        assertThat(cache.getAllCachedHealths().get("mongodb").flapping()).isFalse();
+        assertThat(statusOf(cache, "mongodb")).isEqualTo(HealthStatus.UP);
+    }
+}
@@ -0,0 +1,79 @@
+package com.chainsea.healthcheck.health;
+
+import com.chainsea.healthcheck.model.HealthStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class HealthStatusSnapshotTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private HealthStatusSnapshot snapshot(HealthStatusCache healthStatusCache, long maxAgeMs) {
+        return new HealthStatusSnapshot(healthStatusCache, mock(TaskScheduler.class), tempDir.resolve("status.snapshot"), 5000, maxAgeMs);
+    }
+
+    @Test
+    void shouldRestoreStaleStatusesGivenSavedSnapshotWhenStarting() {
+        // Given
+        HealthStatusCache before = new HealthStatusCache(event -> { }, 1, 1, 60000, 4);
+        before.updateHealth("postgres", Health.up().build());
+        before.updateHealth("rabbitmq", Health.down().build());
+        Instant savedAt = before.getAllCachedHealths().get("postgres").lastUpdateTime().truncatedTo(ChronoUnit.MILLIS);
+        snapshot(before, 600000).save();
+
+        // When
+        HealthStatusCache after = new HealthStatusCache(event -> { }, 1, 1, 60000, 4);
+        int restored = snapshot(after, 600000).load();
+
+        // Then
+        assertThat(restored).isEqualTo(2);
+        assertThat(after.getAllCachedHealths().get("postgres"))
+                .isEqualTo(new HealthStatusCache.CachedHealth(HealthStatus.UP, savedAt, true));
+        assertThat(after.getAllCachedHealths().get("rabbitmq").status()).isEqualTo(HealthStatus.DOWN);
+        assertThat(tempDir.resolve("status.snapshot.tmp")).doesNotExist();
+    }
+
+    @Test
+    void shouldKeepProbedStatusAndSkipExpiredEntriesGivenSnapshotWhenRestoring() {
+        // Given
+        HealthStatusCache before = new HealthStatusCache(event -> { }, 1, 1, 60000, 4);
+        before.applyRemote("postgres", HealthStatus.DOWN, Instant.now());
+        before.applyRemote("mongodb", HealthStatus.UP, Instant.now().minusSeconds(3600));
+        snapshot(before, 600000).save();
+        HealthStatusCache after = new HealthStatusCache(event -> { }, 1, 1, 60000, 4);
+        after.updateHealth("postgres", Health.up().build());
+
+        // When
+        int restored = snapshot(after, 600000).load();
+
+        // Then - postgres was already probed, mongodb is older than the max age
+        assertThat(restored).isZero();
+        assertThat(after.getAllCachedHealths()).containsOnlyKeys("postgres");
+        assertThat(after.getAllCachedHealths().get("postgres").stale()).isFalse();
+    }
+
+    @Test
+    void shouldStartEmptyGivenCorruptSnapshotWhenRestoring() throws Exception {
+        // Given
+        Files.write(tempDir.resolve("status.snapshot"), new byte[]{1, 2, 3});
+        HealthStatusCache healthStatusCache = new HealthStatusCache(event -> { }, 1, 1, 60000, 4);
+
+        // When
+        int restored = snapshot(healthStatusCache, 600000).load();
+
+        // Then
+        assertThat(restored).isZero();
+        assertThat(healthStatusCache.getAllCachedHealths()).isEmpty();
+    }
+}
@@ -0,0 +1,130 @@
+package com.chainsea.healthcheck.health;
+
+import com.chainsea.healthcheck.model.HealthStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class HealthStatusStreamTest {
+
+    private ApplicationEventPublisher eventPublisher;
+    private HealthStatusCache healthStatusCache;
+    private HealthStatusStream stream;
+
+    @BeforeEach
+    void setUp() {
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        healthStatusCache = new HealthStatusCache(eventPublisher, 1, 1, 60000, 4);
+        stream = new HealthStatusStream(healthStatusCache, Runnable::run, mock(TaskScheduler.class), 3, 3, 60000, 15000);
+    }
+
+    private static HealthStatusTransition transition(String serviceName, HealthStatus status) {
+        return new HealthStatusTransition(serviceName, null, status, Instant.now());
+    }
+
+    @Test
+    void shouldPublishOnlyStatusChangesGivenRepeatedResultsWhenUpdatingCache() {
+        // Given
+        Health up = Health.up().build();
+        Health down = Health.down().build();
+
+        // When
+        healthStatusCache.updateHealth("postgres", up);
+        healthStatusCache.updateHealth("postgres", up);
+        healthStatusCache.updateHealth("postgres", down);
+        healthStatusCache.updateHealth("postgres", down);
+
+        // Then
+        ArgumentCaptor<HealthStatusTransition> transitions = ArgumentCaptor.forClass(HealthStatusTransition.class);
+        verify(eventPublisher, times(2)).publishEvent(transitions.capture());
+        assertThat(transitions.getAllValues())
+                .extracting(HealthStatusTransition::previousStatus, HealthStatusTransition::status)
+                .containsExactly(
+                        tuple(null, HealthStatus.UP),
+                        tuple(HealthStatus.UP, HealthStatus.DOWN));
+    }
+
+    @Test
+    void shouldReplayTransitionsAfterLastEventIdGivenBufferedEventsWhenResuming() {
+        // Given
+        stream.append(transition("postgres", HealthStatus.UP));
+        stream.append(transition("redis", HealthStatus.DOWN));
+        stream.append(transition("postgres", HealthStatus.DOWN));
+
+        // When
+        List<HealthStatusStream.BufferedTransition> missed = stream.transitionsAfter(1);
+
+        // Then
+        assertThat(stream.isBuffered(1)).isTrue();
+        assertThat(missed).extracting(HealthStatusStream.BufferedTransition::id).containsExactly(2L, 3L);
+        assertThat(missed.getLast().transition().status()).isEqualTo(HealthStatus.DOWN);
+    }
+
+    @Test
+    void shouldReportGapGivenOverwrittenOrUnknownEventIdWhenResuming() {
+        // Given - buffer holds three events, five are appended
+        for (int i = 0; i < 5; i++) {
+            stream.append(transition("postgres", i % 2 == 0 ? HealthStatus.UP : HealthStatus.DOWN));
+        }
+
+        // When / Then
+        assertThat(stream.isBuffered(1)).isFalse();
+        assertThat(stream.isBuffered(2)).isTrue();
+        assertThat(stream.isBuffered(6)).isFalse();
+        assertThat(stream.transitionsAfter(2)).extracting(HealthStatusStream.BufferedTransition::id)
+                .containsExactly(3L, 4L, 5L);
+    }
+
+    @Test
+    void shouldNumberTransitionsGivenStalledDeliveryWhenPublishing() {
+        // Given - deliveries are queued but never run
+        List<Runnable> deliveries = new ArrayList<>();
+        HealthStatusStream stalled = new HealthStatusStream(healthStatusCache, deliveries::add, mock(TaskScheduler.class), 3, 3, 60000, 15000);
+
+        // When
+        stalled.onTransition(transition("postgres", HealthStatus.UP));
+        stalled.onTransition(transition("postgres", HealthStatus.DOWN));
+
+        // Then
+        assertThat(stalled.isBuffered(0)).isTrue();
+        assertThat(stalled.transitionsAfter(0)).extracting(HealthStatusStream.BufferedTransition::id).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void shouldReplaceQueuedEventsWithSnapshotGivenSlowSubscriberWhenPublishing() {
+        // Given - a subscriber whose queue is never drained
+        List<Runnable> deliveries = new ArrayList<>();
+        HealthStatusStream slowStream = new HealthStatusStream(healthStatusCache, deliveries::add, mock(TaskScheduler.class), 8, 3, 60000, 15000);
+        SseEmitter slow = slowStream.subscribe(null, null);
+
+        // When - the snapshot and two transitions fill the queue, the third overflows it
+        slowStream.onTransition(transition("postgres", HealthStatus.UP));
+        slowStream.onTransition(transition("postgres", HealthStatus.DOWN));
+        slowStream.onTransition(transition("postgres", HealthStatus.UP));
+
+        // Then
+        assertThat(deliveries).hasSize(1);
+        assertThat(slowStream.getPendingEvents(slow)).singleElement()
+                .satisfies(event -> assertThat(eventText(event)).contains("id:3", "event:snapshot"));
+    }
+
+    private static String eventText(SseEmitter.SseEventBuilder event) {
+        StringBuilder text = new StringBuilder();
+        event.build().forEach(part -> text.append(part.getData()));
+        return text.toString();
+    }
+}
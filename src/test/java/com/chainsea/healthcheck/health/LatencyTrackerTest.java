@@ -0,0 +1,148 @@
+package com.chainsea.healthcheck.health;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.scheduling.TaskScheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+
+class LatencyTrackerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private LatencyTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        tracker = new LatencyTracker(mock(TaskScheduler.class), meterRegistry, 2, 500, 10);
+    }
+
+    @Test
+    void shouldComputePercentilesPerWindowGivenRecordedLatenciesWhenTicking() {
+        // Given - 1..100ms
+        for (int i = 1; i <= 100; i++) {
+            tracker.record("postgres", i);
+        }
+
+        // When
+        tracker.tick();
+
+        // Then
+        LatencySummary summary = tracker.getSummary("postgres").orElseThrow();
+        assertThat(summary.windows()).containsOnlyKeys("1m", "5m", "1h");
+        LatencyPercentiles oneMinute = summary.windows().get("1m");
+        assertThat(oneMinute.count()).isEqualTo(100);
+        assertThat(oneMinute.p50()).isCloseTo(50, within(1L));
+        assertThat(oneMinute.p99()).isCloseTo(99, within(1L));
+        assertThat(oneMinute.max()).isCloseTo(100, within(1L));
+        assertThat(summary.windows().get("1h")).isEqualTo(oneMinute);
+        assertThat(meterRegistry.get("health.check.latency").tag("service", "postgres").tag("window", "5m").tag("statistic", "p99")
+                .gauge().value()).isCloseTo(99, within(1.0));
+    }
+
+    @Test
+    void shouldDropOldLatenciesOnlyFromShortWindowGivenElapsedTicksWhenTicking() {
+        // Given
+        for (int i = 0; i < 20; i++) {
+            tracker.record("redis", 200);
+        }
+        tracker.tick();
+
+        // When - a minute of ticks without probes
+        for (int i = 0; i < 6; i++) {
+            tracker.tick();
+        }
+
+        // Then
+        LatencySummary summary = tracker.getSummary("redis").orElseThrow();
+        assertThat(summary.windows().get("1m").count()).isZero();
+        assertThat(summary.windows().get("5m").count()).isEqualTo(20);
+        assertThat(summary.windows().get("1h").count()).isEqualTo(20);
+    }
+
+    @Test
+    void shouldReportDegradedGivenP99AboveSloWhenApplyingSlo() {
+        // Given
+        for (int i = 0; i < 20; i++) {
+            tracker.record("mongodb", 900);
+        }
+        tracker.record("rabbitmq", 900);
+        tracker.tick();
+
+        // When
+        Health mongodb = tracker.applySlo("mongodb", Health.up().withDetail("version", "8.0").build());
+        Health mongodbDown = tracker.applySlo("mongodb", Health.down().build());
+        Health rabbitmq = tracker.applySlo("rabbitmq", Health.up().build());
+
+        // Then - rabbitmq has fewer samples than required
+        assertThat(mongodb.getStatus()).isEqualTo(new Status("DEGRADED"));
+        assertThat(mongodb.getDetails()).containsKeys("version", "reason");
+        assertThat(mongodbDown.getStatus()).isEqualTo(Status.DOWN);
+        assertThat(rabbitmq.getStatus()).isEqualTo(Status.UP);
+        assertThat(tracker.getSummary("mongodb").orElseThrow().sloBreached()).isTrue();
+    }
+
+    @Test
+    void shouldIgnoreNewServicesGivenMaxServicesReachedWhenRecording() {
+        // Given
+        tracker.record("postgres", 10);
+        tracker.record("redis", 10);
+
+        // When
+        tracker.record("mongodb", 10);
+
+        // Then
+        assertThat(tracker.getSummary("mongodb")).isEmpty();
+        assertThat(tracker.getSummary("redis")).isPresent();
+    }
+
+    @Test
+    void shouldDropSummaryAndGaugesGivenRemovedServiceWhenRemoving() {
+        // Given
+        tracker.record("postgres", 10);
+        tracker.record("redis", 10);
+
+        // When
+        tracker.remove("redis");
+        tracker.record("mongodb", 10);
+
+        // Then - the slot of redis is free again
+        assertThat(tracker.getSummary("redis")).isEmpty();
+        assertThat(tracker.getSummary("mongodb")).isPresent();
+        assertThat(meterRegistry.find("health.check.latency").tag("service", "redis").meters()).isEmpty();
+        assertThat(meterRegistry.find("health.check.latency").tag("service", "mongodb").meters()).hasSize(12);
+    }
+
+    @Test
+    void shouldNotTrackServiceAgainGivenProbeFinishingAfterRemovalWhenRecording() {
+        // Given
+        tracker.record("redis", 10);
+        tracker.remove("redis");
+
+        // When - a probe that was in flight when redis was deregistered
+        tracker.record("redis", 10);
+
+        // Then
+        assertThat(tracker.getSummary("redis")).isEmpty();
+        assertThat(meterRegistry.find("health.check.latency").tag("service", "redis").meters()).isEmpty();
+    }
+
+    @Test
+    void shouldTrackServiceAgainGivenRegisteredAnewWhenRecording() {
+        // Given
+        tracker.record("redis", 10);
+        tracker.remove("redis");
+
+        // When
+        tracker.track("redis");
+        tracker.record("redis", 10);
+
+        // Then
+        assertThat(tracker.getSummary("redis")).isPresent();
+    }
+}
@@ -0,0 +1,81 @@
+package com.chainsea.healthcheck.health;
+
+import com.chainsea.healthcheck.model.HealthStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecentHealthHistoryTest {
+
+    private final Instant start = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Test
+    void shouldReturnNewestFirstGivenMoreResultsThanCapacityWhenGettingRecent() {
+        // Given
+        RecentHealthHistory history = new RecentHealthHistory(3, 10);
+        for (int i = 0; i < 5; i++) {
+            history.record("postgres", i % 2 == 0 ? HealthStatus.UP : HealthStatus.DOWN, start.plusSeconds(i), i * 10L);
+        }
+
+        // When
+        List<HealthHistoryEntry> recent = history.getRecent("postgres", 10);
+
+        // Then
+        assertThat(recent).extracting(HealthHistoryEntry::responseTimeMs).containsExactly(40L, 30L, 20L);
+        assertThat(recent).extracting(HealthHistoryEntry::status)
+                .containsExactly(HealthStatus.UP, HealthStatus.DOWN, HealthStatus.UP);
+        assertThat(recent.getFirst().checkedAt()).isEqualTo(start.plusSeconds(4));
+    }
+
+    @Test
+    void shouldReturnOldestFirstGivenPointsWhenGettingSparkline() {
+        // Given
+        RecentHealthHistory history = new RecentHealthHistory(4, 10);
+        history.record("redis", HealthStatus.UP, start, 5L);
+        history.record("redis", HealthStatus.DEGRADED, start.plusSeconds(1), 50L);
+        history.record("redis", HealthStatus.DOWN, start.plusSeconds(2), 500L);
+
+        // When
+        HealthSparkline sparkline = history.getSparkline("redis", 2);
+
+        // Then
+        assertThat(sparkline.statuses()).containsExactly(HealthStatus.DEGRADED, HealthStatus.DOWN);
+        assertThat(sparkline.responseTimesMs()).containsExactly(50L, 500L);
+        assertThat(sparkline.from()).isEqualTo(start.plusSeconds(1));
+        assertThat(sparkline.to()).isEqualTo(start.plusSeconds(2));
+    }
+
+    @Test
+    void shouldIgnoreNewServicesGivenServiceLimitReachedWhenRecording() {
+        // Given
+        RecentHealthHistory history = new RecentHealthHistory(4, 1);
+        history.record("postgres", HealthStatus.UP, start, 5L);
+
+        // When
+        history.record("unknown-service", HealthStatus.UP, start, 5L);
+        history.record("postgres", HealthStatus.DOWN, start.plusSeconds(1), 6L);
+
+        // Then
+        assertThat(history.getRecent("unknown-service", 10)).isEmpty();
+        assertThat(history.getRecent("postgres", 10)).hasSize(2);
+        assertThat(history.getSparkline("unknown-service", 10).statuses()).isEmpty();
+    }
+
+    @Test
+    void shouldFreeSlotGivenRemovedServiceWhenRecording() {
+        // Given
+        RecentHealthHistory history = new RecentHealthHistory(4, 1);
+        history.record("postgres", HealthStatus.UP, start, 5L);
+
+        // When
+        history.remove("postgres");
+        history.record("redis", HealthStatus.UP, start.plusSeconds(1), 5L);
+
+        // Then
+        assertThat(history.getRecent("postgres", 10)).isEmpty();
+        assertThat(history.getRecent("redis", 10)).hasSize(1);
+    }
+}
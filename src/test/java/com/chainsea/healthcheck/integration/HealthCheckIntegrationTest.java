@@ -1,6 +1,8 @@
 package com.chainsea.healthcheck.integration;
 
 import com.chainsea.healthcheck.model.HealthCheckRecord;
+import com.chainsea.healthcheck.model.HealthCheckSummary;
+import com.chainsea.healthcheck.model.HealthStatus;
 import com.chainsea.healthcheck.repository.HealthCheckRecordRepository;
 import com.chainsea.healthcheck.service.HealthCheckService;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,6 +10,7 @@ import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
@@ -109,7 +112,7 @@ class HealthCheckIntegrationTest {
         // Then
         assertThat(healthCheckRecord).isNotNull();
         assertThat(healthCheckRecord.getServiceName()).isEqualTo(serviceName);
-        assertThat(healthCheckRecord.getStatus()).isIn("UP", "DEGRADED", "DOWN");
+        assertThat(healthCheckRecord.getStatus()).isIn(HealthStatus.UP, HealthStatus.DEGRADED, HealthStatus.DOWN);
         assertThat(healthCheckRecord.getResponseTimeMs()).isPositive();
 
         // Verify it was saved to database
@@ -129,7 +132,7 @@ class HealthCheckIntegrationTest {
 
         // Then
         assertThat(healthCheckRecord).isNotNull();
-        assertThat(healthCheckRecord.getStatus()).isEqualTo("DOWN");
+        assertThat(healthCheckRecord.getStatus()).isEqualTo(HealthStatus.DOWN);
         assertThat(healthCheckRecord.getDetails()).isNotNull();
 
         // Verify it was saved to database
@@ -149,7 +152,7 @@ class HealthCheckIntegrationTest {
         healthCheckService.check(serviceName, healthCheckUrl);
 
         // Then - verify all records are saved
-        List<HealthCheckRecord> history = healthCheckService.getHealthChecks(serviceName);
+        List<HealthCheckRecord> history = healthCheckService.getHealthChecks(serviceName, 0, 50, HealthCheckRecord.class).getContent();
         assertThat(history).hasSize(3);
         assertThat(history.get(0).getServiceName()).isEqualTo(serviceName);
     }
@@ -177,9 +180,9 @@ class HealthCheckIntegrationTest {
         String serviceName = "test-service";
         Map<String, Object> details1 = Map.of("message", "OK");
         Map<String, Object> details2 = Map.of("message", "Error");
-        repository.save(new HealthCheckRecord(serviceName, "UP", details1, 100L));
-        repository.save(new HealthCheckRecord(serviceName, "DOWN", details2, 200L));
-        repository.save(new HealthCheckRecord(serviceName, "DOWN", details2, 300L));
+        repository.save(new HealthCheckRecord(serviceName, HealthStatus.UP, details1, 100L));
+        repository.save(new HealthCheckRecord(serviceName, HealthStatus.DOWN, details2, 200L));
+        repository.save(new HealthCheckRecord(serviceName, HealthStatus.DOWN, details2, 300L));
 
         // When
         long failureCount = healthCheckService.getFailureCount(serviceName);
@@ -193,13 +196,15 @@ class HealthCheckIntegrationTest {
         // Given
         String serviceName = "test-service";
         Map<String, Object> details = Map.of("message", "OK");
-        repository.save(new HealthCheckRecord(serviceName, "UP", details, 100L));
-        repository.save(new HealthCheckRecord(serviceName, "UP", details, 150L));
+        repository.save(new HealthCheckRecord(serviceName, HealthStatus.UP, details, 100L));
+        repository.save(new HealthCheckRecord(serviceName, HealthStatus.UP, details, 150L));
 
         // When
-        List<HealthCheckRecord> recent = healthCheckService.getHealthChecks(24);
+        Slice<HealthCheckSummary> recent = healthCheckService.getHealthChecks(24, 0, 1, HealthCheckSummary.class);
 
         // Then
-        assertThat(recent).hasSize(2);
+        assertThat(recent.getContent()).hasSize(1);
+        assertThat(recent.getContent().getFirst().serviceName()).isEqualTo(serviceName);
+        assertThat(recent.hasNext()).isTrue();
     }
 }
@@ -0,0 +1,170 @@
+package com.chainsea.healthcheck.probe;
+
+import com.chainsea.healthcheck.model.HealthStatus;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProbeEngineTest {
+
+    private HttpServer server;
+    private ProbeEngine probeEngine;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/up", exchange -> respond(exchange, 200, "{\"status\":\"UP\"}"));
+        server.createContext("/down", exchange -> respond(exchange, 503, "{\"status\":\"DOWN\"}"));
+        server.start();
+        probeEngine = new ProbeEngine(10, 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        probeEngine.stop();
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private URI url(String path) {
+        return URI.create("http://localhost:" + server.getAddress().getPort() + path);
+    }
+
+    private static ProbeTarget http(URI url, Integer expectedStatus, String expectedBody) {
+        return new ProbeTarget("orders", ProbeType.HTTP, url, expectedStatus, expectedBody, null, null, null, null);
+    }
+
+    @Test
+    void shouldReportUpGivenExpectedStatusAndBodyWhenProbingHttpTarget() {
+        // When
+        Optional<ProbeResult> result = probeEngine.probe(http(url("/up"), null, "\"UP\"")).join();
+
+        // Then
+        assertThat(result).isPresent();
+        assertThat(result.get().status()).isEqualTo(HealthStatus.UP);
+        assertThat(result.get().details()).containsEntry("statusCode", 200);
+    }
+
+    @Test
+    void shouldReportDownGivenUnexpectedStatusOrBodyWhenProbingHttpTarget() {
+        // When
+        ProbeResult unexpectedStatus = probeEngine.probe(http(url("/down"), null, null)).join().orElseThrow();
+        ProbeResult unexpectedBody = probeEngine.probe(http(url("/up"), 200, "\"DOWN\"")).join().orElseThrow();
+        ProbeResult expectedFailure = probeEngine.probe(http(url("/down"), 503, null)).join().orElseThrow();
+
+        // Then
+        assertThat(unexpectedStatus.status()).isEqualTo(HealthStatus.DOWN);
+        assertThat(unexpectedStatus.details()).containsEntry("message", "Unexpected status code");
+        assertThat(unexpectedBody.status()).isEqualTo(HealthStatus.DOWN);
+        assertThat(unexpectedBody.details()).containsEntry("message", "Unexpected response body");
+        assertThat(expectedFailure.status()).isEqualTo(HealthStatus.UP);
+    }
+
+    @Test
+    void shouldReportUpOnlyGivenListeningPortWhenProbingTcpTarget() throws IOException {
+        // Given
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        }
+
+        // When
+        ProbeResult open = probeEngine.probe(new ProbeTarget("http-port", ProbeType.TCP, null, null, null,
+                "localhost", server.getAddress().getPort(), null, null)).join().orElseThrow();
+        ProbeResult closed = probeEngine.probe(new ProbeTarget("closed-port", ProbeType.TCP, null, null, null,
+                "localhost", closedPort, null, null)).join().orElseThrow();
+
+        // Then
+        assertThat(open.status()).isEqualTo(HealthStatus.UP);
+        assertThat(closed.status()).isEqualTo(HealthStatus.DOWN);
+        assertThat(closed.details()).containsKey("error");
+    }
+
+    @Test
+    void shouldResolveLocalhostGivenDnsTargetWhenProbing() {
+        // When
+        ProbeResult result = probeEngine.probe(new ProbeTarget("localhost-dns", ProbeType.DNS, null, null, null,
+                "localhost", null, null, null)).join().orElseThrow();
+
+        // Then
+        assertThat(result.status()).isEqualTo(HealthStatus.UP);
+        assertThat(result.details()).containsKey("addresses");
+    }
+
+    @Test
+    void shouldSkipProbeGivenSaturatedEngineWhenProbing() {
+        // Given - no probe may be in flight at all
+        ProbeEngine saturated = new ProbeEngine(0, 1000);
+
+        // When
+        Optional<ProbeResult> result = saturated.probe(http(url("/up"), null, null)).join();
+
+        // Then
+        assertThat(result).isEmpty();
+        saturated.stop();
+    }
+
+    @Test
+    void shouldHoldSlotUntilCallReturnsGivenTimedOutHealthIndicatorWhenProbing() throws InterruptedException {
+        // Given - a single slot, taken by an indicator that outlives its timeout
+        ProbeEngine singleSlot = new ProbeEngine(1, 1000);
+        CountDownLatch release = new CountDownLatch(1);
+        HealthIndicator hanging = () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Health.up().build();
+        };
+        HealthIndicator healthy = () -> Health.up().build();
+
+        // When
+        ProbeResult timedOut = singleSlot.probe(hanging, 50).join().orElseThrow();
+        Optional<ProbeResult> whileHanging = singleSlot.probe(healthy, 1000).join();
+        release.countDown();
+        Optional<ProbeResult> afterReturn = Optional.empty();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (afterReturn.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            afterReturn = singleSlot.probe(healthy, 1000).join();
+        }
+
+        // Then
+        assertThat(timedOut.status()).isEqualTo(HealthStatus.DOWN);
+        assertThat(timedOut.details()).containsEntry("error", "Probe timed out");
+        assertThat(whileHanging).isEmpty();
+        assertThat(afterReturn).isPresent();
+        singleSlot.stop();
+    }
+
+    @Test
+    void shouldRejectTargetGivenMissingTypeSpecificFieldsWhenValidating() {
+        // Then
+        assertThat(http(null, null, null).isValid()).isFalse();
+        assertThat(new ProbeTarget("db", ProbeType.TCP, null, null, null, "db", null, null, null).isValid()).isFalse();
+        assertThat(new ProbeTarget("dns", ProbeType.DNS, null, null, null, "example.org", null, null, null).isValid()).isTrue();
+    }
+}
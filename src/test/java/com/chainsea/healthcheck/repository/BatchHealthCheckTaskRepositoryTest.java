@@ -0,0 +1,110 @@
+package com.chainsea.healthcheck.repository;
+
+import com.chainsea.healthcheck.model.BatchHealthCheckTask;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the native {@code text[]} containment query against the real Flyway schema, which H2 cannot
+ * express, and asserts it is served by the GIN index.
+ */
+@Tag("integration")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+@TestPropertySource(properties = {
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.flyway.enabled=true"
+})
+class BatchHealthCheckTaskRepositoryTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:18-alpine"));
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private BatchHealthCheckTaskRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldFindTasksIncludingServiceGivenTasksWithSeveralServicesWhenFindingByServiceName() {
+        // Given
+        repository.saveAll(List.of(
+                new BatchHealthCheckTask("task-1", List.of("postgres", "redis")),
+                new BatchHealthCheckTask("task-2", List.of("redis")),
+                new BatchHealthCheckTask("task-3", List.of("mongodb", "orders,payments"))));
+        repository.flush();
+
+        // When
+        List<BatchHealthCheckTask> redis = repository.findByServiceName("redis");
+        List<BatchHealthCheckTask> withComma = repository.findByServiceName("orders,payments");
+        List<BatchHealthCheckTask> partial = repository.findByServiceName("orders");
+
+        // Then
+        assertThat(redis).extracting(BatchHealthCheckTask::getTaskId).containsExactlyInAnyOrder("task-1", "task-2");
+        assertThat(withComma).singleElement()
+                .satisfies(task -> assertThat(task.getServiceNames()).containsExactly("mongodb", "orders,payments"));
+        assertThat(partial).isEmpty();
+    }
+
+    @Test
+    void shouldReadServiceNamesGivenNullElementWhenFindingByServiceName() {
+        // Given - written outside the entity, which never stores a null name
+        jdbcTemplate.update("""
+                INSERT INTO batch_health_check_tasks (task_id, service_names, status, created_at)
+                VALUES ('task-1', ARRAY['redis', NULL], 4, TIMESTAMP '2025-01-01 00:00:00')
+                """);
+
+        // When
+        List<BatchHealthCheckTask> tasks = repository.findByServiceName("redis");
+
+        // Then
+        assertThat(tasks).singleElement()
+                .satisfies(task -> assertThat(task.getServiceNames()).containsExactly("redis", null));
+    }
+
+    @Test
+    void shouldUseGinIndexGivenManyTasksWhenFindingByServiceName() {
+        // Given - 20000 tasks over 1000 services
+        jdbcTemplate.execute("""
+                INSERT INTO batch_health_check_tasks (task_id, service_names, status, created_at)
+                SELECT 'task-' || n, ARRAY['service-' || (n % 1000), 'service-' || ((n + 1) % 1000)], 4,
+                       TIMESTAMP '2025-01-01 00:00:00' + n * INTERVAL '1 second'
+                FROM generate_series(0, 19999) AS n
+                """);
+        jdbcTemplate.execute("ANALYZE batch_health_check_tasks");
+
+        // When
+        String plan = String.join("\n", jdbcTemplate.queryForList("""
+                EXPLAIN (COSTS OFF) SELECT * FROM batch_health_check_tasks
+                WHERE service_names @> ARRAY[CAST('service-42' AS TEXT)]
+                """, String.class));
+
+        // Then
+        assertThat(plan).contains("Bitmap Index Scan on idx_batch_task_service_names");
+        assertThat(repository.findByServiceName("service-42")).hasSize(40);
+    }
+}
@@ -0,0 +1,135 @@
+package com.chainsea.healthcheck.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Asserts the query plans of the hot health check queries against the real Flyway schema, so an index
+ * change that silently falls back to sequential scans or sorts fails the build.
+ * <p>
+ * 100 services with 2000 results each are inserted in checked_at order and vacuumed, so the visibility
+ * map is set and index-only scans need no heap fetches.
+ */
+@Tag("integration")
+@Testcontainers
+class HealthCheckRecordQueryPlanTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:18-alpine"));
+
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void setUp() {
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .load()
+                .migrate();
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword()));
+        jdbcTemplate.execute("""
+                INSERT INTO health_check_records (service_name, status, details, checked_at, response_time_ms)
+                SELECT 'service-' || (n % 100),
+                       CASE WHEN n % 7 = 0 THEN 1 ELSE 0 END,
+                       '{"message": "OK"}'::jsonb,
+                       TIMESTAMP '2025-01-01 00:00:00' + (n / 100) * INTERVAL '1 minute',
+                       n % 500
+                FROM generate_series(0, 199999) AS n
+                """);
+        jdbcTemplate.execute("VACUUM ANALYZE health_check_records");
+    }
+
+    private static String explain(String sql) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN (ANALYZE, COSTS OFF) " + sql, String.class));
+    }
+
+    @Test
+    void shouldUseIndexOnlyScanGivenServiceTimeWindowWhenSelectingSummaryPage() {
+        // When
+        String plan = explain("""
+                SELECT id, service_name, status, checked_at, response_time_ms FROM health_check_records
+                WHERE service_name = 'service-42' AND checked_at >= TIMESTAMP '2025-01-02 00:00:00'
+                ORDER BY checked_at DESC LIMIT 51
+                """);
+
+        // Then
+        assertThat(plan).contains("Index Only Scan using idx_health_check_records_service_checked_at");
+        assertThat(plan).contains("Heap Fetches: 0");
+        assertThat(plan).doesNotContain("Sort");
+    }
+
+    @Test
+    void shouldUseIndexOnlyScanGivenServiceWhenSelectingHistorySummaryPage() {
+        // When
+        String plan = explain("""
+                SELECT id, service_name, status, checked_at, response_time_ms FROM health_check_records
+                WHERE service_name = 'service-7'
+                ORDER BY checked_at DESC OFFSET 100 LIMIT 51
+                """);
+
+        // Then
+        assertThat(plan).contains("Index Only Scan using idx_health_check_records_service_checked_at");
+        assertThat(plan).contains("Heap Fetches: 0");
+        assertThat(plan).doesNotContain("Sort");
+    }
+
+    @Test
+    void shouldReadOneIndexEntryGivenServiceWhenSelectingLatestRecord() {
+        // When - the latest record loads the full entity including details, so the heap is read once
+        String plan = explain("""
+                SELECT * FROM health_check_records
+                WHERE service_name = 'service-42'
+                ORDER BY checked_at DESC LIMIT 1
+                """);
+
+        // Then
+        assertThat(plan).contains("Index Scan using idx_health_check_records_service_checked_at");
+        assertThat(plan).doesNotContain("Sort");
+    }
+
+    @Test
+    void shouldUseIndexOnlyScanGivenServiceAndStatusWhenCountingFailures() {
+        // When
+        String plan = explain("SELECT count(*) FROM health_check_records WHERE service_name = 'service-42' AND status = 1");
+
+        // Then
+        assertThat(plan).contains("Index Only Scan using idx_health_check_records_service_status");
+        assertThat(plan).contains("Heap Fetches: 0");
+    }
+
+    @Test
+    void shouldStopAfterOnePageGivenTimeWindowAcrossServicesWhenSelectingSummaryPage() {
+        // When
+        String plan = explain("""
+                SELECT id, service_name, status, checked_at, response_time_ms FROM health_check_records
+                WHERE checked_at >= TIMESTAMP '2025-01-01 12:00:00'
+                ORDER BY checked_at DESC LIMIT 51
+                """);
+
+        // Then
+        assertThat(plan).contains("Index Scan using idx_health_check_records_checked_at");
+        assertThat(plan).doesNotContain("Sort");
+    }
+
+    @Test
+    void shouldDropSupersededIndexesGivenMigratedSchemaWhenListingIndexes() {
+        // When
+        var indexes = jdbcTemplate.queryForList(
+                "SELECT indexname FROM pg_indexes WHERE tablename = 'health_check_records'", String.class);
+
+        // Then
+        assertThat(indexes).contains("idx_health_check_records_service_checked_at", "idx_health_check_records_service_status",
+                "idx_health_check_records_checked_at");
+        assertThat(indexes).doesNotContain("idx_health_check_records_service_name", "idx_health_check_records_status");
+    }
+}
@@ -1,10 +1,14 @@
 package com.chainsea.healthcheck.repository;
 
 import com.chainsea.healthcheck.model.HealthCheckRecord;
+import com.chainsea.healthcheck.model.HealthCheckSummary;
+import com.chainsea.healthcheck.model.HealthStatus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.test.context.TestPropertySource;
 
 import java.time.LocalDateTime;
@@ -25,6 +29,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 })
 class HealthCheckRecordRepositoryTest {
 
+    private static final PageRequest PAGE = PageRequest.of(0, 50);
+
     @Autowired
     private HealthCheckRecordRepository repository;
 
@@ -40,7 +46,7 @@ class HealthCheckRecordRepositoryTest {
     @Test
     void shouldReturnSavedRecordGivenHealthCheckRecordWhenSavingAndFinding() {
         // Given
-        HealthCheckRecord healthCheckRecord = new HealthCheckRecord("test-service", "UP", createDetails("Service is healthy"), 150L);
+        HealthCheckRecord healthCheckRecord = new HealthCheckRecord("test-service", HealthStatus.UP, createDetails("Service is healthy"), 150L);
 
         // When
         HealthCheckRecord saved = repository.save(healthCheckRecord);
@@ -49,7 +55,7 @@ class HealthCheckRecordRepositoryTest {
         // Then
         assertThat(found).isPresent();
         assertThat(found.get().getServiceName()).isEqualTo("test-service");
-        assertThat(found.get().getStatus()).isEqualTo("UP");
+        assertThat(found.get().getStatus()).isEqualTo(HealthStatus.UP);
         assertThat(found.get().getDetails()).containsEntry("message", "Service is healthy");
         assertThat(found.get().getResponseTimeMs()).isEqualTo(150L);
         assertThat(found.get().getCheckedAt()).isNotNull();
@@ -58,12 +64,12 @@ class HealthCheckRecordRepositoryTest {
     @Test
     void shouldReturnRecordsGivenServiceNameWhenFindingByServiceName() {
         // Given
-        repository.save(new HealthCheckRecord("service1", "UP", createDetails("OK"), 100L));
-        repository.save(new HealthCheckRecord("service1", "DOWN", createDetails("Error"), 200L));
-        repository.save(new HealthCheckRecord("service2", "UP", createDetails("OK"), 150L));
+        repository.save(new HealthCheckRecord("service1", HealthStatus.UP, createDetails("OK"), 100L));
+        repository.save(new HealthCheckRecord("service1", HealthStatus.DOWN, createDetails("Error"), 200L));
+        repository.save(new HealthCheckRecord("service2", HealthStatus.UP, createDetails("OK"), 150L));
 
         // When
-        List<HealthCheckRecord> service1Records = repository.findByServiceNameOrderByCheckedAtDesc("service1");
+        List<HealthCheckRecord> service1Records = repository.findByServiceNameOrderByCheckedAtDesc("service1", PAGE, HealthCheckRecord.class).getContent();
 
         // Then
         assertThat(service1Records).hasSize(2);
@@ -74,16 +80,16 @@ class HealthCheckRecordRepositoryTest {
     @Test
     void shouldReturnRecordsGivenStatusWhenFindingByStatus() {
         // Given
-        repository.save(new HealthCheckRecord("service1", "UP", createDetails("OK"), 100L));
-        repository.save(new HealthCheckRecord("service2", "DOWN", createDetails("Error"), 200L));
-        repository.save(new HealthCheckRecord("service3", "UP", createDetails("OK"), 150L));
+        repository.save(new HealthCheckRecord("service1", HealthStatus.UP, createDetails("OK"), 100L));
+        repository.save(new HealthCheckRecord("service2", HealthStatus.DOWN, createDetails("Error"), 200L));
+        repository.save(new HealthCheckRecord("service3", HealthStatus.UP, createDetails("OK"), 150L));
 
         // When
-        List<HealthCheckRecord> downRecords = repository.findByStatusOrderByCheckedAtDesc("DOWN");
+        List<HealthCheckRecord> downRecords = repository.findByStatusOrderByCheckedAtDesc(HealthStatus.DOWN, PAGE, HealthCheckRecord.class).getContent();
 
         // Then
         assertThat(downRecords).hasSize(1);
-        assertThat(downRecords.get(0).getStatus()).isEqualTo("DOWN");
+        assertThat(downRecords.get(0).getStatus()).isEqualTo(HealthStatus.DOWN);
         assertThat(downRecords.get(0).getServiceName()).isEqualTo("service2");
     }
 
@@ -91,20 +97,20 @@ class HealthCheckRecordRepositoryTest {
     void shouldReturnRecentRecordsGivenTimeWindowWhenFindingRecentRecords() {
         // Given
         LocalDateTime now = LocalDateTime.now();
-        HealthCheckRecord oldRecord = new HealthCheckRecord("service1", "UP", createDetails("OK"), 100L);
+        HealthCheckRecord oldRecord = new HealthCheckRecord("service1", HealthStatus.UP, createDetails("OK"), 100L);
         oldRecord.setCheckedAt(now.minusHours(25));
         repository.save(oldRecord);
 
-        HealthCheckRecord recentRecord1 = new HealthCheckRecord("service2", "UP", createDetails("OK"), 150L);
+        HealthCheckRecord recentRecord1 = new HealthCheckRecord("service2", HealthStatus.UP, createDetails("OK"), 150L);
         recentRecord1.setCheckedAt(now.minusHours(5));
         repository.save(recentRecord1);
 
-        HealthCheckRecord recentRecord2 = new HealthCheckRecord("service3", "DOWN", createDetails("Error"), 200L);
+        HealthCheckRecord recentRecord2 = new HealthCheckRecord("service3", HealthStatus.DOWN, createDetails("Error"), 200L);
         recentRecord2.setCheckedAt(now.minusHours(1));
         repository.save(recentRecord2);
 
         // When
-        List<HealthCheckRecord> recent = repository.findRecentRecords(now.minusHours(24));
+        List<HealthCheckRecord> recent = repository.findByCheckedAtGreaterThanEqualOrderByCheckedAtDesc(now.minusHours(24), PAGE, HealthCheckRecord.class).getContent();
 
         // Then
         assertThat(recent).hasSize(2);
@@ -115,15 +121,15 @@ class HealthCheckRecordRepositoryTest {
     @Test
     void shouldReturnLatestRecordGivenServiceNameWhenFindingLatestRecord() {
         // Given
-        HealthCheckRecord record1 = new HealthCheckRecord("service1", "UP", createDetails("OK"), 100L);
+        HealthCheckRecord record1 = new HealthCheckRecord("service1", HealthStatus.UP, createDetails("OK"), 100L);
         record1.setCheckedAt(LocalDateTime.now().minusHours(2));
         repository.save(record1);
 
-        HealthCheckRecord record2 = new HealthCheckRecord("service1", "DOWN", createDetails("Error"), 200L);
+        HealthCheckRecord record2 = new HealthCheckRecord("service1", HealthStatus.DOWN, createDetails("Error"), 200L);
         record2.setCheckedAt(LocalDateTime.now().minusHours(1));
         repository.save(record2);
 
-        HealthCheckRecord record3 = new HealthCheckRecord("service1", "UP", createDetails("OK"), 150L);
+        HealthCheckRecord record3 = new HealthCheckRecord("service1", HealthStatus.UP, createDetails("OK"), 150L);
         record3.setCheckedAt(LocalDateTime.now());
         repository.save(record3);
 
@@ -132,20 +138,20 @@ class HealthCheckRecordRepositoryTest {
 
         // Then
         assertThat(latest).isPresent();
-        assertThat(latest.get().getStatus()).isEqualTo("UP");
+        assertThat(latest.get().getStatus()).isEqualTo(HealthStatus.UP);
         assertThat(latest.get().getResponseTimeMs()).isEqualTo(150L);
     }
 
     @Test
     void shouldReturnCountGivenServiceNameAndStatusWhenCountingRecords() {
         // Given
-        repository.save(new HealthCheckRecord("service1", "UP", createDetails("OK"), 100L));
-        repository.save(new HealthCheckRecord("service1", "DOWN", createDetails("Error"), 200L));
-        repository.save(new HealthCheckRecord("service1", "DOWN", createDetails("Error"), 300L));
-        repository.save(new HealthCheckRecord("service2", "DOWN", createDetails("Error"), 400L));
+        repository.save(new HealthCheckRecord("service1", HealthStatus.UP, createDetails("OK"), 100L));
+        repository.save(new HealthCheckRecord("service1", HealthStatus.DOWN, createDetails("Error"), 200L));
+        repository.save(new HealthCheckRecord("service1", HealthStatus.DOWN, createDetails("Error"), 300L));
+        repository.save(new HealthCheckRecord("service2", HealthStatus.DOWN, createDetails("Error"), 400L));
 
         // When
-        long downCount = repository.countByServiceNameAndStatus("service1", "DOWN");
+        long downCount = repository.countByServiceNameAndStatus("service1", HealthStatus.DOWN);
 
         // Then
         assertThat(downCount).isEqualTo(2);
@@ -159,4 +165,46 @@ class HealthCheckRecordRepositoryTest {
         // Then
         assertThat(latest).isEmpty();
     }
+
+    @Test
+    void shouldReturnBoundedSliceGivenMoreRecordsThanPageSizeWhenFindingByServiceName() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 5; i++) {
+            HealthCheckRecord healthCheckRecord = new HealthCheckRecord("service1", HealthStatus.UP, createDetails("OK"), 100L + i);
+            healthCheckRecord.setCheckedAt(now.minusMinutes(i));
+            repository.save(healthCheckRecord);
+        }
+
+        // When
+        Slice<HealthCheckRecord> first = repository.findByServiceNameOrderByCheckedAtDesc("service1", PageRequest.of(0, 2), HealthCheckRecord.class);
+        Slice<HealthCheckRecord> last = repository.findByServiceNameOrderByCheckedAtDesc("service1", PageRequest.of(2, 2), HealthCheckRecord.class);
+
+        // Then
+        assertThat(first.getContent()).extracting(HealthCheckRecord::getResponseTimeMs).containsExactly(100L, 101L);
+        assertThat(first.hasNext()).isTrue();
+        assertThat(last.getContent()).extracting(HealthCheckRecord::getResponseTimeMs).containsExactly(104L);
+        assertThat(last.hasNext()).isFalse();
+    }
+
+    @Test
+    void shouldReturnSummariesWithoutDetailsGivenSummaryTypeWhenFindingByServiceNameAndTimeWindow() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        HealthCheckRecord oldRecord = new HealthCheckRecord("service1", HealthStatus.UP, createDetails("OK"), 100L);
+        oldRecord.setCheckedAt(now.minusHours(25));
+        repository.save(oldRecord);
+        HealthCheckRecord recentRecord = repository.save(new HealthCheckRecord("service1", HealthStatus.DOWN, createDetails("Error"), 200L));
+        repository.save(new HealthCheckRecord("service2", HealthStatus.UP, createDetails("OK"), 150L));
+
+        // When
+        List<HealthCheckSummary> summaries = repository.findByServiceNameAndCheckedAtGreaterThanEqualOrderByCheckedAtDesc(
+                "service1", now.minusHours(24), PAGE, HealthCheckSummary.class).getContent();
+
+        // Then
+        assertThat(summaries).hasSize(1);
+        assertThat(summaries.getFirst().id()).isEqualTo(recentRecord.getId());
+        assertThat(summaries.getFirst().status()).isEqualTo(HealthStatus.DOWN);
+        assertThat(summaries.getFirst().responseTimeMs()).isEqualTo(200L);
+    }
 }
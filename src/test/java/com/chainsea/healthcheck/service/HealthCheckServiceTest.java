@@ -1,14 +1,21 @@
 package com.chainsea.healthcheck.service;
 
+import com.chainsea.healthcheck.health.LatencyTracker;
+import com.chainsea.healthcheck.health.RecentHealthHistory;
 import com.chainsea.healthcheck.model.HealthCheckRecord;
+import com.chainsea.healthcheck.model.HealthCheckSummary;
+import com.chainsea.healthcheck.model.HealthStatus;
 import com.chainsea.healthcheck.repository.HealthCheckRecordRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestClient;
@@ -24,6 +31,8 @@ import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -42,11 +51,18 @@ class HealthCheckServiceTest {
     @Mock
     private ResponseSpec responseSpec;
 
-    @InjectMocks
+    @Mock
+    private RecentHealthHistory recentHealthHistory;
+
+    @Mock
+    private LatencyTracker latencyTracker;
+
     private HealthCheckServiceImpl healthCheckService;
 
     @BeforeEach
     void setUp() {
+        healthCheckService = new HealthCheckServiceImpl(repository, restClient, recentHealthHistory, latencyTracker, 100);
+
         // Use lenient() for stubbing that are only used in some tests
         lenient().when(restClient.get()).thenReturn(requestHeadersUriSpec);
         lenient().when(requestHeadersUriSpec.uri(any(java.net.URI.class))).thenReturn(requestHeadersUriSpec);
@@ -63,7 +79,7 @@ class HealthCheckServiceTest {
         when(responseSpec.toEntity(String.class)).thenReturn(response);
 
         Map<String, Object> details = Map.of("message", "Health check successful", "responseBody", "OK");
-        HealthCheckRecord savedRecord = new HealthCheckRecord(serviceName, "UP", details, 100L);
+        HealthCheckRecord savedRecord = new HealthCheckRecord(serviceName, HealthStatus.UP, details, 100L);
         when(repository.save(any(HealthCheckRecord.class))).thenReturn(savedRecord);
 
         // When
@@ -72,9 +88,11 @@ class HealthCheckServiceTest {
         // Then
         assertThat(result).isNotNull();
         assertThat(result.getServiceName()).isEqualTo(serviceName);
-        assertThat(result.getStatus()).isEqualTo("UP");
+        assertThat(result.getStatus()).isEqualTo(HealthStatus.UP);
         verify(repository, times(1)).save(any(HealthCheckRecord.class));
         verify(restClient, times(1)).get();
+        // On-demand checks take any service name, so they stay out of the in-memory history
+        verify(recentHealthHistory, never()).record(any(), any(), any(), anyLong());
     }
 
     @Test
@@ -87,7 +105,7 @@ class HealthCheckServiceTest {
         when(responseSpec.toEntity(String.class)).thenThrow(exception);
 
         Map<String, Object> details = Map.of("message", "Health check failed", "error", "Connection timeout");
-        HealthCheckRecord savedRecord = new HealthCheckRecord(serviceName, "DOWN", details, 50L);
+        HealthCheckRecord savedRecord = new HealthCheckRecord(serviceName, HealthStatus.DOWN, details, 50L);
         when(repository.save(any(HealthCheckRecord.class))).thenReturn(savedRecord);
 
         // When
@@ -95,7 +113,7 @@ class HealthCheckServiceTest {
 
         // Then
         assertThat(result).isNotNull();
-        assertThat(result.getStatus()).isEqualTo("DOWN");
+        assertThat(result.getStatus()).isEqualTo(HealthStatus.DOWN);
         assertThat(result.getDetails()).containsEntry("message", "Health check failed");
         verify(repository, times(1)).save(any(HealthCheckRecord.class));
     }
@@ -111,7 +129,7 @@ class HealthCheckServiceTest {
 
         ArgumentCaptor<HealthCheckRecord> recordCaptor = ArgumentCaptor.forClass(HealthCheckRecord.class);
         Map<String, Object> details = Map.of("message", "Health check returned non-OK status", "statusCode", 500);
-        HealthCheckRecord savedRecord = new HealthCheckRecord(serviceName, "DEGRADED", details, 100L);
+        HealthCheckRecord savedRecord = new HealthCheckRecord(serviceName, HealthStatus.DEGRADED, details, 100L);
         when(repository.save(recordCaptor.capture())).thenReturn(savedRecord);
 
         // When
@@ -119,7 +137,7 @@ class HealthCheckServiceTest {
 
         // Then
         assertThat(result).isNotNull();
-        assertThat(recordCaptor.getValue().getStatus()).isEqualTo("DEGRADED");
+        assertThat(recordCaptor.getValue().getStatus()).isEqualTo(HealthStatus.DEGRADED);
         assertThat(recordCaptor.getValue().getDetails()).containsEntry("statusCode", 500);
         verify(repository, times(1)).save(any(HealthCheckRecord.class));
     }
@@ -129,24 +147,25 @@ class HealthCheckServiceTest {
         // Given
         String serviceName = "test-service";
         List<HealthCheckRecord> history = List.of(
-                new HealthCheckRecord(serviceName, "UP", Map.of("message", "OK"), 100L),
-                new HealthCheckRecord(serviceName, "DOWN", Map.of("message", "Error"), 200L)
+                new HealthCheckRecord(serviceName, HealthStatus.UP, Map.of("message", "OK"), 100L),
+                new HealthCheckRecord(serviceName, HealthStatus.DOWN, Map.of("message", "Error"), 200L)
         );
-        when(repository.findByServiceNameOrderByCheckedAtDesc(serviceName)).thenReturn(history);
+        when(repository.findByServiceNameOrderByCheckedAtDesc(serviceName, PageRequest.of(0, 50), HealthCheckRecord.class))
+                .thenReturn(new SliceImpl<>(history));
 
         // When
-        List<HealthCheckRecord> result = healthCheckService.getHealthChecks(serviceName);
+        Slice<HealthCheckRecord> result = healthCheckService.getHealthChecks(serviceName, 0, 50, HealthCheckRecord.class);
 
         // Then
-        assertThat(result).hasSize(2);
-        verify(repository, times(1)).findByServiceNameOrderByCheckedAtDesc(serviceName);
+        assertThat(result.getContent()).hasSize(2);
+        verify(repository, times(1)).findByServiceNameOrderByCheckedAtDesc(serviceName, PageRequest.of(0, 50), HealthCheckRecord.class);
     }
 
     @Test
     void shouldReturnLatestHealthCheckGivenServiceNameWhenGettingLatestHealthCheck() {
         // Given
         String serviceName = "test-service";
-        HealthCheckRecord latest = new HealthCheckRecord(serviceName, "UP", Map.of("status", "OK"), 100L);
+        HealthCheckRecord latest = new HealthCheckRecord(serviceName, HealthStatus.UP, Map.of("status", "OK"), 100L);
         when(repository.findFirstByServiceNameOrderByCheckedAtDesc(serviceName)).thenReturn(Optional.of(latest));
 
         // When
@@ -154,7 +173,7 @@ class HealthCheckServiceTest {
 
         // Then
         assertThat(result).isPresent();
-        assertThat(result.get().getStatus()).isEqualTo("UP");
+        assertThat(result.get().getStatus()).isEqualTo(HealthStatus.UP);
         verify(repository, times(1)).findFirstByServiceNameOrderByCheckedAtDesc(serviceName);
     }
 
@@ -163,17 +182,18 @@ class HealthCheckServiceTest {
         // Given
         int hours = 24;
         List<HealthCheckRecord> recent = List.of(
-                new HealthCheckRecord("service1", "UP", Map.of("message", "OK"), 100L),
-                new HealthCheckRecord("service2", "DOWN", Map.of("message", "Error"), 200L)
+                new HealthCheckRecord("service1", HealthStatus.UP, Map.of("message", "OK"), 100L),
+                new HealthCheckRecord("service2", HealthStatus.DOWN, Map.of("message", "Error"), 200L)
         );
-        when(repository.findRecentRecords(any(LocalDateTime.class))).thenReturn(recent);
+        when(repository.findByCheckedAtGreaterThanEqualOrderByCheckedAtDesc(any(LocalDateTime.class), any(Pageable.class), eq(HealthCheckRecord.class)))
+                .thenReturn(new SliceImpl<>(recent));
 
         // When
-        List<HealthCheckRecord> result = healthCheckService.getHealthChecks(hours);
+        Slice<HealthCheckRecord> result = healthCheckService.getHealthChecks(hours, 0, 50, HealthCheckRecord.class);
 
         // Then
-        assertThat(result).hasSize(2);
-        verify(repository, times(1)).findRecentRecords(any(LocalDateTime.class));
+        assertThat(result.getContent()).hasSize(2);
+        verify(repository, times(1)).findByCheckedAtGreaterThanEqualOrderByCheckedAtDesc(any(LocalDateTime.class), any(Pageable.class), eq(HealthCheckRecord.class));
     }
 
     @Test
@@ -181,13 +201,27 @@ class HealthCheckServiceTest {
         // Given
         String serviceName = "test-service";
         long failureCount = 5L;
-        when(repository.countByServiceNameAndStatus(serviceName, "DOWN")).thenReturn(failureCount);
+        when(repository.countByServiceNameAndStatus(serviceName, HealthStatus.DOWN)).thenReturn(failureCount);
 
         // When
         long result = healthCheckService.getFailureCount(serviceName);
 
         // Then
         assertThat(result).isEqualTo(5L);
-        verify(repository, times(1)).countByServiceNameAndStatus(serviceName, "DOWN");
+        verify(repository, times(1)).countByServiceNameAndStatus(serviceName, HealthStatus.DOWN);
+    }
+
+    @Test
+    void shouldCapPageSizeGivenOversizedRequestWhenGettingHealthChecks() {
+        // Given - the maximum page size is 100
+        String serviceName = "test-service";
+        when(repository.findByServiceNameOrderByCheckedAtDesc(serviceName, PageRequest.of(0, 100), HealthCheckSummary.class))
+                .thenReturn(new SliceImpl<>(List.of()));
+
+        // When
+        healthCheckService.getHealthChecks(serviceName, -1, 1_000_000, HealthCheckSummary.class);
+
+        // Then
+        verify(repository, times(1)).findByServiceNameOrderByCheckedAtDesc(serviceName, PageRequest.of(0, 100), HealthCheckSummary.class);
     }
 }
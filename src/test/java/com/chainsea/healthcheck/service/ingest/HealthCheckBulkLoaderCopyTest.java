@@ -0,0 +1,149 @@
+package com.chainsea.healthcheck.service.ingest;
+
+import com.chainsea.healthcheck.model.HealthStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Loads results through the real {@code COPY} path, so the text format written by
+ * {@link HealthCheckBulkLoader#appendRow} is checked against what PostgreSQL actually parses.
+ */
+@Tag("integration")
+@Testcontainers
+class HealthCheckBulkLoaderCopyTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:18-alpine"));
+
+    private static final LocalDateTime CHECKED_AT = LocalDateTime.of(2026, 1, 1, 10, 0, 5, 123_000_000);
+
+    private static JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final CountDownLatch connectionAllowed = new CountDownLatch(1);
+    private HealthCheckBulkLoader loader;
+
+    @BeforeAll
+    static void migrate() {
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .load()
+                .migrate();
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword()));
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM health_check_records");
+        // Holds the loader thread until released, so the requests queued meanwhile share one COPY
+        DelegatingDataSource dataSource = new DelegatingDataSource(jdbcTemplate.getDataSource()) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                try {
+                    connectionAllowed.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.getConnection();
+            }
+        };
+        loader = new HealthCheckBulkLoader(dataSource, objectMapper, 20000, 100000);
+        loader.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        connectionAllowed.countDown();
+        loader.stop();
+    }
+
+    @Test
+    void shouldRoundTripValuesGivenEscapesNullDetailsAndEveryStatusWhenLoading() throws Exception {
+        // Given
+        Map<String, Object> details = new HashMap<>();
+        details.put("message", "tab\there, newline\nthere, return\r, backslash \\ and \\N");
+        details.put("path", "C:\\health\\check");
+        details.put("unicode", "健康检查 ✓");
+        List<IngestedHealthCheck> results = List.of(
+                new IngestedHealthCheck("escaped\tservice\\name\nline", HealthStatus.UP, details, CHECKED_AT, 12L),
+                new IngestedHealthCheck("null-details", HealthStatus.DOWN, null, CHECKED_AT, 0L),
+                new IngestedHealthCheck("degraded", HealthStatus.DEGRADED, Map.of(), CHECKED_AT, 3000L),
+                new IngestedHealthCheck("unknown", HealthStatus.UNKNOWN, Map.of("message", "\\N"), CHECKED_AT, 7L));
+
+        // When
+        CompletableFuture<Void> loaded = loader.submit(results).orElseThrow();
+        connectionAllowed.countDown();
+        loaded.get(5, TimeUnit.SECONDS);
+
+        // Then
+        Map<String, Object> escaped = jdbcTemplate.queryForMap(
+                "SELECT status, details::text AS details, checked_at, response_time_ms FROM health_check_records WHERE service_name = ?",
+                "escaped\tservice\\name\nline");
+        assertThat(((Number) escaped.get("status")).intValue()).isEqualTo(0);
+        assertThat(objectMapper.readValue((String) escaped.get("details"), Map.class)).isEqualTo(details);
+        assertThat(((Timestamp) escaped.get("checked_at")).toLocalDateTime()).isEqualTo(CHECKED_AT);
+        assertThat(escaped.get("response_time_ms")).isEqualTo(12L);
+
+        Map<String, Object> nullDetails = jdbcTemplate.queryForMap(
+                "SELECT status, details FROM health_check_records WHERE service_name = 'null-details'");
+        assertThat(((Number) nullDetails.get("status")).intValue()).isEqualTo(1);
+        assertThat(nullDetails.get("details")).isNull();
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT status FROM health_check_records WHERE service_name = 'degraded'", Short.class)).isEqualTo((short) 2);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT details->>'message' FROM health_check_records WHERE service_name = 'unknown'", String.class)).isEqualTo("\\N");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT status FROM health_check_records WHERE service_name = 'unknown'", Short.class)).isEqualTo((short) 3);
+    }
+
+    @Test
+    void shouldLoadOtherRequestsGivenOneRejectedRequestInSameCopyWhenLoading() throws Exception {
+        // Given - the first request holds the loader, so the next two are merged into one COPY
+        String tooLong = "x".repeat(300);
+        CompletableFuture<Void> first = loader.submit(List.of(result("first"))).orElseThrow();
+        Thread.sleep(200);
+        CompletableFuture<Void> rejected = loader.submit(List.of(result("before"), result(tooLong))).orElseThrow();
+        CompletableFuture<Void> after = loader.submit(List.of(result("after-1"), result("after-2"))).orElseThrow();
+
+        // When
+        connectionAllowed.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        after.get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(rejected).failsWithin(5, TimeUnit.SECONDS);
+        assertThat(jdbcTemplate.queryForList("SELECT service_name FROM health_check_records", String.class))
+                .containsExactlyInAnyOrder("first", "after-1", "after-2");
+    }
+
+    private static IngestedHealthCheck result(String serviceName) {
+        return new IngestedHealthCheck(serviceName, HealthStatus.UP, Map.of("message", "OK"), CHECKED_AT, 5L);
+    }
+}
@@ -0,0 +1,39 @@
+package com.chainsea.healthcheck.service.ingest;
+
+import com.chainsea.healthcheck.model.HealthStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HealthCheckBulkLoaderTest {
+
+    @Test
+    void shouldWriteTabSeparatedRowGivenResultWhenAppendingCopyRow() {
+        // Given
+        IngestedHealthCheck result = new IngestedHealthCheck("agent", HealthStatus.DOWN, null,
+                LocalDateTime.of(2026, 1, 1, 10, 0, 5), 2000L);
+        StringBuilder buffer = new StringBuilder();
+
+        // When
+        HealthCheckBulkLoader.appendRow(buffer, result, "{\"error\":\"refused\"}");
+
+        // Then
+        assertThat(buffer).hasToString("agent\t1\t{\"error\":\"refused\"}\t2026-01-01T10:00:05\t2000\n");
+    }
+
+    @Test
+    void shouldEscapeSeparatorsAndWriteNullGivenSpecialCharactersWhenAppendingCopyRow() {
+        // Given
+        IngestedHealthCheck result = new IngestedHealthCheck("a\tb\\c\nd", HealthStatus.UP, null,
+                LocalDateTime.of(2026, 1, 1, 10, 0, 5), 0L);
+        StringBuilder buffer = new StringBuilder();
+
+        // When
+        HealthCheckBulkLoader.appendRow(buffer, result, null);
+
+        // Then
+        assertThat(buffer).hasToString("a\\tb\\\\c\\nd\t0\t\\N\t2026-01-01T10:00:05\t0\n");
+    }
+}
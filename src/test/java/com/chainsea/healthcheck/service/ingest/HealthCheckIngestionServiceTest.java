@@ -0,0 +1,131 @@
+package com.chainsea.healthcheck.service.ingest;
+
+import com.chainsea.healthcheck.model.HealthStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("unchecked")
+class HealthCheckIngestionServiceTest {
+
+    private static final String UP_RESULT =
+            "{\"serviceName\":\"agent\",\"status\":\"UP\",\"checkedAt\":\"2026-01-01T10:00:00\",\"responseTimeMs\":12}";
+    private static final String DOWN_RESULT =
+            "{\"serviceName\":\"agent\",\"status\":\"DOWN\",\"details\":{\"error\":\"refused\"},\"checkedAt\":\"2026-01-01T10:00:10\",\"responseTimeMs\":2000}";
+
+    @Mock
+    private HealthCheckBulkLoader bulkLoader;
+
+    private HealthCheckIngestionService ingestionService;
+
+    @BeforeEach
+    void setUp() {
+        ingestionService = new HealthCheckIngestionService(bulkLoader, new ObjectMapper().findAndRegisterModules(),
+                Validation.buildDefaultValidatorFactory().getValidator(), 3);
+    }
+
+    @Test
+    void shouldQueueAllResultsGivenNdjsonBodyWhenIngesting() throws Exception {
+        // Given
+        when(bulkLoader.submit(any())).thenReturn(Optional.of(CompletableFuture.completedFuture(null)));
+
+        // When
+        IngestResult result = ingestionService.ingest(body(UP_RESULT + "\n" + DOWN_RESULT + "\n"));
+
+        // Then
+        assertThat(result.outcome()).isEqualTo(IngestResult.Outcome.ACCEPTED);
+        assertThat(result.accepted()).isEqualTo(2);
+        ArgumentCaptor<List<IngestedHealthCheck>> captor = ArgumentCaptor.forClass(List.class);
+        verify(bulkLoader).submit(captor.capture());
+        assertThat(captor.getValue()).containsExactly(
+                new IngestedHealthCheck("agent", HealthStatus.UP, null, LocalDateTime.of(2026, 1, 1, 10, 0, 0), 12L),
+                new IngestedHealthCheck("agent", HealthStatus.DOWN, Map.of("error", "refused"),
+                        LocalDateTime.of(2026, 1, 1, 10, 0, 10), 2000L));
+    }
+
+    @Test
+    void shouldQueueAllResultsGivenJsonArrayBodyWhenIngesting() throws Exception {
+        // Given
+        when(bulkLoader.submit(any())).thenReturn(Optional.of(CompletableFuture.completedFuture(null)));
+
+        // When
+        IngestResult result = ingestionService.ingest(body("[" + UP_RESULT + "," + DOWN_RESULT + "]"));
+
+        // Then
+        assertThat(result.outcome()).isEqualTo(IngestResult.Outcome.ACCEPTED);
+        assertThat(result.accepted()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldRejectWholeBatchGivenInvalidResultWhenIngesting() throws Exception {
+        // Given
+        String negativeResponseTime = UP_RESULT.replace("12", "-1");
+
+        // When
+        IngestResult result = ingestionService.ingest(body(UP_RESULT + "\n" + negativeResponseTime + "\n"));
+
+        // Then
+        assertThat(result.outcome()).isEqualTo(IngestResult.Outcome.INVALID);
+        assertThat(result.error()).isEqualTo("Result 1: Response time must not be negative");
+        verify(bulkLoader, never()).submit(any());
+    }
+
+    @Test
+    void shouldRejectBatchGivenMalformedJsonWhenIngesting() throws Exception {
+        // When
+        IngestResult result = ingestionService.ingest(body(UP_RESULT + "\n{\"serviceName\":"));
+
+        // Then
+        assertThat(result.outcome()).isEqualTo(IngestResult.Outcome.INVALID);
+        assertThat(result.error()).startsWith("Result 1: ");
+        verify(bulkLoader, never()).submit(any());
+    }
+
+    @Test
+    void shouldRejectBatchGivenMoreResultsThanMaxBatchSizeWhenIngesting() throws Exception {
+        // When
+        IngestResult result = ingestionService.ingest(body(String.join("\n", UP_RESULT, UP_RESULT, UP_RESULT, UP_RESULT)));
+
+        // Then
+        assertThat(result.outcome()).isEqualTo(IngestResult.Outcome.TOO_LARGE);
+        verify(bulkLoader, never()).submit(any());
+    }
+
+    @Test
+    void shouldReportBusyGivenFullLoadQueueWhenIngesting() throws Exception {
+        // Given
+        when(bulkLoader.submit(any())).thenReturn(Optional.empty());
+
+        // When
+        IngestResult result = ingestionService.ingest(body(UP_RESULT));
+
+        // Then
+        assertThat(result.outcome()).isEqualTo(IngestResult.Outcome.BUSY);
+        assertThat(result.accepted()).isZero();
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,304 @@
+package com.chainsea.healthcheck.service.messaging;
+
+import com.chainsea.healthcheck.config.HealthCheckProperties;
+import com.chainsea.healthcheck.config.RabbitMqConfig;
+import com.chainsea.healthcheck.config.ServiceRegistry;
+import com.chainsea.healthcheck.model.HealthStatus;
+import com.chainsea.healthcheck.model.MqMessageData;
+import com.chainsea.healthcheck.model.TaskStatus;
+import com.chainsea.healthcheck.probe.ProbeEngine;
+import com.chainsea.healthcheck.probe.ProbeResult;
+import com.chainsea.healthcheck.probe.ProbeTarget;
+import com.chainsea.healthcheck.probe.ProbeType;
+import com.chainsea.healthcheck.service.ingest.HealthCheckBulkLoader;
+import com.chainsea.healthcheck.service.ingest.IngestedHealthCheck;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("unchecked")
+class BatchTaskConsumerTest {
+
+    private static final ProbeTarget ORDERS = new ProbeTarget("orders", ProbeType.HTTP,
+            URI.create("http://orders/health"), null, null, null, null, null, null);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Mock
+    private ServiceRegistry serviceRegistry;
+
+    @Mock
+    private ProbeEngine probeEngine;
+
+    @Mock
+    private HealthCheckBulkLoader bulkLoader;
+
+    @Mock
+    private HealthIndicator postgresIndicator;
+
+    @Mock
+    private Channel channel;
+
+    private MqMessageDataMessageConverter messageConverter;
+
+    private BatchTaskConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        HealthCheckProperties properties = new HealthCheckProperties(null, null, null, List.of(ORDERS));
+        messageConverter = new MqMessageDataMessageConverter(new Jackson2JsonMessageConverter(), objectMapper, true);
+        consumer = new BatchTaskConsumer(properties, serviceRegistry, probeEngine, bulkLoader, messageConverter, 5000, 1, 2, 1000, 3);
+    }
+
+    @Test
+    void shouldWriteAllResultsAndAckBatchOnceGivenTasksWhenConsuming() throws Exception {
+        // Given
+        when(serviceRegistry.getHealthIndicator("postgres")).thenReturn(Optional.of(postgresIndicator));
+        when(probeEngine.probe(postgresIndicator, 5000)).thenReturn(result(HealthStatus.UP));
+        when(probeEngine.probe(ORDERS)).thenReturn(result(HealthStatus.DOWN));
+        when(bulkLoader.submit(any(), anyLong())).thenReturn(loaded());
+
+        // When
+        consumer.onTasks(List.of(
+                message(1, new MqMessageData("task-1", List.of("postgres", "orders"), TaskStatus.COMPLETED)),
+                message(2, new MqMessageData("task-2", List.of("postgres"), TaskStatus.COMPLETED))), channel);
+
+        // Then
+        ArgumentCaptor<List<IngestedHealthCheck>> captor = ArgumentCaptor.forClass(List.class);
+        verify(bulkLoader).submit(captor.capture(), anyLong());
+        assertThat(captor.getValue())
+                .extracting(IngestedHealthCheck::serviceName, IngestedHealthCheck::status, result -> result.details().get("taskId"))
+                .containsExactlyInAnyOrder(
+                        tuple("postgres", HealthStatus.UP, "task-1"),
+                        tuple("orders", HealthStatus.DOWN, "task-1"),
+                        tuple("postgres", HealthStatus.UP, "task-2"));
+        verify(channel).basicAck(2, true);
+        verify(channel, never()).basicNack(anyLong(), anyBoolean(), anyBoolean());
+    }
+
+    @Test
+    void shouldDeadLetterMessageGivenUnreadableBodyWhenConsuming() throws Exception {
+        // Given
+        when(probeEngine.probe(ORDERS)).thenReturn(result(HealthStatus.UP));
+        when(bulkLoader.submit(any(), anyLong())).thenReturn(loaded());
+        Message unreadable = new Message("not a task".getBytes(StandardCharsets.UTF_8), deliveryTag(1));
+
+        // When
+        consumer.onTasks(List.of(
+                unreadable,
+                message(2, new MqMessageData("task-2", List.of("orders"), TaskStatus.COMPLETED))), channel);
+
+        // Then
+        verify(channel).basicNack(1, false, false);
+        verify(channel).basicAck(2, true);
+    }
+
+    @Test
+    void shouldReadBothFormatsGivenBinaryAndJsonTasksWhenConsuming() throws Exception {
+        // Given
+        when(probeEngine.probe(ORDERS)).thenReturn(result(HealthStatus.UP));
+        when(bulkLoader.submit(any(), anyLong())).thenReturn(loaded());
+        Message binary = messageConverter.toMessage(new MqMessageData("task-1", List.of("orders"), TaskStatus.COMPLETED),
+                deliveryTag(1));
+
+        // When
+        consumer.onTasks(List.of(
+                binary,
+                message(2, new MqMessageData("task-2", List.of("orders"), TaskStatus.COMPLETED))), channel);
+
+        // Then
+        assertThat(binary.getMessageProperties().getContentType()).isEqualTo(MqMessageDataMessageConverter.CONTENT_TYPE);
+        ArgumentCaptor<List<IngestedHealthCheck>> captor = ArgumentCaptor.forClass(List.class);
+        verify(bulkLoader).submit(captor.capture(), anyLong());
+        assertThat(captor.getValue()).extracting(result -> result.details().get("taskId"))
+                .containsExactlyInAnyOrder("task-1", "task-2");
+        verify(channel).basicAck(2, true);
+    }
+
+    @Test
+    void shouldRecordUnknownStatusGivenServiceWithoutIndicatorOrTargetWhenConsuming() throws Exception {
+        // Given
+        when(serviceRegistry.getHealthIndicator("missing")).thenReturn(Optional.empty());
+        when(bulkLoader.submit(any(), anyLong())).thenReturn(loaded());
+
+        // When
+        consumer.onTasks(List.of(message(1, new MqMessageData("task-1", List.of("missing"), TaskStatus.COMPLETED))), channel);
+
+        // Then
+        ArgumentCaptor<List<IngestedHealthCheck>> captor = ArgumentCaptor.forClass(List.class);
+        verify(bulkLoader).submit(captor.capture(), anyLong());
+        assertThat(captor.getValue()).singleElement()
+                .extracting(IngestedHealthCheck::status)
+                .isEqualTo(HealthStatus.UNKNOWN);
+        verify(channel).basicAck(1, true);
+    }
+
+    @Test
+    void shouldRetryOnlySkippedProbesGivenBrieflySaturatedProbeEngineWhenConsuming() throws Exception {
+        // Given
+        when(serviceRegistry.getHealthIndicator("postgres")).thenReturn(Optional.of(postgresIndicator));
+        when(probeEngine.probe(postgresIndicator, 5000)).thenReturn(result(HealthStatus.UP));
+        when(probeEngine.probe(ORDERS)).thenReturn(skipped(), result(HealthStatus.DOWN));
+        when(bulkLoader.submit(any(), anyLong())).thenReturn(loaded());
+
+        // When
+        consumer.onTasks(List.of(message(1, new MqMessageData("task-1", List.of("postgres", "orders"), TaskStatus.COMPLETED))), channel);
+
+        // Then
+        verify(probeEngine, times(1)).probe(postgresIndicator, 5000);
+        verify(probeEngine, times(2)).probe(ORDERS);
+        ArgumentCaptor<List<IngestedHealthCheck>> captor = ArgumentCaptor.forClass(List.class);
+        verify(bulkLoader).submit(captor.capture(), anyLong());
+        assertThat(captor.getValue())
+                .extracting(IngestedHealthCheck::serviceName, IngestedHealthCheck::status)
+                .containsExactlyInAnyOrder(tuple("postgres", HealthStatus.UP), tuple("orders", HealthStatus.DOWN));
+        verify(channel).basicAck(1, true);
+        verify(channel, never()).basicNack(anyLong(), anyBoolean(), anyBoolean());
+    }
+
+    @Test
+    void shouldRequeueTaskGivenProbeEngineSaturatedThroughAllRetriesWhenConsuming() throws Exception {
+        // Given
+        when(probeEngine.probe(ORDERS)).thenReturn(skipped());
+
+        // When
+        consumer.onTasks(List.of(message(1, new MqMessageData("task-1", List.of("orders"), TaskStatus.COMPLETED))), channel);
+
+        // Then
+        verify(probeEngine, times(3)).probe(ORDERS);
+        verify(channel).basicNack(1, false, true);
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+        verify(bulkLoader, never()).submit(any(), anyLong());
+    }
+
+    @Test
+    void shouldRetryTasksGivenFullBulkLoaderWhenConsuming() throws Exception {
+        // Given
+        when(probeEngine.probe(ORDERS)).thenReturn(result(HealthStatus.UP));
+        when(bulkLoader.submit(any(), anyLong())).thenReturn(Optional.empty());
+
+        // When
+        consumer.onTasks(List.of(
+                message(1, new MqMessageData("task-1", List.of("orders"), TaskStatus.COMPLETED)),
+                message(2, new MqMessageData("task-2", List.of("orders"), TaskStatus.COMPLETED))), channel);
+
+        // Then
+        verify(bulkLoader).submit(any(), eq(1000L));
+        verify(channel, times(2)).basicPublish(eq(""), eq(RabbitMqConfig.QUEUE), any(AMQP.BasicProperties.class), any(byte[].class));
+        verify(channel).basicAck(1, false);
+        verify(channel).basicAck(2, false);
+        verify(channel, never()).basicNack(anyLong(), anyBoolean(), anyBoolean());
+    }
+
+    @Test
+    void shouldRetryTasksWithCountedAttemptGivenFailedLoadWhenConsuming() throws Exception {
+        // Given
+        when(probeEngine.probe(ORDERS)).thenReturn(result(HealthStatus.UP));
+        when(bulkLoader.submit(any(), anyLong()))
+                .thenReturn(Optional.of(CompletableFuture.failedFuture(new IllegalStateException("COPY failed"))));
+
+        // When
+        consumer.onTasks(List.of(
+                message(1, new MqMessageData("task-1", List.of("orders"), TaskStatus.COMPLETED)),
+                message(2, new MqMessageData("task-2", List.of("orders"), TaskStatus.COMPLETED))), channel);
+
+        // Then - the copies are published before the originals are acknowledged
+        ArgumentCaptor<AMQP.BasicProperties> properties = ArgumentCaptor.forClass(AMQP.BasicProperties.class);
+        InOrder inOrder = inOrder(channel);
+        inOrder.verify(channel).basicPublish(eq(""), eq(RabbitMqConfig.QUEUE), properties.capture(), any(byte[].class));
+        inOrder.verify(channel).basicAck(1, false);
+        assertThat(properties.getValue().getHeaders()).containsEntry(BatchTaskConsumer.LOAD_ATTEMPTS_HEADER, 1);
+        verify(channel).basicAck(2, false);
+        verify(channel, never()).basicNack(anyLong(), anyBoolean(), anyBoolean());
+    }
+
+    @Test
+    void shouldDeadLetterTaskGivenLoadAttemptsUsedUpWhenConsuming() throws Exception {
+        // Given - the task already failed to load twice, the third failure uses up max-load-attempts
+        when(probeEngine.probe(ORDERS)).thenReturn(result(HealthStatus.UP));
+        when(bulkLoader.submit(any(), anyLong()))
+                .thenReturn(Optional.of(CompletableFuture.failedFuture(new IllegalStateException("COPY failed"))));
+        Message retried = message(1, new MqMessageData("task-1", List.of("orders"), TaskStatus.COMPLETED));
+        retried.getMessageProperties().setHeader(BatchTaskConsumer.LOAD_ATTEMPTS_HEADER, 2);
+
+        // When
+        consumer.onTasks(List.of(retried), channel);
+
+        // Then
+        verify(channel).basicNack(1, false, false);
+        verify(channel, never()).basicPublish(any(), any(), any(AMQP.BasicProperties.class), any(byte[].class));
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+    }
+
+    @Test
+    void shouldAckOnlyAfterLoadGivenResultsStillBeingWrittenWhenConsuming() throws Exception {
+        // Given
+        when(probeEngine.probe(ORDERS)).thenReturn(result(HealthStatus.UP));
+        CompletableFuture<Void> loading = new CompletableFuture<>();
+        when(bulkLoader.submit(any(), anyLong())).thenReturn(Optional.of(loading));
+        CompletableFuture.delayedExecutor(200, TimeUnit.MILLISECONDS).execute(() -> loading.complete(null));
+
+        // When
+        long startTime = System.nanoTime();
+        consumer.onTasks(List.of(message(1, new MqMessageData("task-1", List.of("orders"), TaskStatus.COMPLETED))), channel);
+
+        // Then
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime)).isGreaterThanOrEqualTo(150);
+        verify(channel).basicAck(1, true);
+        verify(channel, never()).basicNack(anyLong(), anyBoolean(), anyBoolean());
+    }
+
+    private Message message(long deliveryTag, MqMessageData task) throws Exception {
+        return new Message(objectMapper.writeValueAsBytes(task), deliveryTag(deliveryTag));
+    }
+
+    private static MessageProperties deliveryTag(long deliveryTag) {
+        MessageProperties properties = new MessageProperties();
+        properties.setDeliveryTag(deliveryTag);
+        return properties;
+    }
+
+    private static Optional<CompletableFuture<Void>> loaded() {
+        return Optional.of(CompletableFuture.completedFuture(null));
+    }
+
+    private static CompletableFuture<Optional<ProbeResult>> skipped() {
+        return CompletableFuture.completedFuture(Optional.empty());
+    }
+
+    private static CompletableFuture<Optional<ProbeResult>> result(HealthStatus status) {
+        return CompletableFuture.completedFuture(Optional.of(new ProbeResult(status, 10, Map.of("message", status.name()))));
+    }
+}
@@ -0,0 +1,176 @@
+package com.chainsea.healthcheck.service.messaging;
+
+import com.chainsea.healthcheck.model.MqMessageData;
+import com.chainsea.healthcheck.model.TaskStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.ReturnedMessage;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.net.ConnectException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ConfirmedMessagePublisherTest {
+
+    private static final String EXCHANGE = "healthcheck.exchange";
+    private static final String ROUTING_KEY = "batch.task";
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    private ConfirmedMessagePublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(rabbitTemplate.invoke(any())).thenAnswer(invocation -> {
+            RabbitOperations.OperationsCallback<?> callback = invocation.getArgument(0);
+            return callback.doInRabbit(rabbitTemplate);
+        });
+        publisher = new ConfirmedMessagePublisher(rabbitTemplate, 100, 1000, 2000);
+        publisher.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        publisher.stop();
+    }
+
+    private void confirmWith(boolean ack) {
+        doAnswer(invocation -> {
+            CorrelationData correlationData = invocation.getArgument(3);
+            correlationData.getFuture().complete(new CorrelationData.Confirm(ack, ack ? null : "nack"));
+            return null;
+        }).when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(Object.class), any(CorrelationData.class));
+    }
+
+    @Test
+    void shouldReturnConfirmedGivenBrokerAckWhenPublishingAndWaiting() {
+        // Given
+        confirmWith(true);
+        MqMessageData messageData = new MqMessageData("task-1", List.of("postgres"), TaskStatus.COMPLETED);
+
+        // When
+        PublishResult result = publisher.publishAndWait(EXCHANGE, ROUTING_KEY, messageData);
+
+        // Then
+        assertThat(result).isEqualTo(PublishResult.CONFIRMED);
+        verify(rabbitTemplate).convertAndSend(anyString(), anyString(), any(Object.class), any(CorrelationData.class));
+    }
+
+    @Test
+    void shouldReturnRejectedGivenBrokerNackWhenPublishingAndWaiting() {
+        // Given
+        confirmWith(false);
+        MqMessageData messageData = new MqMessageData("task-1", List.of("postgres"), TaskStatus.COMPLETED);
+
+        // When
+        PublishResult result = publisher.publishAndWait(EXCHANGE, ROUTING_KEY, messageData);
+
+        // Then
+        assertThat(result).isEqualTo(PublishResult.REJECTED);
+    }
+
+    @Test
+    void shouldReturnRejectedGivenUnroutableMessageWhenPublishingAndWaiting() {
+        // Given - the broker returns the message before acking it
+        doAnswer(invocation -> {
+            CorrelationData correlationData = invocation.getArgument(3);
+            correlationData.setReturned(new ReturnedMessage(new Message(new byte[0]), 312, "NO_ROUTE", EXCHANGE, ROUTING_KEY));
+            correlationData.getFuture().complete(new CorrelationData.Confirm(true, null));
+            return null;
+        }).when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(Object.class), any(CorrelationData.class));
+        MqMessageData messageData = new MqMessageData("task-1", List.of("postgres"), TaskStatus.COMPLETED);
+
+        // When
+        PublishResult result = publisher.publishAndWait(EXCHANGE, ROUTING_KEY, messageData);
+
+        // Then
+        assertThat(result).isEqualTo(PublishResult.REJECTED);
+    }
+
+    @Test
+    void shouldReturnUnconfirmedGivenNoConfirmWhenPublishingAndWaiting() {
+        // Given - the send succeeds, but no confirm ever arrives
+        MqMessageData messageData = new MqMessageData("task-1", List.of("postgres"), TaskStatus.COMPLETED);
+
+        // When
+        PublishResult result = publisher.publishAndWait(EXCHANGE, ROUTING_KEY, messageData);
+
+        // Then
+        assertThat(result).isEqualTo(PublishResult.UNCONFIRMED);
+    }
+
+    @Test
+    void shouldReturnUnconfirmedGivenConnectionFailureWhenPublishingAndWaiting() {
+        // Given
+        doThrow(new AmqpConnectException(new ConnectException("Connection refused"))).when(rabbitTemplate).invoke(any());
+        MqMessageData messageData = new MqMessageData("task-1", List.of("postgres"), TaskStatus.COMPLETED);
+
+        // When
+        PublishResult result = publisher.publishAndWait(EXCHANGE, ROUTING_KEY, messageData);
+
+        // Then
+        assertThat(result).isEqualTo(PublishResult.UNCONFIRMED);
+    }
+
+    @Test
+    void shouldConfirmAllMessagesGivenManyQueuedMessagesWhenPublishing() {
+        // Given - the first send holds the flusher until every message is queued
+        int messageCount = 50;
+        CountDownLatch allQueued = new CountDownLatch(1);
+        AtomicInteger sent = new AtomicInteger();
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            if (batchSizes.isEmpty()) {
+                allQueued.await(5, TimeUnit.SECONDS);
+            }
+            RabbitOperations.OperationsCallback<?> callback = invocation.getArgument(0);
+            int before = sent.get();
+            Object result = callback.doInRabbit(rabbitTemplate);
+            batchSizes.add(sent.get() - before);
+            return result;
+        }).when(rabbitTemplate).invoke(any());
+        doAnswer(invocation -> {
+            sent.incrementAndGet();
+            CorrelationData correlationData = invocation.getArgument(3);
+            correlationData.getFuture().complete(new CorrelationData.Confirm(true, null));
+            return null;
+        }).when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(Object.class), any(CorrelationData.class));
+
+        // When
+        List<CompletableFuture<PublishResult>> results = IntStream.range(0, messageCount)
+                .mapToObj(i -> publisher.publish(EXCHANGE, ROUTING_KEY,
+                        new MqMessageData("task-" + i, List.of("redis"), TaskStatus.COMPLETED)))
+                .toList();
+        allQueued.countDown();
+
+        // Then - whatever the first batch took, the rest went out together in one more
+        assertThat(results).allSatisfy(result -> assertThat(result.join()).isEqualTo(PublishResult.CONFIRMED));
+        assertThat(batchSizes).hasSizeLessThanOrEqualTo(2);
+        assertThat(batchSizes.stream().mapToInt(Integer::intValue).sum()).isEqualTo(messageCount);
+        assertThat(batchSizes).anySatisfy(size -> assertThat(size).isGreaterThan(1));
+    }
+}
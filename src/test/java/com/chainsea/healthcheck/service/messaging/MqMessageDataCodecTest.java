@@ -0,0 +1,89 @@
+package com.chainsea.healthcheck.service.messaging;
+
+import com.chainsea.healthcheck.model.MqMessageData;
+import com.chainsea.healthcheck.model.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MqMessageDataCodecTest {
+
+    @Test
+    void shouldRoundTripTaskGivenServiceNamesWhenEncodingAndDecoding() {
+        // Given
+        MqMessageData task = new MqMessageData("batch-task-001", List.of("postgres", "redis", "健康检查"), TaskStatus.COMPLETED);
+
+        // When
+        MqMessageData decoded = MqMessageDataCodec.decode(MqMessageDataCodec.encode(task));
+
+        // Then
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(task);
+    }
+
+    @Test
+    void shouldKeepNullsApartFromEmptyValuesGivenMissingFieldsWhenEncodingAndDecoding() {
+        // Given
+        MqMessageData nulls = new MqMessageData(null, null, null);
+        MqMessageData empty = new MqMessageData("", List.of(), TaskStatus.PENDING);
+
+        // When
+        MqMessageData decodedNulls = MqMessageDataCodec.decode(MqMessageDataCodec.encode(nulls));
+        MqMessageData decodedEmpty = MqMessageDataCodec.decode(MqMessageDataCodec.encode(empty));
+
+        // Then
+        assertThat(decodedNulls).usingRecursiveComparison().isEqualTo(nulls);
+        assertThat(decodedEmpty).usingRecursiveComparison().isEqualTo(empty);
+    }
+
+    @Test
+    void shouldUseMultiByteLengthsGivenManyLongServiceNamesWhenEncodingAndDecoding() {
+        // Given
+        List<String> serviceNames = IntStream.range(0, 300).mapToObj(i -> "service-" + "x".repeat(200) + i).toList();
+        MqMessageData task = new MqMessageData("batch-task-002", serviceNames, TaskStatus.COMPLETED);
+
+        // When
+        MqMessageData decoded = MqMessageDataCodec.decode(MqMessageDataCodec.encode(task));
+
+        // Then
+        assertThat(decoded.getServiceNames()).isEqualTo(serviceNames);
+    }
+
+    @Test
+    void shouldEncodeSmallTaskInFewBytesGivenShortNamesWhenEncoding() {
+        // When
+        byte[] payload = MqMessageDataCodec.encode(new MqMessageData("task-1", List.of("postgres", "redis"), TaskStatus.COMPLETED));
+
+        // Then: version, "task-1", status, count, "postgres", "redis"
+        assertThat(payload).hasSize(1 + 7 + 1 + 1 + 9 + 6);
+        assertThat(payload[0]).isEqualTo(MqMessageDataCodec.VERSION);
+    }
+
+    @Test
+    void shouldRejectPayloadGivenUnknownVersionWhenDecoding() {
+        // Given
+        byte[] payload = MqMessageDataCodec.encode(new MqMessageData("task-1", List.of("postgres"), TaskStatus.COMPLETED));
+        payload[0] = 2;
+
+        // When & Then
+        assertThatThrownBy(() -> MqMessageDataCodec.decode(payload))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("version 2");
+    }
+
+    @Test
+    void shouldRejectPayloadGivenTruncatedBytesWhenDecoding() {
+        // Given
+        byte[] payload = MqMessageDataCodec.encode(new MqMessageData("task-1", List.of("postgres"), TaskStatus.COMPLETED));
+        byte[] truncated = Arrays.copyOf(payload, payload.length - 3);
+
+        // When & Then
+        assertThatThrownBy(() -> MqMessageDataCodec.decode(truncated))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Truncated");
+    }
+}
@@ -0,0 +1,135 @@
+package com.chainsea.healthcheck.service.reaper;
+
+import com.chainsea.healthcheck.model.TaskStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class StaleTaskReaperTest {
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private StringRedisTemplate redisTemplate;
+    private MongoTemplate mongoTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private StaleTaskReaper reaper;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("schema-h2.sql")
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        redisTemplate = mock(StringRedisTemplate.class);
+        mongoTemplate = mock(MongoTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        reaper = new StaleTaskReaper(jdbcTemplate, new TransactionTemplate(new DataSourceTransactionManager(database)),
+                redisTemplate, mongoTemplate, mock(TaskScheduler.class), meterRegistry, 0, 60000, 600000, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    private void insertTask(String taskId, TaskStatus status, LocalDateTime createdAt) {
+        jdbcTemplate.update("INSERT INTO batch_health_check_tasks (task_id, service_names, status, created_at) VALUES (?, ARRAY['postgres'], ?, ?)",
+                taskId, status.getCode(), Timestamp.valueOf(createdAt));
+    }
+
+    private TaskStatus statusOf(String taskId) {
+        List<Short> statuses = jdbcTemplate.queryForList(
+                "SELECT status FROM batch_health_check_tasks WHERE task_id = ?", Short.class, taskId);
+        return statuses.isEmpty() ? null : TaskStatus.fromCode(statuses.getFirst());
+    }
+
+    @Test
+    void shouldResolveOnlyStaleInDoubtTasksGivenMixedTasksWhenReaping() {
+        // Given
+        LocalDateTime old = LocalDateTime.now().minusHours(1);
+        insertTask("prepared-1", TaskStatus.PREPARED, old);
+        insertTask("prepared-2", TaskStatus.PREPARED, old);
+        insertTask("reserved-1", TaskStatus.RESERVED, old);
+        insertTask("reserved-fresh", TaskStatus.RESERVED, LocalDateTime.now());
+        insertTask("completed-1", TaskStatus.COMPLETED, old);
+
+        // When
+        int reaped = reaper.reap();
+
+        // Then
+        assertThat(reaped).isEqualTo(3);
+        assertThat(statusOf("prepared-1")).isNull();
+        assertThat(statusOf("prepared-2")).isNull();
+        assertThat(statusOf("reserved-1")).isEqualTo(TaskStatus.CANCELLED);
+        assertThat(statusOf("reserved-fresh")).isEqualTo(TaskStatus.RESERVED);
+        assertThat(statusOf("completed-1")).isEqualTo(TaskStatus.COMPLETED);
+        assertThat(meterRegistry.counter("batch.tasks.reaped", "status", "PREPARED").count()).isEqualTo(2);
+        assertThat(meterRegistry.counter("batch.tasks.reaped", "status", "RESERVED").count()).isEqualTo(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldCleanUpRedisAndMongoPerPageGivenStaleTasksWhenReaping() {
+        // Given - batch size is 2, so three stale tasks take two pages
+        LocalDateTime old = LocalDateTime.now().minusHours(1);
+        insertTask("prepared-1", TaskStatus.PREPARED, old);
+        insertTask("prepared-2", TaskStatus.PREPARED, old);
+        insertTask("reserved-1", TaskStatus.RESERVED, old);
+
+        // When
+        reaper.reap();
+
+        // Then
+        ArgumentCaptor<Collection<String>> keys = ArgumentCaptor.forClass(Collection.class);
+        verify(redisTemplate, times(2)).delete(keys.capture());
+        List<String> deletedKeys = new ArrayList<>();
+        keys.getAllValues().forEach(deletedKeys::addAll);
+        assertThat(deletedKeys).containsExactlyInAnyOrder(
+                "task:lock:prepared-1", "task:lock:prepared-2", "task:lock:reserved-1", "task:status:reserved-1");
+        verify(mongoTemplate, times(1)).remove(any(Query.class), eq("batch_task_logs"));
+        verify(mongoTemplate, times(1)).remove(any(Query.class), eq("batch_task_logs_prepare"));
+    }
+
+    @Test
+    void shouldStillResolveTasksGivenRedisFailureWhenReaping() {
+        // Given
+        insertTask("reserved-1", TaskStatus.RESERVED, LocalDateTime.now().minusHours(1));
+        doThrow(new RuntimeException("Redis unavailable")).when(redisTemplate).delete(anyCollection());
+
+        // When
+        int reaped = reaper.reap();
+
+        // Then
+        assertThat(reaped).isEqualTo(1);
+        assertThat(statusOf("reserved-1")).isEqualTo(TaskStatus.CANCELLED);
+    }
+}
@@ -0,0 +1,52 @@
+package com.chainsea.healthcheck.service.saga;
+
+import com.chainsea.healthcheck.health.DependencyUnavailableException;
+import com.chainsea.healthcheck.service.messaging.ConfirmedMessagePublisher;
+import com.chainsea.healthcheck.service.messaging.PublishResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RabbitMqSagaStepTest {
+
+    private ConfirmedMessagePublisher publisher;
+    private RabbitMqSagaStep step;
+
+    @BeforeEach
+    void setUp() {
+        publisher = mock(ConfirmedMessagePublisher.class);
+        step = new RabbitMqSagaStep(publisher);
+    }
+
+    @Test
+    void shouldFailStepWithoutReportingOutageGivenBrokerNackWhenExecuting() {
+        // Given
+        when(publisher.publishAndWait(anyString(), anyString(), any())).thenReturn(PublishResult.REJECTED);
+        SagaContext sagaContext = new SagaContext("saga-1");
+
+        // When
+        boolean success = step.execute(sagaContext, "task-1", List.of("postgres"));
+
+        // Then
+        assertThat(success).isFalse();
+        assertThat(sagaContext.getStepData(step.getStepName())).isNull();
+    }
+
+    @Test
+    void shouldReportOutageGivenConfirmTimeoutWhenExecuting() {
+        // Given
+        when(publisher.publishAndWait(anyString(), anyString(), any())).thenReturn(PublishResult.UNCONFIRMED);
+
+        // When / Then
+        assertThatThrownBy(() -> step.execute(new SagaContext("saga-1"), "task-1", List.of("postgres")))
+                .isInstanceOf(DependencyUnavailableException.class);
+    }
+}
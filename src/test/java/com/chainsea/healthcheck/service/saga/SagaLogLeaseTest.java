@@ -0,0 +1,136 @@
+package com.chainsea.healthcheck.service.saga;
+
+import com.chainsea.healthcheck.cluster.ClusterMembership;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Saga leases against the real Flyway schema, since claiming relies on PostgreSQL's INSERT ... ON CONFLICT.
+ */
+@Tag("integration")
+@Testcontainers
+class SagaLogLeaseTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:18-alpine"));
+
+    private static JdbcTemplate jdbcTemplate;
+
+    private SagaLog sagaLog;
+
+    @BeforeAll
+    static void migrate() {
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .load()
+                .migrate();
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword()));
+    }
+
+    @BeforeEach
+    void setUp() {
+        ClusterMembership clusterMembership = mock(ClusterMembership.class);
+        when(clusterMembership.getInstanceId()).thenReturn("instance-1");
+        sagaLog = new SagaLog(jdbcTemplate, new ObjectMapper(), clusterMembership, 200, 1000, 5000);
+        sagaLog.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        sagaLog.stop();
+    }
+
+    private String startedSaga() {
+        String sagaId = UUID.randomUUID().toString();
+        assertThat(sagaLog.append(sagaId, null, SagaLogEvent.SAGA_STARTED,
+                new SagaLog.SagaInput("task-1", List.of("postgres")))).isTrue();
+        return sagaId;
+    }
+
+    @Test
+    void shouldRejectSecondClaimGivenLiveClaimWhenClaimingForRecovery() {
+        // Given
+        String sagaId = startedSaga();
+        Optional<String> first = sagaLog.claimForRecovery(sagaId, 60000);
+
+        // When
+        Optional<String> second = sagaLog.claimForRecovery(sagaId, 60000);
+        List<String> unfinished = sagaLog.findUnfinishedSagaIds(LocalDateTime.now().plusMinutes(1), 1000);
+
+        // Then
+        assertThat(first).isPresent();
+        assertThat(second).isEmpty();
+        assertThat(unfinished).doesNotContain(sagaId);
+    }
+
+    @Test
+    void shouldReclaimSagaGivenClaimOfCrashedInstanceHasExpiredWhenClaimingForRecovery() throws Exception {
+        // Given - the claiming instance crashes without releasing its lease
+        String sagaId = startedSaga();
+        Optional<String> crashed = sagaLog.claimForRecovery(sagaId, 100);
+        Thread.sleep(200);
+
+        // When
+        List<String> unfinished = sagaLog.findUnfinishedSagaIds(LocalDateTime.now().plusMinutes(1), 1000);
+        Optional<String> reclaimed = sagaLog.claimForRecovery(sagaId, 60000);
+
+        // Then
+        assertThat(crashed).isPresent();
+        assertThat(unfinished).contains(sagaId);
+        assertThat(reclaimed).isPresent().isNotEqualTo(crashed);
+        assertThat(jdbcTemplate.queryForObject("SELECT owner FROM saga_lease WHERE saga_id = ?", String.class, sagaId))
+                .isEqualTo(reclaimed.get());
+    }
+
+    @Test
+    void shouldMakeSagaRecoverableAgainGivenReleasedClaimWhenFindingUnfinishedSagas() {
+        // Given - recovery could not compensate every step and released its claim
+        String sagaId = startedSaga();
+        Optional<String> claim = sagaLog.claimForRecovery(sagaId, 60000);
+
+        // When
+        sagaLog.releaseLease(sagaId, claim.orElseThrow());
+        List<String> unfinished = sagaLog.findUnfinishedSagaIds(LocalDateTime.now().plusMinutes(1), 1000);
+
+        // Then
+        assertThat(unfinished).contains(sagaId);
+        assertThat(sagaLog.claimForRecovery(sagaId, 60000)).isPresent();
+    }
+
+    @Test
+    void shouldKeepNewLeaseGivenStaleOwnerWhenReleasingLease() throws Exception {
+        // Given
+        String sagaId = startedSaga();
+        String stale = sagaLog.acquireLease(sagaId, 100).orElseThrow();
+        Thread.sleep(200);
+        String current = sagaLog.acquireLease(sagaId, 60000).orElseThrow();
+
+        // When
+        sagaLog.releaseLease(sagaId, stale);
+
+        // Then
+        assertThat(sagaLog.acquireLease(sagaId, 60000)).isEmpty();
+        assertThat(current).startsWith("instance-1/");
+    }
+}
@@ -0,0 +1,505 @@
+package com.chainsea.healthcheck.service.saga;
+
+import com.chainsea.healthcheck.health.CircuitBreakerRegistry;
+import com.chainsea.healthcheck.health.DependencyUnavailableException;
+import com.chainsea.healthcheck.model.HealthStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SagaOrchestratorTest {
+
+    private final List<String> executed = new CopyOnWriteArrayList<>();
+    private final List<String> compensated = new CopyOnWriteArrayList<>();
+    private ExecutorService executor;
+    private SagaLog sagaLog;
+    private CircuitBreakerRegistry circuitBreakers;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        sagaLog = mock(SagaLog.class);
+        when(sagaLog.append(any(), any(), any(), any())).thenReturn(true);
+        when(sagaLog.acquireLease(any(), anyLong())).thenReturn(Optional.of("instance-1/lease"));
+        circuitBreakers = new CircuitBreakerRegistry(2, 60000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private SagaDefinition diamond(SagaStep left, SagaStep right) {
+        return SagaDefinition.builder()
+                .step(new StubStep("root"))
+                .step(left, "root")
+                .step(right, "root")
+                .step(new StubStep("leaf"), left.getStepName(), right.getStepName())
+                .build();
+    }
+
+    @Test
+    void shouldRunIndependentStepsConcurrentlyGivenDiamondDefinitionWhenExecutingSaga() {
+        // Given - both middle steps block until the other one has started
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        SagaOrchestrator orchestrator = new SagaOrchestrator(
+                diamond(new LatchStep("left", bothStarted), new LatchStep("right", bothStarted)), executor, executor, sagaLog, circuitBreakers, 60000);
+
+        // When
+        boolean success = orchestrator.executeSaga("task-1", List.of("postgres"));
+
+        // Then
+        assertThat(success).isTrue();
+        assertThat(executed).hasSize(4);
+        assertThat(executed.getFirst()).isEqualTo("root");
+        assertThat(executed.getLast()).isEqualTo("leaf");
+        assertThat(compensated).isEmpty();
+        verify(sagaLog).append(any(), any(), eq(SagaLogEvent.SAGA_COMPLETED), any());
+    }
+
+    @Test
+    void shouldCompensateOnlyCompletedStepsInReverseOrderGivenFailingStepWhenExecutingSaga() {
+        // Given - the right step only fails once the left step has completed
+        CountDownLatch leftCompleted = new CountDownLatch(1);
+        SagaOrchestrator orchestrator = new SagaOrchestrator(
+                diamond(new SignallingStep("left", leftCompleted), new FailingStep("right", leftCompleted)), executor, executor, sagaLog, circuitBreakers, 60000);
+
+        // When
+        boolean success = orchestrator.executeSaga("task-1", List.of("postgres"));
+
+        // Then
+        assertThat(success).isFalse();
+        assertThat(executed).doesNotContain("leaf");
+        assertThat(compensated).containsExactly("left", "root");
+        verify(sagaLog).append(any(), any(), eq(SagaLogEvent.SAGA_COMPENSATED), any());
+    }
+
+    @Test
+    void shouldLeaveSagaUnfinishedGivenFailingCompensationWhenExecutingSaga() {
+        // Given - the left step completes but cannot be undone
+        CountDownLatch leftCompleted = new CountDownLatch(1);
+        SagaOrchestrator orchestrator = new SagaOrchestrator(
+                diamond(new UncompensatableStep("left", leftCompleted), new FailingStep("right", leftCompleted)), executor, executor, sagaLog, circuitBreakers, 60000);
+
+        // When
+        boolean success = orchestrator.executeSaga("task-1", List.of("postgres"));
+
+        // Then - the other steps are still compensated, but the saga is left for recovery
+        assertThat(success).isFalse();
+        assertThat(compensated).containsExactly("root");
+        verify(sagaLog).append(any(), eq("root"), eq(SagaLogEvent.STEP_COMPENSATED), any());
+        verify(sagaLog, never()).append(any(), eq("left"), eq(SagaLogEvent.STEP_COMPENSATED), any());
+        verify(sagaLog, never()).append(any(), any(), eq(SagaLogEvent.SAGA_COMPENSATED), any());
+    }
+
+    @Test
+    void shouldLeaveSagaUnfinishedGivenUnreachableRedisWhenCompensatingRedisStep() {
+        // Given - the status is cached, but Redis is gone by the time it has to be deleted
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        when(redisTemplate.opsForValue()).thenReturn(mock(ValueOperations.class));
+        when(redisTemplate.delete(anyString())).thenThrow(new RedisConnectionFailureException("Connection refused"));
+        SagaDefinition definition = SagaDefinition.builder()
+                .step(new RedisSagaStep(redisTemplate))
+                .step(new FailingStep("failing", new CountDownLatch(0)), "Redis")
+                .build();
+        SagaOrchestrator orchestrator = new SagaOrchestrator(definition, executor, executor, sagaLog, circuitBreakers, 60000);
+
+        // When
+        boolean success = orchestrator.executeSaga("task-1", List.of("postgres"));
+
+        // Then
+        assertThat(success).isFalse();
+        verify(redisTemplate).delete("task:status:task-1");
+        verify(sagaLog, never()).append(any(), eq("Redis"), eq(SagaLogEvent.STEP_COMPENSATED), any());
+        verify(sagaLog, never()).append(any(), any(), eq(SagaLogEvent.SAGA_COMPENSATED), any());
+    }
+
+    @Test
+    void shouldNotExecuteAnyStepGivenSagaStartCannotBeRecordedWhenExecutingSaga() {
+        // Given
+        when(sagaLog.append(any(), any(), eq(SagaLogEvent.SAGA_STARTED), any())).thenReturn(false);
+        SagaOrchestrator orchestrator = new SagaOrchestrator(
+                diamond(new StubStep("left"), new StubStep("right")), executor, executor, sagaLog, circuitBreakers, 60000);
+
+        // When
+        boolean success = orchestrator.executeSaga("task-1", List.of("postgres"));
+
+        // Then
+        assertThat(success).isFalse();
+        assertThat(executed).isEmpty();
+    }
+
+    @Test
+    void shouldFailFastWithoutRecordingGivenOpenCircuitWhenExecutingSaga() {
+        // Given
+        circuitBreakers.recordProbe("right", HealthStatus.DOWN);
+        SagaOrchestrator orchestrator = new SagaOrchestrator(
+                diamond(new StubStep("left"), new StubStep("right")), executor, executor, sagaLog, circuitBreakers, 60000);
+
+        // When
+        boolean success = orchestrator.executeSaga("task-1", List.of("postgres"));
+        Optional<String> sagaId = orchestrator.submitSaga("task-2", List.of("postgres"));
+
+        // Then
+        assertThat(success).isFalse();
+        assertThat(sagaId).isEmpty();
+        assertThat(executed).isEmpty();
+        verify(sagaLog, never()).append(any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldOpenCircuitGivenRepeatedlyUnreachableDependencyWhenExecutingSagas() {
+        // Given - the failure threshold is 2
+        SagaOrchestrator orchestrator = new SagaOrchestrator(
+                diamond(new StubStep("left"), new UnavailableStep("right")), executor, executor, sagaLog, circuitBreakers, 60000);
+
+        // When
+        orchestrator.executeSaga("task-1", List.of("postgres"));
+        orchestrator.executeSaga("task-2", List.of("postgres"));
+        executed.clear();
+        boolean success = orchestrator.executeSaga("task-3", List.of("postgres"));
+
+        // Then
+        assertThat(circuitBreakers.getState("right")).isEqualTo(CircuitBreakerRegistry.State.OPEN);
+        assertThat(success).isFalse();
+        assertThat(executed).isEmpty();
+    }
+
+    @Test
+    void shouldKeepCircuitClosedGivenRepeatedlyRejectingStepWhenExecutingSagas() {
+        // Given - the dependency answers but turns every step down
+        SagaOrchestrator orchestrator = new SagaOrchestrator(
+                diamond(new StubStep("left"), new FailingStep("right", new CountDownLatch(0))), executor, executor, sagaLog, circuitBreakers, 60000);
+
+        // When
+        orchestrator.executeSaga("task-1", List.of("postgres"));
+        orchestrator.executeSaga("task-2", List.of("postgres"));
+        orchestrator.executeSaga("task-3", List.of("postgres"));
+
+        // Then
+        assertThat(circuitBreakers.getState("right")).isEqualTo(CircuitBreakerRegistry.State.CLOSED);
+        assertThat(circuitBreakers.allowRequest("right")).isTrue();
+    }
+
+    @Test
+    void shouldReportProgressWithoutWaitingGivenBlockedStepWhenSubmittingSaga() throws Exception {
+        // Given - the left step blocks until released
+        CountDownLatch release = new CountDownLatch(1);
+        SagaOrchestrator orchestrator = new SagaOrchestrator(
+                diamond(new BlockedStep("left", release), new StubStep("right")), executor, executor, sagaLog, circuitBreakers, 60000);
+
+        // When
+        Optional<String> sagaId = orchestrator.submitSaga("task-1", List.of("postgres"));
+
+        // Then
+        assertThat(sagaId).isPresent();
+        awaitStepStatus(orchestrator, sagaId.get(), "right", SagaStepStatus.COMPLETED);
+        SagaStatus status = orchestrator.getSagaStatus(sagaId.get()).orElseThrow();
+        assertThat(status.taskId()).isEqualTo("task-1");
+        assertThat(status.state()).isEqualTo(SagaState.RUNNING);
+        assertThat(status.steps()).containsEntry("root", SagaStepStatus.COMPLETED)
+                .containsEntry("left", SagaStepStatus.RUNNING)
+                .doesNotContainKey("leaf");
+
+        release.countDown();
+        awaitInactive(orchestrator, sagaId.get());
+        assertThat(executed).contains("leaf");
+        verify(sagaLog).append(eq(sagaId.get()), any(), eq(SagaLogEvent.SAGA_COMPLETED), any());
+    }
+
+    @Test
+    void shouldNotRunSagaGivenRecoveryClaimedItWhileQueuedWhenSubmittingSaga() throws Exception {
+        // Given - the only submission thread is busy, so the saga waits in the queue
+        ExecutorService submissionExecutor = Executors.newSingleThreadExecutor();
+        CountDownLatch busy = new CountDownLatch(1);
+        submissionExecutor.execute(() -> {
+            try {
+                busy.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        SagaOrchestrator orchestrator = new SagaOrchestrator(
+                diamond(new StubStep("left"), new StubStep("right")), executor, submissionExecutor, sagaLog, circuitBreakers, 60000);
+        Optional<String> sagaId = orchestrator.submitSaga("task-1", List.of("postgres"));
+
+        // When - another instance's recovery takes the saga's lease before it is dequeued
+        when(sagaLog.acquireLease(eq(sagaId.orElseThrow()), anyLong())).thenReturn(Optional.empty());
+        busy.countDown();
+        awaitInactive(orchestrator, sagaId.get());
+        submissionExecutor.shutdown();
+
+        // Then
+        assertThat(executed).isEmpty();
+        verify(sagaLog, never()).append(any(), any(), eq(SagaLogEvent.STEP_STARTED), any());
+        verify(sagaLog, never()).append(any(), any(), eq(SagaLogEvent.SAGA_COMPENSATED), any());
+        verify(sagaLog, never()).releaseLease(any(), any());
+    }
+
+    @Test
+    void shouldHoldLeaseWhileRunningGivenSubmittedSagaWhenSubmittingSaga() throws Exception {
+        // Given
+        SagaOrchestrator orchestrator = new SagaOrchestrator(
+                diamond(new StubStep("left"), new StubStep("right")), executor, executor, sagaLog, circuitBreakers, 60000);
+
+        // When
+        Optional<String> sagaId = orchestrator.submitSaga("task-1", List.of("postgres"));
+        awaitInactive(orchestrator, sagaId.orElseThrow());
+
+        // Then
+        assertThat(executed).hasSize(4);
+        verify(sagaLog).acquireLease(sagaId.get(), 60000);
+        verify(sagaLog).releaseLease(sagaId.get(), "instance-1/lease");
+    }
+
+    @Test
+    void shouldRejectSagaGivenFullSubmissionQueueWhenSubmittingSaga() {
+        // Given
+        SagaOrchestrator orchestrator = new SagaOrchestrator(
+                diamond(new StubStep("left"), new StubStep("right")), executor,
+                command -> {
+                    throw new RejectedExecutionException("queue full");
+                }, sagaLog, circuitBreakers, 60000);
+
+        // When
+        Optional<String> sagaId = orchestrator.submitSaga("task-1", List.of("postgres"));
+
+        // Then
+        assertThat(sagaId).isEmpty();
+        assertThat(executed).isEmpty();
+        verify(sagaLog).append(any(), any(), eq(SagaLogEvent.SAGA_COMPENSATED), any());
+    }
+
+    @Test
+    void shouldReportStatusFromSagaLogGivenFinishedSagaWhenGettingStatus() throws Exception {
+        // Given
+        SagaLog.SagaLogEntry started = entry(1, null, SagaLogEvent.SAGA_STARTED);
+        when(sagaLog.findEntries("saga-1")).thenReturn(List.of(
+                started,
+                entry(2, "root", SagaLogEvent.STEP_STARTED),
+                entry(3, "root", SagaLogEvent.STEP_COMPLETED),
+                entry(4, "left", SagaLogEvent.STEP_STARTED),
+                entry(5, "left", SagaLogEvent.STEP_FAILED),
+                entry(6, "root", SagaLogEvent.STEP_COMPENSATED),
+                entry(7, null, SagaLogEvent.SAGA_COMPENSATED)));
+        when(sagaLog.readPayload(started, SagaLog.SagaInput.class))
+                .thenReturn(new SagaLog.SagaInput("task-1", List.of("postgres")));
+        SagaOrchestrator orchestrator = new SagaOrchestrator(
+                diamond(new StubStep("left"), new StubStep("right")), executor, executor, sagaLog, circuitBreakers, 60000);
+
+        // When
+        Optional<SagaStatus> status = orchestrator.getSagaStatus("saga-1");
+
+        // Then
+        assertThat(status).contains(new SagaStatus("saga-1", "task-1", SagaState.COMPENSATED, Map.of(
+                "root", SagaStepStatus.COMPENSATED,
+                "left", SagaStepStatus.FAILED)));
+        assertThat(orchestrator.getSagaStatus("unknown")).isEmpty();
+    }
+
+    @Test
+    void shouldRejectDefinitionGivenDependencyCycleWhenBuilding() {
+        // Given
+        SagaDefinition.Builder builder = SagaDefinition.builder()
+                .step(new StubStep("a"), "b")
+                .step(new StubStep("b"), "a");
+
+        // When & Then
+        assertThatThrownBy(builder::build)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("cycle");
+    }
+
+    @Test
+    void shouldRejectDefinitionGivenUnknownDependencyWhenBuilding() {
+        // Given
+        SagaDefinition.Builder builder = SagaDefinition.builder()
+                .step(new StubStep("a"), "missing");
+
+        // When & Then
+        assertThatThrownBy(builder::build)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("missing");
+    }
+
+    private static SagaLog.SagaLogEntry entry(long id, String stepName, SagaLogEvent event) {
+        return new SagaLog.SagaLogEntry(id, "saga-1", stepName, event, null, LocalDateTime.now());
+    }
+
+    private static void awaitStepStatus(SagaOrchestrator orchestrator, String sagaId, String stepName,
+                                        SagaStepStatus expected) throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            Optional<SagaStatus> status = orchestrator.getSagaStatus(sagaId);
+            if (status.isPresent() && status.get().steps().get(stepName) == expected) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Step " + stepName + " never reached " + expected);
+    }
+
+    private static void awaitInactive(SagaOrchestrator orchestrator, String sagaId) throws InterruptedException {
+        for (int i = 0; i < 500 && orchestrator.isActive(sagaId); i++) {
+            Thread.sleep(10);
+        }
+        assertThat(orchestrator.isActive(sagaId)).isFalse();
+    }
+
+    private class StubStep implements SagaStep {
+
+        private final String name;
+
+        StubStep(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public boolean execute(SagaContext sagaContext, String taskId, List<String> serviceNames) {
+            executed.add(name);
+            return true;
+        }
+
+        @Override
+        public void compensate(SagaContext sagaContext) {
+            compensated.add(name);
+        }
+
+        @Override
+        public String getStepName() {
+            return name;
+        }
+
+        @Override
+        public String getDependencyName() {
+            return name;
+        }
+    }
+
+    private class SignallingStep extends StubStep {
+
+        private final CountDownLatch completed;
+
+        SignallingStep(String name, CountDownLatch completed) {
+            super(name);
+            this.completed = completed;
+        }
+
+        @Override
+        public boolean execute(SagaContext sagaContext, String taskId, List<String> serviceNames) {
+            boolean result = super.execute(sagaContext, taskId, serviceNames);
+            completed.countDown();
+            return result;
+        }
+    }
+
+    private class UncompensatableStep extends SignallingStep {
+
+        UncompensatableStep(String name, CountDownLatch completed) {
+            super(name, completed);
+        }
+
+        @Override
+        public void compensate(SagaContext sagaContext) {
+            throw new IllegalStateException("Compensation failed");
+        }
+    }
+
+    private class FailingStep extends StubStep {
+
+        private final CountDownLatch waitFor;
+
+        FailingStep(String name, CountDownLatch waitFor) {
+            super(name);
+            this.waitFor = waitFor;
+        }
+
+        @Override
+        public boolean execute(SagaContext sagaContext, String taskId, List<String> serviceNames) {
+            try {
+                waitFor.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return false;
+        }
+    }
+
+    private class UnavailableStep extends StubStep {
+
+        UnavailableStep(String name) {
+            super(name);
+        }
+
+        @Override
+        public boolean execute(SagaContext sagaContext, String taskId, List<String> serviceNames) {
+            throw new DependencyUnavailableException(getDependencyName(), "Connection refused");
+        }
+    }
+
+    private class LatchStep extends StubStep {
+
+        private final CountDownLatch latch;
+
+        LatchStep(String name, CountDownLatch latch) {
+            super(name);
+            this.latch = latch;
+        }
+
+        @Override
+        public boolean execute(SagaContext sagaContext, String taskId, List<String> serviceNames) {
+            latch.countDown();
+            try {
+                // Only returns true if the sibling step is running at the same time
+                return latch.await(5, TimeUnit.SECONDS) && super.execute(sagaContext, taskId, serviceNames);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+
+    private class BlockedStep extends StubStep {
+
+        private final CountDownLatch release;
+
+        BlockedStep(String name, CountDownLatch release) {
+            super(name);
+            this.release = release;
+        }
+
+        @Override
+        public boolean execute(SagaContext sagaContext, String taskId, List<String> serviceNames) {
+            try {
+                return release.await(5, TimeUnit.SECONDS) && super.execute(sagaContext, taskId, serviceNames);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+}
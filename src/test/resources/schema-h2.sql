@@ -3,7 +3,7 @@
 CREATE TABLE IF NOT EXISTS health_check_records (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
     service_name VARCHAR(255) NOT NULL,
-    status VARCHAR(255) NOT NULL,
+    status SMALLINT NOT NULL,
     details CLOB,
     checked_at TIMESTAMP NOT NULL,
     response_time_ms BIGINT NOT NULL
@@ -13,3 +13,31 @@ CREATE INDEX IF NOT EXISTS idx_health_check_records_service_name ON health_check
 CREATE INDEX IF NOT EXISTS idx_health_check_records_status ON health_check_records(status);
 CREATE INDEX IF NOT EXISTS idx_health_check_records_checked_at ON health_check_records(checked_at DESC);
 CREATE INDEX IF NOT EXISTS idx_health_check_records_service_status ON health_check_records(service_name, status);
+
+CREATE TABLE IF NOT EXISTS saga_log (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    saga_id VARCHAR(64) NOT NULL,
+    step_name VARCHAR(64),
+    event VARCHAR(32) NOT NULL,
+    payload CLOB,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_saga_log_saga_id ON saga_log(saga_id, id);
+
+CREATE TABLE IF NOT EXISTS saga_lease (
+    saga_id VARCHAR(64) PRIMARY KEY,
+    owner VARCHAR(255) NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS batch_health_check_tasks (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    task_id VARCHAR(255) NOT NULL UNIQUE,
+    service_names VARCHAR(255) ARRAY NOT NULL,
+    status SMALLINT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    completed_at TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_batch_task_status ON batch_health_check_tasks(status);